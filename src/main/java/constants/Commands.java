@@ -17,15 +17,11 @@ public class Commands {
      * Load all commands.
      */
     public static void loadCommands() {
+        loadQueryCommands();
+
         COMMANDS.put("modUsn", new ModUsn());
         COMMANDS.put("modPwd", new ModPwd());
 
-        COMMANDS.put("viewTeams", new ViewTeams());
-        COMMANDS.put("viewMemsIn", new ViewMemsInTeam());
-        COMMANDS.put("viewProj", new ViewProj());
-        COMMANDS.put("viewTasks", new ViewTasks());
-        COMMANDS.put("viewTasksInProj", new ViewTasksInProj());
-
         COMMANDS.put("newProj", new NewProj());
         COMMANDS.put("delProj", new DelProj());
         COMMANDS.put("modProj", new ModProj());
@@ -34,6 +30,8 @@ public class Commands {
         COMMANDS.put("delTeam", new DelTeam());
         COMMANDS.put("modTeam", new ModTeam());
         COMMANDS.put("addMem", new AddMem());
+        COMMANDS.put("addMems", new AddMems());
+        COMMANDS.put("removeMems", new RemoveMems());
         COMMANDS.put("leaveTeam", new LeaveTeam());
         COMMANDS.put("addAdmin", new AddAdmin());
 
@@ -41,9 +39,38 @@ public class Commands {
         COMMANDS.put("completeTask", new CompleteTask());
         COMMANDS.put("star", new Star());
         COMMANDS.put("unstar", new Unstar());
+        COMMANDS.put("tag", new Tag());
+        COMMANDS.put("untag", new Untag());
         COMMANDS.put("rename", new Rename());
         COMMANDS.put("redesc", new Redesc());
         COMMANDS.put("retime", new Retime());
         COMMANDS.put("assignTask", new AssignTask());
+        COMMANDS.put("broadcastTask", new BroadcastTask());
+        COMMANDS.put("postTask", new PostTask());
+        COMMANDS.put("claimTask", new ClaimTask());
+        COMMANDS.put("finishTask", new FinishTask());
+    }
+
+    /**
+     * Load only the commands that do not change anything, for a read-only instance.
+     */
+    public static void loadQueryCommands() {
+        COMMANDS.put("viewTeams", new ViewTeams());
+        COMMANDS.put("viewMemsIn", new ViewMemsInTeam());
+        COMMANDS.put("viewBoard", new ViewBoard());
+        COMMANDS.put("viewProj", new ViewProj());
+        COMMANDS.put("projStats", new ProjStats());
+        COMMANDS.put("viewTasks", new ViewTasks());
+        COMMANDS.put("viewNext", new ViewNext());
+        COMMANDS.put("viewStarred", new ViewStarred());
+        COMMANDS.put("viewTagged", new ViewTagged());
+        COMMANDS.put("viewTasksInProj", new ViewTasksInProj());
+    }
+
+    /**
+     * Load the commands only administrators of the system may run, on top of the others.
+     */
+    public static void loadAdminCommands() {
+        COMMANDS.put("memstats", new MemStats());
     }
 }
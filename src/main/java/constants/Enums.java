@@ -13,4 +13,11 @@ public class Enums {
      * The result of registering.
      */
     public enum RegisterResult {SUCCESS, FAILURE}
+
+    /**
+     * How hard we try to make saved data survive a crash.
+     * NONE never waits for the disk, FSYNC_ON_SAVE forces the file to disk whenever data is saved,
+     * and FSYNC_EVERY_COMMIT saves and forces the file to disk after every change to the system.
+     */
+    public enum Durability {NONE, FSYNC_ON_SAVE, FSYNC_EVERY_COMMIT}
 }
@@ -8,4 +8,12 @@ public class FilePaths {
      * The file path for the .ser file.
      */
     public static final String systemFilePath = System.getProperty("user.dir") + "/system.ser";
+    /**
+     * The file path for the read-only query snapshot.
+     */
+    public static final String querySnapshotFilePath = System.getProperty("user.dir") + "/system.qry";
+    /**
+     * The directory of the embedded database, used instead of the .ser file by the log backend.
+     */
+    public static final String databaseDirPath = System.getProperty("user.dir") + "/system.db";
 }
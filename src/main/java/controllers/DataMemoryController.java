@@ -84,4 +84,11 @@ public class DataMemoryController {
     public void setTimeStamp() {
         this.inputBoundary.setTimeStamp();
     }
+
+    /**
+     * Store a change that undo does not go back on.
+     */
+    public void commit() {
+        this.inputBoundary.commit();
+    }
 }
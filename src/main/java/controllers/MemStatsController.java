@@ -0,0 +1,53 @@
+package controllers;
+
+import usecases.MemStatsInputBoundary;
+
+/**
+ * This class lets an administrator of the system see how much memory users, teams and the undo history take.
+ */
+public class MemStatsController {
+    /**
+     * The singleton instance.
+     */
+    private static final MemStatsController instance = new MemStatsController();
+    /**
+     * The input boundary.
+     */
+    private MemStatsInputBoundary inputBoundary;
+
+    /**
+     * Private to prevent anyone else from instantiating.
+     */
+    private MemStatsController() {
+
+    }
+
+    /**
+     * Provides access to the singleton instance.
+     *
+     * @return the instance
+     */
+    public static MemStatsController getInstance() {
+        return instance;
+    }
+
+    /**
+     * Sets input boundary.
+     *
+     * @param inputBoundary the use case interface
+     */
+    public void setInputBoundary(MemStatsInputBoundary inputBoundary) {
+        this.inputBoundary = inputBoundary;
+    }
+
+    /**
+     * Show an estimate of the heap retained by users, teams and the undo history, the largest first.
+     *
+     * @param top             the most users and teams to show
+     * @param machineReadable true for JSON lines rather than sentences
+     * @return String showing the estimates
+     */
+    public String memStats(int top, boolean machineReadable) {
+        return this.inputBoundary.memStats(top, machineReadable);
+    }
+}
@@ -61,6 +61,17 @@ public class QueryController {
         return this.inputBoundary.viewMemsInTeam(username, teamName);
     }
 
+    /**
+     * Show the tasks shared by a team.
+     *
+     * @param username current username
+     * @param teamName name of the team
+     * @return String showing the tasks on the board of the team
+     */
+    public String viewBoard(String username, String teamName) {
+        return this.inputBoundary.viewBoard(username, teamName);
+    }
+
     /**
      * Show all projects for the user.
      *
@@ -91,4 +102,48 @@ public class QueryController {
     public String viewTasksInProj(String username, String projName) {
         return this.inputBoundary.viewTasksInProj(username, projName);
     }
+
+    /**
+     * Show the counts of the tasks of a project, or of all tasks of the user.
+     *
+     * @param username current username
+     * @param projName name of the project, null for all tasks
+     * @return String showing how many tasks there are, how many are starred and the soonest due date
+     */
+    public String projStats(String username, String projName) {
+        return this.inputBoundary.projStats(username, projName);
+    }
+
+    /**
+     * Show the tasks due soonest, of all projects or of one.
+     *
+     * @param username current username
+     * @param k        the most tasks to show
+     * @param projName name of the project, null for all projects
+     * @return String showing the tasks due soonest
+     */
+    public String viewNext(String username, int k, String projName) {
+        return this.inputBoundary.viewNext(username, k, projName);
+    }
+
+    /**
+     * Show the starred tasks, soonest due first.
+     *
+     * @param username current username
+     * @return String showing the starred tasks
+     */
+    public String viewStarred(String username) {
+        return this.inputBoundary.viewStarred(username);
+    }
+
+    /**
+     * Show the tasks that match a combination of tags.
+     *
+     * @param username current username
+     * @param query    tags joined by '&' into alternatives joined by '|'
+     * @return String showing the matching tasks
+     */
+    public String viewTagged(String username, String query) {
+        return this.inputBoundary.viewTagged(username, query);
+    }
 }
@@ -2,8 +2,11 @@ package controllers;
 
 import usecases.TaskInputBoundary;
 
+import java.util.List;
+
 /**
- * This class allows user to create and delete, star and unstar, reset and rename and assign a task to a teammate.
+ * This class allows user to create and delete, star and unstar, tag and untag, reset and rename and assign a task to a
+ * teammate.
  */
 public class TaskController {
     /**
@@ -114,6 +117,44 @@ public class TaskController {
         }
     }
 
+    /**
+     * Give a task a tag.
+     *
+     * @param username current username
+     * @param taskName name of the task to tag
+     * @param tag      the tag
+     * @return String indicating success
+     * @throws Exception failure to tag task
+     */
+    public String tag(String username, String taskName, String tag) throws Exception {
+        boolean result = this.inputBoundary.tag(username, taskName, tag);
+        if (result) {
+            DataMemoryController.getInstance().setTimeStamp();
+            return "Task tagged successfully.";
+        } else {
+            throw new Exception("Failure to tag task.");
+        }
+    }
+
+    /**
+     * Take a tag off a task.
+     *
+     * @param username current username
+     * @param taskName name of the task to untag
+     * @param tag      the tag
+     * @return String indicating success
+     * @throws Exception failure to untag task
+     */
+    public String untag(String username, String taskName, String tag) throws Exception {
+        boolean result = this.inputBoundary.untag(username, taskName, tag);
+        if (result) {
+            DataMemoryController.getInstance().setTimeStamp();
+            return "Task untagged successfully.";
+        } else {
+            throw new Exception("Failure to untag task.");
+        }
+    }
+
     /**
      * Rename a task.
      *
@@ -191,4 +232,85 @@ public class TaskController {
             throw new Exception("Failure to assign task.");
         }
     }
+
+    /**
+     * Assign a task to every member of a team, or to some of them, as one change to undo.
+     *
+     * @param username current username
+     * @param teamName the name of the team
+     * @param memNames names of the teammates, null for every member of the team
+     * @param taskName the name of the task
+     * @param dueDate  due date of the task
+     * @return String indicating success
+     * @throws Exception failure to assign the task, in which case nobody has got it
+     */
+    public String broadcastTask(String username, String teamName, List<String> memNames, String taskName,
+                                String dueDate) throws Exception {
+        boolean result = this.inputBoundary.broadcastTask(username, teamName, memNames, taskName, dueDate);
+        if (result) {
+            DataMemoryController.getInstance().setTimeStamp();
+            return "New task assigned to teammates successfully.";
+        } else {
+            throw new Exception("Failure to assign task.");
+        }
+    }
+
+    /**
+     * Post a task to the board of a team. The board is shared by members updating it at the same time and undo does
+     * not go back on it, so the change is stored without a time stamp.
+     *
+     * @param username current username
+     * @param teamName the name of the team
+     * @param taskName the name of the task
+     * @param dueDate  due date of the task
+     * @return String indicating success
+     * @throws Exception failure to post the task
+     */
+    public String postTask(String username, String teamName, String taskName, String dueDate) throws Exception {
+        boolean result = this.inputBoundary.postTask(username, teamName, taskName, dueDate);
+        if (result) {
+            DataMemoryController.getInstance().commit();
+            return "New task posted to the team successfully.";
+        } else {
+            throw new Exception("Failure to post task.");
+        }
+    }
+
+    /**
+     * Claim a task on the board of a team.
+     *
+     * @param username current username
+     * @param teamName the name of the team
+     * @param taskName the name of the task
+     * @return String indicating success
+     * @throws Exception failure to claim the task, e.g. because someone else holds it
+     */
+    public String claimTask(String username, String teamName, String taskName) throws Exception {
+        boolean result = this.inputBoundary.claimTask(username, teamName, taskName);
+        if (result) {
+            DataMemoryController.getInstance().commit();
+            return "Task claimed successfully.";
+        } else {
+            throw new Exception("Failure to claim task.");
+        }
+    }
+
+    /**
+     * Complete a task on the board of a team.
+     *
+     * @param username current username
+     * @param teamName the name of the team
+     * @param taskName the name of the task
+     * @return String indicating success
+     * @throws Exception failure to complete the task
+     */
+    public String finishTask(String username, String teamName, String taskName) throws Exception {
+        boolean result = this.inputBoundary.finishTask(username, teamName, taskName);
+        if (result) {
+            DataMemoryController.getInstance().commit();
+            return "Team task completed successfully.";
+        } else {
+            throw new Exception("Failure to complete team task.");
+        }
+    }
 }
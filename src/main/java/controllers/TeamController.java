@@ -2,6 +2,8 @@ package controllers;
 
 import usecases.TeamInputBoundary;
 
+import java.util.List;
+
 /**
  * This class allows user to create and delete a team, add members and leave team and share admin with others.
  */
@@ -114,6 +116,44 @@ public class TeamController {
         }
     }
 
+    /**
+     * Add many members to a team at once, as one change to undo.
+     *
+     * @param username current username
+     * @param teamName name of the team you want to add members to
+     * @param memNames names of the members you want to add to the team
+     * @return String indicating success
+     * @throws Exception failure to add members, in which case none has been added
+     */
+    public String addMems(String username, String teamName, List<String> memNames) throws Exception {
+        boolean result = this.inputBoundary.addMems(username, teamName, memNames);
+        if (result) {
+            DataMemoryController.getInstance().setTimeStamp();
+            return memNames.size() + " members added successfully.";
+        } else {
+            throw new Exception("Failure to add members.");
+        }
+    }
+
+    /**
+     * Remove many members from a team at once, as one change to undo.
+     *
+     * @param username current username
+     * @param teamName name of the team you want to remove members from
+     * @param memNames names of the members you want to remove from the team
+     * @return String indicating success
+     * @throws Exception failure to remove members, in which case none has been removed
+     */
+    public String removeMems(String username, String teamName, List<String> memNames) throws Exception {
+        boolean result = this.inputBoundary.removeMems(username, teamName, memNames);
+        if (result) {
+            DataMemoryController.getInstance().setTimeStamp();
+            return memNames.size() + " members removed successfully.";
+        } else {
+            throw new Exception("Failure to remove members.");
+        }
+    }
+
     /**
      * Leave a team.
      *
@@ -12,12 +12,25 @@ import java.util.Scanner;
  */
 public class CLI {
     public static void run() {
+        run(false);
+    }
+
+    /**
+     * Run the command line interface.
+     *
+     * @param readOnly true if only commands that do not change anything are allowed
+     */
+    public static void run(boolean readOnly) {
         // Greetings
         System.out.println("Welcome to HowTodoit: our virtual to-do-list system (version 1).");
 
         // Setup
         Scanner in = new Scanner(System.in);
-        Commands.loadCommands();
+        if (readOnly) {
+            Commands.loadQueryCommands();
+        } else {
+            Commands.loadCommands();
+        }
         CommandExecutor commandExecutor = new CommandExecutor();
 
         while (true) {
@@ -1,20 +1,154 @@
 package driver;
 
+import constants.Commands;
+import constants.Enums;
 import gateway.DataManager;
+import gateway.LogRepository;
+import gateway.RepositoryManager;
+import usecases.managers.TaskLists;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static constants.FilePaths.databaseDirPath;
+import static constants.FilePaths.querySnapshotFilePath;
+import static constants.FilePaths.systemFilePath;
 
 /**
  * This is where our program will be run.
  */
 public class HowTodoit {
-    public static void main(String[] args) {
+    /**
+     * Shown when an option is mistyped.
+     */
+    private static final String USAGE = "Usage: HowTodoit [--backend=log | --read-only] [--tasks=columnar]\n" +
+            "       [--admin] [--durability=NONE|FSYNC_ON_SAVE|FSYNC_EVERY_COMMIT] [--compression=0-9]\n" +
+            "       [--import=<file> | --export=<file>]";
+
+    public static void main(String[] args) throws IOException {
+        Enums.Durability durability;
+        int compressionLevel;
+        try {
+            durability = getDurability(args);
+            compressionLevel = getCompressionLevel(args);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
+            return;
+        }
+        if (Arrays.asList(args).contains("--backend=log") && Arrays.asList(args).contains("--read-only")) {
+            // The log backend writes no query snapshot to serve read-only queries from
+            System.out.println("--read-only cannot be used with --backend=log.");
+            System.out.println(USAGE);
+            return;
+        }
+        TaskLists.setColumnar(Arrays.asList(args).contains("--tasks=columnar"));
+        if (Arrays.asList(args).contains("--backend=log")) {
+            runOnLog(args, durability, compressionLevel);
+            return;
+        }
         // Initialize DataManager and read data
-        DataManager dataManager = new DataManager();
+        DataManager dataManager = new DataManager(systemFilePath, querySnapshotFilePath, durability);
+        dataManager.setCompressionLevel(compressionLevel);
+        if (Arrays.asList(args).contains("--read-only")) {
+            // Serve queries from the query snapshot, there is nothing to write back
+            System.out.println(dataManager.readQuerySnapshot());
+            CLI.run(true);
+            return;
+        }
         System.out.println(dataManager.readData());
+        String importPath = getOption(args, "--import=");
+        String exportPath = getOption(args, "--export=");
+        if (importPath != null) {
+            System.out.println(dataManager.importData(importPath));
+            System.out.println(dataManager.writeData());
+            return;
+        } else if (exportPath != null) {
+            System.out.println(dataManager.exportData(exportPath));
+            return;
+        }
 
         // Run the program on CLI
+        if (Arrays.asList(args).contains("--admin")) Commands.loadAdminCommands();
         CLI.run();
 
         // Write data into local files and exit the system
         System.out.println(dataManager.writeData());
     }
+
+    /**
+     * Run the program on the embedded log-structured store, which commits every change as it happens.
+     *
+     * @param args             program arguments
+     * @param durability       the durability level
+     * @param compressionLevel the compression level
+     * @throws IOException failure to close the store
+     */
+    private static void runOnLog(String[] args, Enums.Durability durability, int compressionLevel)
+            throws IOException {
+        LogRepository repository = new LogRepository(Paths.get(databaseDirPath), durability);
+        repository.setCompressionLevel(compressionLevel);
+        try (RepositoryManager repositoryManager = new RepositoryManager(repository)) {
+            System.out.println(repositoryManager.readData());
+            String importPath = getOption(args, "--import=");
+            String exportPath = getOption(args, "--export=");
+            if (importPath != null) {
+                System.out.println(repositoryManager.importData(importPath));
+            } else if (exportPath != null) {
+                System.out.println(repositoryManager.exportData(exportPath));
+                return;
+            } else {
+                if (Arrays.asList(args).contains("--admin")) Commands.loadAdminCommands();
+                CLI.run();
+            }
+            System.out.println(repositoryManager.writeData());
+        }
+    }
+
+    /**
+     * Read the value of an option from the program arguments, e.g. "--export=tasks.jsonl".
+     *
+     * @param args   program arguments
+     * @param prefix the option up to and including "="
+     * @return the value, null if not given
+     */
+    private static String getOption(String[] args, String prefix) {
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) return arg.substring(prefix.length());
+        }
+        return null;
+    }
+
+    /**
+     * Read the durability level from the program arguments, e.g. "--durability=FSYNC_EVERY_COMMIT".
+     *
+     * @param args program arguments
+     * @return the durability level, FSYNC_ON_SAVE if not given
+     * @throws IllegalArgumentException the level is not one of the Durability levels
+     */
+    private static Enums.Durability getDurability(String[] args) {
+        String durability = getOption(args, "--durability=");
+        if (durability == null) return Enums.Durability.FSYNC_ON_SAVE;
+        for (Enums.Durability level : Enums.Durability.values()) {
+            if (level.name().equalsIgnoreCase(durability)) return level;
+        }
+        throw new IllegalArgumentException("Unknown durability level: " + durability);
+    }
+
+    /**
+     * Read the compression level from the program arguments, e.g. "--compression=1".
+     *
+     * @param args program arguments
+     * @return the compression level, 0 (no compression) if not given
+     * @throws IllegalArgumentException the level is not a number from 0 to 9
+     */
+    private static int getCompressionLevel(String[] args) {
+        String compression = getOption(args, "--compression=");
+        if (compression == null) return 0;
+        if (!compression.matches("[0-9]")) {
+            throw new IllegalArgumentException("Compression level must be between 0 and 9: " + compression);
+        }
+        return Integer.parseInt(compression);
+    }
 }
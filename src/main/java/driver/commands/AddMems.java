@@ -0,0 +1,24 @@
+package driver.commands;
+
+import controllers.TeamController;
+
+import java.util.Arrays;
+
+/**
+ * This class adds many new members to a team at once.
+ */
+public class AddMems implements Command {
+    /**
+     * This function executes the addMems command: add the users named in a comma-separated list to the team called
+     * <teamname>. Only admins of the team can perform this action, and nobody is added unless everyone can be.
+     *
+     * @param username current username
+     * @param args     a list of Strings with length 2, representing user arguments
+     * @return a String indicating the new members have been added successfully
+     */
+    @Override
+    public String execute(String username, String[] args) throws Exception {
+        if (args.length != 2) throw new Exception("Incorrect argument length!");
+        return TeamController.getInstance().addMems(username, args[0], Arrays.asList(args[1].split(",")));
+    }
+}
@@ -0,0 +1,26 @@
+package driver.commands;
+
+import controllers.TaskController;
+
+import java.util.Arrays;
+
+/**
+ * This class assigns a new task to every member of a team, or to some of them.
+ */
+public class BroadcastTask implements Command {
+    /**
+     * This function executes the broadcastTask command: create a new task called <task name> with <due date> for
+     * every member of a team called <team name>, or for the members named in a comma-separated list.
+     * Only admins of the team can perform this action, and nobody gets the task unless everyone can.
+     *
+     * @param username current username
+     * @param args     a list of Strings with length 3 or 4, representing user arguments
+     * @return a String indicating the task has been assigned to the teammates
+     */
+    @Override
+    public String execute(String username, String[] args) throws Exception {
+        if (args.length != 3 && args.length != 4) throw new Exception("Incorrect argument length!");
+        return TaskController.getInstance().broadcastTask(username, args[0],
+                args.length == 4 ? Arrays.asList(args[3].split(",")) : null, args[1], args[2]);
+    }
+}
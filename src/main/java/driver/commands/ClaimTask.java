@@ -0,0 +1,22 @@
+package driver.commands;
+
+import controllers.TaskController;
+
+/**
+ * This class claims a task on the board a team shares.
+ */
+public class ClaimTask implements Command {
+    /**
+     * This function executes the claimTask command: claim the task called <task name> on the board of the team
+     * called <team name>. Only one member can hold a task.
+     *
+     * @param username current username
+     * @param args     a list of Strings with length 2, representing user arguments
+     * @return a String indicating the task has been claimed successfully
+     */
+    @Override
+    public String execute(String username, String[] args) throws Exception {
+        if (args.length != 2) throw new Exception("Incorrect argument length!");
+        return TaskController.getInstance().claimTask(username, args[0], args[1]);
+    }
+}
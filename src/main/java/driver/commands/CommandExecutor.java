@@ -1,6 +1,7 @@
 package driver.commands;
 
 import constants.Commands;
+import entities.StringPool;
 
 import java.util.Arrays;
 
@@ -27,6 +28,9 @@ public class CommandExecutor {
         Command command = Commands.COMMANDS.getOrDefault(userCommandName, null);
         if (command != null) {
             String[] args = Arrays.copyOfRange(inputArray, 1, inputArray.length); // Get user arguments
+            for (int i = 0; i < args.length; i++) {
+                args[i] = StringPool.canonical(args[i]); // Names and dates typed again reuse the copy entities hold
+            }
             return command.execute(this.username, args); // Execute the command
         } else {
             throw new Exception("Command not found!");
@@ -0,0 +1,22 @@
+package driver.commands;
+
+import controllers.TaskController;
+
+/**
+ * This class completes a task on the board a team shares.
+ */
+public class FinishTask implements Command {
+    /**
+     * This function executes the finishTask command: complete the task called <task name> on the board of the team
+     * called <team name>. The task must be held by the current user, or by nobody yet.
+     *
+     * @param username current username
+     * @param args     a list of Strings with length 2, representing user arguments
+     * @return a String indicating the task has been completed successfully
+     */
+    @Override
+    public String execute(String username, String[] args) throws Exception {
+        if (args.length != 2) throw new Exception("Incorrect argument length!");
+        return TaskController.getInstance().finishTask(username, args[0], args[1]);
+    }
+}
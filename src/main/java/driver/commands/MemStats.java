@@ -0,0 +1,37 @@
+package driver.commands;
+
+import controllers.MemStatsController;
+
+/**
+ * This class shows how much memory users, teams and the undo history take. It is only loaded for administrators.
+ */
+public class MemStats implements Command {
+    /**
+     * The most users and teams shown if not given.
+     */
+    private static final int DEFAULT_TOP = 10;
+
+    /**
+     * This function executes the memstats command: show an estimate of the heap retained by the users and teams
+     * retaining the most, by the undo history and by the string pool.
+     *
+     * @param username current username
+     * @param args     a list of Strings with length 0 to 2: the most users and teams to show, and "json" for JSON lines
+     * @return a String showing the estimates
+     */
+    @Override
+    public String execute(String username, String[] args) throws Exception {
+        if (args.length > 2) throw new Exception("Incorrect argument length!");
+        int top = DEFAULT_TOP;
+        if (args.length > 0) {
+            try {
+                top = Integer.parseInt(args[0]);
+            } catch (NumberFormatException e) {
+                throw new Exception("The number of users and teams to show must be a number!");
+            }
+            if (top < 1) throw new Exception("The number of users and teams to show must be positive!");
+        }
+        if (args.length == 2 && !args[1].equals("json")) throw new Exception("The only format is json!");
+        return MemStatsController.getInstance().memStats(top, args.length == 2);
+    }
+}
@@ -0,0 +1,22 @@
+package driver.commands;
+
+import controllers.TaskController;
+
+/**
+ * This class posts a task to the board a team shares.
+ */
+public class PostTask implements Command {
+    /**
+     * This function executes the postTask command: post a task called <task name> with <due date> to the board of
+     * the team called <team name>, for any member to claim.
+     *
+     * @param username current username
+     * @param args     a list of Strings with length 3, representing user arguments
+     * @return a String indicating the task has been posted successfully
+     */
+    @Override
+    public String execute(String username, String[] args) throws Exception {
+        if (args.length != 3) throw new Exception("Incorrect argument length!");
+        return TaskController.getInstance().postTask(username, args[0], args[1], args[2]);
+    }
+}
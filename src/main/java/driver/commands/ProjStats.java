@@ -0,0 +1,23 @@
+package driver.commands;
+
+import controllers.QueryController;
+
+/**
+ * This class shows the counts of the tasks of a project, or of all tasks, to the user.
+ */
+public class ProjStats implements Command {
+
+    /**
+     * This function executes the projStats command: show how many tasks the project called <name> has, how many of
+     * them are starred and the soonest due date. Without a name, show the same for all tasks.
+     *
+     * @param username current username
+     * @param args     a list of Strings with length 0 or 1, representing user arguments
+     * @return a String showing the counts
+     */
+    @Override
+    public String execute(String username, String[] args) throws Exception {
+        if (args.length > 1) throw new Exception("Incorrect argument length!");
+        return QueryController.getInstance().projStats(username, args.length == 0 ? null : args[0]);
+    }
+}
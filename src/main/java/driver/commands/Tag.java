@@ -0,0 +1,23 @@
+package driver.commands;
+
+import controllers.TaskController;
+
+/**
+ * This class tags a task.
+ */
+public class Tag implements Command {
+
+    /**
+     * This function executes the tag command: give a task called <name> a tag, e.g. "urgent"
+     * The task must already exist in the system.
+     *
+     * @param username current username
+     * @param args     a list of Strings with length 2, representing user arguments
+     * @return a String indicating a task has been tagged
+     */
+    @Override
+    public String execute(String username, String[] args) throws Exception {
+        if (args.length != 2) throw new Exception("Incorrect argument length!");
+        return TaskController.getInstance().tag(username, args[0], args[1]);
+    }
+}
@@ -0,0 +1,23 @@
+package driver.commands;
+
+import controllers.TaskController;
+
+/**
+ * This class takes a tag off a task.
+ */
+public class Untag implements Command {
+
+    /**
+     * This function executes the untag command: take a tag off a task called <name>
+     * The task must already exist in the system and have the tag.
+     *
+     * @param username current username
+     * @param args     a list of Strings with length 2, representing user arguments
+     * @return a String indicating a tag has been taken off a task
+     */
+    @Override
+    public String execute(String username, String[] args) throws Exception {
+        if (args.length != 2) throw new Exception("Incorrect argument length!");
+        return TaskController.getInstance().untag(username, args[0], args[1]);
+    }
+}
@@ -0,0 +1,23 @@
+package driver.commands;
+
+import controllers.QueryController;
+
+/**
+ * This class shows the tasks a team shares.
+ */
+public class ViewBoard implements Command {
+
+    /**
+     * This function executes the viewBoard command: show every task on the board of the team called <name>,
+     * with who holds it.
+     *
+     * @param username current username
+     * @param args     a list of Strings with length 1, representing user arguments
+     * @return a String showing the tasks of the team
+     */
+    @Override
+    public String execute(String username, String[] args) throws Exception {
+        if (args.length != 1) throw new Exception("Incorrect argument length!");
+        return QueryController.getInstance().viewBoard(username, args[0]);
+    }
+}
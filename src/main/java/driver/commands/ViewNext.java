@@ -0,0 +1,30 @@
+package driver.commands;
+
+import controllers.QueryController;
+
+/**
+ * This class shows the tasks due soonest to the user.
+ */
+public class ViewNext implements Command {
+
+    /**
+     * This function executes the viewNext command: show the <k> tasks due soonest, of all projects or of the
+     * project called <name>.
+     *
+     * @param username current username
+     * @param args     a list of Strings with length 1 or 2, representing user arguments
+     * @return a String showing the tasks due soonest
+     */
+    @Override
+    public String execute(String username, String[] args) throws Exception {
+        if (args.length != 1 && args.length != 2) throw new Exception("Incorrect argument length!");
+        int k;
+        try {
+            k = Integer.parseInt(args[0]);
+        } catch (NumberFormatException e) {
+            throw new Exception("The number of tasks to show must be a number!");
+        }
+        if (k < 1) throw new Exception("The number of tasks to show must be positive!");
+        return QueryController.getInstance().viewNext(username, k, args.length == 2 ? args[1] : null);
+    }
+}
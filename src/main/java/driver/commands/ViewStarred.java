@@ -0,0 +1,22 @@
+package driver.commands;
+
+import controllers.QueryController;
+
+/**
+ * This class shows the starred tasks to the user.
+ */
+public class ViewStarred implements Command {
+
+    /**
+     * This function executes the viewStarred command: show all starred tasks, soonest due first.
+     *
+     * @param username current username
+     * @param args     a list of Strings with length 0, representing user arguments
+     * @return a String showing the starred tasks
+     */
+    @Override
+    public String execute(String username, String[] args) throws Exception {
+        if (args.length != 0) throw new Exception("Incorrect argument length!");
+        return QueryController.getInstance().viewStarred(username);
+    }
+}
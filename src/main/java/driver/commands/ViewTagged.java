@@ -0,0 +1,24 @@
+package driver.commands;
+
+import controllers.QueryController;
+
+/**
+ * This class shows the user the tasks that match a combination of tags.
+ */
+public class ViewTagged implements Command {
+
+    /**
+     * This function executes the viewTagged command: show the tasks that have the given tags, soonest due first.
+     * Tags are joined by '&' for tasks that have all of them, and '&' binds tighter than '|', so "a&b|c" shows the
+     * tasks tagged both a and b as well as those tagged c.
+     *
+     * @param username current username
+     * @param args     a list of Strings with length 1, representing user arguments
+     * @return a String showing the matching tasks
+     */
+    @Override
+    public String execute(String username, String[] args) throws Exception {
+        if (args.length != 1) throw new Exception("Incorrect argument length!");
+        return QueryController.getInstance().viewTagged(username, args[0]);
+    }
+}
@@ -0,0 +1,268 @@
+package entities;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class keeps long task descriptions off the Java heap, UTF-8 encoded in direct ByteBuffers, so they neither
+ * take part in garbage collection nor get copied with their tasks. A description is only decoded when it is read.
+ * <p>
+ * Descriptions are appended to the chunk being filled and found through a table of handles, so a chunk whose
+ * descriptions have mostly been freed can be emptied into the current one and let go. Copies of a task share the
+ * handle of its description, which counts its owners: a Cleaner lets go of an owner that is no longer reachable,
+ * and the description is freed with its last owner.
+ */
+public class DescriptionStore {
+    /**
+     * Descriptions shorter than this stay on the heap, where they take less room than a handle and its cleaner.
+     */
+    static final int MIN_LENGTH = 128;
+    /**
+     * Bytes of a chunk, unless a single description needs more.
+     */
+    static final int CHUNK = 1 << 20;
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /**
+     * The chunks by index, null for a chunk that has been let go.
+     */
+    private static final List<ByteBuffer> chunks = new ArrayList<>();
+    /**
+     * Bytes of the chunk in use by descriptions, by index.
+     */
+    private static int[] live = new int[4];
+    /**
+     * Index of the chunk being filled, -1 if none.
+     */
+    private static int current = -1;
+    /**
+     * Where the description of each handle is, as its chunk index in the high bits and its offset in the low bits.
+     */
+    private static long[] places = new long[64];
+    /**
+     * Number of owners holding each handle.
+     */
+    private static int[] owners = new int[64];
+    private static int handles;
+    /**
+     * Handles freed and not given out again yet.
+     */
+    private static int[] freeHandles = new int[16];
+    private static int freeCount;
+
+    private DescriptionStore() {
+
+    }
+
+    /**
+     * Checks whether a description is long enough to be kept off the heap.
+     *
+     * @param description the description
+     * @return true if it should be kept here
+     */
+    static boolean isLong(String description) {
+        return description != null && description.length() >= MIN_LENGTH;
+    }
+
+    /**
+     * Keep a description for an owner until the owner is unreachable or the returned reference is released.
+     *
+     * @param owner       what holds the description of a task
+     * @param description the description
+     * @return a reference to the description
+     */
+    static Ref store(Object owner, String description) {
+        byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+        int handle;
+        synchronized (DescriptionStore.class) {
+            long place = append(bytes); // before taking a handle, which append may otherwise move as if in use
+            handle = newHandle();
+            places[handle] = place;
+            owners[handle] = 1;
+        }
+        return new Ref(owner, handle);
+    }
+
+    /**
+     * Share a description with another owner, without copying or decoding it. It stays kept until every owner is
+     * unreachable or has released its reference.
+     *
+     * @param owner the other owner
+     * @param ref   a reference to the description
+     * @return a reference of the other owner to the same description
+     */
+    static Ref share(Object owner, Ref ref) {
+        synchronized (DescriptionStore.class) {
+            owners[ref.handle]++;
+        }
+        return new Ref(owner, ref.handle);
+    }
+
+    /**
+     * Return the number of descriptions kept.
+     *
+     * @return the number of descriptions
+     */
+    public static synchronized int size() {
+        return handles - freeCount;
+    }
+
+    /**
+     * Return the bytes taken by descriptions, with their lengths.
+     *
+     * @return bytes in use
+     */
+    public static synchronized long liveBytes() {
+        long bytes = 0;
+        for (int i = 0; i < chunks.size(); i++) bytes += live[i];
+        return bytes;
+    }
+
+    /**
+     * Return the bytes of all chunks held, in use or not.
+     *
+     * @return bytes held
+     */
+    public static synchronized long reservedBytes() {
+        long bytes = 0;
+        for (ByteBuffer chunk : chunks) {
+            if (chunk != null) bytes += chunk.capacity();
+        }
+        return bytes;
+    }
+
+    /**
+     * Return the encoded description of a handle.
+     */
+    private static byte[] bytes(int handle) {
+        ByteBuffer chunk = chunks.get((int) (places[handle] >>> 32));
+        int offset = (int) places[handle];
+        byte[] bytes = new byte[chunk.getInt(offset)];
+        ByteBuffer view = chunk.duplicate(); // leave the position, where the next description goes, alone
+        view.position(offset + Integer.BYTES);
+        view.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Return a handle nobody holds.
+     */
+    private static int newHandle() {
+        if (freeCount > 0) return freeHandles[--freeCount];
+        if (handles == places.length) {
+            places = Arrays.copyOf(places, handles * 2);
+            owners = Arrays.copyOf(owners, handles * 2);
+        }
+        return handles++;
+    }
+
+    /**
+     * Write an encoded description after its length into the chunk being filled, starting a new chunk if it is full.
+     * A new chunk also has room for what is left of the full one, which may be moved into it first.
+     *
+     * @return where it has been written
+     */
+    private static long append(byte[] bytes) {
+        int size = Integer.BYTES + bytes.length;
+        ByteBuffer chunk = current < 0 ? null : chunks.get(current);
+        if (chunk == null || chunk.remaining() < size) {
+            int full = current;
+            int moved = full >= 0 && isSparse(full) ? live[full] : 0;
+            current = newChunk(Math.max(CHUNK, size + moved));
+            chunk = chunks.get(current);
+            if (full >= 0) shrink(full);
+        }
+        int offset = chunk.position();
+        chunk.putInt(bytes.length).put(bytes);
+        live[current] += size;
+        return (long) current << 32 | offset;
+    }
+
+    /**
+     * Allocate a chunk, reusing the index of one that has been let go.
+     */
+    private static int newChunk(int capacity) {
+        int index = chunks.indexOf(null);
+        if (index < 0) {
+            index = chunks.size();
+            chunks.add(null);
+            if (index == live.length) live = Arrays.copyOf(live, index * 2);
+        }
+        chunks.set(index, ByteBuffer.allocateDirect(capacity));
+        live[index] = 0;
+        return index;
+    }
+
+    /**
+     * Let go of an owner of a handle, freeing its description once no owner is left.
+     */
+    private static synchronized void free(int handle) {
+        if (--owners[handle] > 0) return;
+        int index = (int) (places[handle] >>> 32);
+        live[index] -= Integer.BYTES + chunks.get(index).getInt((int) places[handle]);
+        if (freeCount == freeHandles.length) freeHandles = Arrays.copyOf(freeHandles, freeCount * 2);
+        freeHandles[freeCount++] = handle;
+        if (index != current) shrink(index);
+    }
+
+    /**
+     * Let a chunk that is no longer filled go once less than a quarter of it is in use, moving what is left of it
+     * into the chunk being filled.
+     */
+    private static void shrink(int index) {
+        if (!isSparse(index)) return;
+        if (live[index] > 0) {
+            boolean[] free = new boolean[handles];
+            for (int i = 0; i < freeCount; i++) free[freeHandles[i]] = true;
+            for (int handle = 0; handle < handles; handle++) {
+                if (!free[handle] && (int) (places[handle] >>> 32) == index) places[handle] = append(bytes(handle));
+            }
+        }
+        chunks.set(index, null);
+        live[index] = 0;
+    }
+
+    /**
+     * Checks whether less than a quarter of a chunk is in use.
+     */
+    private static boolean isSparse(int index) {
+        return live[index] * 4L < chunks.get(index).capacity();
+    }
+
+    /**
+     * This class is what an owner holds of a description while the description is kept here.
+     */
+    static final class Ref {
+        private final int handle;
+        private final Cleaner.Cleanable cleanable;
+
+        private Ref(Object owner, int handle) {
+            this.handle = handle;
+            this.cleanable = CLEANER.register(owner, () -> free(handle));
+        }
+
+        /**
+         * Decode the description.
+         *
+         * @return the description
+         */
+        String load() {
+            byte[] bytes;
+            synchronized (DescriptionStore.class) {
+                bytes = bytes(this.handle);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Let go of the description now, freeing it if no other owner holds it. Nothing happens the second time.
+         */
+        void release() {
+            this.cleanable.clean();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package entities;
+
+/**
+ * This interface represents an entity that has a run id as well as a name that can change.
+ * <p>
+ * A run id tells entities apart while the system runs, e.g. as the key of a map that must not follow renames. It is
+ * given anew whenever the entity is created, read from a file or copied for the undo history, and is never saved,
+ * so nothing that is saved may refer to it.
+ */
+public interface Identified {
+    /**
+     * Return the run id of the entity, which stays the same while this object lives and is valid only within one run.
+     *
+     * @return the run id
+     */
+    int getRunId();
+
+    /**
+     * Return the current name of the entity.
+     *
+     * @return the name
+     */
+    String getName();
+}
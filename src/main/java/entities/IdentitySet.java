@@ -0,0 +1,160 @@
+package entities;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class represents a set of objects compared by identity, with open addressing: the objects live in one array
+ * and collisions are resolved by linear probing, so a member costs one array slot and nothing else. Members are
+ * spread by their identity hash, so they can change in any way while they are in the set.
+ *
+ * @param <E> the kind of member
+ */
+public class IdentitySet<E> implements Iterable<E> {
+    /**
+     * The smallest capacity, a power of two.
+     */
+    private static final int MIN_CAPACITY = 4;
+
+    private Object[] members = new Object[MIN_CAPACITY];
+    private int size;
+    /**
+     * 32 minus the number of bits of the capacity, for Fibonacci hashing.
+     */
+    private int shift = 32 - Integer.numberOfTrailingZeros(MIN_CAPACITY);
+
+    /**
+     * Spread a member over the slots.
+     */
+    private int home(Object member) {
+        return System.identityHashCode(member) * 0x9E3779B9 >>> this.shift;
+    }
+
+    /**
+     * Return the slot of a member, or of the empty slot where it would go.
+     */
+    private int find(Object member) {
+        int mask = this.members.length - 1;
+        int i = home(member);
+        while (this.members[i] != null && this.members[i] != member) i = i + 1 & mask;
+        return i;
+    }
+
+    /**
+     * Checks whether an object is a member.
+     *
+     * @param member the object
+     * @return true if it is a member
+     */
+    public boolean contains(Object member) {
+        return member != null && this.members[find(member)] != null;
+    }
+
+    /**
+     * Add a member.
+     *
+     * @param member the member, not null
+     * @return false if it was a member already
+     */
+    public boolean add(E member) {
+        int i = find(member);
+        if (this.members[i] != null) return false;
+        this.members[i] = member;
+        if (++this.size * 4 > this.members.length * 3) grow();
+        return true;
+    }
+
+    /**
+     * Remove a member.
+     *
+     * @param member the member
+     * @return false if it was not a member
+     */
+    public boolean remove(Object member) {
+        if (member == null) return false;
+        int i = find(member);
+        if (this.members[i] == null) return false;
+        int mask = this.members.length - 1;
+        // Shift back the members probed past the hole, unless their home lies cyclically in (hole, j]
+        for (int j = i + 1 & mask; this.members[j] != null; j = j + 1 & mask) {
+            int k = home(this.members[j]);
+            if (i <= j ? i < k && k <= j : i < k || k <= j) continue;
+            this.members[i] = this.members[j];
+            i = j;
+        }
+        this.members[i] = null;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Return the number of members.
+     *
+     * @return the number of members
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Return the members in an array.
+     *
+     * @param empty an empty array of the kind of member
+     * @return the members
+     */
+    @SuppressWarnings("unchecked")
+    public E[] toArray(E[] empty) {
+        E[] array = Arrays.copyOf(empty, this.size);
+        int n = 0;
+        for (Object member : this.members) {
+            if (member != null) array[n++] = (E) member;
+        }
+        return array;
+    }
+
+    /**
+     * Double the capacity and put every member in its new slot.
+     */
+    private void grow() {
+        Object[] old = this.members;
+        this.members = new Object[old.length * 2];
+        this.shift--;
+        for (Object member : old) {
+            if (member != null) this.members[find(member)] = member;
+        }
+    }
+
+    /**
+     * Return an Iterator object over the members, required by the Iterator Design Pattern.
+     * The set must not change while it is iterated.
+     *
+     * @return an Iterator object
+     */
+    @Override
+    public Iterator<E> iterator() {
+        Object[] members = this.members;
+        return new Iterator<E>() {
+            private int next = skip(0);
+
+            private int skip(int i) {
+                while (i < members.length && members[i] == null) i++;
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return this.next < members.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                E member = (E) members[this.next];
+                this.next = skip(this.next + 1);
+                return member;
+            }
+        };
+    }
+}
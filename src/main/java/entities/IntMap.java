@@ -0,0 +1,176 @@
+package entities;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class maps ids to objects with open addressing: keys and values live in two parallel arrays and collisions
+ * are resolved by linear probing, so an entry costs two array slots instead of a boxed node and a boxed key.
+ * Keys must be positive, since 0 marks an empty slot.
+ *
+ * @param <V> the kind of value
+ */
+public class IntMap<V> implements Iterable<V> {
+    /**
+     * The smallest capacity, a power of two.
+     */
+    private static final int MIN_CAPACITY = 4;
+
+    private int[] keys = new int[MIN_CAPACITY];
+    private Object[] values = new Object[MIN_CAPACITY];
+    private int size;
+    /**
+     * 32 minus the number of bits of the capacity, for Fibonacci hashing.
+     */
+    private int shift = 32 - Integer.numberOfTrailingZeros(MIN_CAPACITY);
+
+    /**
+     * Spread a key over the slots. Ids are given out in sequence.
+     */
+    private int home(int key) {
+        return key * 0x9E3779B9 >>> this.shift;
+    }
+
+    /**
+     * Return the slot of a key, or of the empty slot where it would go.
+     */
+    private int find(int key) {
+        int mask = this.keys.length - 1;
+        int i = home(key);
+        while (this.keys[i] != 0 && this.keys[i] != key) i = i + 1 & mask;
+        return i;
+    }
+
+    /**
+     * Return the value of a key.
+     *
+     * @param key the key
+     * @return the value, null if the key is missing
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (key <= 0) return null;
+        return (V) this.values[find(key)];
+    }
+
+    /**
+     * Set the value of a key.
+     *
+     * @param key   the key, positive
+     * @param value the value, not null
+     * @return the previous value, null if the key was missing
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (key <= 0) throw new IllegalArgumentException("Keys must be positive.");
+        int i = find(key);
+        V previous = (V) this.values[i];
+        this.keys[i] = key;
+        this.values[i] = value;
+        if (previous == null && ++this.size * 4 > this.keys.length * 3) grow();
+        return previous;
+    }
+
+    /**
+     * Remove a key.
+     *
+     * @param key the key
+     * @return its value, null if the key was missing
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if (key <= 0) return null;
+        int i = find(key);
+        if (this.keys[i] == 0) return null;
+        V value = (V) this.values[i];
+        int mask = this.keys.length - 1;
+        // Shift back the keys probed past the hole, unless their home lies cyclically in (hole, j]
+        for (int j = i + 1 & mask; this.keys[j] != 0; j = j + 1 & mask) {
+            int k = home(this.keys[j]);
+            if (i <= j ? i < k && k <= j : i < k || k <= j) continue;
+            this.keys[i] = this.keys[j];
+            this.values[i] = this.values[j];
+            i = j;
+        }
+        this.keys[i] = 0;
+        this.values[i] = null;
+        this.size--;
+        return value;
+    }
+
+    /**
+     * Return the number of keys.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Return the values in an array.
+     *
+     * @param empty an empty array of the kind of value
+     * @return the values
+     */
+    @SuppressWarnings("unchecked")
+    public V[] toArray(V[] empty) {
+        V[] array = Arrays.copyOf(empty, this.size);
+        int n = 0;
+        for (Object value : this.values) {
+            if (value != null) array[n++] = (V) value;
+        }
+        return array;
+    }
+
+    /**
+     * Double the capacity and put every key in its new slot.
+     */
+    private void grow() {
+        int[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        this.keys = new int[oldKeys.length * 2];
+        this.values = new Object[oldKeys.length * 2];
+        this.shift--;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == 0) continue;
+            int j = find(oldKeys[i]);
+            this.keys[j] = oldKeys[i];
+            this.values[j] = oldValues[i];
+        }
+    }
+
+    /**
+     * Return an Iterator object over the values, required by the Iterator Design Pattern.
+     * The map must not change while it is iterated.
+     *
+     * @return an Iterator object
+     */
+    @Override
+    public Iterator<V> iterator() {
+        Object[] values = this.values;
+        return new Iterator<V>() {
+            private int next = skip(0);
+
+            private int skip(int i) {
+                while (i < values.length && values[i] == null) i++;
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return this.next < values.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                V value = (V) values[this.next];
+                this.next = skip(this.next + 1);
+                return value;
+            }
+        };
+    }
+}
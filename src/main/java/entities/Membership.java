@@ -0,0 +1,260 @@
+package entities;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * This class represents the members of a team and which of them are admins.
+ * <p>
+ * Most teams have a handful of members, so up to SMALL members are kept inline in an array, with the admins as a
+ * bitmask over it, and found by scanning their current names. A team that grows past SMALL moves its members into
+ * a NameDictionary and its admins into a map by id, and keeps them there.
+ */
+public class Membership implements Iterable<User> {
+    /**
+     * The most members kept inline; at most 32, the bits of the admin mask.
+     */
+    public static final int SMALL = 16;
+
+    /**
+     * Members while the team is small, the first count slots in use.
+     */
+    private User[] inline = new User[2];
+    private int count;
+    /**
+     * Bit i is set if the i-th inline member is an admin.
+     */
+    private int adminMask;
+    /**
+     * Members and admins once the team is large, null before.
+     */
+    private NameDictionary<User> members;
+    private IntMap<User> admins;
+    /**
+     * Members and admins by name read from a file saved before ids existed, kept aside until they are first needed.
+     */
+    private Map<String, User> pendingMembers;
+    private Map<String, User> pendingAdmins;
+
+    /**
+     * Create the members of a team from maps by name, as saved before ids existed.
+     * While a file is being read its users may still be incomplete, so they are only looked at on first use.
+     *
+     * @param members members by name
+     * @param admins  admins by name
+     * @return the members
+     */
+    static Membership of(Map<String, User> members, Map<String, User> admins) {
+        Membership membership = new Membership();
+        membership.pendingMembers = members;
+        membership.pendingAdmins = admins;
+        return membership;
+    }
+
+    /**
+     * Add members and admins kept aside by of.
+     */
+    private void settle() {
+        if (this.pendingMembers == null) return;
+        Map<String, User> members = this.pendingMembers;
+        Map<String, User> admins = this.pendingAdmins;
+        this.pendingMembers = null;
+        this.pendingAdmins = null;
+        for (User member : members.values()) add(member);
+        for (User admin : admins.values()) addAdmin(admin);
+    }
+
+    /**
+     * Return the index of an inline member, or -1 if there is none by that name.
+     */
+    private int indexOf(String name) {
+        for (int i = 0; i < this.count; i++) {
+            if (this.inline[i].getName().equals(name)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Return a member by name.
+     *
+     * @param name username
+     * @return the member, null if none has the name
+     */
+    public User get(String name) {
+        settle();
+        if (this.members != null) return this.members.get(name);
+        int i = indexOf(name);
+        return i < 0 ? null : this.inline[i];
+    }
+
+    /**
+     * Checks whether a member is an admin.
+     *
+     * @param name username
+     * @return true if a member by that name is an admin
+     */
+    public boolean isAdmin(String name) {
+        settle();
+        if (this.members != null) {
+            User member = this.members.get(name);
+            return member != null && this.admins.get(member.getRunId()) != null;
+        }
+        int i = indexOf(name);
+        return i >= 0 && (this.adminMask & 1 << i) != 0;
+    }
+
+    /**
+     * Add a member unless one has their name.
+     *
+     * @param user the user
+     */
+    public void add(User user) {
+        settle();
+        if (this.members != null) {
+            this.members.add(user);
+            return;
+        }
+        if (indexOf(user.getName()) >= 0) return;
+        if (this.count == SMALL) {
+            grow();
+            this.members.add(user);
+            return;
+        }
+        if (this.count == this.inline.length) this.inline = Arrays.copyOf(this.inline, this.count * 2);
+        this.inline[this.count++] = user;
+    }
+
+    /**
+     * Let a member become an admin. Users that are not members are left out.
+     *
+     * @param user the user
+     */
+    public void addAdmin(User user) {
+        settle();
+        if (this.members != null) {
+            if (this.members.get(user.getName()) == user) this.admins.put(user.getRunId(), user);
+            return;
+        }
+        int i = indexOf(user.getName());
+        if (i >= 0) this.adminMask |= 1 << i;
+    }
+
+    /**
+     * Remove the member that has the name of the given user, and their admin rights.
+     *
+     * @param user the user
+     */
+    public void remove(User user) {
+        settle();
+        if (this.members != null) {
+            User member = this.members.get(user.getName());
+            if (member == null) return;
+            this.members.remove(user.getName());
+            this.admins.remove(member.getRunId());
+            return;
+        }
+        int i = indexOf(user.getName());
+        if (i < 0) return;
+        // Move the last member into the slot, with its admin bit
+        int last = --this.count;
+        if (i != last) {
+            this.inline[i] = this.inline[last];
+            boolean lastIsAdmin = (this.adminMask & 1 << last) != 0;
+            this.adminMask = lastIsAdmin ? this.adminMask | 1 << i : this.adminMask & ~(1 << i);
+        }
+        this.inline[last] = null;
+        this.adminMask &= ~(1 << last);
+    }
+
+    /**
+     * Find a member by their new name after they have been renamed.
+     * Inline members are found by their current name, so only a large team has anything to do.
+     *
+     * @param oldName username before the user was renamed
+     * @param user    the user
+     */
+    public void renamed(String oldName, User user) {
+        settle();
+        if (this.members != null) this.members.renamed(oldName, user);
+    }
+
+    /**
+     * Return the number of members.
+     *
+     * @return the number of members
+     */
+    public int size() {
+        settle();
+        return this.members != null ? this.members.size() : this.count;
+    }
+
+    /**
+     * Return the members in an array.
+     *
+     * @return the members
+     */
+    public User[] toArray() {
+        settle();
+        return this.members != null ? this.members.toArray(new User[0]) : Arrays.copyOf(this.inline, this.count);
+    }
+
+    /**
+     * Return members or admins by name, the way files saved them before ids existed.
+     *
+     * @param adminsOnly true for admins only
+     * @return users by name
+     */
+    public HashMap<String, User> toMap(boolean adminsOnly) {
+        HashMap<String, User> byName = new HashMap<>();
+        for (User member : this) {
+            if (!adminsOnly || isAdmin(member.getName())) byName.put(member.getName(), member);
+        }
+        return byName;
+    }
+
+    /**
+     * Move inline members and admins into hashed ones.
+     */
+    private void grow() {
+        this.members = new NameDictionary<>();
+        this.admins = new IntMap<>();
+        for (int i = 0; i < this.count; i++) {
+            this.members.add(this.inline[i]);
+            if ((this.adminMask & 1 << i) != 0) this.admins.put(this.inline[i].getRunId(), this.inline[i]);
+        }
+        this.inline = null;
+        this.count = 0;
+        this.adminMask = 0;
+    }
+
+    /**
+     * Return an Iterator object required by the Iterator Design Pattern.
+     * Members must not change while they are iterated.
+     *
+     * @return an Iterator object
+     */
+    @Override
+    public Iterator<User> iterator() {
+        settle();
+        if (this.members != null) return this.members.iterator();
+        User[] inline = this.inline;
+        int count = this.count;
+        return new Iterator<User>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return this.next < count;
+            }
+
+            @Override
+            public User next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return inline[this.next++];
+            }
+        };
+    }
+}
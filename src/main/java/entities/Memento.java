@@ -2,8 +2,6 @@ package entities;
 
 import usecases.managers.UserList;
 
-import java.util.HashMap;
-
 /**
  * This class is the core object of the Memento Design Pattern.
  * It stores the state of entities and allows us to revert to this state later.
@@ -19,14 +17,14 @@ public class Memento {
     public Memento next;
 
     // The current state of the system.
-    private HashMap<String, User> userListCopy;
+    private NameDictionary<User> userListCopy;
 
     /**
      * Returns the state of the system stored.
      *
      * @return copy of the state of user list
      */
-    public HashMap<String, User> getState() {
+    public NameDictionary<User> getState() {
         return this.userListCopy;
     }
 
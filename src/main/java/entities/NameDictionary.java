@@ -0,0 +1,168 @@
+package entities;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * This class represents the entities of one scope, e.g. the tasks of a user or the members of a team.
+ * Entities are found by name through one open-addressing map, which takes no object per entry. Nothing looks the
+ * entities of a scope up by id, so no map by id is kept.
+ * <p>
+ * Names can change, so whoever renames an entity tells every scope it is in, which moves the entry of the old name
+ * to the new one in a single step.
+ *
+ * @param <E> the kind of entity
+ */
+public class NameDictionary<E extends Identified> implements Iterable<E> {
+    /**
+     * The dictionary of names, to the entities rather than their ids so that a lookup by name probes once.
+     */
+    private final StringMap<E> names = new StringMap<>();
+    /**
+     * Entities by name read from a file saved before ids existed, kept aside until they are first needed.
+     */
+    private Map<String, E> pending;
+
+    /**
+     * Create an empty dictionary.
+     */
+    public NameDictionary() {
+
+    }
+
+    /**
+     * Create a dictionary from entities by name, as saved before ids existed.
+     * While a file is being read its entities may still be incomplete, so they are only looked at on first use.
+     *
+     * @param byName entities by name
+     * @param <E>    the kind of entity
+     * @return the dictionary
+     */
+    public static <E extends Identified> NameDictionary<E> of(Map<String, E> byName) {
+        NameDictionary<E> dictionary = new NameDictionary<>();
+        dictionary.pending = byName;
+        return dictionary;
+    }
+
+    /**
+     * Move entities kept aside by of into the dictionary.
+     */
+    private void settle() {
+        if (this.pending == null) return;
+        Map<String, E> byName = this.pending;
+        this.pending = null;
+        for (Map.Entry<String, E> entry : byName.entrySet()) this.names.put(entry.getKey(), entry.getValue());
+    }
+
+    /**
+     * Checks whether an entity has the given name.
+     *
+     * @param name the name
+     * @return true if one has
+     */
+    public boolean contains(String name) {
+        settle();
+        return this.names.containsKey(name);
+    }
+
+    /**
+     * Return an entity by name.
+     *
+     * @param name the name
+     * @return the entity, null if none has the name
+     */
+    public E get(String name) {
+        settle();
+        return this.names.get(name);
+    }
+
+    /**
+     * Add an entity unless another one already has its name.
+     *
+     * @param entity the entity
+     * @return true if it has been added
+     */
+    public boolean add(E entity) {
+        settle();
+        return this.names.putIfAbsent(entity.getName(), entity) == null;
+    }
+
+    /**
+     * Add an entity, replacing the one that has its name.
+     *
+     * @param entity the entity
+     */
+    public void put(E entity) {
+        remove(entity.getName());
+        add(entity);
+    }
+
+    /**
+     * Remove the entity that has the given name.
+     *
+     * @param name the name
+     * @return the entity removed, null if none had the name
+     */
+    public E remove(String name) {
+        settle();
+        return this.names.remove(name);
+    }
+
+    /**
+     * Move the entry of an entity from its old name to its current name.
+     *
+     * @param oldName the name before the entity was renamed
+     * @param entity  the entity
+     */
+    public void renamed(String oldName, E entity) {
+        settle();
+        if (this.names.get(oldName) != entity) return; // the entity is not in this scope
+        this.names.remove(oldName);
+        this.names.put(entity.getName(), entity);
+    }
+
+    /**
+     * Return the number of entities.
+     *
+     * @return the number of entities
+     */
+    public int size() {
+        settle();
+        return this.names.size();
+    }
+
+    /**
+     * Return the entities in an array.
+     *
+     * @param empty an empty array of the kind of entity
+     * @return the entities
+     */
+    public E[] toArray(E[] empty) {
+        settle();
+        return this.names.toArray(empty);
+    }
+
+    /**
+     * Return the entities by name, the way files saved them before ids existed.
+     *
+     * @return entities by name
+     */
+    public HashMap<String, E> toMap() {
+        settle();
+        HashMap<String, E> byName = new HashMap<>();
+        this.names.forEach(byName::put);
+        return byName;
+    }
+
+    /**
+     * Return an Iterator object required by the Iterator Design Pattern.
+     *
+     * @return an Iterator object
+     */
+    @Override
+    public Iterator<E> iterator() {
+        settle();
+        return this.names.iterator();
+    }
+}
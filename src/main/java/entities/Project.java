@@ -1,19 +1,44 @@
 package entities;
 
-import java.io.Serializable;
+import java.io.*;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class represents a project.
  * A project stores a collection of tasks, but those tasks must be in exactly one project.
+ * It keeps counts of its tasks up to date as they change, so they can be shown without going through the tasks.
+ * Tasks are found by name through the task list of their user, so a project only keeps its tasks themselves.
  */
-public class Project implements Serializable, Iterable<Task>, Comparable<Project> {
+public class Project implements Serializable, Iterable<Task>, Comparable<Project>, Identified {
     /**
-     * The collection of tasks.
+     * Pinned to the value of the first release, so files saved by it can still be read after this class changes.
      */
-    private final HashMap<String, Task> tasks;
+    private static final long serialVersionUID = 8279569302970042014L;
+    /**
+     * Files keep the tasks as a map by name, as the first release saved them.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("tasks", HashMap.class), new ObjectStreamField("name", String.class)};
+    /**
+     * Gives out run ids.
+     */
+    private static final AtomicInteger IDS = new AtomicInteger();
+    /**
+     * Run id of this project, given anew whenever it is created or read from a file and never saved.
+     */
+    private transient int id = IDS.incrementAndGet();
+    /**
+     * The collection of tasks, by identity, so renaming a task changes nothing here.
+     */
+    private transient IdentitySet<Task> tasks;
+    /**
+     * Counts of the tasks, made on first use: a project read from a file may not have its tasks complete yet.
+     */
+    private transient TaskStats stats;
     /**
      * Project name.
      */
@@ -25,8 +50,18 @@ public class Project implements Serializable, Iterable<Task>, Comparable<Project
      * @param name project name
      */
     public Project(String name) {
-        this.name = name;
-        this.tasks = new HashMap<>();
+        this.name = StringPool.canonical(name);
+        this.tasks = new IdentitySet<>();
+    }
+
+    /**
+     * Return the run id of the project, valid only within one run.
+     *
+     * @return project run id
+     */
+    @Override
+    public int getRunId() {
+        return this.id;
     }
 
     /**
@@ -44,17 +79,20 @@ public class Project implements Serializable, Iterable<Task>, Comparable<Project
      * @param name project name
      */
     public void setName(String name) {
-        this.name = name;
+        this.name = StringPool.canonical(name);
     }
 
     /**
-     * Checks if this project has the given task.
+     * Checks if this project has the given task, going through its tasks.
      *
      * @param name task name
      * @return true if has task
      */
     public boolean hasTask(String name) {
-        return this.tasks.containsKey(name);
+        for (Task task : this.tasks) {
+            if (task.getName().equals(name)) return true;
+        }
+        return false;
     }
 
     /**
@@ -63,7 +101,7 @@ public class Project implements Serializable, Iterable<Task>, Comparable<Project
      * @param task the task object
      */
     public void addTask(Task task) {
-        this.tasks.putIfAbsent(task.getName(), task);
+        if (this.tasks.add(task) && this.stats != null) this.stats.added(task);
     }
 
     /**
@@ -72,7 +110,46 @@ public class Project implements Serializable, Iterable<Task>, Comparable<Project
      * @param task the task object
      */
     public void delTask(Task task) {
-        this.tasks.remove(task.getName());
+        if (this.tasks.remove(task) && this.stats != null) this.stats.removed(task);
+    }
+
+    /**
+     * Count a task of this project under its new due date after it has been retimed.
+     *
+     * @param oldDueDate due date of the task before it was retimed
+     * @param task       the task object
+     */
+    public void taskRetimed(String oldDueDate, Task task) {
+        if (this.stats != null) this.stats.retimed(oldDueDate, task);
+    }
+
+    /**
+     * Count a task of this project after it has been starred or unstarred.
+     *
+     * @param task the task object
+     */
+    public void taskStarred(Task task) {
+        if (this.stats != null) this.stats.starred(task);
+    }
+
+    /**
+     * Return the k tasks of this project due soonest, soonest first.
+     *
+     * @param k the most tasks to return
+     * @return the tasks due soonest
+     */
+    public List<Task> next(int k) {
+        return Task.soonest(this.tasks, k);
+    }
+
+    /**
+     * Return the counts of the tasks of this project.
+     *
+     * @return the counts
+     */
+    public TaskStats getStats() {
+        if (this.stats == null) this.stats = TaskStats.of(this);
+        return this.stats;
     }
 
     /**
@@ -82,7 +159,7 @@ public class Project implements Serializable, Iterable<Task>, Comparable<Project
      */
     @Override
     public String toString() {
-        Task[] tasks = this.tasks.values().toArray(new Task[0]);
+        Task[] tasks = this.tasks.toArray(new Task[0]);
         Arrays.sort(tasks); // Sort them
         StringBuilder output = new StringBuilder("This project <" + this.name + "> contains the following tasks:\n");
         for (Task task : tasks) {
@@ -99,7 +176,7 @@ public class Project implements Serializable, Iterable<Task>, Comparable<Project
      */
     @Override
     public Iterator<Task> iterator() {
-        return this.tasks.values().iterator();
+        return this.tasks.iterator();
     }
 
     /**
@@ -112,4 +189,25 @@ public class Project implements Serializable, Iterable<Task>, Comparable<Project
     public int compareTo(Project o) {
         return this.name.compareToIgnoreCase(o.getName());
     }
-}
\ No newline at end of file
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        HashMap<String, Task> byName = new HashMap<>();
+        for (Task task : this.tasks) byName.put(task.getName(), task);
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("tasks", byName);
+        fields.put("name", this.name);
+        out.writeFields();
+    }
+
+    /**
+     * Read this project from a file and give it a run id.
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        this.tasks = new IdentitySet<>();
+        for (Task task : ((HashMap<String, Task>) fields.get("tasks", new HashMap<>())).values()) this.tasks.add(task);
+        this.name = (String) fields.get("name", null);
+        this.id = IDS.incrementAndGet();
+    }
+}
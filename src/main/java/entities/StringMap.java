@@ -0,0 +1,217 @@
+package entities;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * This class maps Strings to objects with open addressing: keys and values live in two parallel arrays and collisions
+ * are resolved by linear probing, so an entry costs two array slots instead of a node object.
+ *
+ * @param <V> the kind of value
+ */
+public class StringMap<V> implements Iterable<V> {
+    /**
+     * The smallest capacity, a power of two.
+     */
+    private static final int MIN_CAPACITY = 4;
+
+    private String[] keys = new String[MIN_CAPACITY];
+    private Object[] values = new Object[MIN_CAPACITY];
+    private int size;
+    /**
+     * 32 minus the number of bits of the capacity, for Fibonacci hashing.
+     */
+    private int shift = 32 - Integer.numberOfTrailingZeros(MIN_CAPACITY);
+
+    /**
+     * Spread the hash of a key over the slots. Names often differ only in their last characters.
+     */
+    private int home(String key) {
+        return key.hashCode() * 0x9E3779B9 >>> this.shift;
+    }
+
+    /**
+     * Return the slot of a key, or of the empty slot where it would go.
+     */
+    private int find(String key) {
+        int mask = this.keys.length - 1;
+        int i = home(key);
+        while (this.keys[i] != null && !this.keys[i].equals(key)) i = i + 1 & mask;
+        return i;
+    }
+
+    /**
+     * Return the value of a key.
+     *
+     * @param key the key
+     * @return the value, null if the key is missing
+     */
+    @SuppressWarnings("unchecked")
+    public V get(String key) {
+        return (V) this.values[find(key)];
+    }
+
+    /**
+     * Checks whether a key is present.
+     *
+     * @param key the key
+     * @return true if present
+     */
+    public boolean containsKey(String key) {
+        return this.keys[find(key)] != null;
+    }
+
+    /**
+     * Set the value of a key.
+     *
+     * @param key   the key
+     * @param value the value, not null
+     * @return the previous value, null if the key was missing
+     */
+    @SuppressWarnings("unchecked")
+    public V put(String key, V value) {
+        int i = find(key);
+        if (this.keys[i] != null) {
+            V previous = (V) this.values[i];
+            this.values[i] = value;
+            return previous;
+        }
+        this.keys[i] = key;
+        this.values[i] = value;
+        if (++this.size * 4 > this.keys.length * 3) grow();
+        return null;
+    }
+
+    /**
+     * Set the value of a key unless it is present.
+     *
+     * @param key   the key
+     * @param value the value, not null
+     * @return the present value, null if the key was missing and has been added
+     */
+    @SuppressWarnings("unchecked")
+    public V putIfAbsent(String key, V value) {
+        int i = find(key);
+        if (this.keys[i] != null) return (V) this.values[i];
+        this.keys[i] = key;
+        this.values[i] = value;
+        if (++this.size * 4 > this.keys.length * 3) grow();
+        return null;
+    }
+
+    /**
+     * Remove a key.
+     *
+     * @param key the key
+     * @return its value, null if the key was missing
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(String key) {
+        int i = find(key);
+        if (this.keys[i] == null) return null;
+        V value = (V) this.values[i];
+        int mask = this.keys.length - 1;
+        // Shift back the keys probed past the hole, unless their home lies cyclically in (hole, j]
+        for (int j = i + 1 & mask; this.keys[j] != null; j = j + 1 & mask) {
+            int k = home(this.keys[j]);
+            if (i <= j ? i < k && k <= j : i < k || k <= j) continue;
+            this.keys[i] = this.keys[j];
+            this.values[i] = this.values[j];
+            i = j;
+        }
+        this.keys[i] = null;
+        this.values[i] = null;
+        this.size--;
+        return value;
+    }
+
+    /**
+     * Return the number of keys.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Call the given action for every key and its value.
+     *
+     * @param action the action
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<String, V> action) {
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i] != null) action.accept(this.keys[i], (V) this.values[i]);
+        }
+    }
+
+    /**
+     * Return the values in an array.
+     *
+     * @param empty an empty array of the kind of value
+     * @return the values
+     */
+    @SuppressWarnings("unchecked")
+    public V[] toArray(V[] empty) {
+        V[] array = Arrays.copyOf(empty, this.size);
+        int n = 0;
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i] != null) array[n++] = (V) this.values[i];
+        }
+        return array;
+    }
+
+    /**
+     * Double the capacity and put every key in its new slot.
+     */
+    private void grow() {
+        String[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        this.keys = new String[oldKeys.length * 2];
+        this.values = new Object[oldKeys.length * 2];
+        this.shift--;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) continue;
+            int j = find(oldKeys[i]);
+            this.keys[j] = oldKeys[i];
+            this.values[j] = oldValues[i];
+        }
+    }
+
+    /**
+     * Return an Iterator object over the values, required by the Iterator Design Pattern.
+     * The map must not change while it is iterated.
+     *
+     * @return an Iterator object
+     */
+    @Override
+    public Iterator<V> iterator() {
+        String[] keys = this.keys;
+        Object[] values = this.values;
+        return new Iterator<V>() {
+            private int next = skip(0);
+
+            private int skip(int i) {
+                while (i < keys.length && keys[i] == null) i++;
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return this.next < keys.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                V value = (V) values[this.next];
+                this.next = skip(this.next + 1);
+                return value;
+            }
+        };
+    }
+}
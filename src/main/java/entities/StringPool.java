@@ -0,0 +1,76 @@
+package entities;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+
+/**
+ * This class keeps one copy of each String that entities hold many times over, such as due dates, tags, project
+ * names and the names of tasks broadcast to a team.
+ * <p>
+ * The pool only refers to its Strings weakly, so a String leaves the pool once no entity holds it anymore. It is split
+ * into stripes with a lock each, so snapshot segments decoded in parallel rarely wait for each other.
+ */
+public class StringPool {
+    private static final int STRIPES = 16;
+    private static final List<WeakHashMap<String, WeakReference<String>>> POOL = new ArrayList<>(STRIPES);
+
+    static {
+        for (int i = 0; i < STRIPES; i++) POOL.add(new WeakHashMap<>());
+    }
+
+    private StringPool() {
+
+    }
+
+    /**
+     * Return the copy of a String kept by the pool, keeping the given one if there is none yet.
+     *
+     * @param s the String, may be null
+     * @return an equal String, the same object for every equal String while it is held
+     */
+    public static String canonical(String s) {
+        if (s == null) return null;
+        int hash = s.hashCode();
+        WeakHashMap<String, WeakReference<String>> stripe = POOL.get((hash ^ hash >>> 16) & (STRIPES - 1));
+        synchronized (stripe) {
+            WeakReference<String> ref = stripe.get(s);
+            String pooled = ref == null ? null : ref.get();
+            if (pooled != null) return pooled;
+            stripe.put(s, new WeakReference<>(s));
+            return s;
+        }
+    }
+
+    /**
+     * Return the number of Strings in the pool, some of which may be about to leave it.
+     *
+     * @return the number of Strings
+     */
+    public static int size() {
+        int size = 0;
+        for (WeakHashMap<String, WeakReference<String>> stripe : POOL) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Pass every String in the pool to the given action, some of which may be about to leave it.
+     *
+     * @param action what to do with each String
+     */
+    public static void forEach(Consumer<String> action) {
+        for (WeakHashMap<String, WeakReference<String>> stripe : POOL) {
+            List<String> strings;
+            synchronized (stripe) {
+                strings = new ArrayList<>(stripe.keySet());
+            }
+            strings.forEach(action);
+        }
+    }
+}
@@ -1,32 +1,52 @@
 package entities;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class represents a task.
+ * A task only knows where its fields are kept and its row there: in the columns of a columnar task store while it
+ * is in one, otherwise in fields of its own, where a long description is kept off the heap in the DescriptionStore.
  */
-public class Task implements Serializable, Comparable<Task> {
+public class Task implements Serializable, Comparable<Task>, Identified {
     /**
-     * Task name.
+     * Pinned to the value of the first release, so files saved by it can still be read after this class changes.
      */
-    private String name;
+    private static final long serialVersionUID = 2456448892575820891L;
     /**
-     * Task due date.
+     * Files keep the fields of the task themselves, as the first release saved them, and its tags.
      */
-    private String dueDate;
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("name", String.class), new ObjectStreamField("dueDate", String.class),
+            new ObjectStreamField("description", String.class), new ObjectStreamField("project", Project.class),
+            new ObjectStreamField("isStarred", boolean.class), new ObjectStreamField("tags", String[].class)};
     /**
-     * Task description.
+     * Gives out run ids.
      */
-    private String description;
+    private static final AtomicInteger IDS = new AtomicInteger();
     /**
-     * The project this task is stored in.
+     * Run id of this task, given anew whenever it is created or read from a file and never saved.
      */
-    private final Project project;
+    private transient int id = IDS.incrementAndGet();
     /**
-     * Whether this task is starred.
+     * Where the fields of this task are kept.
      */
-    private boolean isStarred;
+    private transient TaskColumns columns;
+    /**
+     * The row of this task in its columns.
+     */
+    private transient int row;
 
     /**
      * Create a task with given name, due date, and project.
@@ -36,10 +56,17 @@ public class Task implements Serializable, Comparable<Task> {
      * @param project project that stores this task
      */
     public Task(String name, String dueDate, Project project) {
-        this.name = name;
-        this.dueDate = dueDate;
-        this.project = project;
-        this.description = "";
+        this.columns = new TaskFields(name, dueDate, project);
+    }
+
+    /**
+     * Return the run id of the task, valid only within one run.
+     *
+     * @return task run id
+     */
+    @Override
+    public int getRunId() {
+        return this.id;
     }
 
     /**
@@ -48,7 +75,7 @@ public class Task implements Serializable, Comparable<Task> {
      * @return task name
      */
     public String getName() {
-        return this.name;
+        return this.columns.getName(this.row);
     }
 
     /**
@@ -57,7 +84,7 @@ public class Task implements Serializable, Comparable<Task> {
      * @param name task name
      */
     public void setName(String name) {
-        this.name = name;
+        this.columns.setName(this.row, name);
     }
 
     /**
@@ -66,7 +93,7 @@ public class Task implements Serializable, Comparable<Task> {
      * @return task due date
      */
     public String getDueDate() {
-        return this.dueDate;
+        return this.columns.getDueDate(this.row);
     }
 
     /**
@@ -75,7 +102,7 @@ public class Task implements Serializable, Comparable<Task> {
      * @param dueDate task due date
      */
     public void setDueDate(String dueDate) {
-        this.dueDate = dueDate;
+        this.columns.setDueDate(this.row, dueDate);
     }
 
     /**
@@ -84,7 +111,7 @@ public class Task implements Serializable, Comparable<Task> {
      * @return task description
      */
     public String getDescription() {
-        return description;
+        return this.columns.getDescription(this.row);
     }
 
     /**
@@ -93,7 +120,29 @@ public class Task implements Serializable, Comparable<Task> {
      * @param description task description
      */
     public void setDescription(String description) {
-        this.description = description;
+        this.columns.setDescription(this.row, description);
+    }
+
+    /**
+     * Checks whether the description of this task is kept off the heap.
+     *
+     * @return true if it is kept in the DescriptionStore
+     */
+    public boolean isDescriptionOffHeap() {
+        return this.columns instanceof TaskFields && ((TaskFields) this.columns).isDescriptionOffHeap();
+    }
+
+    /**
+     * Sets the description of this task to that of another task, sharing it if it is kept off the heap.
+     *
+     * @param task the other task
+     */
+    public void copyDescription(Task task) {
+        if (this.columns instanceof TaskFields && task.columns instanceof TaskFields) {
+            ((TaskFields) this.columns).copyDescription((TaskFields) task.columns);
+        } else {
+            setDescription(task.getDescription());
+        }
     }
 
     /**
@@ -102,7 +151,7 @@ public class Task implements Serializable, Comparable<Task> {
      * @return the project that stores this task
      */
     public Project getProject() {
-        return project;
+        return this.columns.getProject(this.row);
     }
 
     /**
@@ -111,7 +160,7 @@ public class Task implements Serializable, Comparable<Task> {
      * @return true if starred
      */
     public boolean isStarred() {
-        return this.isStarred;
+        return this.columns.isStarred(this.row);
     }
 
     /**
@@ -120,7 +169,103 @@ public class Task implements Serializable, Comparable<Task> {
      * @param starred true if we want to star it, false otherwise
      */
     public void setStarred(boolean starred) {
-        this.isStarred = starred;
+        this.columns.setStarred(this.row, starred);
+    }
+
+    /**
+     * Return the tags of this task.
+     *
+     * @return the tags, sorted
+     */
+    public List<String> getTags() {
+        String[] tags = this.columns.getTags(this.row);
+        return tags == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(tags));
+    }
+
+    /**
+     * Checks whether this task has the given tag.
+     *
+     * @param tag the tag
+     * @return true if it has the tag
+     */
+    public boolean hasTag(String tag) {
+        String[] tags = this.columns.getTags(this.row);
+        return tags != null && Arrays.binarySearch(tags, tag) >= 0;
+    }
+
+    /**
+     * Give this task a tag.
+     *
+     * @param tag the tag
+     * @return false if it already has the tag
+     */
+    public boolean addTag(String tag) {
+        String[] old = this.columns.getTags(this.row);
+        if (old == null) {
+            this.columns.setTags(this.row, new String[]{StringPool.canonical(tag)});
+            return true;
+        }
+        int i = Arrays.binarySearch(old, tag);
+        if (i >= 0) return false;
+        i = -i - 1;
+        String[] tags = new String[old.length + 1];
+        System.arraycopy(old, 0, tags, 0, i);
+        tags[i] = StringPool.canonical(tag);
+        System.arraycopy(old, i, tags, i + 1, old.length - i);
+        this.columns.setTags(this.row, tags);
+        return true;
+    }
+
+    /**
+     * Take a tag off this task.
+     *
+     * @param tag the tag
+     * @return false if it does not have the tag
+     */
+    public boolean removeTag(String tag) {
+        String[] old = this.columns.getTags(this.row);
+        int i = old == null ? -1 : Arrays.binarySearch(old, tag);
+        if (i < 0) return false;
+        if (old.length == 1) {
+            this.columns.setTags(this.row, null);
+            return true;
+        }
+        String[] tags = new String[old.length - 1];
+        System.arraycopy(old, 0, tags, 0, i);
+        System.arraycopy(old, i + 1, tags, i, tags.length - i);
+        this.columns.setTags(this.row, tags);
+        return true;
+    }
+
+    /**
+     * Checks whether the fields of this task live in the columns of a task store.
+     *
+     * @return true if they do
+     */
+    public boolean isInColumns() {
+        return !(this.columns instanceof TaskFields);
+    }
+
+    /**
+     * Hand the fields of this task over to a task store, which keeps them from now on.
+     * Only task stores call this, after copying the fields into the given row.
+     *
+     * @param columns the columns of the store
+     * @param row     the row of this task
+     */
+    public void moveInto(TaskColumns columns, int row) {
+        if (this.columns instanceof TaskFields) ((TaskFields) this.columns).release();
+        this.columns = columns;
+        this.row = row;
+    }
+
+    /**
+     * Take the fields of this task back from its task store, e.g. when it is removed from the store.
+     */
+    public void moveOut() {
+        if (!isInColumns()) return;
+        this.columns = TaskFields.of(this.columns, this.row);
+        this.row = 0;
     }
 
     /**
@@ -130,8 +275,8 @@ public class Task implements Serializable, Comparable<Task> {
      */
     @Override
     public String toString() {
-        String star = this.isStarred ? "*STARRED* " : "";
-        return star + this.name + ": due on " + this.dueDate + "; in project <" + this.project.getName() + ">; description: " + this.description;
+        String star = isStarred() ? "*STARRED* " : "";
+        return star + getName() + ": due on " + getDueDate() + "; in project <" + getProject().getName() + ">; description: " + getDescription();
     }
 
     /**
@@ -142,7 +287,7 @@ public class Task implements Serializable, Comparable<Task> {
      */
     @Override
     public int compareTo(Task o) {
-        LocalDate thisDueDate = LocalDate.parse(this.dueDate);
+        LocalDate thisDueDate = LocalDate.parse(getDueDate());
         LocalDate otherDueDate = LocalDate.parse(o.getDueDate());
         if (thisDueDate.isBefore(otherDueDate)) {
             return -1;
@@ -153,4 +298,58 @@ public class Task implements Serializable, Comparable<Task> {
         }
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Return the k tasks due soonest, soonest first. Only k tasks are kept at a time: a bounded heap holds the k
+     * soonest seen so far, with the latest of them on top to be pushed out by a sooner one. Tasks due on the same
+     * day come in no particular order.
+     *
+     * @param tasks the tasks
+     * @param k     the most tasks to return
+     * @return the tasks due soonest
+     */
+    public static List<Task> soonest(Iterable<Task> tasks, int k) {
+        // ISO dates compare as text, which spares parsing both dates on every comparison
+        Comparator<Task> latestFirst = Comparator.comparing(Task::getDueDate).reversed();
+        PriorityQueue<Task> heap = new PriorityQueue<>(Math.max(1, Math.min(k, 1024)), latestFirst);
+        for (Task task : tasks) {
+            if (heap.size() < k) {
+                heap.add(task);
+            } else if (k > 0 && task.getDueDate().compareTo(heap.peek().getDueDate()) < 0) {
+                heap.poll();
+                heap.add(task);
+            }
+        }
+        List<Task> soonest = new ArrayList<>(heap);
+        soonest.sort(latestFirst.reversed());
+        return soonest;
+    }
+
+    /**
+     * Write the fields of this task to a file, with its description decoded if it is kept off the heap.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("name", getName());
+        fields.put("dueDate", getDueDate());
+        fields.put("description", getDescription());
+        fields.put("project", getProject());
+        fields.put("isStarred", isStarred());
+        fields.put("tags", this.columns.getTags(this.row));
+        out.writeFields();
+    }
+
+    /**
+     * Read the fields of this task from a file and give it a run id, moving a long description off the heap.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        TaskFields own = new TaskFields((String) fields.get("name", null), (String) fields.get("dueDate", null),
+                (Project) fields.get("project", null));
+        own.setDescription(0, (String) fields.get("description", ""));
+        own.setStarred(0, fields.get("isStarred", false));
+        own.setTags(0, (String[]) fields.get("tags", null));
+        this.columns = own;
+        this.id = IDS.incrementAndGet();
+    }
+}
@@ -0,0 +1,254 @@
+package entities;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * This class represents the tasks a team shares. Members post tasks to the board, claim them and complete them.
+ * <p>
+ * Members update a board from their own sessions at the same time, so it takes no lock: tasks are kept in a
+ * ConcurrentHashMap, and who holds a task is one immutable state replaced by compare-and-set. When members race for
+ * a task exactly one of them gets it, and showing the board never waits for an update.
+ */
+public class TaskBoard implements Serializable, Iterable<TaskBoard.Card> {
+    private static final long serialVersionUID = 1L;
+    /**
+     * Sooner due dates first, then by name.
+     */
+    private static final Comparator<Card> ORDER = Comparator.comparing(Card::getDueDate).thenComparing(Card::getName);
+
+    /**
+     * The tasks by name.
+     */
+    private transient ConcurrentHashMap<String, Card> cards = new ConcurrentHashMap<>();
+
+    /**
+     * Post a task nobody has claimed yet.
+     *
+     * @param name    task name
+     * @param dueDate task due date
+     * @return false if the board already has a task of that name
+     */
+    public boolean post(String name, String dueDate) {
+        return this.cards.putIfAbsent(name, new Card(name, dueDate, null)) == null;
+    }
+
+    /**
+     * Put back a task as it was saved, replacing any task of that name.
+     *
+     * @param name     task name
+     * @param dueDate  task due date
+     * @param claimant who has claimed it, null if nobody has
+     * @param done     whether it has been completed
+     */
+    public void restore(String name, String dueDate, User claimant, boolean done) {
+        this.cards.put(name, new Card(name, dueDate, claimant == null ? null : new Claim(claimant, done)));
+    }
+
+    /**
+     * Return a task by name.
+     *
+     * @param name task name
+     * @return the task, null if there is none
+     */
+    public Card get(String name) {
+        return this.cards.get(name);
+    }
+
+    /**
+     * Let a member claim a task nobody has claimed yet.
+     *
+     * @param name   task name
+     * @param member the member
+     * @return true if the member now holds the task, false if it does not exist or someone got it first
+     */
+    public boolean claim(String name, User member) {
+        Card card = this.cards.get(name);
+        return card != null && card.claim.compareAndSet(null, new Claim(member, false));
+    }
+
+    /**
+     * Let a member complete a task they have claimed, or one nobody has claimed, which they claim as they complete it.
+     *
+     * @param name   task name
+     * @param member the member
+     * @return true if the member has completed the task
+     */
+    public boolean complete(String name, User member) {
+        Card card = this.cards.get(name);
+        if (card == null) return false;
+        Claim done = new Claim(member, true);
+        while (true) {
+            Claim claim = card.claim.get();
+            if (claim != null && (claim.done || claim.claimant != member)) return false;
+            if (card.claim.compareAndSet(claim, done)) return true;
+        }
+    }
+
+    /**
+     * Point every claim at the user who now goes by its claimant's name, once users have been replaced by copies
+     * of themselves. Claims whose claimant is not found are left as they are.
+     *
+     * @param users the users by name
+     */
+    public void relink(Function<String, User> users) {
+        for (Card card : this.cards.values()) {
+            while (true) {
+                Claim claim = card.claim.get();
+                if (claim == null) break;
+                User claimant = users.apply(claim.claimant.getName());
+                if (claimant == null || claimant == claim.claimant) break;
+                if (card.claim.compareAndSet(claim, new Claim(claimant, claim.done))) break;
+            }
+        }
+    }
+
+    /**
+     * Return the number of tasks.
+     *
+     * @return the number of tasks
+     */
+    public int size() {
+        return this.cards.size();
+    }
+
+    /**
+     * Return a String showing every task, soonest due first. Tasks updated while it is being built show either
+     * their state before or after the update.
+     *
+     * @return a String showing every task
+     */
+    @Override
+    public String toString() {
+        List<Card> cards = new ArrayList<>(this.cards.values());
+        cards.sort(ORDER);
+        StringBuilder output = new StringBuilder("The team shares the following tasks:\n");
+        for (Card card : cards) {
+            output.append(card.toString()).append('\n'); // Each line will be a task
+        }
+        return output.toString();
+    }
+
+    /**
+     * Return an Iterator object required by the Iterator Design Pattern. It never fails while the board is updated.
+     *
+     * @return an Iterator object
+     */
+    @Override
+    public Iterator<Card> iterator() {
+        return this.cards.values().iterator();
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        List<Card> cards = new ArrayList<>(this.cards.values());
+        out.writeInt(cards.size());
+        for (Card card : cards) {
+            Claim claim = card.claim.get();
+            out.writeObject(card.name);
+            out.writeObject(card.dueDate);
+            out.writeObject(claim == null ? null : claim.claimant);
+            out.writeBoolean(claim != null && claim.done);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.cards = new ConcurrentHashMap<>();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            restore((String) in.readObject(), (String) in.readObject(), (User) in.readObject(), in.readBoolean());
+        }
+    }
+
+    /**
+     * This class represents a task on the board.
+     */
+    public static final class Card {
+        private final String name;
+        private final String dueDate;
+        /**
+         * Who holds the task and whether they have completed it, null while nobody has claimed it.
+         */
+        private final AtomicReference<Claim> claim;
+
+        private Card(String name, String dueDate, Claim claim) {
+            this.name = StringPool.canonical(name);
+            this.dueDate = StringPool.canonical(dueDate);
+            this.claim = new AtomicReference<>(claim);
+        }
+
+        /**
+         * Return the name of the task.
+         *
+         * @return task name
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Return the due date of the task.
+         *
+         * @return task due date
+         */
+        public String getDueDate() {
+            return this.dueDate;
+        }
+
+        /**
+         * Return who has claimed the task.
+         *
+         * @return the member, null if nobody has
+         */
+        public User getClaimant() {
+            Claim claim = this.claim.get();
+            return claim == null ? null : claim.claimant;
+        }
+
+        /**
+         * Return whether the task has been completed.
+         *
+         * @return true if completed
+         */
+        public boolean isDone() {
+            Claim claim = this.claim.get();
+            return claim != null && claim.done;
+        }
+
+        /**
+         * Return a String representation of this task.
+         *
+         * @return task name, due date and who holds it
+         */
+        @Override
+        public String toString() {
+            Claim claim = this.claim.get(); // read once, so the line shows a single state
+            String state = claim == null ? "open" :
+                    (claim.done ? "completed by " : "claimed by ") + claim.claimant.getName();
+            return this.name + ": due on " + this.dueDate + "; " + state;
+        }
+    }
+
+    /**
+     * This class represents who holds a task. It never changes, so it can be swapped in one step.
+     */
+    private static final class Claim {
+        private final User claimant;
+        private final boolean done;
+
+        private Claim(User claimant, boolean done) {
+            this.claimant = claimant;
+            this.done = done;
+        }
+    }
+}
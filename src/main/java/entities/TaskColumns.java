@@ -0,0 +1,36 @@
+package entities;
+
+/**
+ * This interface represents where the fields of tasks are kept, one row per task: either a task store that keeps
+ * the fields of its tasks in columns, or the fields of a single task that is in no such store.
+ * A task reads and writes its fields through it and only knows its row.
+ */
+public interface TaskColumns {
+    String getName(int row);
+
+    void setName(int row, String name);
+
+    String getDueDate(int row);
+
+    void setDueDate(int row, String dueDate);
+
+    String getDescription(int row);
+
+    void setDescription(int row, String description);
+
+    Project getProject(int row);
+
+    boolean isStarred(int row);
+
+    void setStarred(int row, boolean starred);
+
+    /**
+     * Return the tags of a row, sorted, null if it has none.
+     */
+    String[] getTags(int row);
+
+    /**
+     * Sets the tags of a row, sorted, null for none. The array is not copied.
+     */
+    void setTags(int row, String[] tags);
+}
@@ -0,0 +1,142 @@
+package entities;
+
+/**
+ * This class keeps the fields of a task that is in no columnar task store, as the only row of its own columns.
+ * A long description is kept off the heap in the DescriptionStore, and only decoded when it is read.
+ */
+final class TaskFields implements TaskColumns {
+    private String name;
+    private String dueDate;
+    /**
+     * Task description, null while it is kept in the DescriptionStore.
+     */
+    private String description = "";
+    /**
+     * The description kept in the DescriptionStore, null if it is held here.
+     */
+    private DescriptionStore.Ref offHeapDescription;
+    private final Project project;
+    private boolean isStarred;
+    private String[] tags;
+
+    /**
+     * Create the fields of a task. Due dates are shared through the StringPool; names are not, since a task name
+     * is nearly always unique to its user, and a pool entry would take more room than the name itself.
+     *
+     * @param name    task name
+     * @param dueDate task due date
+     * @param project project that stores the task
+     */
+    TaskFields(String name, String dueDate, Project project) {
+        this.name = name;
+        this.dueDate = StringPool.canonical(dueDate);
+        this.project = project;
+    }
+
+    /**
+     * Copy the fields of a task wherever they are kept.
+     *
+     * @param columns where the fields are kept
+     * @param row     the row of the task
+     * @return the copy
+     */
+    static TaskFields of(TaskColumns columns, int row) {
+        TaskFields fields = new TaskFields(columns.getName(row), columns.getDueDate(row), columns.getProject(row));
+        fields.setDescription(0, columns.getDescription(row));
+        fields.isStarred = columns.isStarred(row);
+        fields.tags = columns.getTags(row);
+        return fields;
+    }
+
+    @Override
+    public String getName(int row) {
+        return this.name;
+    }
+
+    @Override
+    public void setName(int row, String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getDueDate(int row) {
+        return this.dueDate;
+    }
+
+    @Override
+    public void setDueDate(int row, String dueDate) {
+        this.dueDate = StringPool.canonical(dueDate);
+    }
+
+    @Override
+    public String getDescription(int row) {
+        return this.offHeapDescription == null ? this.description : this.offHeapDescription.load();
+    }
+
+    @Override
+    public void setDescription(int row, String description) {
+        release();
+        if (DescriptionStore.isLong(description)) {
+            this.offHeapDescription = DescriptionStore.store(this, description);
+        } else {
+            this.description = description;
+        }
+    }
+
+    @Override
+    public Project getProject(int row) {
+        return this.project;
+    }
+
+    @Override
+    public boolean isStarred(int row) {
+        return this.isStarred;
+    }
+
+    @Override
+    public void setStarred(int row, boolean starred) {
+        this.isStarred = starred;
+    }
+
+    @Override
+    public String[] getTags(int row) {
+        return this.tags;
+    }
+
+    @Override
+    public void setTags(int row, String[] tags) {
+        this.tags = tags;
+    }
+
+    /**
+     * Checks whether the description is kept off the heap.
+     *
+     * @return true if it is kept in the DescriptionStore
+     */
+    boolean isDescriptionOffHeap() {
+        return this.offHeapDescription != null;
+    }
+
+    /**
+     * Sets the description to that of other fields, sharing it rather than copying it if it is kept off the heap.
+     *
+     * @param other the other fields
+     */
+    void copyDescription(TaskFields other) {
+        if (other.offHeapDescription == null) {
+            setDescription(0, other.description);
+            return;
+        }
+        release();
+        this.offHeapDescription = DescriptionStore.share(this, other.offHeapDescription);
+    }
+
+    /**
+     * Let go of the description, freeing it in the DescriptionStore if it is kept there.
+     */
+    void release() {
+        if (this.offHeapDescription != null) this.offHeapDescription.release();
+        this.offHeapDescription = null;
+        this.description = null;
+    }
+}
@@ -0,0 +1,130 @@
+package entities;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class keeps counts of a collection of tasks: how many there are, how many are starred and the soonest due
+ * date. The collection tells it about every task added, deleted, retimed or starred, so reading a count never has to
+ * look at the tasks.
+ * <p>
+ * Due dates are kept with the number of tasks due on each, so the soonest one is still known after the task due on
+ * it is deleted or retimed.
+ */
+public class TaskStats {
+    private int tasks;
+    private int starred;
+    /**
+     * Number of tasks due on each date, soonest first.
+     */
+    private final TreeMap<String, Integer> dueDates = new TreeMap<>();
+
+    /**
+     * Count the given tasks.
+     *
+     * @param tasks the tasks
+     * @return their counts
+     */
+    public static TaskStats of(Iterable<Task> tasks) {
+        TaskStats stats = new TaskStats();
+        for (Task task : tasks) stats.added(task);
+        return stats;
+    }
+
+    /**
+     * Count a task that has been added.
+     *
+     * @param task the task
+     */
+    public void added(Task task) {
+        this.tasks++;
+        if (task.isStarred()) this.starred++;
+        this.dueDates.merge(task.getDueDate(), 1, Integer::sum);
+    }
+
+    /**
+     * Stop counting a task that has been deleted.
+     *
+     * @param task the task
+     */
+    public void removed(Task task) {
+        this.tasks--;
+        if (task.isStarred()) this.starred--;
+        undue(task.getDueDate());
+    }
+
+    /**
+     * Count a task under its new due date.
+     *
+     * @param oldDueDate the due date the task had before
+     * @param task       the task
+     */
+    public void retimed(String oldDueDate, Task task) {
+        undue(oldDueDate);
+        this.dueDates.merge(task.getDueDate(), 1, Integer::sum);
+    }
+
+    /**
+     * Count a task that has been starred or unstarred.
+     *
+     * @param task the task
+     */
+    public void starred(Task task) {
+        this.starred += task.isStarred() ? 1 : -1;
+    }
+
+    /**
+     * Return the number of tasks.
+     *
+     * @return the number of tasks
+     */
+    public int size() {
+        return this.tasks;
+    }
+
+    /**
+     * Return the number of starred tasks.
+     *
+     * @return the number of starred tasks
+     */
+    public int getStarred() {
+        return this.starred;
+    }
+
+    /**
+     * Return the soonest due date.
+     *
+     * @return the due date, null if there are no tasks
+     */
+    public String getNextDueDate() {
+        Map.Entry<String, Integer> first = this.dueDates.firstEntry();
+        return first == null ? null : first.getKey();
+    }
+
+    private void undue(String dueDate) {
+        this.dueDates.computeIfPresent(dueDate, (date, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * Return a String representation of these counts.
+     *
+     * @return the number of tasks, of starred tasks and the soonest due date
+     */
+    @Override
+    public String toString() {
+        return describe(this.tasks, this.starred, getNextDueDate());
+    }
+
+    /**
+     * Return a String representation of counts of tasks, wherever they have been counted.
+     *
+     * @param tasks       number of tasks
+     * @param starred     number of starred tasks
+     * @param nextDueDate soonest due date, null if there are no tasks
+     * @return the counts
+     */
+    public static String describe(int tasks, int starred, String nextDueDate) {
+        if (tasks == 0) return "no tasks";
+        return tasks + (tasks == 1 ? " task, " : " tasks, ") + starred + " starred, next due on " + nextDueDate;
+    }
+}
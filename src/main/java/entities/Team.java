@@ -1,23 +1,48 @@
 package entities;
 
-import java.io.Serializable;
+import java.io.*;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class represents a Team.
  * A team stores a collection of team members and team admins.
+ * Members are kept in a Membership, which stays compact for the small teams most users form.
+ * The tasks the members share are kept on a TaskBoard, which members may update at the same time.
  */
-public class Team implements Serializable, Iterable<User>, Comparable<Team> {
+public class Team implements Serializable, Iterable<User>, Comparable<Team>, Identified {
     /**
-     * A collection of members.
+     * Pinned to the value of the first release, so files saved by it can still be read after this class changes.
      */
-    private final HashMap<String, User> members;
+    private static final long serialVersionUID = -1970832483079434965L;
     /**
-     * A collection of admins.
+     * Files keep members and admins as maps by name, as the first release saved them.
      */
-    private final HashMap<String, User> admins;
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("members", HashMap.class), new ObjectStreamField("admins", HashMap.class),
+            new ObjectStreamField("name", String.class), new ObjectStreamField("board", TaskBoard.class)};
+    /**
+     * Gives out run ids.
+     */
+    private static final AtomicInteger IDS = new AtomicInteger();
+    /**
+     * Run id of this team, given anew whenever it is created or read from a file and never saved.
+     */
+    private transient int id = IDS.incrementAndGet();
+    /**
+     * The members and which of them are admins.
+     */
+    private transient Membership members;
+    /**
+     * Whether this team has been disbanded, so that nobody joins it anymore.
+     */
+    private transient boolean disbanded;
+    /**
+     * The tasks shared by the members.
+     */
+    private transient TaskBoard board;
     /**
      * Team name.
      */
@@ -29,9 +54,19 @@ public class Team implements Serializable, Iterable<User>, Comparable<Team> {
      * @param name name of the team
      */
     public Team(String name) {
-        this.name = name;
-        this.members = new HashMap<>();
-        this.admins = new HashMap<>();
+        this.name = StringPool.canonical(name);
+        this.members = new Membership();
+        this.board = new TaskBoard();
+    }
+
+    /**
+     * Return the run id of the team, valid only within one run.
+     *
+     * @return team run id
+     */
+    @Override
+    public int getRunId() {
+        return this.id;
     }
 
     /**
@@ -49,7 +84,23 @@ public class Team implements Serializable, Iterable<User>, Comparable<Team> {
      * @param name team name
      */
     public void setName(String name) {
-        this.name = name;
+        this.name = StringPool.canonical(name);
+    }
+
+    /**
+     * Disband this team. Whoever disbands it makes its members drop it from their lists.
+     */
+    public void disband() {
+        this.disbanded = true;
+    }
+
+    /**
+     * Return whether this team has been disbanded.
+     *
+     * @return true if disbanded
+     */
+    public boolean isDisbanded() {
+        return this.disbanded;
     }
 
     /**
@@ -59,7 +110,7 @@ public class Team implements Serializable, Iterable<User>, Comparable<Team> {
      * @return whether the given user is a member
      */
     public boolean isMem(String name) {
-        return this.members.containsKey(name);
+        return this.members.get(name) != null;
     }
 
     /**
@@ -69,7 +120,7 @@ public class Team implements Serializable, Iterable<User>, Comparable<Team> {
      * @return whether the given user is an admin
      */
     public boolean isAdmin(String name) {
-        return this.admins.containsKey(name);
+        return this.members.isAdmin(name);
     }
 
     /**
@@ -79,7 +130,7 @@ public class Team implements Serializable, Iterable<User>, Comparable<Team> {
      * @return the member
      */
     public User getMem(String name) {
-        return this.members.getOrDefault(name, null);
+        return this.members.get(name);
     }
 
     /**
@@ -88,7 +139,7 @@ public class Team implements Serializable, Iterable<User>, Comparable<Team> {
      * @param user the user object
      */
     public void addMem(User user) {
-        this.members.putIfAbsent(user.getName(), user);
+        this.members.add(user);
     }
 
     /**
@@ -98,7 +149,7 @@ public class Team implements Serializable, Iterable<User>, Comparable<Team> {
      * @param user the user object
      */
     public void addAdmin(User user) {
-        this.admins.putIfAbsent(user.getName(), user);
+        this.members.addAdmin(user);
     }
 
     /**
@@ -107,8 +158,35 @@ public class Team implements Serializable, Iterable<User>, Comparable<Team> {
      * @param user the user object
      */
     public void delMem(User user) {
-        this.members.remove(user.getName());
-        this.admins.remove(user.getName());
+        this.members.remove(user);
+    }
+
+    /**
+     * Find a member by their new name after they have been renamed.
+     *
+     * @param oldName username before the user was renamed
+     * @param user    the user object
+     */
+    public void memRenamed(String oldName, User user) {
+        this.members.renamed(oldName, user);
+    }
+
+    /**
+     * Return the tasks shared by the members.
+     *
+     * @return the task board
+     */
+    public TaskBoard getBoard() {
+        return this.board;
+    }
+
+    /**
+     * Return the number of members.
+     *
+     * @return the number of members
+     */
+    public int size() {
+        return this.members.size();
     }
 
     /**
@@ -118,7 +196,7 @@ public class Team implements Serializable, Iterable<User>, Comparable<Team> {
      */
     @Override
     public String toString() {
-        User[] members = this.members.values().toArray(new User[0]);
+        User[] members = this.members.toArray();
         Arrays.sort(members); // Sort them
         StringBuilder output = new StringBuilder("This team <" + this.name + "> consists of the following members:\n");
         for (User user : members) {
@@ -135,7 +213,7 @@ public class Team implements Serializable, Iterable<User>, Comparable<Team> {
      */
     @Override
     public Iterator<User> iterator() {
-        return this.members.values().iterator();
+        return this.members.iterator();
     }
 
     /**
@@ -148,4 +226,27 @@ public class Team implements Serializable, Iterable<User>, Comparable<Team> {
     public int compareTo(Team o) {
         return this.name.compareToIgnoreCase(o.getName());
     }
-}
\ No newline at end of file
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("members", this.members.toMap(false));
+        fields.put("admins", this.members.toMap(true));
+        fields.put("name", this.name);
+        fields.put("board", this.board);
+        out.writeFields();
+    }
+
+    /**
+     * Read this team from a file and give it a run id.
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        this.members = Membership.of((HashMap<String, User>) fields.get("members", new HashMap<>()),
+                (HashMap<String, User>) fields.get("admins", new HashMap<>()));
+        this.name = (String) fields.get("name", null);
+        TaskBoard board = (TaskBoard) fields.get("board", null);
+        this.board = board == null ? new TaskBoard() : board; // files of earlier releases have no board
+        this.id = IDS.incrementAndGet();
+    }
+}
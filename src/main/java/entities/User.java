@@ -4,13 +4,28 @@ import usecases.managers.ProjectList;
 import usecases.managers.TaskList;
 import usecases.managers.TeamList;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class represents a User.
  * A user has a username, a password, collection of tasks, a collection of projects, and a collection of teams.
  */
-public class User implements Serializable, Comparable<User> {
+public class User implements Serializable, Comparable<User>, Identified {
+    /**
+     * Pinned to the value of the first release, so files saved by it can still be read after this class changes.
+     */
+    private static final long serialVersionUID = -2147732156907957907L;
+    /**
+     * Gives out run ids.
+     */
+    private static final AtomicInteger IDS = new AtomicInteger();
+    /**
+     * Run id of this user, given anew whenever it is created or read from a file and never saved.
+     */
+    private transient int id = IDS.incrementAndGet();
     /**
      * Username.
      */
@@ -51,6 +66,16 @@ public class User implements Serializable, Comparable<User> {
         this.projectList.addProject(new Project("Assigned to me"));
     }
 
+    /**
+     * Return the run id of the user, valid only within one run.
+     *
+     * @return user run id
+     */
+    @Override
+    public int getRunId() {
+        return this.id;
+    }
+
     /**
      * Return the name of the user.
      *
@@ -78,6 +103,15 @@ public class User implements Serializable, Comparable<User> {
         this.password = password;
     }
 
+    /**
+     * Return the password of the user. Only used when saving data.
+     *
+     * @return password
+     */
+    public String getPassword() {
+        return this.password;
+    }
+
     /**
      * Checks if entered password matches this user's password
      *
@@ -138,7 +172,7 @@ public class User implements Serializable, Comparable<User> {
             ProjectList userCopyProjectList = userCopy.getProjectList();
             Project projectCopy = userCopyProjectList.hasProject(projName) ?
                     userCopyProjectList.getProject(projName) : new Project(project.getName());
-            copyTasks(userCopy, project, projectCopy);
+            if (projectCopy != project) copyTasks(userCopy, project, projectCopy); // else shared, tasks and all
             userCopyProjectList.addProject(projectCopy);
         }
         return userCopy;
@@ -154,10 +188,19 @@ public class User implements Serializable, Comparable<User> {
     private void copyTasks(User userCopy, Project project, Project projectCopy) {
         for (Task task : project) {
             Task taskCopy = new Task(task.getName(), task.getDueDate(), projectCopy);
-            taskCopy.setDescription(task.getDescription());
+            taskCopy.copyDescription(task);
             taskCopy.setStarred(task.isStarred());
+            for (String tag : task.getTags()) taskCopy.addTag(tag);
             projectCopy.addTask(taskCopy);
             userCopy.getTaskList().addTask(taskCopy);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Read this user from a file and give it a run id.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.id = IDS.incrementAndGet();
+    }
+}
@@ -0,0 +1,318 @@
+package gateway;
+
+import constants.Enums;
+import entities.Project;
+import entities.Task;
+import entities.TaskBoard;
+import entities.Team;
+import entities.User;
+import usecases.*;
+import usecases.managers.Memberships;
+import usecases.managers.UserList;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * This class exports the system into JSON lines and imports it back, one record per line.
+ * <p>
+ * Every user is written with their projects and tasks right after them, then every team is written followed by
+ * one line per member and one line per task on its board. The tags of a task are written joined by '&', which no
+ * tag may contain. Records are streamed both ways, so memory does not grow with the size of the file.
+ * <p>
+ * Importing reads lines in chunks and parses chunks on a fork/join pool, a few chunks ahead of the chunk being
+ * applied. Records are applied in file order through the use cases, which decide what is valid; tasks are
+ * applied in batches.
+ */
+public class BulkTransfer {
+    /**
+     * Number of lines parsed by one task, and the size of a batch of tasks.
+     */
+    private static final int CHUNK_SIZE = 10000;
+    /**
+     * The pool that parses chunks.
+     */
+    private static final ForkJoinPool POOL = ForkJoinPool.commonPool();
+    /**
+     * Fields every kind of record must have.
+     */
+    private static final Map<String, List<String>> REQUIRED = Map.of(
+            "user", List.of("name", "password"),
+            "project", List.of("user", "name"),
+            "task", List.of("user", "name", "due"),
+            "team", List.of("name"),
+            "member", List.of("user"),
+            "card", List.of("name", "due"));
+    /**
+     * Projects every user has from the start.
+     */
+    private static final Set<String> DEFAULT_PROJECTS = Set.of("General", "Assigned to me");
+
+    private BulkTransfer() {
+
+    }
+
+    /**
+     * Write every user, project, task and team, with the tasks on its board, into a file.
+     *
+     * @param userList the list of users
+     * @param path     the file
+     * @return the number of records written
+     * @throws IOException failure to write the file
+     */
+    public static long export(UserList userList, Path path) throws IOException {
+        long records = 0;
+        Set<Team> teams = Collections.newSetFromMap(new IdentityHashMap<>());
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (User user : userList) {
+                records += writeLine(out, new JsonLine().put("type", "user").put("name", user.getName())
+                        .put("password", user.getPassword()));
+                for (Project project : user.getProjectList()) {
+                    if (!DEFAULT_PROJECTS.contains(project.getName())) {
+                        records += writeLine(out, new JsonLine().put("type", "project").put("user", user.getName())
+                                .put("name", project.getName()));
+                    }
+                    for (Task task : project) {
+                        JsonLine line = new JsonLine().put("type", "task").put("user", user.getName())
+                                .put("name", task.getName()).put("due", task.getDueDate())
+                                .put("project", project.getName()).put("description", task.getDescription())
+                                .put("starred", task.isStarred());
+                        if (!task.getTags().isEmpty()) line.put("tags", String.join("&", task.getTags()));
+                        records += writeLine(out, line);
+                    }
+                }
+                teams.addAll(Arrays.asList(Memberships.teamsOf(user)));
+            }
+            for (Team team : teams) {
+                records += writeLine(out, new JsonLine().put("type", "team").put("name", team.getName()));
+                for (User member : team) {
+                    records += writeLine(out, new JsonLine().put("type", "member").put("user", member.getName())
+                            .put("admin", team.isAdmin(member.getName())));
+                }
+                for (TaskBoard.Card card : team.getBoard()) {
+                    JsonLine line = new JsonLine().put("type", "card").put("name", card.getName())
+                            .put("due", card.getDueDate());
+                    User claimant = card.getClaimant();
+                    if (claimant != null) line.put("claimant", claimant.getName()).put("done", card.isDone());
+                    records += writeLine(out, line);
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Helper method of export.
+     *
+     * @return 1, the number of records written
+     */
+    private static int writeLine(BufferedWriter out, JsonLine line) throws IOException {
+        out.write(line.toString());
+        out.newLine();
+        return 1;
+    }
+
+    /**
+     * Read users, projects, tasks and teams from a file and add them to the system.
+     * Records that are malformed or refused by the use cases, e.g. a user that already exists, are skipped.
+     *
+     * @param userList the list of users
+     * @param path     the file
+     * @return a sentence telling what has been imported
+     * @throws IOException failure to read the file
+     */
+    public static String importFrom(UserList userList, Path path) throws IOException {
+        Importer importer = new Importer(userList);
+        Deque<Future<List<Map<String, String>>>> parsing = new ArrayDeque<>();
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) continue;
+                chunk.add(line);
+                if (chunk.size() < CHUNK_SIZE) continue;
+                parsing.add(parse(chunk));
+                chunk = new ArrayList<>(CHUNK_SIZE);
+                // Parse a few chunks ahead of the one being applied, but never the whole file
+                if (parsing.size() > POOL.getParallelism() * 2) importer.apply(SegmentedSnapshot.await(parsing.poll()));
+            }
+            if (!chunk.isEmpty()) parsing.add(parse(chunk));
+        }
+        while (!parsing.isEmpty()) importer.apply(SegmentedSnapshot.await(parsing.poll()));
+        importer.finish();
+        return importer.summary();
+    }
+
+    /**
+     * Parse a chunk of lines on the pool.
+     *
+     * @param chunk the lines
+     * @return the records, null for a line that is not a valid record
+     */
+    private static Future<List<Map<String, String>>> parse(List<String> chunk) {
+        return POOL.submit(() -> {
+            List<Map<String, String>> records = new ArrayList<>(chunk.size());
+            for (String line : chunk) {
+                try {
+                    Map<String, String> record = JsonLine.parse(line);
+                    List<String> required = REQUIRED.get(record.getOrDefault("type", ""));
+                    records.add(required != null && record.keySet().containsAll(required) ? record : null);
+                } catch (IOException | RuntimeException e) {
+                    records.add(null);
+                }
+            }
+            return records;
+        });
+    }
+
+    /**
+     * This class applies records in file order through the use cases.
+     */
+    private static class Importer {
+        private final UserList userList;
+        private final LoginRegisterUseCases loginRegisterUseCases;
+        private final ProjectUseCases projectUseCases;
+        private final TaskUseCases taskUseCases;
+        private final TeamUseCases teamUseCases;
+
+        private final List<ImportedTask> tasks = new ArrayList<>();
+        /**
+         * The team whose members are being read, null if none.
+         */
+        private String teamName;
+        private final List<String> members = new ArrayList<>();
+        private final Set<String> admins = new HashSet<>();
+        private final List<ImportedCard> cards = new ArrayList<>();
+
+        private long userCount;
+        private long projectCount;
+        private long taskCount;
+        private long teamCount;
+        private long skipped;
+
+        Importer(UserList userList) {
+            this.userList = userList;
+            this.loginRegisterUseCases = new LoginRegisterUseCases(userList);
+            this.projectUseCases = new ProjectUseCases(userList);
+            this.taskUseCases = new TaskUseCases(userList);
+            this.teamUseCases = new TeamUseCases(userList);
+        }
+
+        /**
+         * Apply a chunk of records.
+         *
+         * @param records the records, null for a line that is not a valid record
+         */
+        void apply(List<Map<String, String>> records) {
+            for (Map<String, String> record : records) {
+                if (record == null) {
+                    this.skipped++;
+                    continue;
+                }
+                String type = record.get("type");
+                if (!type.equals("task")) applyTasks(); // a task may need the project that comes next
+                if (!type.equals("member") && !type.equals("card")) applyTeam();
+                switch (type) {
+                    case "user":
+                        if (this.loginRegisterUseCases.register(record.get("name"), record.get("password")) ==
+                                Enums.RegisterResult.SUCCESS) {
+                            this.userCount++;
+                        } else {
+                            this.skipped++;
+                        }
+                        break;
+                    case "project":
+                        if (this.userList.getUser(record.get("user")) != null &&
+                                this.projectUseCases.newProj(record.get("user"), record.get("name"))) {
+                            this.projectCount++;
+                        } else {
+                            this.skipped++;
+                        }
+                        break;
+                    case "task":
+                        this.tasks.add(new ImportedTask(record.get("user"), record.get("name"), record.get("due"),
+                                record.getOrDefault("project", "General"), record.getOrDefault("description", ""),
+                                Boolean.parseBoolean(record.get("starred")), tags(record)));
+                        if (this.tasks.size() >= CHUNK_SIZE) applyTasks();
+                        break;
+                    case "team":
+                        this.teamName = record.get("name");
+                        break;
+                    case "member":
+                        if (this.teamName == null) {
+                            this.skipped++;
+                        } else {
+                            this.members.add(record.get("user"));
+                            if (Boolean.parseBoolean(record.get("admin"))) this.admins.add(record.get("user"));
+                        }
+                        break;
+                    default: // card
+                        if (this.teamName == null) {
+                            this.skipped++;
+                        } else {
+                            this.cards.add(new ImportedCard(record.get("name"), record.get("due"),
+                                    record.get("claimant"), Boolean.parseBoolean(record.get("done"))));
+                        }
+                }
+            }
+        }
+
+        /**
+         * Return the tags of a task record, joined by '&' in the file.
+         */
+        private static List<String> tags(Map<String, String> record) {
+            String tags = record.get("tags");
+            return tags == null || tags.isEmpty() ? List.of() : Arrays.asList(tags.split("&"));
+        }
+
+        /**
+         * Add the batch of tasks read so far.
+         */
+        private void applyTasks() {
+            if (this.tasks.isEmpty()) return;
+            int added = this.taskUseCases.importTasks(this.tasks);
+            this.taskCount += added;
+            this.skipped += this.tasks.size() - added;
+            this.tasks.clear();
+        }
+
+        /**
+         * Create the team whose members have been read.
+         */
+        private void applyTeam() {
+            if (this.teamName == null) return;
+            if (this.teamUseCases.importTeam(this.teamName, this.members, this.admins, this.cards)) {
+                this.teamCount++;
+            } else {
+                this.skipped++;
+            }
+            this.teamName = null;
+            this.members.clear();
+            this.admins.clear();
+            this.cards.clear();
+        }
+
+        /**
+         * Apply whatever is still waiting at the end of the file.
+         */
+        void finish() {
+            applyTasks();
+            applyTeam();
+        }
+
+        /**
+         * Return a sentence telling what has been imported.
+         */
+        String summary() {
+            return "Imported " + this.userCount + " users, " + this.projectCount + " projects, " + this.taskCount +
+                    " tasks and " + this.teamCount + " teams; " + this.skipped + " records have been skipped.";
+        }
+    }
+}
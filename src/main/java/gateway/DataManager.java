@@ -1,65 +1,352 @@
 package gateway;
 
+import constants.Enums;
 import controllers.*;
 import usecases.*;
 import usecases.managers.UserList;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
 
+import static constants.FilePaths.querySnapshotFilePath;
 import static constants.FilePaths.systemFilePath;
 
 /**
  * This class reads data from and writes data into local files.
+ * The system is stored as a segmented snapshot that is encoded and decoded on all cores.
+ * Data is first written into a temporary file which then atomically replaces the old file, so a crash while saving
+ * never leaves a half-written file behind. The few previous saves are kept as generation files to roll back to.
  */
 public class DataManager implements DataSaver {
+    /**
+     * The number of previous saves we keep around.
+     */
+    private static final int GENERATIONS = 3;
     /**
      * The list of users.
      */
     private UserList userList = new UserList();
+    /**
+     * The file we read data from and write data into.
+     */
+    private final String filePath;
+    /**
+     * The read-only query snapshot written next to the file on every save.
+     */
+    private final String querySnapshotPath;
+    /**
+     * How hard we try to make saved data survive a crash.
+     */
+    private final Enums.Durability durability;
+    /**
+     * The Deflater level snapshots are compressed with, 0 for no compression.
+     */
+    private int compressionLevel = Deflater.NO_COMPRESSION;
+    /**
+     * A sentence telling which damaged parts of the file have been left out while loading, empty if none.
+     */
+    private String damaged = "";
+
+    /**
+     * Create a DataManager that uses the default file and forces data to disk on every save.
+     */
+    public DataManager() {
+        this(systemFilePath, querySnapshotFilePath, Enums.Durability.FSYNC_ON_SAVE);
+    }
+
+    /**
+     * Create a DataManager that uses the given file and durability level.
+     *
+     * @param filePath          the file we read data from and write data into
+     * @param querySnapshotPath the read-only query snapshot written on every save
+     * @param durability        how hard we try to make saved data survive a crash
+     */
+    public DataManager(String filePath, String querySnapshotPath, Enums.Durability durability) {
+        this.filePath = filePath;
+        this.querySnapshotPath = querySnapshotPath;
+        this.durability = durability;
+    }
+
+    /**
+     * Sets how hard snapshots are compressed. Files are read back whatever level they were written with.
+     *
+     * @param compressionLevel a Deflater level from 0 (no compression) to 9 (best compression)
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        if (compressionLevel < Deflater.NO_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level must be between 0 and 9.");
+        }
+        this.compressionLevel = compressionLevel;
+    }
 
     /**
      * This function reads data from local files and initializes todoSystem.
+     * If the latest save cannot be read, we fall back to the most recent generation that can.
      */
     public String readData() {
         String output;
         try {
-            FileInputStream fileIn = new FileInputStream(systemFilePath);
-            ObjectInputStream in = new ObjectInputStream(fileIn);
-            this.userList = (UserList) in.readObject();
-            in.close();
-            fileIn.close();
-            output = "Data has been loaded successfully.";
+            this.userList = readUserList(this.filePath);
+            output = "Data has been loaded successfully." + this.damaged;
         } catch (IOException i) {
             output = "Data not found. We are starting with a new empty system.";
+            if (readGeneration()) {
+                output = "Latest data is unreadable. Data has been recovered from an older save." + this.damaged;
+            }
+            output += keepUnreadable();
         } catch (ClassNotFoundException c) {
-            output = "UserList class not found. We are starting with a new empty system.";
+            output = "UserList class not found. We are starting with a new empty system." + keepUnreadable();
         }
 
-        buildUseCaseController();
+        buildUseCaseController(this.userList, this);
         return output;
     }
 
     /**
-     * This function writes data (tasks, projects...) into the given file.
+     * Move a file we failed to read out of the way, so that saving can never overwrite data this release could
+     * not read (e.g. a file written by a newer release).
+     *
+     * @return a sentence telling where the file has been kept, or an empty String if there was no such file
+     */
+    private String keepUnreadable() {
+        Path file = Paths.get(this.filePath);
+        if (!Files.exists(file)) return "";
+        Path kept = Paths.get(this.filePath + ".unreadable-" + System.currentTimeMillis());
+        try {
+            Files.move(file, kept, StandardCopyOption.ATOMIC_MOVE);
+            return " The unreadable file has been kept as " + kept.getFileName() + ".";
+        } catch (IOException i) {
+            return "";
+        }
+    }
+
+    /**
+     * Try to read the generation files, newest first.
+     *
+     * @return true if one of them has been read successfully
+     */
+    private boolean readGeneration() {
+        for (int i = 1; i <= GENERATIONS; i++) {
+            try {
+                this.userList = readUserList(generationPath(i));
+                return true;
+            } catch (IOException | ClassNotFoundException ignored) {
+                // try an older one
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read the list of users from the given file.
+     *
+     * @param path the file
+     * @return the list of users
+     * @throws IOException            the file cannot be read
+     * @throws ClassNotFoundException the file does not store a UserList we know of
+     */
+    private UserList readUserList(String path) throws IOException, ClassNotFoundException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            if (SegmentedSnapshot.isSegmentedSnapshot(channel)) {
+                List<SegmentedSnapshot.Section> quarantined = new ArrayList<>();
+                UserList userList = SegmentedSnapshot.read(channel, quarantined);
+                this.damaged = quarantine(channel, path, quarantined);
+                return userList;
+            }
+            // Files saved before segmented snapshots existed hold a serialized UserList
+            try {
+                ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+                return (UserList) in.readObject();
+            } catch (RuntimeException e) {
+                throw new IOException("Data is corrupted.", e); // a damaged stream can fail in many ways
+            }
+        }
+    }
+
+    /**
+     * Copy the damaged parts of a file next to it, so that nothing is lost when the next save replaces the file.
+     *
+     * @param channel     the file
+     * @param path        path of the file
+     * @param quarantined the damaged parts
+     * @return a sentence telling which parts have been left out, or an empty String if there were none
+     */
+    private static String quarantine(FileChannel channel, String path, List<SegmentedSnapshot.Section> quarantined) {
+        if (quarantined.isEmpty()) return "";
+        String prefix = path + ".damaged-" + System.currentTimeMillis() + "-";
+        for (SegmentedSnapshot.Section section : quarantined) {
+            try (FileChannel copy = FileChannel.open(Paths.get(prefix + section.getName()), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long copied = 0;
+                while (copied < section.getLength()) {
+                    long n = channel.transferTo(section.getPosition() + copied, section.getLength() - copied, copy);
+                    if (n <= 0) break; // the file is shorter than the table says
+                    copied += n;
+                }
+            } catch (IOException ignored) {
+                // the whole file is still kept as a generation by the next save
+            }
+        }
+        return " However, " + quarantined.size() + " damaged part(s) could not be loaded and have been kept as " +
+                Paths.get(prefix).getFileName() + "*.";
+    }
+
+    /**
+     * Export the system into a JSON lines file.
+     *
+     * @param path the file
+     * @return String indicating success or failure
+     */
+    public String exportData(String path) {
+        try {
+            return BulkTransfer.export(this.userList, Paths.get(path)) + " records have been exported.";
+        } catch (IOException i) {
+            return "Data has not been exported successfully.";
+        }
+    }
+
+    /**
+     * Import users, projects, tasks and teams from a JSON lines file into the system.
+     *
+     * @param path the file
+     * @return String telling what has been imported
+     */
+    public String importData(String path) {
+        try {
+            return BulkTransfer.importFrom(this.userList, Paths.get(path));
+        } catch (IOException i) {
+            return "Data has not been imported successfully. The file cannot be read.";
+        }
+    }
+
+    /**
+     * Serve queries straight from the read-only query snapshot instead of loading the whole system.
+     * Only logging in and viewing work afterwards; nothing can be changed or saved.
+     *
+     * @return String indicating success or failure
+     */
+    public String readQuerySnapshot() {
+        try {
+            QuerySnapshotReader reader = new QuerySnapshotReader(Paths.get(this.querySnapshotPath));
+            DataMemoryUseCases dataMemoryUseCases = new DataMemoryUseCases(new UserList());
+            dataMemoryUseCases.setDataSaver(() -> "This is a read-only system. Nothing has been saved.");
+
+            LoginRegisterController.getInstance().setInputBoundary(reader);
+            QueryController.getInstance().setInputBoundary(reader);
+            DataMemoryController.getInstance().setInputBoundary(dataMemoryUseCases);
+            return "Query snapshot has been opened in read-only mode.";
+        } catch (IOException i) {
+            return "Query snapshot not found. Please save data once before running in read-only mode.";
+        }
+    }
+
+    /**
+     * This function writes data (tasks, projects...) into the given file, and refreshes the query snapshot.
      */
     @Override
     public String writeData() {
+        String output = writeSnapshot();
         try {
-            FileOutputStream fileOut = new FileOutputStream(systemFilePath);
-            ObjectOutputStream out = new ObjectOutputStream(fileOut);
-            out.writeObject(this.userList);
-            out.close();
-            fileOut.close();
+            QuerySnapshot.write(this.userList, Paths.get(this.querySnapshotPath), this.durability);
+        } catch (IOException i) {
+            output += " The query snapshot could not be refreshed.";
+        }
+        return output;
+    }
+
+    /**
+     * Write the list of users into the file.
+     *
+     * @return String indicating success or failure
+     */
+    private String writeSnapshot() {
+        Path target = Paths.get(this.filePath);
+        Path temp = Paths.get(this.filePath + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                SegmentedSnapshot.write(this.userList, channel, this.compressionLevel);
+                if (this.durability != Enums.Durability.NONE) channel.force(true);
+            }
+            rotateGenerations(target);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            if (this.durability != Enums.Durability.NONE) forceDirectory(target.toAbsolutePath().getParent());
             return "Data has been saved successfully.";
         } catch (IOException i) {
             return "Data has not been saved successfully. Sorry, your data is lost.";
         }
     }
 
+    /**
+     * Save data after every change to the system if we are asked to be that careful.
+     */
+    @Override
+    public void commit() {
+        if (this.durability == Enums.Durability.FSYNC_EVERY_COMMIT) writeSnapshot();
+    }
+
+    /**
+     * Shift every generation file one step older and keep the current file as the newest generation too, without
+     * moving it: the current file stays in place until the new one replaces it in a single atomic rename.
+     * The oldest generation is dropped.
+     *
+     * @param target the current file
+     * @throws IOException failure to move files
+     */
+    private void rotateGenerations(Path target) throws IOException {
+        if (!Files.exists(target)) return;
+        Files.deleteIfExists(Paths.get(generationPath(GENERATIONS)));
+        for (int i = GENERATIONS - 1; i >= 1; i--) {
+            Path generation = Paths.get(generationPath(i));
+            if (Files.exists(generation)) {
+                Files.move(generation, Paths.get(generationPath(i + 1)), StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        Path newest = Paths.get(generationPath(1));
+        Files.deleteIfExists(newest);
+        try {
+            Files.createLink(newest, target); // shares the data, the rename of the new file leaves it in place
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(target, newest, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+    }
+
+    /**
+     * Return the path of a generation file.
+     *
+     * @param generation 1 for the newest generation
+     * @return the path of that generation file
+     */
+    private String generationPath(int generation) {
+        return this.filePath + "." + generation;
+    }
+
+    /**
+     * Force the renames in a directory to disk. Not every platform supports this, so failures are ignored.
+     *
+     * @param directory the directory
+     */
+    static void forceDirectory(Path directory) {
+        if (directory == null) return;
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // the rename is still atomic, just not forced to disk yet
+        }
+    }
+
     /**
      * This class assign the list of users to each use cases and assign each use case to the corresponding data controller.
+     *
+     * @param userList  the list of users
+     * @param dataSaver the data saver the system is saved with
      */
-    private void buildUseCaseController() {
+    static void buildUseCaseController(UserList userList, DataSaver dataSaver) {
         LoginRegisterUseCases loginRegisterUseCases = new LoginRegisterUseCases(userList);
         UserAccountUseCases userAccountUseCases = new UserAccountUseCases(userList);
         TaskUseCases taskUseCases = new TaskUseCases(userList);
@@ -67,7 +354,8 @@ public class DataManager implements DataSaver {
         ProjectUseCases projectUseCases = new ProjectUseCases(userList);
         QueryUseCases queryUseCases = new QueryUseCases(userList);
         DataMemoryUseCases dataMemoryUseCases = new DataMemoryUseCases(userList);
-        dataMemoryUseCases.setDataSaver(this); // inject DataSaver into that use case
+        dataMemoryUseCases.setDataSaver(dataSaver); // inject DataSaver into that use case
+        MemStatsUseCases memStatsUseCases = new MemStatsUseCases(userList, dataMemoryUseCases);
 
         LoginRegisterController.getInstance().setInputBoundary(loginRegisterUseCases);
         UserAccountController.getInstance().setInputBoundary(userAccountUseCases);
@@ -76,5 +364,6 @@ public class DataManager implements DataSaver {
         ProjectController.getInstance().setInputBoundary(projectUseCases);
         QueryController.getInstance().setInputBoundary(queryUseCases);
         DataMemoryController.getInstance().setInputBoundary(dataMemoryUseCases);
+        MemStatsController.getInstance().setInputBoundary(memStatsUseCases);
     }
-}
\ No newline at end of file
+}
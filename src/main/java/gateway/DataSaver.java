@@ -10,4 +10,11 @@ public interface DataSaver {
      * @return String indicating success or failure
      */
     String writeData();
+
+    /**
+     * Called every time a change to the system has been committed.
+     * Does nothing by default; savers that persist more eagerly than on save can override this.
+     */
+    default void commit() {
+    }
 }
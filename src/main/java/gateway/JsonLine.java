@@ -0,0 +1,200 @@
+package gateway;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class writes and parses one line of JSON lines: a flat object whose values are Strings, booleans or numbers.
+ * Nothing more is needed to move users, projects, tasks and teams in and out of the system, or to report on it.
+ */
+public class JsonLine {
+    private final StringBuilder line = new StringBuilder("{");
+
+    /**
+     * Add a String field.
+     *
+     * @param key   name of the field
+     * @param value value of the field
+     * @return this line
+     */
+    public JsonLine put(String key, String value) {
+        if (this.line.length() > 1) this.line.append(',');
+        quote(key);
+        this.line.append(':');
+        quote(value);
+        return this;
+    }
+
+    /**
+     * Add a boolean field.
+     *
+     * @param key   name of the field
+     * @param value value of the field
+     * @return this line
+     */
+    public JsonLine put(String key, boolean value) {
+        if (this.line.length() > 1) this.line.append(',');
+        quote(key);
+        this.line.append(':').append(value);
+        return this;
+    }
+
+    /**
+     * Add a number field.
+     *
+     * @param key   name of the field
+     * @param value value of the field
+     * @return this line
+     */
+    public JsonLine put(String key, long value) {
+        if (this.line.length() > 1) this.line.append(',');
+        quote(key);
+        this.line.append(':').append(value);
+        return this;
+    }
+
+    /**
+     * Return the line, without a line break.
+     */
+    @Override
+    public String toString() {
+        return this.line + "}";
+    }
+
+    /**
+     * Append a String as a JSON string.
+     */
+    private void quote(String s) {
+        this.line.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    this.line.append("\\\"");
+                    break;
+                case '\\':
+                    this.line.append("\\\\");
+                    break;
+                case '\n':
+                    this.line.append("\\n");
+                    break;
+                case '\r':
+                    this.line.append("\\r");
+                    break;
+                case '\t':
+                    this.line.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        this.line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        this.line.append(c);
+                    }
+            }
+        }
+        this.line.append('"');
+    }
+
+    /**
+     * Parse a flat JSON object. Literals such as true or 42 are returned as their text.
+     *
+     * @param line the line
+     * @return the fields by name
+     * @throws IOException the line is not a flat JSON object
+     */
+    static Map<String, String> parse(String line) throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        int[] at = {skipSpaces(line, 0)};
+        expect(line, at, '{');
+        if (peek(line, at) == '}') {
+            at[0]++;
+        } else {
+            while (true) {
+                String key = readString(line, at);
+                expect(line, at, ':');
+                fields.put(key, peek(line, at) == '"' ? readString(line, at) : readLiteral(line, at));
+                char c = next(line, at);
+                if (c == '}') break;
+                if (c != ',') throw new IOException("Expected , or } at column " + at[0] + ".");
+            }
+        }
+        if (skipSpaces(line, at[0]) != line.length()) throw new IOException("Unexpected text after the object.");
+        return fields;
+    }
+
+    private static int skipSpaces(String line, int i) {
+        while (i < line.length() && Character.isWhitespace(line.charAt(i))) i++;
+        return i;
+    }
+
+    private static char peek(String line, int[] at) throws IOException {
+        at[0] = skipSpaces(line, at[0]);
+        if (at[0] >= line.length()) throw new IOException("Unexpected end of line.");
+        return line.charAt(at[0]);
+    }
+
+    private static char next(String line, int[] at) throws IOException {
+        char c = peek(line, at);
+        at[0]++;
+        return c;
+    }
+
+    private static void expect(String line, int[] at, char expected) throws IOException {
+        if (next(line, at) != expected) throw new IOException("Expected " + expected + " at column " + at[0] + ".");
+    }
+
+    private static String readLiteral(String line, int[] at) throws IOException {
+        int start = at[0];
+        while (at[0] < line.length() && ",}".indexOf(line.charAt(at[0])) < 0 &&
+                !Character.isWhitespace(line.charAt(at[0]))) {
+            at[0]++;
+        }
+        if (start == at[0]) throw new IOException("Expected a value at column " + start + ".");
+        return line.substring(start, at[0]);
+    }
+
+    private static String readString(String line, int[] at) throws IOException {
+        expect(line, at, '"');
+        StringBuilder s = new StringBuilder();
+        while (true) {
+            if (at[0] >= line.length()) throw new IOException("Unterminated string.");
+            char c = line.charAt(at[0]++);
+            if (c == '"') return s.toString();
+            if (c != '\\') {
+                s.append(c);
+                continue;
+            }
+            if (at[0] >= line.length()) throw new IOException("Unterminated string.");
+            char escaped = line.charAt(at[0]++);
+            switch (escaped) {
+                case 'n':
+                    s.append('\n');
+                    break;
+                case 'r':
+                    s.append('\r');
+                    break;
+                case 't':
+                    s.append('\t');
+                    break;
+                case 'b':
+                    s.append('\b');
+                    break;
+                case 'f':
+                    s.append('\f');
+                    break;
+                case 'u':
+                    if (at[0] + 4 > line.length()) throw new IOException("Unterminated string.");
+                    try {
+                        s.append((char) Integer.parseInt(line.substring(at[0], at[0] + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Malformed escape at column " + at[0] + ".");
+                    }
+                    at[0] += 4;
+                    break;
+                default:
+                    s.append(escaped); // \" \\ and \/
+            }
+        }
+    }
+}
@@ -0,0 +1,861 @@
+package gateway;
+
+import constants.Enums;
+import entities.Team;
+import entities.User;
+import usecases.managers.Memberships;
+import usecases.managers.UserList;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+
+/**
+ * This class is an embedded, log-structured store for the system.
+ * Every commit appends one frame to the current journal segment; a frame holds the users and teams the commit
+ * touched, so committing costs as much as the change and not as much as the whole system.
+ * Loading replays the journal, keeping only the latest version of every user and team, and decodes each of them
+ * once.
+ * <p>
+ * Users are stored under their name together with their projects, tasks and team memberships, encoded by
+ * SnapshotCodec. Teams have no name that is unique across the system, so they are stored under a key that is
+ * assigned here and only ever means something inside this store, together with the tasks on their boards.
+ * <p>
+ * Layout: a directory of segments named journal-000001.log, journal-000002.log and so on. A segment starts with a
+ * header (magic, version) followed by frames. A frame is its length, the CRC32C of the rest of the frame, a flags
+ * byte and the operations of one commit, compressed as one section if a compression level is set. Frames of
+ * version 1 segments have no checksum.
+ * <p>
+ * An incomplete frame at the end of the newest segment, or a last frame there that fails its checksum, was torn by
+ * a crash while it was being written; it is dropped when the journal is opened again, and new frames go where it
+ * was. Any other damaged frame is quarantined, like a damaged section of a snapshot: it is copied next to its segment,
+ * its commit is left out and the rest of the journal loads. So is a segment whose header is damaged. The next
+ * commit then takes a checkpoint, so that the damage is not met again on every load.
+ * <p>
+ * So that loading never replays more than a bounded amount of journal, a checkpoint folds the journal into a base
+ * once enough has been appended since the last one. The base, base-000007.log for a base that covers segments 1 to
+ * 7, has the layout of a segment and holds every user and team once. It is encoded from the current system on the
+ * committing thread, which is the only consistent view of the system there is, and streamed frame by frame into
+ * base.tmp; a background thread then forces it to disk, renames it into place and deletes the segments and the base
+ * it supersedes. Loading replays the newest base and the segments after it. A checkpoint that fails loses nothing,
+ * since the journal still holds everything, and is reported by the next one, which tries again.
+ */
+public class LogRepository implements Repository {
+    static final int MAGIC = 0x4854444C; // "HTDL"
+    /**
+     * Version 2 adds a checksum to every frame.
+     */
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 8;
+    static final int FRAME_HEADER_SIZE = 9;
+    static final int VERSION_1_FRAME_HEADER_SIZE = 5;
+    /**
+     * A new segment is started once the current one has grown this large.
+     */
+    static final long SEGMENT_SIZE = 64L << 20;
+    /**
+     * By default a checkpoint is taken once this much journal has been appended since the last base.
+     */
+    static final long CHECKPOINT_THRESHOLD = 16L << 20;
+    /**
+     * Operations of a base are split into frames of about this size.
+     */
+    private static final int BASE_FRAME_SIZE = 1 << 20;
+
+    private static final int COMPRESSED = 1;
+
+    private static final int PUT_USER = 1;
+    private static final int DELETE_USER = 2;
+    private static final int PUT_TEAM = 3;
+    private static final int DELETE_TEAM = 4;
+    private static final int CLEAR = 5;
+    /**
+     * Stores the name of a team and the tasks on its board. Journals written before boards only have PUT_TEAM.
+     */
+    private static final int PUT_TEAM_BOARD = 6;
+
+    /**
+     * The directory holding the segments.
+     */
+    private final Path directory;
+    /**
+     * How hard we try to make committed data survive a crash.
+     */
+    private final Enums.Durability durability;
+    /**
+     * The Deflater level frames are compressed with, 0 for no compression.
+     */
+    private int compressionLevel = Deflater.NO_COMPRESSION;
+    /**
+     * The keys teams are stored under.
+     */
+    private final IdentityHashMap<Team, Long> teamKeys = new IdentityHashMap<>();
+    private long nextTeamKey = 1;
+    /**
+     * Operations stored since the last commit.
+     */
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private final DataOutputStream ops = new DataOutputStream(this.pending);
+    /**
+     * The segment commits are appended to, opened by load.
+     */
+    private FileChannel segment;
+    private int segmentNumber;
+    private long segmentEnd;
+    /**
+     * Bytes of journal appended since the last base, which is what loading would have to replay.
+     */
+    private long journalSinceBase;
+    private long checkpointThreshold = CHECKPOINT_THRESHOLD;
+    /**
+     * The thread that writes bases, the checkpoint it is working on, and how much journal that checkpoint folds.
+     */
+    private ExecutorService checkpointer;
+    private Future<?> checkpoint;
+    private long folding;
+    /**
+     * Why the last checkpoint failed, until it has been reported.
+     */
+    private Throwable checkpointFailure;
+    /**
+     * How long the last load took to replay the journal, and how much journal it replayed after the base.
+     */
+    private long replayNanos;
+    private long replayedBytes;
+    /**
+     * Where the damaged parts the last load left out have been copied.
+     */
+    private final List<Path> quarantined = new ArrayList<>();
+
+    /**
+     * Create a store in the given directory. The directory is created on the first commit.
+     *
+     * @param directory  the directory holding the segments
+     * @param durability how hard we try to make committed data survive a crash
+     */
+    public LogRepository(Path directory, Enums.Durability durability) {
+        this.directory = directory;
+        this.durability = durability;
+    }
+
+    /**
+     * Sets how hard frames are compressed. Frames are read back whatever level they were written with.
+     *
+     * @param compressionLevel a Deflater level from 0 (no compression) to 9 (best compression)
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        if (compressionLevel < Deflater.NO_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level must be between 0 and 9.");
+        }
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Sets how much journal may be appended since the last base before the next checkpoint is taken.
+     * Loading replays at most about this much journal on top of the base.
+     *
+     * @param checkpointThreshold number of bytes
+     */
+    public void setCheckpointThreshold(long checkpointThreshold) {
+        if (checkpointThreshold <= 0) throw new IllegalArgumentException("Checkpoint threshold must be positive.");
+        this.checkpointThreshold = checkpointThreshold;
+    }
+
+    @Override
+    public long getReplayNanos() {
+        return this.replayNanos;
+    }
+
+    /**
+     * Return how many bytes of journal the last load replayed on top of the base.
+     *
+     * @return the number of bytes
+     */
+    public long getReplayedBytes() {
+        return this.replayedBytes;
+    }
+
+    @Override
+    public List<Path> getQuarantined() {
+        return Collections.unmodifiableList(this.quarantined);
+    }
+
+    @Override
+    public boolean exists() throws IOException {
+        return !numbers("journal-").isEmpty() || !numbers("base-").isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Damaged frames and segments are quarantined and left out. If the journal cannot be read at all, e.g. because
+     * it was written by a newer release, it is moved out of the way so that new commits never follow data this
+     * release could not read, and the store starts empty.
+     */
+    @Override
+    public UserList load() throws IOException {
+        try {
+            return replayAll();
+        } catch (IOException e) {
+            keepUnreadable();
+            throw e;
+        }
+    }
+
+    /**
+     * Helper method of load.
+     */
+    private UserList replayAll() throws IOException {
+        long start = System.nanoTime();
+        this.quarantined.clear();
+        Map<String, byte[]> users = new HashMap<>();
+        Map<Long, Operation> teams = new HashMap<>();
+        List<Integer> bases = numbers("base-");
+        int baseNumber = bases.isEmpty() ? 0 : bases.get(bases.size() - 1);
+        if (baseNumber > 0) replay(basePath(baseNumber), users, teams, false); // bases are renamed into place complete
+
+        // Segments up to the base are left over from a checkpoint that did not get to delete them
+        List<Integer> numbers = new ArrayList<>();
+        for (int number : numbers("journal-")) if (number > baseNumber) numbers.add(number);
+        long end = 0;
+        this.replayedBytes = 0;
+        for (int i = 0; i < numbers.size(); i++) {
+            end = replay(segmentPath(numbers.get(i)), users, teams, i == numbers.size() - 1);
+            this.replayedBytes += Math.max(0, end - HEADER_SIZE);
+        }
+        UserList userList = decode(users, teams);
+
+        this.segmentNumber = numbers.isEmpty() ? baseNumber : numbers.get(numbers.size() - 1);
+        if (end > 0) {
+            this.segment = FileChannel.open(segmentPath(this.segmentNumber), StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.segment.truncate(end); // drop a frame torn by a crash, new frames go where it was
+            this.segmentEnd = end;
+            if (SegmentedSnapshot.readFully(this.segment, Integer.BYTES, Integer.BYTES).getInt() != VERSION) {
+                this.segment.close(); // frames of this version go in a new segment
+                this.segment = null;
+            }
+        }
+        this.journalSinceBase = this.replayedBytes;
+        if (!this.quarantined.isEmpty()) this.journalSinceBase = Math.max(this.journalSinceBase,
+                this.checkpointThreshold); // fold the damage away on the next commit
+        this.replayNanos = System.nanoTime() - start;
+        return userList;
+    }
+
+    /**
+     * Move an unreadable journal next to where it was and start an empty one.
+     */
+    private void keepUnreadable() {
+        this.segment = null;
+        this.segmentNumber = 0;
+        this.teamKeys.clear();
+        try {
+            Files.move(this.directory, Paths.get(this.directory + ".unreadable-" + System.currentTimeMillis()),
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ignored) {
+            // commits will fail as well and say so
+        }
+    }
+
+    /**
+     * Replay the frames of one segment, quarantining the damaged ones.
+     *
+     * @param path  the segment
+     * @param users the latest record of every user by name, updated in place
+     * @param teams the latest operation storing every team by key, updated in place
+     * @param last  whether this is the newest segment, the only one a crash can leave a torn frame in
+     * @return where the frames end, before a torn frame if there is one, or 0 if the header of the segment is
+     * damaged
+     * @throws IOException the segment cannot be read or was written by a newer release
+     */
+    private long replay(Path path, Map<String, byte[]> users, Map<Long, Operation> teams, boolean last)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || SegmentedSnapshot.readFully(channel, 0, HEADER_SIZE).getInt() != MAGIC) {
+                quarantine(path, channel, 0, size);
+                return 0;
+            }
+            int version = SegmentedSnapshot.readFully(channel, Integer.BYTES, Integer.BYTES).getInt();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Journal version " + version + " is not supported by this release.");
+            }
+            int frameHeaderSize = version == 1 ? VERSION_1_FRAME_HEADER_SIZE : FRAME_HEADER_SIZE;
+
+            long position = HEADER_SIZE;
+            long damaged = -1; // where the damaged frames just before position start
+            while (position < size) {
+                long length = -1;
+                List<Operation> operations = null;
+                if (position + frameHeaderSize <= size) {
+                    ByteBuffer frameHeader = SegmentedSnapshot.readFully(channel, position, frameHeaderSize);
+                    length = frameHeader.getInt();
+                    if (length < 0 || position + frameHeaderSize + length > size) {
+                        length = -1;
+                    } else {
+                        int checksum = version == 1 ? 0 : frameHeader.getInt();
+                        byte flags = frameHeader.get();
+                        byte[] payload = SegmentedSnapshot.readFully(channel, position + frameHeaderSize, length)
+                                .array();
+                        if (version == 1 || checksum(flags, payload, 0, payload.length) == checksum) {
+                            operations = readFrame(payload, (flags & COMPRESSED) != 0);
+                        }
+                    }
+                }
+                // Only the frame being written when a crash came can be torn: an incomplete one, or a damaged one
+                // that nothing follows
+                if (last && (length < 0 || operations == null && position + frameHeaderSize + length == size)) break;
+                if (damaged < 0 && operations == null) damaged = position;
+                if (damaged >= 0 && operations != null) {
+                    quarantine(path, channel, damaged, position - damaged);
+                    damaged = -1;
+                }
+                if (length < 0) {
+                    position = size; // nothing after this can be found
+                    break;
+                }
+                if (operations != null) for (Operation operation : operations) operation.apply(users, teams);
+                position += frameHeaderSize + length;
+            }
+            if (damaged >= 0) quarantine(path, channel, damaged, position - damaged);
+            return position;
+        }
+    }
+
+    /**
+     * Copy a damaged part of a segment next to it, so that nothing is lost when a checkpoint deletes the segment.
+     *
+     * @param path     the segment
+     * @param channel  the segment opened for reading
+     * @param position where the damaged part starts
+     * @param length   length of the damaged part
+     */
+    private void quarantine(Path path, FileChannel channel, long position, long length) {
+        Path copy = Paths.get(path + ".damaged-" + System.currentTimeMillis() + "-" + position);
+        try (FileChannel out = FileChannel.open(copy, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long copied = 0;
+            while (copied < length) {
+                long n = channel.transferTo(position + copied, length - copied, out);
+                if (n <= 0) break;
+                copied += n;
+            }
+        } catch (IOException ignored) {
+            // the segment itself is kept until the next checkpoint
+        }
+        this.quarantined.add(copy);
+    }
+
+    /**
+     * Compute the CRC32C of a frame: its flags and its operations.
+     */
+    private static int checksum(byte flags, byte[] payload, int offset, int length) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(flags);
+        checksum.update(payload, offset, length);
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * Read every operation of a frame.
+     *
+     * @param payload    the operations as they are stored
+     * @param compressed whether they are compressed
+     * @return the operations, or null if the frame is damaged
+     */
+    private static List<Operation> readFrame(byte[] payload, boolean compressed) {
+        try (DataInputStream in = SegmentedSnapshot.openSection(new ByteArrayInputStream(payload), compressed)) {
+            return readFrame(in);
+        } catch (IOException | RuntimeException e) {
+            return null; // a damaged frame may fail anywhere while it is decoded
+        }
+    }
+
+    /**
+     * Read every operation of a frame, so that a frame is applied completely or not at all.
+     */
+    private static List<Operation> readFrame(DataInputStream in) throws IOException {
+        List<Operation> operations = new ArrayList<>();
+        int type;
+        while ((type = in.read()) != -1) {
+            Operation operation = new Operation(type);
+            switch (type) {
+                case PUT_USER:
+                    operation.name = SnapshotCodec.readString(in);
+                    int length = in.readInt();
+                    if (length < 0) throw new IOException("Journal is corrupted.");
+                    operation.record = new byte[length];
+                    in.readFully(operation.record);
+                    break;
+                case DELETE_USER:
+                    operation.name = SnapshotCodec.readString(in);
+                    break;
+                case PUT_TEAM:
+                    operation.key = in.readLong();
+                    operation.name = SnapshotCodec.readString(in);
+                    break;
+                case PUT_TEAM_BOARD:
+                    operation.key = in.readLong();
+                    operation.name = SnapshotCodec.readString(in);
+                    int boardLength = in.readInt();
+                    if (boardLength < 0) throw new IOException("Journal is corrupted.");
+                    operation.record = new byte[boardLength];
+                    in.readFully(operation.record);
+                    break;
+                case DELETE_TEAM:
+                    operation.key = in.readLong();
+                    break;
+                case CLEAR:
+                    break;
+                default:
+                    throw new IOException("Journal is corrupted.");
+            }
+            operations.add(operation);
+        }
+        return operations;
+    }
+
+    /**
+     * Decode the latest record of every user and link them with their teams, then put back the boards of the teams.
+     *
+     * @param users the latest record of every user by name
+     * @param teams the latest operation storing every team by key
+     * @return the list of users
+     * @throws IOException a record is corrupted or newer than this release
+     */
+    private UserList decode(Map<String, byte[]> users, Map<Long, Operation> teams) throws IOException {
+        this.teamKeys.clear();
+        Map<Long, Team> teamsByKey = new HashMap<>();
+        for (Map.Entry<Long, Operation> entry : teams.entrySet()) {
+            Team team = new Team(entry.getValue().name);
+            teamsByKey.put(entry.getKey(), team);
+            this.teamKeys.put(team, entry.getKey());
+            this.nextTeamKey = Math.max(this.nextTeamKey, entry.getKey() + 1);
+        }
+
+        SnapshotCodec codec = new SnapshotCodec(SegmentedSnapshot.VERSION);
+        UserList userList = new UserList();
+        for (byte[] record : users.values()) {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+                User user = codec.readUser(in);
+                int teamCount = in.readInt();
+                for (int i = 0; i < teamCount; i++) {
+                    Team team = teamsByKey.get(in.readLong());
+                    boolean admin = in.readBoolean();
+                    if (team == null) continue; // the team has been deleted
+                    Memberships.join(user, team);
+                    if (admin) Memberships.promote(user, team);
+                }
+                userList.addUser(user);
+            } catch (RuntimeException e) {
+                throw new IOException("Journal is corrupted.", e);
+            }
+        }
+
+        // Boards name the members holding their tasks, so they go back once every user is there
+        for (Map.Entry<Long, Operation> entry : teams.entrySet()) {
+            byte[] board = entry.getValue().record;
+            if (board == null) continue;
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(board))) {
+                SnapshotCodec.readBoard(in, teamsByKey.get(entry.getKey()).getBoard(), userList::getUser);
+            } catch (RuntimeException e) {
+                throw new IOException("Journal is corrupted.", e);
+            }
+        }
+        return userList;
+    }
+
+    @Override
+    public void upsertUser(User user) throws IOException {
+        putUser(this.ops, user);
+    }
+
+    /**
+     * Write the operation that stores a user.
+     *
+     * @param out  where to write
+     * @param user the user
+     * @throws IOException failure to write
+     */
+    private void putUser(DataOutputStream out, User user) throws IOException {
+        Team[] teams = Memberships.teamsOf(user);
+        long[] keys = new long[teams.length];
+        for (int i = 0; i < teams.length; i++) keys[i] = keyOf(teams[i]); // may store the team first
+
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        DataOutputStream fields = new DataOutputStream(record);
+        SnapshotCodec.writeUser(fields, user);
+        fields.writeInt(teams.length);
+        for (int i = 0; i < teams.length; i++) {
+            fields.writeLong(keys[i]);
+            fields.writeBoolean(teams[i].isAdmin(user.getName()));
+        }
+        out.writeByte(PUT_USER);
+        SnapshotCodec.writeString(out, user.getName());
+        out.writeInt(record.size());
+        record.writeTo(out);
+    }
+
+    @Override
+    public void deleteUser(String username) throws IOException {
+        this.ops.writeByte(DELETE_USER);
+        SnapshotCodec.writeString(this.ops, username);
+    }
+
+    @Override
+    public void upsertTeam(Team team) throws IOException {
+        Long key = this.teamKeys.get(team);
+        if (key == null) {
+            keyOf(team);
+        } else {
+            putTeam(this.ops, key, team);
+        }
+    }
+
+    @Override
+    public void deleteTeam(Team team) throws IOException {
+        Long key = this.teamKeys.remove(team);
+        if (key == null) return; // never stored
+        this.ops.writeByte(DELETE_TEAM);
+        this.ops.writeLong(key);
+    }
+
+    @Override
+    public void replaceAll(UserList userList) throws IOException {
+        this.pending.reset();
+        this.teamKeys.clear();
+        this.ops.writeByte(CLEAR);
+        for (User user : userList) upsertUser(user);
+    }
+
+    /**
+     * Return the key a team is stored under, storing the team if it has not been stored yet.
+     *
+     * @param team the team
+     * @return its key
+     * @throws IOException failure to store the team
+     */
+    private long keyOf(Team team) throws IOException {
+        Long key = this.teamKeys.get(team);
+        if (key != null) return key;
+        key = this.nextTeamKey++;
+        this.teamKeys.put(team, key);
+        putTeam(this.ops, key, team);
+        return key;
+    }
+
+    /**
+     * Write the operation that stores the name and the board of a team under its key.
+     */
+    private static void putTeam(DataOutputStream out, long key, Team team) throws IOException {
+        ByteArrayOutputStream board = new ByteArrayOutputStream();
+        SnapshotCodec.writeBoard(new DataOutputStream(board), team.getBoard());
+        out.writeByte(PUT_TEAM_BOARD);
+        out.writeLong(key);
+        SnapshotCodec.writeString(out, team.getName());
+        out.writeInt(board.size());
+        board.writeTo(out);
+    }
+
+    @Override
+    public void commit() throws IOException {
+        if (this.pending.size() == 0) return;
+        try {
+            append(ByteBuffer.wrap(frame(this.pending)));
+        } finally {
+            this.pending.reset();
+        }
+    }
+
+    /**
+     * Turn operations into a frame, compressing them if asked to.
+     *
+     * @param operations the operations
+     * @return the frame
+     * @throws IOException never, we write into memory
+     */
+    private byte[] frame(ByteArrayOutputStream operations) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(FRAME_HEADER_SIZE + operations.size());
+        DataOutputStream frame = new DataOutputStream(bytes);
+        byte flags = (byte) (this.compressionLevel == Deflater.NO_COMPRESSION ? 0 : COMPRESSED);
+        frame.writeInt(0); // the length and the checksum are filled in below
+        frame.writeInt(0);
+        frame.writeByte(flags);
+        if (this.compressionLevel == Deflater.NO_COMPRESSION) {
+            operations.writeTo(frame);
+        } else {
+            try (DataOutputStream out = SegmentedSnapshot.createSection(bytes, this.compressionLevel)) {
+                operations.writeTo(out);
+            }
+        }
+        byte[] result = bytes.toByteArray();
+        int length = result.length - FRAME_HEADER_SIZE;
+        ByteBuffer.wrap(result).putInt(length).putInt(checksum(flags, result, FRAME_HEADER_SIZE, length));
+        return result;
+    }
+
+    /**
+     * Append a frame to the current segment, starting a new segment when it has grown too large.
+     *
+     * @param frame the frame
+     * @throws IOException failure to write the frame
+     */
+    private void append(ByteBuffer frame) throws IOException {
+        if (this.segment == null || this.segmentEnd > HEADER_SIZE &&
+                this.segmentEnd + frame.remaining() > SEGMENT_SIZE) {
+            startSegment();
+        }
+        try {
+            long written = SegmentedSnapshot.writeFully(this.segment, frame, this.segmentEnd);
+            this.segmentEnd += written;
+            this.journalSinceBase += written;
+        } catch (IOException e) {
+            this.segment.truncate(this.segmentEnd); // never leave a torn frame in front of the next one
+            throw e;
+        }
+        if (this.durability == Enums.Durability.FSYNC_EVERY_COMMIT) this.segment.force(false);
+    }
+
+    /**
+     * Close the current segment and start the next one.
+     *
+     * @throws IOException failure to create the segment
+     */
+    private void startSegment() throws IOException {
+        if (this.segment != null) {
+            if (this.durability != Enums.Durability.NONE) this.segment.force(false);
+            this.segment.close();
+        }
+        Files.createDirectories(this.directory);
+        this.segmentNumber++;
+        this.segment = FileChannel.open(segmentPath(this.segmentNumber), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+        header.flip();
+        this.segmentEnd = SegmentedSnapshot.writeFully(this.segment, header, 0);
+        if (this.durability != Enums.Durability.NONE) {
+            this.segment.force(true);
+            DataManager.forceDirectory(this.directory);
+        }
+    }
+
+    @Override
+    public boolean needsCheckpoint() {
+        settleCheckpoint();
+        return this.checkpoint == null && this.journalSinceBase >= this.checkpointThreshold;
+    }
+
+    /**
+     * Take the outcome of the checkpoint in progress once it is done: the journal it folded no longer counts
+     * against the threshold if it succeeded, and its failure is kept to be reported if it did not.
+     */
+    private void settleCheckpoint() {
+        if (this.checkpoint == null || !this.checkpoint.isDone()) return;
+        try {
+            this.checkpoint.get();
+            this.journalSinceBase -= this.folding;
+        } catch (ExecutionException e) {
+            this.checkpointFailure = e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.checkpoint = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The base is encoded and streamed into base.tmp here, then forced and renamed into place in the background;
+     * committing goes on in a new segment meanwhile.
+     *
+     * @throws IOException failure to write the base, or the failure of the last checkpoint, which is tried again
+     *                     on the next commit
+     */
+    @Override
+    public void checkpoint(UserList userList) throws IOException {
+        commit();
+        settleCheckpoint();
+        if (this.checkpoint != null) return; // one at a time
+        if (this.checkpointFailure != null) {
+            IOException failure = new IOException("Checkpoint failed.", this.checkpointFailure);
+            this.checkpointFailure = null;
+            throw failure;
+        }
+        int folded = this.segmentNumber;
+        long folding = this.journalSinceBase;
+        if (this.segment != null) startSegment(); // later commits go where the base does not reach
+
+        Path temp = this.directory.resolve("base.tmp");
+        try (FileChannel base = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            long position = SegmentedSnapshot.writeFully(base, header, 0);
+            ByteArrayOutputStream operations = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(operations);
+            out.writeByte(CLEAR);
+            Set<Team> teams = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (User user : userList) {
+                putUser(out, user);
+                teams.addAll(Arrays.asList(Memberships.teamsOf(user)));
+                if (operations.size() >= BASE_FRAME_SIZE) {
+                    position += SegmentedSnapshot.writeFully(base, ByteBuffer.wrap(frame(operations)), position);
+                    operations.reset();
+                }
+            }
+            // Teams nobody is in any more are dropped here for good
+            this.teamKeys.keySet().retainAll(teams);
+            for (Team team : teams) putTeam(out, this.teamKeys.get(team), team);
+            SegmentedSnapshot.writeFully(base, ByteBuffer.wrap(frame(operations)), position);
+        }
+
+        if (this.checkpointer == null) {
+            this.checkpointer = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "checkpointer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.folding = folding;
+        this.checkpoint = this.checkpointer.submit(() -> {
+            installBase(folded, temp);
+            return null;
+        });
+    }
+
+    /**
+     * Move a base that has been written into place, then delete the segments and the bases it supersedes.
+     * Runs on the checkpointer thread and only touches files the committing thread is done with.
+     *
+     * @param folded number of the last segment the base covers
+     * @param temp   the base, written completely
+     * @throws IOException failure to install the base; the journal still holds everything then
+     */
+    private void installBase(int folded, Path temp) throws IOException {
+        if (this.durability != Enums.Durability.NONE) {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+        }
+        Files.move(temp, basePath(folded), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        if (this.durability != Enums.Durability.NONE) DataManager.forceDirectory(this.directory);
+
+        for (int number : numbers("journal-")) if (number <= folded) Files.deleteIfExists(segmentPath(number));
+        for (int number : numbers("base-")) if (number < folded) Files.deleteIfExists(basePath(number));
+    }
+
+    @Override
+    public void sync() throws IOException {
+        if (this.segment != null && this.durability != Enums.Durability.NONE) this.segment.force(false);
+    }
+
+    /**
+     * Wait for the checkpoint in progress, then close the current segment.
+     *
+     * @throws IOException failure to close the segment
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.checkpointer != null) {
+            this.checkpointer.shutdown();
+            try {
+                this.checkpointer.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.checkpointer = null;
+        }
+        if (this.segment != null) this.segment.close();
+        this.segment = null;
+    }
+
+    /**
+     * Return the numbers of every segment or every base in the directory, oldest first.
+     *
+     * @param prefix "journal-" for segments, "base-" for bases
+     * @return the numbers
+     * @throws IOException failure to list the directory
+     */
+    private List<Integer> numbers(String prefix) throws IOException {
+        List<Integer> numbers = new ArrayList<>();
+        if (!Files.isDirectory(this.directory)) return numbers;
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(this.directory, prefix + "*.log")) {
+            for (Path path : paths) {
+                String name = path.getFileName().toString();
+                try {
+                    numbers.add(Integer.parseInt(name.substring(prefix.length(), name.length() - ".log".length())));
+                } catch (NumberFormatException ignored) {
+                    // not one of ours
+                }
+            }
+        }
+        Collections.sort(numbers);
+        return numbers;
+    }
+
+    /**
+     * Return the path of a segment.
+     *
+     * @param number number of the segment
+     * @return its path
+     */
+    private Path segmentPath(int number) {
+        return this.directory.resolve(String.format("journal-%06d.log", number));
+    }
+
+    /**
+     * Return the path of a base.
+     *
+     * @param number number of the last segment the base covers
+     * @return its path
+     */
+    private Path basePath(int number) {
+        return this.directory.resolve(String.format("base-%06d.log", number));
+    }
+
+    /**
+     * One operation of a frame.
+     */
+    private static class Operation {
+        private final int type;
+        private String name;
+        private long key;
+        private byte[] record;
+
+        Operation(int type) {
+            this.type = type;
+        }
+
+        /**
+         * Apply the operation to what has been replayed so far.
+         */
+        void apply(Map<String, byte[]> users, Map<Long, Operation> teams) {
+            switch (this.type) {
+                case PUT_USER:
+                    users.put(this.name, this.record);
+                    break;
+                case DELETE_USER:
+                    users.remove(this.name);
+                    break;
+                case PUT_TEAM:
+                case PUT_TEAM_BOARD:
+                    teams.put(this.key, this);
+                    break;
+                case DELETE_TEAM:
+                    teams.remove(this.key);
+                    break;
+                default:
+                    users.clear();
+                    teams.clear();
+            }
+        }
+    }
+}
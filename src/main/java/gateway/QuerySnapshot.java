@@ -0,0 +1,320 @@
+package gateway;
+
+import constants.Enums;
+import entities.Project;
+import entities.Task;
+import entities.TaskStats;
+import entities.Team;
+import entities.User;
+import usecases.managers.Memberships;
+import usecases.managers.UserList;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * This class writes a read-only snapshot of the system laid out for memory-mapped access.
+ * Every entity is a fixed-width record and every String lives once in a shared string pool, so
+ * QuerySnapshotReader can answer queries straight from the mapping without building entities.
+ * <p>
+ * Layout: a header, then the sections users, projects, tasks, team refs, teams, members and strings.
+ * Users are sorted by name so they can be binary searched. Each user owns a contiguous run of projects
+ * (sorted by name), tasks (sorted by due date) and team refs (sorted by team name). Each team owns a
+ * contiguous run of members (sorted by name). A String is stored as its UTF-8 length followed by its bytes.
+ * A project keeps the counts of its tasks next to its name, so they are shown without going through the tasks.
+ * <p>
+ * Records and the string pool are streamed into their own regions of the file while the records are laid out, so
+ * the pool is never held in memory. Strings met again shortly, such as due dates and project names, are stored
+ * once; one met again after it has been forgotten is simply stored again.
+ */
+public class QuerySnapshot {
+    static final int MAGIC = 0x48544451; // "HTDQ"
+    /**
+     * Version 2 adds the counts of its tasks to every project.
+     */
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 128;
+
+    static final int USER_RECORD = 40;
+    static final int PROJECT_RECORD = 24;
+    static final int TASK_RECORD = 32;
+    static final int TEAM_REF_RECORD = 4;
+    static final int TEAM_RECORD = 16;
+    static final int MEMBER_RECORD = 8;
+
+    /**
+     * Strings never cross a boundary of this size inside the string pool, so the reader can map it in chunks.
+     */
+    static final long STRING_CHUNK = 1L << 30;
+
+    static final int STARRED = 1;
+    static final int ADMIN = 1;
+
+    /**
+     * How many of the Strings written last are remembered, so that they are not written again.
+     */
+    private static final int RECENT_STRINGS = 1 << 12;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Team> teams = new ArrayList<>();
+    private final IdentityHashMap<User, Integer> userIndex = new IdentityHashMap<>();
+    private final IdentityHashMap<Team, Integer> teamIndex = new IdentityHashMap<>();
+    /**
+     * Offsets of the Strings written last in the string pool, least recently used first.
+     */
+    private final LinkedHashMap<String, Long> stringOffsets = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > RECENT_STRINGS;
+        }
+    };
+    /**
+     * The string pool, written as Strings are met.
+     */
+    private DataOutputStream strings;
+    private long stringPoolSize = 0;
+
+    private QuerySnapshot() {
+
+    }
+
+    /**
+     * Write a query snapshot of the given users into a file. The file is replaced atomically, and forced to disk
+     * with its directory like the system file unless durability is NONE.
+     *
+     * @param userList   the list of users
+     * @param target     the file
+     * @param durability how hard we try to make the file survive a crash
+     * @throws IOException failure to write the file
+     */
+    public static void write(UserList userList, Path target, Enums.Durability durability) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            new QuerySnapshot().writeTo(userList, channel);
+            if (durability != Enums.Durability.NONE) channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        if (durability != Enums.Durability.NONE) DataManager.forceDirectory(target.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Lay out the users and write them into a file.
+     *
+     * @param userList the list of users
+     * @param channel  the empty file
+     * @throws IOException failure to write the file
+     */
+    private void writeTo(UserList userList, FileChannel channel) throws IOException {
+        for (User user : userList) this.users.add(user);
+        this.users.sort(Comparator.comparing(User::getName));
+        for (int i = 0; i < this.users.size(); i++) this.userIndex.put(this.users.get(i), i);
+
+        // First pass: sort what every user owns and count records
+        List<Project[]> projects = new ArrayList<>();
+        List<Task[]> tasks = new ArrayList<>();
+        List<Team[]> teamRefs = new ArrayList<>();
+        long projectCount = 0, taskCount = 0, teamRefCount = 0, memberCount = 0;
+        for (User user : this.users) {
+            Project[] userProjects = toSortedArray(user.getProjectList(), new Project[0]);
+            List<Task> userTasks = new ArrayList<>();
+            for (Project project : userProjects) {
+                for (Task task : project) userTasks.add(task);
+            }
+            Task[] sortedTasks = userTasks.toArray(new Task[0]);
+            Arrays.sort(sortedTasks);
+            Team[] userTeams = Memberships.teamsOf(user);
+            for (Team team : userTeams) {
+                if (!this.teamIndex.containsKey(team)) {
+                    this.teamIndex.put(team, this.teams.size());
+                    this.teams.add(team);
+                    memberCount += team.size();
+                }
+            }
+            projects.add(userProjects);
+            tasks.add(sortedTasks);
+            teamRefs.add(userTeams);
+            projectCount += userProjects.length;
+            taskCount += sortedTasks.length;
+            teamRefCount += userTeams.length;
+        }
+
+        long usersOffset = HEADER_SIZE;
+        long projectsOffset = usersOffset + (long) this.users.size() * USER_RECORD;
+        long tasksOffset = projectsOffset + projectCount * PROJECT_RECORD;
+        long teamRefsOffset = tasksOffset + taskCount * TASK_RECORD;
+        long teamsOffset = teamRefsOffset + teamRefCount * TEAM_REF_RECORD;
+        long membersOffset = teamsOffset + (long) this.teams.size() * TEAM_RECORD;
+        long stringsOffset = membersOffset + memberCount * MEMBER_RECORD;
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(at(channel, 0)));
+             DataOutputStream strings = new DataOutputStream(new BufferedOutputStream(at(channel, stringsOffset)))) {
+            this.strings = strings;
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(this.users.size());
+            out.writeInt(this.teams.size());
+            out.writeLong(projectCount);
+            out.writeLong(taskCount);
+            out.writeLong(teamRefCount);
+            out.writeLong(memberCount);
+            out.writeLong(usersOffset);
+            out.writeLong(projectsOffset);
+            out.writeLong(tasksOffset);
+            out.writeLong(teamRefsOffset);
+            out.writeLong(teamsOffset);
+            out.writeLong(membersOffset);
+            out.writeLong(stringsOffset);
+            out.write(new byte[HEADER_SIZE - out.size()]);
+
+            writeUsers(out, projects, tasks, teamRefs);
+            for (Project[] userProjects : projects) {
+                for (Project project : userProjects) writeProject(out, project);
+            }
+            for (int i = 0; i < this.users.size(); i++) writeTasks(out, projects.get(i), tasks.get(i));
+            for (Team[] userTeams : teamRefs) {
+                for (Team team : userTeams) out.writeInt(this.teamIndex.get(team));
+            }
+            writeTeams(out);
+        }
+    }
+
+    /**
+     * Open a stream that writes into a file from the given position on, whatever else writes into the file.
+     */
+    private static OutputStream at(FileChannel channel, long position) {
+        return new OutputStream() {
+            private long next = position;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                this.next += SegmentedSnapshot.writeFully(channel, ByteBuffer.wrap(b, off, len), this.next);
+            }
+        };
+    }
+
+    /**
+     * Write the user section.
+     */
+    private void writeUsers(DataOutputStream out, List<Project[]> projects, List<Task[]> tasks,
+                            List<Team[]> teamRefs) throws IOException {
+        int projectStart = 0, taskStart = 0, teamRefStart = 0;
+        for (int i = 0; i < this.users.size(); i++) {
+            User user = this.users.get(i);
+            out.writeLong(string(user.getName()));
+            out.writeLong(string(user.getPassword()));
+            out.writeInt(projectStart);
+            out.writeInt(projects.get(i).length);
+            out.writeInt(taskStart);
+            out.writeInt(tasks.get(i).length);
+            out.writeInt(teamRefStart);
+            out.writeInt(teamRefs.get(i).length);
+            projectStart += projects.get(i).length;
+            taskStart += tasks.get(i).length;
+            teamRefStart += teamRefs.get(i).length;
+        }
+    }
+
+    /**
+     * Write a project with the counts of its tasks. A project without tasks has no next due date, written as -1.
+     */
+    private void writeProject(DataOutputStream out, Project project) throws IOException {
+        TaskStats stats = project.getStats();
+        out.writeLong(string(project.getName()));
+        out.writeInt(stats.size());
+        out.writeInt(stats.getStarred());
+        out.writeLong(stats.size() == 0 ? -1 : string(stats.getNextDueDate()));
+    }
+
+    /**
+     * Write the tasks of one user. Each task refers to its project by its position among the user's projects.
+     */
+    private void writeTasks(DataOutputStream out, Project[] userProjects, Task[] userTasks) throws IOException {
+        IdentityHashMap<Project, Integer> projectOrdinals = new IdentityHashMap<>();
+        for (int i = 0; i < userProjects.length; i++) projectOrdinals.put(userProjects[i], i);
+        for (Task task : userTasks) {
+            out.writeLong(string(task.getName()));
+            out.writeLong(string(task.getDueDate()));
+            out.writeLong(string(task.getDescription()));
+            out.writeInt(projectOrdinals.get(task.getProject()));
+            out.writeInt(task.isStarred() ? STARRED : 0);
+        }
+    }
+
+    /**
+     * Write the team and member sections.
+     */
+    private void writeTeams(DataOutputStream out) throws IOException {
+        List<User[]> members = new ArrayList<>();
+        int memberStart = 0;
+        for (Team team : this.teams) {
+            User[] teamMembers = toSortedArray(team, new User[0]);
+            members.add(teamMembers);
+            out.writeLong(string(team.getName()));
+            out.writeInt(memberStart);
+            out.writeInt(teamMembers.length);
+            memberStart += teamMembers.length;
+        }
+        for (int i = 0; i < this.teams.size(); i++) {
+            for (User member : members.get(i)) {
+                out.writeInt(this.userIndex.get(member));
+                out.writeInt(this.teams.get(i).isAdmin(member.getName()) ? ADMIN : 0);
+            }
+        }
+    }
+
+    /**
+     * Return the offset of a String in the string pool, writing it there unless it has been written lately.
+     * Padding keeps a String from crossing a chunk boundary.
+     *
+     * @param s the String
+     * @return offset into the string pool
+     * @throws IOException failure to write the String
+     */
+    private long string(String s) throws IOException {
+        Long offset = this.stringOffsets.get(s);
+        if (offset != null) return offset;
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        long padding = paddingBefore(this.stringPoolSize, bytes.length);
+        for (long i = 0; i < padding; i++) this.strings.write(0);
+        this.strings.writeInt(bytes.length);
+        this.strings.write(bytes);
+        offset = this.stringPoolSize + padding;
+        this.stringPoolSize = offset + Integer.BYTES + bytes.length;
+        this.stringOffsets.put(s, offset);
+        return offset;
+    }
+
+    /**
+     * Return how many bytes of padding a String needs so that it does not cross a chunk boundary.
+     */
+    private static long paddingBefore(long position, int length) {
+        long end = position + Integer.BYTES + length;
+        if (position / STRING_CHUNK == (end - 1) / STRING_CHUNK) return 0;
+        return STRING_CHUNK - position % STRING_CHUNK;
+    }
+
+    /**
+     * Copy an Iterable into a sorted array.
+     */
+    private static <T extends Comparable<? super T>> T[] toSortedArray(Iterable<T> items, T[] type) {
+        List<T> list = new ArrayList<>();
+        for (T item : items) list.add(item);
+        T[] array = list.toArray(type);
+        Arrays.sort(array);
+        return array;
+    }
+
+}
@@ -0,0 +1,441 @@
+package gateway;
+
+import constants.Enums;
+import entities.TaskStats;
+import usecases.LoginRegisterInputBoundary;
+import usecases.QueryInputBoundary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static gateway.QuerySnapshot.*;
+
+/**
+ * This class answers queries straight from a memory-mapped query snapshot written by QuerySnapshot.
+ * Opening a snapshot only maps the file, so it takes the same time no matter how large the file is;
+ * pages are read by the operating system as queries touch them. No entities are ever built.
+ * <p>
+ * It also lets users log in, so that a read-only instance can be run without loading the whole system.
+ */
+public class QuerySnapshotReader implements QueryInputBoundary, LoginRegisterInputBoundary, Closeable {
+    private final FileChannel channel;
+    private final int userCount;
+    private final Section users;
+    private final Section projects;
+    private final Section tasks;
+    private final Section teamRefs;
+    private final Section teams;
+    private final Section members;
+    private final MappedByteBuffer[] strings;
+
+    /**
+     * Map a query snapshot.
+     *
+     * @param path the query snapshot file
+     * @throws IOException the file cannot be mapped or is not a query snapshot
+     */
+    public QuerySnapshotReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a query snapshot we can read.");
+            }
+            this.userCount = header.getInt();
+            int teamCount = header.getInt();
+            long projectCount = header.getLong();
+            long taskCount = header.getLong();
+            long teamRefCount = header.getLong();
+            long memberCount = header.getLong();
+            this.users = new Section(header.getLong(), this.userCount, USER_RECORD);
+            this.projects = new Section(header.getLong(), projectCount, PROJECT_RECORD);
+            this.tasks = new Section(header.getLong(), taskCount, TASK_RECORD);
+            this.teamRefs = new Section(header.getLong(), teamRefCount, TEAM_REF_RECORD);
+            this.teams = new Section(header.getLong(), teamCount, TEAM_RECORD);
+            this.members = new Section(header.getLong(), memberCount, MEMBER_RECORD);
+            long stringsOffset = header.getLong();
+            long stringsSize = this.channel.size() - stringsOffset;
+            this.strings = new MappedByteBuffer[(int) ((stringsSize + STRING_CHUNK - 1) / STRING_CHUNK)];
+            for (int i = 0; i < this.strings.length; i++) {
+                long start = i * STRING_CHUNK;
+                this.strings[i] = this.channel.map(FileChannel.MapMode.READ_ONLY, stringsOffset + start,
+                        Math.min(STRING_CHUNK, stringsSize - start));
+            }
+        } catch (IOException | RuntimeException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Lets the user log in.
+     *
+     * @param username user's username
+     * @param password user's password
+     * @return LoginResult indicating whether success, failure, or no such user
+     */
+    @Override
+    public Enums.LoginResult login(String username, String password) {
+        int user = findUser(username);
+        if (user < 0) {
+            return Enums.LoginResult.NO_SUCH_USER;
+        } else if (string(this.users.getLong(user, 8)).equals(password)) {
+            return Enums.LoginResult.SUCCESS;
+        } else {
+            return Enums.LoginResult.FAILURE;
+        }
+    }
+
+    /**
+     * Registering is not possible in a read-only snapshot.
+     *
+     * @param username user's username
+     * @param password user's password
+     * @return always FAILURE
+     */
+    @Override
+    public Enums.RegisterResult register(String username, String password) {
+        return Enums.RegisterResult.FAILURE;
+    }
+
+    /**
+     * Show all teams that the user is in.
+     *
+     * @param username current username
+     * @return String showing all teams that the user is in
+     */
+    @Override
+    public String viewTeams(String username) {
+        int user = findUser(username);
+        StringBuilder output = new StringBuilder("You are in the following teams:\n");
+        if (user < 0) return output.toString();
+        int start = this.users.getInt(user, 32);
+        int count = this.users.getInt(user, 36);
+        for (int i = start; i < start + count; i++) {
+            output.append(string(this.teams.getLong(this.teamRefs.getInt(i, 0), 0))).append('\n');
+        }
+        return output.toString();
+    }
+
+    /**
+     * Show all members in a team.
+     *
+     * @param username current username
+     * @param teamName name of the team
+     * @return String showing all members in a team
+     */
+    @Override
+    public String viewMemsInTeam(String username, String teamName) {
+        int team = findTeam(username, teamName);
+        return team < 0 ? "Team does not exist." : team(team, teamName);
+    }
+
+    /**
+     * Show the tasks shared by a team. Boards change while members work on them and are not kept in query
+     * snapshots, so only the full system can show them.
+     *
+     * @param username current username
+     * @param teamName name of the team
+     * @return String saying the board cannot be shown
+     */
+    @Override
+    public String viewBoard(String username, String teamName) {
+        if (findTeam(username, teamName) < 0) return "Team does not exist.";
+        return "Team boards are not available in read-only mode.";
+    }
+
+    /**
+     * Show the tasks that match a combination of tags. Tags are not kept in query snapshots, so only the full
+     * system, which keeps a bitmap of the tasks with each tag, can pick the tasks.
+     *
+     * @param username current username
+     * @param query    tags joined by '&' into alternatives joined by '|'
+     * @return String saying the tasks cannot be shown
+     */
+    @Override
+    public String viewTagged(String username, String query) {
+        return "Tags are not available in read-only mode.";
+    }
+
+    /**
+     * Return the index of a team of a user by name, -1 if the user has no such team.
+     */
+    private int findTeam(String username, String teamName) {
+        int user = findUser(username);
+        if (user < 0) return -1;
+        int start = this.users.getInt(user, 32);
+        int count = this.users.getInt(user, 36);
+        for (int i = start; i < start + count; i++) {
+            int team = this.teamRefs.getInt(i, 0);
+            if (string(this.teams.getLong(team, 0)).equals(teamName)) return team;
+        }
+        return -1;
+    }
+
+    /**
+     * Return a String representation of a team.
+     */
+    private String team(int team, String teamName) {
+        StringBuilder output = new StringBuilder("This team <" + teamName + "> consists of the following members:\n");
+        int start = this.teams.getInt(team, 8);
+        int count = this.teams.getInt(team, 12);
+        for (int i = start; i < start + count; i++) {
+            if ((this.members.getInt(i, 4) & ADMIN) != 0) output.append("*ADMIN* ");
+            output.append(string(this.users.getLong(this.members.getInt(i, 0), 0))).append('\n');
+        }
+        return output.toString();
+    }
+
+    /**
+     * Show all projects for the user.
+     *
+     * @param username current username
+     * @return String showing all projects for the user
+     */
+    @Override
+    public String viewProjs(String username) {
+        int user = findUser(username);
+        StringBuilder output = new StringBuilder("You have the following projects:\n");
+        if (user < 0) return output.toString();
+        int start = this.users.getInt(user, 16);
+        int count = this.users.getInt(user, 20);
+        for (int i = start; i < start + count; i++) {
+            output.append(string(this.projects.getLong(i, 0))).append(": ").append(projectStats(i)).append('\n');
+        }
+        return output.toString();
+    }
+
+    /**
+     * Show the counts of the tasks of a project, or of all tasks of the user.
+     *
+     * @param username current username
+     * @param projName name of the project, null for all tasks
+     * @return String showing the counts
+     */
+    @Override
+    public String projStats(String username, String projName) {
+        int user = findUser(username);
+        if (user < 0) return projName == null ? "You have no tasks." : "Project does not exist.";
+        int start = this.users.getInt(user, 16);
+        int count = this.users.getInt(user, 20);
+        if (projName == null) {
+            int starred = 0;
+            for (int i = start; i < start + count; i++) starred += this.projects.getInt(i, 12);
+            int tasks = this.users.getInt(user, 28);
+            String next = tasks == 0 ? null : string(this.tasks.getLong(this.users.getInt(user, 24), 8)); // soonest
+            return "You have " + TaskStats.describe(tasks, starred, next) + ".";
+        }
+        for (int i = start; i < start + count; i++) {
+            if (string(this.projects.getLong(i, 0)).equals(projName)) {
+                return "This project <" + projName + "> has " + projectStats(i) + ".";
+            }
+        }
+        return "Project does not exist.";
+    }
+
+    /**
+     * Return the counts of the tasks of a project, as kept in its record.
+     */
+    private String projectStats(int project) {
+        long next = this.projects.getLong(project, 16);
+        return TaskStats.describe(this.projects.getInt(project, 8), this.projects.getInt(project, 12),
+                next < 0 ? null : string(next));
+    }
+
+    /**
+     * Show all tasks for the user.
+     *
+     * @param username current username
+     * @return String showing all tasks for the user
+     */
+    @Override
+    public String viewTasks(String username) {
+        int user = findUser(username);
+        StringBuilder output = new StringBuilder("You have the following upcoming tasks:\n");
+        if (user < 0) return output.toString();
+        appendTasks(output, user, -1, Integer.MAX_VALUE, false);
+        return output.toString();
+    }
+
+    /**
+     * Show all tasks in a project.
+     *
+     * @param username current username
+     * @param projName name of the project
+     * @return String showing all tasks in a project
+     */
+    @Override
+    public String viewTasksInProj(String username, String projName) {
+        int user = findUser(username);
+        if (user < 0) return "Project does not exist.";
+        int start = this.users.getInt(user, 16);
+        int count = this.users.getInt(user, 20);
+        for (int i = 0; i < count; i++) {
+            if (string(this.projects.getLong(start + i, 0)).equals(projName)) {
+                StringBuilder output = new StringBuilder("This project <" + projName +
+                        "> contains the following tasks:\n");
+                appendTasks(output, user, i, Integer.MAX_VALUE, false);
+                return output.toString();
+            }
+        }
+        return "Project does not exist.";
+    }
+
+    /**
+     * Show the tasks due soonest. The tasks of a user are stored by due date, so only the first k of them, or of
+     * the project, are read.
+     *
+     * @param username current username
+     * @param k        the most tasks to show
+     * @param projName name of the project, null for all projects
+     * @return String showing the tasks due soonest
+     */
+    @Override
+    public String viewNext(String username, int k, String projName) {
+        int user = findUser(username);
+        if (projName == null) {
+            StringBuilder output = new StringBuilder("Your next tasks are:\n");
+            if (user >= 0) appendTasks(output, user, -1, k, false);
+            return output.toString();
+        }
+        if (user < 0) return "Project does not exist.";
+        int start = this.users.getInt(user, 16);
+        int count = this.users.getInt(user, 20);
+        for (int i = 0; i < count; i++) {
+            if (string(this.projects.getLong(start + i, 0)).equals(projName)) {
+                StringBuilder output = new StringBuilder("The next tasks of project <" + projName + "> are:\n");
+                appendTasks(output, user, i, k, false);
+                return output.toString();
+            }
+        }
+        return "Project does not exist.";
+    }
+
+    /**
+     * Show the starred tasks, soonest due first. The tasks of a user are stored by due date, so the starred ones are
+     * picked out in order as they are read.
+     *
+     * @param username current username
+     * @return String showing the starred tasks
+     */
+    @Override
+    public String viewStarred(String username) {
+        int user = findUser(username);
+        StringBuilder output = new StringBuilder("You have the following starred tasks:\n");
+        if (user >= 0) appendTasks(output, user, -1, Integer.MAX_VALUE, true);
+        return output.toString();
+    }
+
+    /**
+     * Append the tasks of a user, one task per line, in the same format as Task.toString().
+     *
+     * @param output  where to append
+     * @param user    index of the user
+     * @param project position of the project among the user's projects, or -1 for all projects
+     * @param limit   the most tasks to append
+     * @param starred whether to append only the starred tasks
+     */
+    private void appendTasks(StringBuilder output, int user, int project, int limit, boolean starred) {
+        int projectStart = this.users.getInt(user, 16);
+        int start = this.users.getInt(user, 24);
+        int count = this.users.getInt(user, 28);
+        for (long i = start; i < start + count && limit > 0; i++) {
+            int ordinal = this.tasks.getInt(i, 24);
+            if (project >= 0 && ordinal != project) continue;
+            boolean isStarred = (this.tasks.getInt(i, 28) & STARRED) != 0;
+            if (starred && !isStarred) continue;
+            limit--;
+            if (isStarred) output.append("*STARRED* ");
+            output.append(string(this.tasks.getLong(i, 0)))
+                    .append(": due on ").append(string(this.tasks.getLong(i, 8)))
+                    .append("; in project <").append(string(this.projects.getLong(projectStart + ordinal, 0)))
+                    .append(">; description: ").append(string(this.tasks.getLong(i, 16)))
+                    .append('\n');
+        }
+    }
+
+    /**
+     * Binary search the users by name.
+     *
+     * @param username username
+     * @return index of the user, or a negative number if there is no such user
+     */
+    private int findUser(String username) {
+        int low = 0, high = this.userCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = string(this.users.getLong(mid, 0)).compareTo(username);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decode a String from the string pool.
+     *
+     * @param offset offset into the string pool
+     * @return the String
+     */
+    private String string(long offset) {
+        ByteBuffer chunk = this.strings[(int) (offset / STRING_CHUNK)].duplicate();
+        chunk.position((int) (offset % STRING_CHUNK));
+        byte[] bytes = new byte[chunk.getInt()];
+        chunk.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Unmap the snapshot. The mapping itself is released once it is garbage collected.
+     *
+     * @throws IOException failure to close the file
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * A section of fixed-width records, mapped in chunks that each hold a whole number of records.
+     */
+    private class Section {
+        private final MappedByteBuffer[] chunks;
+        private final int recordSize;
+        private final long recordsPerChunk;
+
+        Section(long offset, long count, int recordSize) throws IOException {
+            this.recordSize = recordSize;
+            this.recordsPerChunk = Integer.MAX_VALUE / recordSize;
+            this.chunks = new MappedByteBuffer[(int) ((count + this.recordsPerChunk - 1) / this.recordsPerChunk)];
+            for (int i = 0; i < this.chunks.length; i++) {
+                long first = i * this.recordsPerChunk;
+                long records = Math.min(this.recordsPerChunk, count - first);
+                this.chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset + first * recordSize,
+                        records * recordSize);
+            }
+        }
+
+        int getInt(long record, int field) {
+            return this.chunks[(int) (record / this.recordsPerChunk)].getInt(position(record, field));
+        }
+
+        long getLong(long record, int field) {
+            return this.chunks[(int) (record / this.recordsPerChunk)].getLong(position(record, field));
+        }
+
+        private int position(long record, int field) {
+            return (int) (record % this.recordsPerChunk) * this.recordSize + field;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package gateway;
+
+import entities.Team;
+import entities.User;
+import usecases.managers.UserList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * This interface stores the system one user and one team at a time, so that committing a change only writes
+ * the users and teams it touched.
+ * A user is stored together with their projects, tasks and team memberships; a team is stored with its name.
+ * Upserts and deletes become durable together when they are committed.
+ */
+public interface Repository extends Closeable {
+    /**
+     * Checks whether anything has ever been committed.
+     *
+     * @return true if there is data to load
+     * @throws IOException failure to look for data
+     */
+    boolean exists() throws IOException;
+
+    /**
+     * Load every committed user and team. Must be called before anything else is stored.
+     *
+     * @return the list of users, linked with their teams
+     * @throws IOException the data cannot be read
+     */
+    UserList load() throws IOException;
+
+    /**
+     * Return how long the last load took to replay what had been committed.
+     *
+     * @return the time in nanoseconds
+     */
+    long getReplayNanos();
+
+    /**
+     * Return where the damaged parts the last load had to leave out have been kept.
+     *
+     * @return the copies of the damaged parts, empty if there were none
+     */
+    List<Path> getQuarantined();
+
+    /**
+     * Store a new or changed user.
+     *
+     * @param user the user
+     * @throws IOException failure to store the user
+     */
+    void upsertUser(User user) throws IOException;
+
+    /**
+     * Delete the user stored under the given name, if there is one.
+     *
+     * @param username name of the user
+     * @throws IOException failure to delete the user
+     */
+    void deleteUser(String username) throws IOException;
+
+    /**
+     * Store a new or renamed team.
+     *
+     * @param team the team
+     * @throws IOException failure to store the team
+     */
+    void upsertTeam(Team team) throws IOException;
+
+    /**
+     * Delete a team.
+     *
+     * @param team the team
+     * @throws IOException failure to delete the team
+     */
+    void deleteTeam(Team team) throws IOException;
+
+    /**
+     * Replace everything stored with the given users and their teams.
+     *
+     * @param userList the list of users
+     * @throws IOException failure to store the users
+     */
+    void replaceAll(UserList userList) throws IOException;
+
+    /**
+     * Commit everything stored since the last commit, all or nothing.
+     *
+     * @throws IOException failure to commit
+     */
+    void commit() throws IOException;
+
+    /**
+     * Checks whether enough has been committed since the last checkpoint that loading would slow down noticeably.
+     *
+     * @return true if a checkpoint should be taken
+     */
+    boolean needsCheckpoint();
+
+    /**
+     * Fold everything committed so far into a new base, so that loading no longer has to replay it.
+     *
+     * @param userList the current state of the system, which must match what has been committed
+     * @throws IOException failure to checkpoint; nothing committed is lost, loading just replays more
+     */
+    void checkpoint(UserList userList) throws IOException;
+
+    /**
+     * Force committed data to disk.
+     *
+     * @throws IOException failure to force data to disk
+     */
+    void sync() throws IOException;
+}
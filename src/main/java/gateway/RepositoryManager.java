@@ -0,0 +1,178 @@
+package gateway;
+
+import entities.Team;
+import entities.User;
+import usecases.managers.ChangeSet;
+import usecases.managers.UserList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * This class reads data from and writes data into a Repository.
+ * Unlike DataManager, which writes the whole system on every save, every change to the system is committed as it
+ * happens and only the users and teams it touched are stored, so saving on exit has little left to do.
+ */
+public class RepositoryManager implements DataSaver, Closeable {
+    /**
+     * Where the system is stored.
+     */
+    private final Repository repository;
+    /**
+     * The list of users.
+     */
+    private UserList userList = new UserList();
+    /**
+     * Whether a checkpoint has failed since the last save.
+     */
+    private boolean checkpointFailed;
+
+    /**
+     * Create a RepositoryManager that stores the system in the given repository.
+     *
+     * @param repository where the system is stored
+     */
+    public RepositoryManager(Repository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * This function reads data from the repository and initializes todoSystem.
+     */
+    public String readData() {
+        String output;
+        try {
+            boolean found = this.repository.exists();
+            this.userList = this.repository.load();
+            output = found ? String.format("Data has been loaded successfully. Replaying it took %d ms.",
+                    this.repository.getReplayNanos() / 1_000_000) + damaged() :
+                    "Data not found. We are starting with a new empty system.";
+        } catch (IOException i) {
+            this.userList = new UserList();
+            output = "Data is unreadable. We are starting with a new empty system. The unreadable data has been kept.";
+        }
+
+        DataManager.buildUseCaseController(this.userList, this);
+        return output;
+    }
+
+    /**
+     * Tell which damaged parts of the repository the last load has left out.
+     *
+     * @return a sentence naming where they have been kept, or an empty String if there were none
+     */
+    private String damaged() {
+        List<Path> quarantined = this.repository.getQuarantined();
+        if (quarantined.isEmpty()) return "";
+        StringJoiner names = new StringJoiner(", ");
+        for (Path path : quarantined) names.add(path.getFileName().toString());
+        return " However, " + quarantined.size() + " damaged part(s) could not be loaded and have been kept as " +
+                names + ".";
+    }
+
+    /**
+     * Export the system into a JSON lines file.
+     *
+     * @param path the file
+     * @return String indicating success or failure
+     */
+    public String exportData(String path) {
+        try {
+            return BulkTransfer.export(this.userList, Paths.get(path)) + " records have been exported.";
+        } catch (IOException i) {
+            return "Data has not been exported successfully.";
+        }
+    }
+
+    /**
+     * Import users, projects, tasks and teams from a JSON lines file into the system.
+     *
+     * @param path the file
+     * @return String telling what has been imported
+     */
+    public String importData(String path) {
+        try {
+            return BulkTransfer.importFrom(this.userList, Paths.get(path));
+        } catch (IOException i) {
+            return "Data has not been imported successfully. The file cannot be read.";
+        }
+    }
+
+    /**
+     * This function commits whatever has not been committed yet and forces it to disk.
+     */
+    @Override
+    public String writeData() {
+        try {
+            commitChanges();
+            this.repository.sync();
+            if (this.checkpointFailed) {
+                this.checkpointFailed = false;
+                return "Data has been saved successfully, but it could not be compacted, so loading will be slower.";
+            }
+            return "Data has been saved successfully.";
+        } catch (IOException i) {
+            this.userList.getChanges().allChanged();
+            return "Data has not been saved successfully. Sorry, your data is lost.";
+        }
+    }
+
+    /**
+     * Store the users and teams the last change touched.
+     */
+    @Override
+    public void commit() {
+        try {
+            commitChanges();
+        } catch (IOException i) {
+            // we no longer know what has been stored, so the next commit stores everything
+            this.userList.getChanges().allChanged();
+        }
+    }
+
+    /**
+     * Take the changes recorded by the use cases and commit them to the repository.
+     *
+     * @throws IOException failure to commit
+     */
+    private void commitChanges() throws IOException {
+        ChangeSet changes = this.userList.takeChanges();
+        if (changes.isEmpty()) return;
+        if (changes.isAllChanged()) {
+            this.repository.replaceAll(this.userList);
+        } else {
+            // deletes go first, a renamed user may have taken a name that was deleted in the same change
+            for (String username : changes.getDeletedUsers()) this.repository.deleteUser(username);
+            for (Team team : changes.getChangedTeams()) this.repository.upsertTeam(team);
+            for (User user : changes.getChangedUsers()) this.repository.upsertUser(user);
+            for (Team team : changes.getDeletedTeams()) this.repository.deleteTeam(team);
+        }
+        this.repository.commit();
+        if (this.repository.needsCheckpoint()) checkpoint();
+    }
+
+    /**
+     * Fold what has been committed into a new base. A failure loses nothing, so it is only reported on the next save.
+     */
+    private void checkpoint() {
+        try {
+            this.repository.checkpoint(this.userList);
+        } catch (IOException i) {
+            this.checkpointFailed = true;
+        }
+    }
+
+    /**
+     * Close the repository.
+     *
+     * @throws IOException failure to close it
+     */
+    @Override
+    public void close() throws IOException {
+        this.repository.close();
+    }
+}
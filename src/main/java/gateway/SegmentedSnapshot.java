@@ -0,0 +1,580 @@
+package gateway;
+
+import entities.Team;
+import entities.User;
+import usecases.managers.Memberships;
+import usecases.managers.UserList;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.*;
+
+/**
+ * This class reads and writes the system as a segmented snapshot.
+ * Users are split into independent segments which are encoded and decoded in parallel on a fork/join pool.
+ * Teams link users across segments, so they are stored in a team section of their own and linked in a final pass.
+ * Records are encoded by SnapshotCodec, which also upgrades records written by older releases.
+ * <p>
+ * Layout: a header (magic, version, segment count, compression level), a table with the position, length and
+ * CRC32C of every segment followed by the CRC32C of the table itself, the user segments, and finally the team
+ * section.
+ * <p>
+ * Checksums are verified while segments are decoded, on the same pool and in the same pass over the file, so
+ * verifying costs no extra read. A segment that fails its checksum is quarantined: its users are left out, the
+ * rest of the system loads, and the caller is told where the damaged bytes are so they can be kept aside.
+ * <p>
+ * Segments can be compressed with a Deflater. Compression and decompression are streamed: a segment is decoded
+ * straight from the file through an inflater, so neither the file nor a whole decompressed segment is ever
+ * held in memory while loading. While saving, only the few segments being encoded ahead of the one being
+ * written are held in memory.
+ */
+public class SegmentedSnapshot {
+    static final int MAGIC = 0x48544453; // "HTDS"
+    /**
+     * Version 1 has no compression level in its header and is never compressed.
+     * Version 2 adds the compression level. Version 3 starts every record with its own version.
+     * Version 4 adds checksums to the table.
+     */
+    static final int VERSION = 4;
+    static final int HEADER_SIZE = 16;
+    static final int VERSION_1_HEADER_SIZE = 12;
+    static final int FIRST_CHECKSUMMED_VERSION = 4;
+    /**
+     * Size of an entry of the table: position, length and, from version 4 on, CRC32C of a section.
+     */
+    static final int ENTRY_SIZE = 2 * Long.BYTES + Integer.BYTES;
+    static final int VERSION_3_ENTRY_SIZE = 2 * Long.BYTES;
+
+    /**
+     * Buffer size of the streams that encode and decode sections.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /**
+     * The pool that encodes and decodes segments.
+     */
+    private static final ForkJoinPool POOL = ForkJoinPool.commonPool();
+
+    private SegmentedSnapshot() {
+
+    }
+
+    /**
+     * Checks whether the file starts like a segmented snapshot.
+     *
+     * @param channel the file
+     * @return true if it is a segmented snapshot
+     * @throws IOException failure to read the file
+     */
+    public static boolean isSegmentedSnapshot(FileChannel channel) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+        return channel.read(magic, 0) == Integer.BYTES && magic.getInt(0) == MAGIC;
+    }
+
+    /**
+     * Write the list of users into the file without compression.
+     *
+     * @param userList the list of users
+     * @param channel  an empty file opened for writing
+     * @throws IOException failure to write the file
+     */
+    public static void write(UserList userList, FileChannel channel) throws IOException {
+        write(userList, channel, Deflater.NO_COMPRESSION);
+    }
+
+    /**
+     * Write the list of users into the file, encoding and compressing segments in parallel.
+     *
+     * @param userList         the list of users
+     * @param channel          an empty file opened for writing
+     * @param compressionLevel a Deflater level from 0 (no compression) to 9 (best compression)
+     * @throws IOException failure to write the file
+     */
+    public static void write(UserList userList, FileChannel channel, int compressionLevel) throws IOException {
+        if (compressionLevel < Deflater.NO_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level must be between 0 and 9.");
+        }
+        List<User> users = new ArrayList<>();
+        for (User user : userList) users.add(user);
+        List<List<User>> segments = partition(users);
+
+        // Reserve the header and the segment table, then write each segment once it and those before it are
+        // encoded, keeping a bounded number encoding ahead so that only those are held in memory
+        long tableSize = (long) (segments.size() + 1) * ENTRY_SIZE + Integer.BYTES;
+        long position = HEADER_SIZE + tableSize;
+        ByteBuffer table = ByteBuffer.allocate((int) tableSize);
+        Deque<Future<byte[]>> encoding = new ArrayDeque<>();
+        for (List<User> segment : segments) {
+            encoding.add(POOL.submit(() -> encodeUsers(segment, compressionLevel)));
+            if (encoding.size() > POOL.getParallelism() * 2) {
+                position += writeSection(channel, table, await(encoding.poll()), position);
+            }
+        }
+        while (!encoding.isEmpty()) position += writeSection(channel, table, await(encoding.poll()), position);
+        writeSection(channel, table, encodeTeams(users, compressionLevel), position);
+        CRC32C tableChecksum = new CRC32C();
+        tableChecksum.update(table.array(), 0, table.position());
+        table.putInt((int) tableChecksum.getValue());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putInt(segments.size())
+                .putInt(compressionLevel);
+        header.flip();
+        table.flip();
+        writeFully(channel, header, 0);
+        writeFully(channel, table, HEADER_SIZE);
+    }
+
+    /**
+     * Read the list of users from the file, decoding segments in parallel and linking teams last.
+     * Damaged sections are left out.
+     *
+     * @param channel the file opened for reading
+     * @return the list of users
+     * @throws IOException the file cannot be read or is not a segmented snapshot
+     */
+    public static UserList read(FileChannel channel) throws IOException {
+        return read(channel, new ArrayList<>());
+    }
+
+    /**
+     * Read the list of users from the file, decoding and verifying segments in parallel and linking teams last.
+     * Users of a damaged segment are left out; if the team section is damaged, users are loaded without teams.
+     *
+     * @param channel     the file opened for reading
+     * @param quarantined where the damaged sections of the file are added
+     * @return the list of users
+     * @throws IOException the file cannot be read, is not a segmented snapshot, or its table is damaged
+     */
+    public static UserList read(FileChannel channel, List<Section> quarantined) throws IOException {
+        try {
+            return readSegments(channel, quarantined);
+        } catch (RuntimeException e) {
+            throw new IOException("Snapshot is corrupted.", e);
+        }
+    }
+
+    /**
+     * Helper method of read.
+     */
+    private static UserList readSegments(FileChannel channel, List<Section> quarantined) throws IOException {
+        ByteBuffer header = readFully(channel, 0, VERSION_1_HEADER_SIZE);
+        int magic = header.getInt();
+        int version = header.getInt();
+        if (magic != MAGIC) throw new IOException("Not a segmented snapshot.");
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Snapshot version " + version + " is not supported by this release.");
+        }
+        SnapshotCodec codec = new SnapshotCodec(version);
+        int segmentCount = header.getInt();
+        int headerSize = version == 1 ? VERSION_1_HEADER_SIZE : HEADER_SIZE;
+        boolean compressed = version != 1 && readFully(channel, VERSION_1_HEADER_SIZE, Integer.BYTES).getInt() != 0;
+        ByteBuffer table = readTable(channel, version, headerSize, segmentCount);
+        boolean checksummed = version >= FIRST_CHECKSUMMED_VERSION;
+
+        List<Section> sections = new ArrayList<>();
+        for (int i = 0; i <= segmentCount; i++) {
+            String name = i < segmentCount ? "segment-" + (i + 1) : "teams";
+            sections.add(new Section(name, table.getLong(), table.getLong(), checksummed ? table.getInt() : 0));
+        }
+        List<Callable<List<User>>> decoders = new ArrayList<>();
+        for (Section section : sections.subList(0, segmentCount)) {
+            decoders.add(() -> decodeSegment(channel, section, compressed, codec, checksummed));
+        }
+        List<Future<List<User>>> decoded = POOL.invokeAll(decoders);
+
+        UserList userList = new UserList();
+        HashMap<String, User> users = new HashMap<>();
+        for (int i = 0; i < segmentCount; i++) {
+            List<User> segment = await(decoded.get(i));
+            if (segment == null) {
+                quarantined.add(sections.get(i));
+                continue;
+            }
+            for (User user : segment) {
+                userList.addUser(user);
+                users.put(user.getName(), user);
+            }
+        }
+
+        // Teams are linked as they are decoded, so the team section is verified before it is decoded
+        Section teams = sections.get(segmentCount);
+        if (checksummed && !verify(channel, teams)) {
+            quarantined.add(teams);
+            return userList;
+        }
+        try (DataInputStream in = openSection(channel, teams.position, teams.length, compressed)) {
+            linkTeams(in, codec, users);
+        }
+        return userList;
+    }
+
+    /**
+     * Read the table of sections, verifying its checksum if it has one.
+     *
+     * @param channel      the file
+     * @param version      version of the file
+     * @param headerSize   where the table starts
+     * @param segmentCount number of user segments
+     * @return the table
+     * @throws IOException the table is truncated or damaged, so nothing in the file can be found
+     */
+    private static ByteBuffer readTable(FileChannel channel, int version, int headerSize, int segmentCount)
+            throws IOException {
+        boolean checksummed = version >= FIRST_CHECKSUMMED_VERSION;
+        long entries = (segmentCount + 1L) * (checksummed ? ENTRY_SIZE : VERSION_3_ENTRY_SIZE);
+        long tableSize = entries + (checksummed ? Integer.BYTES : 0);
+        if (segmentCount < 0 || headerSize + tableSize > channel.size()) {
+            throw new IOException("Snapshot is corrupted.");
+        }
+        ByteBuffer table = readFully(channel, headerSize, tableSize);
+        if (checksummed) {
+            CRC32C checksum = new CRC32C();
+            checksum.update(table.array(), 0, (int) entries);
+            if ((int) checksum.getValue() != table.getInt((int) entries)) {
+                throw new IOException("Snapshot is corrupted.");
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Decode the users of one segment, verifying it if it has a checksum.
+     *
+     * @param channel     the file
+     * @param section     the segment
+     * @param compressed  whether the segment is compressed
+     * @param codec       the codec for the version of the file
+     * @param checksummed whether the segment has a checksum
+     * @return users of that segment, or null if the segment is damaged
+     * @throws IOException a segment without a checksum is truncated or corrupted
+     */
+    private static List<User> decodeSegment(FileChannel channel, Section section, boolean compressed,
+                                            SnapshotCodec codec, boolean checksummed) throws IOException {
+        if (checksummed) return decodeVerified(channel, section, compressed, codec);
+        try (DataInputStream in = openSection(channel, section.position, section.length, compressed)) {
+            return decodeUsers(in, codec);
+        }
+    }
+
+    /**
+     * Decode the users of one segment while computing its checksum in the same pass.
+     *
+     * @param channel    the file
+     * @param section    the segment
+     * @param compressed whether the segment is compressed
+     * @param codec      the codec for the version of the file
+     * @return users of that segment, or null if the segment is damaged
+     */
+    private static List<User> decodeVerified(FileChannel channel, Section section, boolean compressed,
+                                             SnapshotCodec codec) {
+        ChannelInputStream raw = new ChannelInputStream(channel, section.position, section.length, new CRC32C());
+        try (DataInputStream in = openSection(raw, compressed)) {
+            List<User> users = decodeUsers(in, codec);
+            raw.skipToEnd(); // bytes the decoder did not need still count
+            return (int) raw.checksum.getValue() == section.checksum ? users : null;
+        } catch (IOException | RuntimeException e) {
+            return null; // a damaged segment may fail anywhere while it is decoded
+        }
+    }
+
+    /**
+     * Check a section against its checksum.
+     *
+     * @param channel the file
+     * @param section the section
+     * @return true if the section is intact
+     */
+    private static boolean verify(FileChannel channel, Section section) {
+        ChannelInputStream raw = new ChannelInputStream(channel, section.position, section.length, new CRC32C());
+        try {
+            raw.skipToEnd();
+            return (int) raw.checksum.getValue() == section.checksum;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Write an encoded section into the file and its entry into the table.
+     *
+     * @return the number of bytes written
+     */
+    private static long writeSection(FileChannel channel, ByteBuffer table, byte[] bytes, long position)
+            throws IOException {
+        table.putLong(position).putLong(bytes.length).putInt(checksum(bytes));
+        return writeFully(channel, ByteBuffer.wrap(bytes), position);
+    }
+
+    /**
+     * Compute the CRC32C of an encoded section.
+     */
+    private static int checksum(byte[] bytes) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(bytes, 0, bytes.length);
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * Split users into segments of roughly equal size, a few per core so that the pool stays busy.
+     *
+     * @param users all users
+     * @return the segments
+     */
+    private static List<List<User>> partition(List<User> users) {
+        int segmentCount = Math.max(1, Math.min(users.size(), POOL.getParallelism() * 4));
+        int segmentSize = (users.size() + segmentCount - 1) / segmentCount;
+        List<List<User>> segments = new ArrayList<>();
+        for (int start = 0; start < users.size(); start += segmentSize) {
+            segments.add(users.subList(start, Math.min(users.size(), start + segmentSize)));
+        }
+        return segments;
+    }
+
+    /**
+     * Open a stream that encodes a section into memory, compressing it on the fly if asked to.
+     *
+     * @param bytes            where the encoded section goes
+     * @param compressionLevel a Deflater level, 0 for no compression
+     * @return the stream to write the section into; closing it finishes the compression
+     */
+    static DataOutputStream createSection(ByteArrayOutputStream bytes, int compressionLevel) {
+        if (compressionLevel == Deflater.NO_COMPRESSION) return new DataOutputStream(bytes);
+        Deflater deflater = new Deflater(compressionLevel);
+        return new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(bytes, deflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                super.close();
+                deflater.end(); // our own Deflater is not released by DeflaterOutputStream
+            }
+        }, BUFFER_SIZE));
+    }
+
+    /**
+     * Open a stream that reads a section straight from the file, decompressing it on the fly if needed.
+     *
+     * @param channel    the file
+     * @param position   where the section starts
+     * @param length     length of the section in the file
+     * @param compressed whether the section is compressed
+     * @return the stream to read the section from
+     */
+    static DataInputStream openSection(FileChannel channel, long position, long length, boolean compressed) {
+        return openSection(new ChannelInputStream(channel, position, length, null), compressed);
+    }
+
+    /**
+     * Open a stream that decodes a section from raw bytes, decompressing it on the fly if needed.
+     *
+     * @param in         the raw bytes of the section
+     * @param compressed whether the section is compressed
+     * @return the stream to read the section from
+     */
+    static DataInputStream openSection(InputStream in, boolean compressed) {
+        if (compressed) in = new InflaterInputStream(in, new Inflater(), BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                super.close();
+                inf.end(); // our own Inflater is not released by InflaterInputStream
+            }
+        };
+        return new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+    }
+
+    /**
+     * Encode the users of one segment. Teams are left out.
+     *
+     * @param users            users of one segment
+     * @param compressionLevel a Deflater level, 0 for no compression
+     * @return the encoded segment
+     * @throws IOException never, we write into memory
+     */
+    private static byte[] encodeUsers(List<User> users, int compressionLevel) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = createSection(bytes, compressionLevel)) {
+            out.writeInt(users.size());
+            for (User user : users) SnapshotCodec.writeUser(out, user);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode the users of one segment.
+     *
+     * @param in    the encoded segment
+     * @param codec the codec for the version of the file
+     * @return users of that segment, without teams
+     * @throws IOException the segment is truncated or corrupted
+     */
+    private static List<User> decodeUsers(DataInputStream in, SnapshotCodec codec) throws IOException {
+        int userCount = in.readInt();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) users.add(codec.readUser(in));
+        return users;
+    }
+
+    /**
+     * Encode every team once, with the names of its members.
+     *
+     * @param users            all users
+     * @param compressionLevel a Deflater level, 0 for no compression
+     * @return the encoded team section
+     * @throws IOException never, we write into memory
+     */
+    private static byte[] encodeTeams(List<User> users, int compressionLevel) throws IOException {
+        Set<Team> teams = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (User user : users) teams.addAll(Arrays.asList(Memberships.teamsOf(user)));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = createSection(bytes, compressionLevel)) {
+            out.writeInt(teams.size());
+            for (Team team : teams) SnapshotCodec.writeTeam(out, team);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode the team section and link every team with its members.
+     *
+     * @param in    the encoded team section
+     * @param codec the codec for the version of the file
+     * @param users all users by name
+     * @throws IOException the section is truncated or corrupted
+     */
+    private static void linkTeams(DataInputStream in, SnapshotCodec codec, Map<String, User> users)
+            throws IOException {
+        int teamCount = in.readInt();
+        for (int i = 0; i < teamCount; i++) codec.readTeam(in, users);
+    }
+
+    /**
+     * Read part of a file into memory. Safe to call from several threads at once.
+     */
+    static ByteBuffer readFully(FileChannel channel, long position, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) throw new IOException("Segment too large.");
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new EOFException("Snapshot truncated.");
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Write a buffer into a file at the given position.
+     *
+     * @return the number of bytes written
+     */
+    static long writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) written += channel.write(buffer, position + written);
+        return written;
+    }
+
+    /**
+     * A part of the file that has been left out because it is damaged.
+     */
+    public static class Section {
+        private final String name;
+        private final long position;
+        private final long length;
+        private final int checksum;
+
+        Section(String name, long position, long length, int checksum) {
+            this.name = name;
+            this.position = position;
+            this.length = length;
+            this.checksum = checksum;
+        }
+
+        /**
+         * Return the name of the section, e.g. "segment-3" or "teams".
+         *
+         * @return the name
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Return where the section starts in the file.
+         *
+         * @return the position
+         */
+        public long getPosition() {
+            return this.position;
+        }
+
+        /**
+         * Return the length of the section in the file.
+         *
+         * @return the length
+         */
+        public long getLength() {
+            return this.length;
+        }
+    }
+
+    /**
+     * An InputStream over part of a file that uses positional reads, so several can read one file at once.
+     * It can compute a checksum of every byte it reads.
+     */
+    private static class ChannelInputStream extends InputStream {
+        private final FileChannel channel;
+        private long position;
+        private final long end;
+        private final Checksum checksum;
+
+        ChannelInputStream(FileChannel channel, long position, long length, Checksum checksum) {
+            this.channel = channel;
+            this.position = position;
+            this.end = position + length;
+            this.checksum = checksum;
+        }
+
+        /**
+         * Read whatever is left, so that the checksum covers the whole part.
+         */
+        void skipToEnd() throws IOException {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (read(buffer, 0, buffer.length) >= 0) {
+                // only the checksum is wanted
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (this.position >= this.end) return -1;
+            int n = this.channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, this.end - this.position)),
+                    this.position);
+            if (n < 0) return -1;
+            if (this.checksum != null) this.checksum.update(b, off, n);
+            this.position += n;
+            return n;
+        }
+    }
+
+    /**
+     * Wait for a task on the pool, turning its failure into an IOException.
+     */
+    static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw new IOException("Snapshot is corrupted.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+}
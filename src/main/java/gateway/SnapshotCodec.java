@@ -0,0 +1,321 @@
+package gateway;
+
+import entities.Project;
+import entities.Task;
+import entities.TaskBoard;
+import entities.Team;
+import entities.User;
+import usecases.managers.Memberships;
+import usecases.managers.ProjectManager;
+import usecases.managers.TaskLists;
+import usecases.managers.TeamManager;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * This class encodes and decodes the records of a snapshot.
+ * Every record starts with its own version, so one file can hold records written by different releases.
+ * Older records are upgraded while they are decoded: each version has its own decoder that builds current
+ * entities directly, so migrating an old file takes one pass and never a second copy of the data.
+ * <p>
+ * Files written before records had versions are read as if every record were version 1.
+ */
+class SnapshotCodec {
+    /**
+     * The first file version whose records start with their own version.
+     */
+    static final int FIRST_VERSIONED_FILE = 3;
+
+    static final int USER_VERSION = 1;
+    static final int PROJECT_VERSION = 1;
+    /**
+     * Version 1 stores the due date as text and the star as a boolean.
+     * Version 2 stores flags first and the due date as a day number unless it cannot be turned back into the
+     * same text.
+     * Version 3 adds the tags of the task after its description, when the flags say it has some.
+     */
+    static final int TASK_VERSION = 3;
+    /**
+     * Version 2 adds the tasks on the board of the team after its members.
+     */
+    static final int TEAM_VERSION = 2;
+
+    private static final int STARRED = 1;
+    private static final int DUE_DATE_AS_TEXT = 2;
+    private static final int TAGGED = 4;
+    private static final int CLAIMED = 1;
+    private static final int DONE = 2;
+
+    /**
+     * Longer Strings can only come from a corrupted file.
+     */
+    private static final int MAX_STRING_LENGTH = 1 << 28;
+
+    /**
+     * Version of the file being decoded.
+     */
+    private final int fileVersion;
+
+    /**
+     * Create a codec that decodes records of a file of the given version.
+     *
+     * @param fileVersion version of the file
+     */
+    SnapshotCodec(int fileVersion) {
+        this.fileVersion = fileVersion;
+    }
+
+    /**
+     * Encode a user with their projects and tasks. Teams are left out.
+     *
+     * @param out  where to write
+     * @param user the user
+     * @throws IOException failure to write
+     */
+    static void writeUser(DataOutputStream out, User user) throws IOException {
+        out.writeByte(USER_VERSION);
+        writeString(out, user.getName());
+        writeString(out, user.getPassword());
+        List<Project> projects = new ArrayList<>();
+        for (Project project : user.getProjectList()) projects.add(project);
+        out.writeInt(projects.size());
+        for (Project project : projects) {
+            out.writeByte(PROJECT_VERSION);
+            writeString(out, project.getName());
+            List<Task> tasks = new ArrayList<>();
+            for (Task task : project) tasks.add(task);
+            out.writeInt(tasks.size());
+            for (Task task : tasks) writeTask(out, task);
+        }
+    }
+
+    /**
+     * Encode a task.
+     */
+    private static void writeTask(DataOutputStream out, Task task) throws IOException {
+        out.writeByte(TASK_VERSION);
+        writeString(out, task.getName());
+        Integer dueDay = toDay(task.getDueDate());
+        List<String> tags = task.getTags();
+        out.writeByte((task.isStarred() ? STARRED : 0) | (dueDay == null ? DUE_DATE_AS_TEXT : 0) |
+                (tags.isEmpty() ? 0 : TAGGED));
+        if (dueDay == null) {
+            writeString(out, task.getDueDate());
+        } else {
+            out.writeInt(dueDay);
+        }
+        writeString(out, task.getDescription());
+        if (tags.isEmpty()) return;
+        out.writeInt(tags.size());
+        for (String tag : tags) writeString(out, tag);
+    }
+
+    /**
+     * Turn a due date into a day number if that number turns back into exactly the same text.
+     *
+     * @param dueDate the due date
+     * @return the day number, or null if the due date has to be kept as text
+     */
+    private static Integer toDay(String dueDate) {
+        try {
+            LocalDate date = LocalDate.parse(dueDate);
+            long day = date.toEpochDay();
+            if (day != (int) day || !date.toString().equals(dueDate)) return null;
+            return (int) day;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Decode a user with their projects and tasks, upgrading older records on the way.
+     *
+     * @param in where to read
+     * @return the user, without teams
+     * @throws IOException the record is truncated, corrupted or newer than this release
+     */
+    User readUser(DataInputStream in) throws IOException {
+        readVersion(in, USER_VERSION); // version 1 is the only user record so far
+        User user = new User(readString(in), readString(in), TaskLists.create(), new ProjectManager(),
+                new TeamManager());
+        int projectCount = in.readInt();
+        for (int i = 0; i < projectCount; i++) readProject(in, user);
+        return user;
+    }
+
+    /**
+     * Decode a project with its tasks and add them to the user.
+     */
+    private void readProject(DataInputStream in, User user) throws IOException {
+        readVersion(in, PROJECT_VERSION);
+        String projName = readString(in);
+        Project project = user.getProjectList().getProject(projName);
+        if (project == null) {
+            project = new Project(projName);
+            user.getProjectList().addProject(project);
+        }
+        int taskCount = in.readInt();
+        for (int i = 0; i < taskCount; i++) {
+            Task task = readTask(in, project);
+            project.addTask(task);
+            user.getTaskList().addTask(task);
+        }
+    }
+
+    /**
+     * Decode a task of any version.
+     */
+    private Task readTask(DataInputStream in, Project project) throws IOException {
+        int version = readVersion(in, TASK_VERSION);
+        String name = readString(in);
+        Task task;
+        if (version == 1) {
+            task = new Task(name, readString(in), project);
+            task.setDescription(readString(in));
+            task.setStarred(in.readBoolean());
+        } else {
+            int flags = in.readUnsignedByte();
+            String dueDate = (flags & DUE_DATE_AS_TEXT) != 0 ?
+                    readString(in) : LocalDate.ofEpochDay(in.readInt()).toString();
+            task = new Task(name, dueDate, project);
+            task.setDescription(readString(in));
+            task.setStarred((flags & STARRED) != 0);
+            if (version >= 3 && (flags & TAGGED) != 0) {
+                int tagCount = in.readInt();
+                for (int i = 0; i < tagCount; i++) task.addTag(readString(in));
+            }
+        }
+        return task;
+    }
+
+    /**
+     * Encode a team with the names of its members.
+     *
+     * @param out  where to write
+     * @param team the team
+     * @throws IOException failure to write
+     */
+    static void writeTeam(DataOutputStream out, Team team) throws IOException {
+        out.writeByte(TEAM_VERSION);
+        writeString(out, team.getName());
+        List<User> members = new ArrayList<>();
+        for (User member : team) members.add(member);
+        out.writeInt(members.size());
+        for (User member : members) {
+            writeString(out, member.getName());
+            out.writeBoolean(team.isAdmin(member.getName()));
+        }
+        writeBoard(out, team.getBoard());
+    }
+
+    /**
+     * Encode the tasks on the board of a team, with the names of the members holding them.
+     *
+     * @param out   where to write
+     * @param board the board
+     * @throws IOException failure to write
+     */
+    static void writeBoard(DataOutputStream out, TaskBoard board) throws IOException {
+        List<TaskBoard.Card> cards = new ArrayList<>(board.size());
+        for (TaskBoard.Card card : board) cards.add(card);
+        out.writeInt(cards.size());
+        for (TaskBoard.Card card : cards) {
+            boolean done = card.isDone(); // first, as a completed task keeps its claimant for good
+            User claimant = card.getClaimant();
+            writeString(out, card.getName());
+            writeString(out, card.getDueDate());
+            out.writeByte((claimant != null ? CLAIMED : 0) | (done ? DONE : 0));
+            if (claimant != null) writeString(out, claimant.getName());
+        }
+    }
+
+    /**
+     * Decode a team and link it with its members.
+     *
+     * @param in    where to read
+     * @param users all users by name
+     * @return the team
+     * @throws IOException the record is truncated, corrupted or newer than this release
+     */
+    Team readTeam(DataInputStream in, Map<String, User> users) throws IOException {
+        int version = readVersion(in, TEAM_VERSION);
+        Team team = new Team(readString(in));
+        int memberCount = in.readInt();
+        for (int i = 0; i < memberCount; i++) {
+            User member = users.get(readString(in));
+            boolean admin = in.readBoolean();
+            if (member == null) continue;
+            Memberships.join(member, team);
+            if (admin) Memberships.promote(member, team);
+        }
+        if (version >= 2) readBoard(in, team.getBoard(), users::get);
+        return team;
+    }
+
+    /**
+     * Decode the tasks on the board of a team. A task held by a user who no longer exists is open again.
+     *
+     * @param in    where to read
+     * @param board the board to put them on
+     * @param users finds a user by name
+     * @throws IOException the board is truncated or corrupted
+     */
+    static void readBoard(DataInputStream in, TaskBoard board, Function<String, User> users) throws IOException {
+        int count = in.readInt();
+        if (count < 0) throw new IOException("Snapshot is corrupted.");
+        for (int i = 0; i < count; i++) {
+            String name = readString(in);
+            String dueDate = readString(in);
+            int flags = in.readUnsignedByte();
+            User claimant = (flags & CLAIMED) != 0 ? users.apply(readString(in)) : null;
+            board.restore(name, dueDate, claimant, (flags & DONE) != 0);
+        }
+    }
+
+    /**
+     * Read the version of the next record.
+     *
+     * @param in      where to read
+     * @param current the newest version of this kind of record
+     * @return the version of the record
+     * @throws IOException the record is newer than this release or corrupted
+     */
+    private int readVersion(DataInputStream in, int current) throws IOException {
+        if (this.fileVersion < FIRST_VERSIONED_FILE) return 1;
+        int version = in.readUnsignedByte();
+        if (version < 1 || version > current) {
+            throw new IOException("Record version " + version + " is not supported by this release.");
+        }
+        return version;
+    }
+
+    /**
+     * Write a String as its UTF-8 length followed by its bytes; unlike writeUTF there is no 64KB limit.
+     */
+    static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Read a String written by writeString.
+     */
+    static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_STRING_LENGTH) throw new IOException("Snapshot is corrupted.");
+        if (length == 0) return ""; // most descriptions
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,104 @@
+package helpers;
+
+import entities.Project;
+import entities.Task;
+import entities.User;
+import gateway.SegmentedSnapshot;
+import usecases.managers.ProjectManager;
+import usecases.managers.TaskManager;
+import usecases.managers.TeamManager;
+import usecases.managers.UserList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class compares snapshot compression levels.
+ * For every level it reports the file size, how long saving takes, how much of that is spent writing the bytes
+ * to disk (I/O) rather than encoding and compressing them (CPU), and how long loading takes.
+ * <p>
+ * Usage: CompressionBenchmark [users] [tasks per user]
+ */
+public class CompressionBenchmark {
+    private static final int[] LEVELS = {0, 1, 3, 6, 9};
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws IOException {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int tasksPerUser = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        UserList userList = createUsers(users, tasksPerUser);
+        Path dir = Files.createTempDirectory("howtodoit-benchmark");
+        Path snapshot = dir.resolve("system.ser");
+        Path raw = dir.resolve("raw.bin");
+
+        System.out.printf("%d users, %d tasks each%n", users, tasksPerUser);
+        System.out.printf("%5s %12s %10s %10s %10s %10s%n", "level", "bytes", "save ms", "I/O ms", "CPU ms", "load ms");
+        for (int level : LEVELS) {
+            long save = Long.MAX_VALUE, io = Long.MAX_VALUE, load = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    SegmentedSnapshot.write(userList, channel, level);
+                    channel.force(true);
+                }
+                save = Math.min(save, System.nanoTime() - start);
+
+                // Writing the same number of bytes without encoding them is the I/O part of saving
+                byte[] bytes = Files.readAllBytes(snapshot);
+                start = System.nanoTime();
+                try (FileChannel channel = FileChannel.open(raw, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                    while (buffer.hasRemaining()) channel.write(buffer);
+                    channel.force(true);
+                }
+                io = Math.min(io, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+                    SegmentedSnapshot.read(channel);
+                }
+                load = Math.min(load, System.nanoTime() - start);
+            }
+            System.out.printf("%5d %12d %10d %10d %10d %10d%n", level, Files.size(snapshot), save / 1000000,
+                    io / 1000000, Math.max(0, save - io) / 1000000, load / 1000000);
+        }
+        Files.deleteIfExists(snapshot);
+        Files.deleteIfExists(raw);
+        Files.deleteIfExists(dir);
+    }
+
+    /**
+     * Create users with a few projects each and tasks spread over them.
+     *
+     * @param users        number of users
+     * @param tasksPerUser number of tasks of each user
+     * @return the list of users
+     */
+    private static UserList createUsers(int users, int tasksPerUser) {
+        UserList userList = new UserList();
+        for (int i = 0; i < users; i++) {
+            User user = new User("user" + i, "password" + i, new TaskManager(), new ProjectManager(),
+                    new TeamManager());
+            Project[] projects = {user.getProjectList().getProject("General"), new Project("Work"),
+                    new Project("Home")};
+            user.getProjectList().addProject(projects[1]);
+            user.getProjectList().addProject(projects[2]);
+            for (int j = 0; j < tasksPerUser; j++) {
+                Project project = projects[j % projects.length];
+                Task task = new Task("task" + j, String.format("2099-%02d-%02d", j % 12 + 1, j % 28 + 1), project);
+                task.setDescription(j % 5 == 0 ? "Remember to follow up with the team about task " + j : "");
+                task.setStarred(j % 7 == 0);
+                project.addTask(task);
+                user.getTaskList().addTask(task);
+            }
+            userList.addUser(user);
+        }
+        return userList;
+    }
+}
@@ -0,0 +1,153 @@
+package helpers;
+
+import entities.IntMap;
+import entities.NameDictionary;
+import entities.Project;
+import entities.Task;
+
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * This class compares the maps the managers use with the java.util.HashMap they replace: a NameDictionary, which
+ * holds the tasks, projects and users of a scope and the members of a large team by name, and an IntMap, which holds
+ * the teams of the registry and of a team list and the admins of a large team by run id.
+ * For every size it reports the heap taken per entry, not counting keys and entities, and the time of a lookup.
+ * <p>
+ * Usage: MapBenchmark [sizes...]
+ */
+public class MapBenchmark {
+    private static final int ROUNDS = 5;
+    /**
+     * Entries built and looked up per measurement, whatever the size of a map, so small maps are measured by many.
+     */
+    private static final int ENTRIES = 1000000;
+
+    private static int sink;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray() :
+                new int[]{10, 1000, 1000000};
+        System.out.printf("%8s %-24s %14s %14s%n", "size", "map", "bytes/entry", "ns/lookup");
+        for (int size : sizes) {
+            Project project = new Project("General");
+            Task[] tasks = new Task[size];
+            String[] names = new String[size];
+            for (int i = 0; i < size; i++) {
+                names[i] = "task" + i;
+                tasks[i] = new Task(names[i], "2099-01-01", project);
+            }
+            int maps = Math.max(1, ENTRIES / size);
+
+            compare(size, maps, "HashMap<String, Task>", i -> {
+                HashMap<String, Task> map = new HashMap<>();
+                for (Task task : tasks) map.put(task.getName(), task);
+                return map;
+            }, (map, j) -> map.get(names[j]).getRunId());
+            compare(size, maps, "NameDictionary<Task>", i -> {
+                NameDictionary<Task> map = new NameDictionary<>();
+                for (Task task : tasks) map.add(task);
+                return map;
+            }, (map, j) -> map.get(names[j]).getRunId());
+            compare(size, maps, "HashMap<Integer, Task>", i -> {
+                HashMap<Integer, Task> map = new HashMap<>();
+                for (Task task : tasks) map.put(task.getRunId(), task);
+                return map;
+            }, (map, j) -> map.get(tasks[j].getRunId()).getRunId());
+            compare(size, maps, "IntMap<Task>", i -> {
+                IntMap<Task> map = new IntMap<>();
+                for (Task task : tasks) map.put(task.getRunId(), task);
+                return map;
+            }, (map, j) -> map.get(tasks[j].getRunId()).getRunId());
+        }
+        if (sink == 42) System.out.println(); // keep lookups from being optimized away
+    }
+
+    /**
+     * Measure one kind of map and print a line.
+     *
+     * @param size   entries of each map
+     * @param maps   number of maps
+     * @param name   name of the kind of map
+     * @param create creates the i-th map
+     * @param lookup looks up the j-th entry of a map
+     * @param <M>    the kind of map
+     */
+    private static <M> void compare(int size, int maps, String name, IntFunction<M> create, LookUp<M> lookup) {
+        System.out.printf("%8d %-24s %14.1f %14.1f%n", size, name, measure(maps, create),
+                time(maps, size, create, lookup));
+    }
+
+    /**
+     * Build maps and return the heap they take per entry.
+     *
+     * @param maps   number of maps
+     * @param create creates the i-th map
+     * @return bytes per entry
+     */
+    private static double measure(int maps, IntFunction<?> create) {
+        Object[] built = new Object[maps];
+        long before = usedHeap();
+        int entries = 0;
+        for (int i = 0; i < maps; i++) {
+            built[i] = create.apply(i);
+            entries += sizeOf(built[i]);
+        }
+        long after = usedHeap();
+        if (built[maps - 1] == null) System.out.println(); // keep the maps reachable until measured
+        return (double) (after - before) / entries;
+    }
+
+    private static int sizeOf(Object map) {
+        if (map instanceof Map) return ((Map<?, ?>) map).size();
+        if (map instanceof NameDictionary) return ((NameDictionary<?>) map).size();
+        return ((IntMap<?>) map).size();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Look up every entry of every map in random order, and return the best time of a lookup over a few rounds,
+     * the first rounds warming up the code.
+     *
+     * @param maps   number of maps
+     * @param size   entries of each map
+     * @param create creates the i-th map
+     * @param lookup looks up the j-th entry of a map
+     * @param <M>    the kind of map
+     * @return nanoseconds per lookup
+     */
+    private static <M> double time(int maps, int size, IntFunction<M> create, LookUp<M> lookup) {
+        List<M> built = new ArrayList<>(maps);
+        for (int i = 0; i < maps; i++) built.add(create.apply(i));
+        int[] order = new int[size];
+        for (int j = 0; j < size; j++) order[j] = j;
+        Random random = new Random(size);
+        for (int j = size - 1; j > 0; j--) { // shuffle, so lookups do not walk memory in order
+            int k = random.nextInt(j + 1);
+            int swap = order[j];
+            order[j] = order[k];
+            order[k] = swap;
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS * 2; round++) {
+            long start = System.nanoTime();
+            for (M map : built) {
+                for (int j : order) sink += lookup.apply(map, j);
+            }
+            if (round >= ROUNDS) best = Math.min(best, System.nanoTime() - start);
+        }
+        return (double) best / ((long) maps * size);
+    }
+
+    /**
+     * This interface looks up the j-th entry of a map.
+     */
+    private interface LookUp<M> {
+        int apply(M map, int j);
+    }
+}
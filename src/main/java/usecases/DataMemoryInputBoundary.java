@@ -34,4 +34,9 @@ public interface DataMemoryInputBoundary {
      * Sets the memento, liking taking a timestamp on current system.
      */
     void setTimeStamp();
+
+    /**
+     * Store a change that undo does not go back on.
+     */
+    void commit();
 }
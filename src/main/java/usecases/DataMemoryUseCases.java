@@ -2,6 +2,7 @@ package usecases;
 
 import entities.Memento;
 import gateway.DataSaver;
+import usecases.managers.MemoryEstimator;
 import usecases.managers.UserList;
 
 /**
@@ -62,6 +63,7 @@ public class DataMemoryUseCases implements DataMemoryInputBoundary {
         } else {
             this.currentMemento = prevMemento;
             this.userList.restore(prevMemento);
+            if (this.dataSaver != null) this.dataSaver.commit();
             return true;
         }
     }
@@ -79,6 +81,7 @@ public class DataMemoryUseCases implements DataMemoryInputBoundary {
         } else {
             this.currentMemento = nextMemento;
             this.userList.restore(nextMemento);
+            if (this.dataSaver != null) this.dataSaver.commit();
             return true;
         }
     }
@@ -103,5 +106,47 @@ public class DataMemoryUseCases implements DataMemoryInputBoundary {
             this.currentMemento.next.prev = this.currentMemento;
             this.currentMemento = this.currentMemento.next;
         }
+        if (this.dataSaver != null) this.dataSaver.commit();
+    }
+
+    /**
+     * Store a change that undo does not go back on, without taking a memento.
+     */
+    @Override
+    public void commit() {
+        if (this.dataSaver != null) this.dataSaver.commit();
+    }
+
+    /**
+     * Return the number of mementos kept for undo and redo.
+     *
+     * @return the number of mementos
+     */
+    public int historySize() {
+        int size = 0;
+        for (Memento memento = first(); memento != null; memento = memento.next) size++;
+        return size;
+    }
+
+    /**
+     * Return an estimate of the heap the mementos kept for undo and redo take.
+     *
+     * @return bytes
+     */
+    public long estimateHistoryBytes() {
+        long bytes = 0;
+        for (Memento memento = first(); memento != null; memento = memento.next) {
+            bytes += MemoryEstimator.memento(memento);
+        }
+        return bytes;
+    }
+
+    /**
+     * Return the oldest memento kept, null if there is none.
+     */
+    private Memento first() {
+        Memento memento = this.currentMemento;
+        while (memento != null && memento.prev != null) memento = memento.prev;
+        return memento;
     }
 }
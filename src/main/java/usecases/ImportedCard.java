@@ -0,0 +1,42 @@
+package usecases;
+
+/**
+ * This class holds a task of a team board read from an import, before it is put on the board.
+ */
+public class ImportedCard {
+    private final String name;
+    private final String dueDate;
+    private final String claimant;
+    private final boolean done;
+
+    /**
+     * Constructor.
+     *
+     * @param name     name of the task
+     * @param dueDate  due date of the task
+     * @param claimant name of the member who has claimed the task, null if nobody has
+     * @param done     whether the task has been completed
+     */
+    public ImportedCard(String name, String dueDate, String claimant, boolean done) {
+        this.name = name;
+        this.dueDate = dueDate;
+        this.claimant = claimant;
+        this.done = done;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public String getDueDate() {
+        return this.dueDate;
+    }
+
+    public String getClaimant() {
+        return this.claimant;
+    }
+
+    public boolean isDone() {
+        return this.done;
+    }
+}
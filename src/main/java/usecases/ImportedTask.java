@@ -0,0 +1,66 @@
+package usecases;
+
+import java.util.List;
+
+/**
+ * This class holds a task read from an import, before it is added to the system.
+ */
+public class ImportedTask {
+    private final String username;
+    private final String name;
+    private final String dueDate;
+    private final String projName;
+    private final String description;
+    private final boolean starred;
+    private final List<String> tags;
+
+    /**
+     * Constructor.
+     *
+     * @param username    the user the task belongs to
+     * @param name        name of the task
+     * @param dueDate     due date of the task
+     * @param projName    project the task belongs to
+     * @param description description of the task
+     * @param starred     whether the task is starred
+     * @param tags        tags of the task
+     */
+    public ImportedTask(String username, String name, String dueDate, String projName, String description,
+                        boolean starred, List<String> tags) {
+        this.username = username;
+        this.name = name;
+        this.dueDate = dueDate;
+        this.projName = projName;
+        this.description = description;
+        this.starred = starred;
+        this.tags = tags;
+    }
+
+    public String getUsername() {
+        return this.username;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public String getDueDate() {
+        return this.dueDate;
+    }
+
+    public String getProjName() {
+        return this.projName;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    public boolean isStarred() {
+        return this.starred;
+    }
+
+    public List<String> getTags() {
+        return this.tags;
+    }
+}
@@ -3,7 +3,7 @@ package usecases;
 import constants.Enums;
 import entities.User;
 import usecases.managers.ProjectManager;
-import usecases.managers.TaskManager;
+import usecases.managers.TaskLists;
 import usecases.managers.TeamManager;
 import usecases.managers.UserList;
 
@@ -57,8 +57,9 @@ public class LoginRegisterUseCases implements LoginRegisterInputBoundary {
         if (this.userList.getUser(username) != null) {
             return Enums.RegisterResult.FAILURE; // user already exists
         } else {
-            User user = new User(username, password, new TaskManager(), new ProjectManager(), new TeamManager());
+            User user = new User(username, password, TaskLists.create(), new ProjectManager(), new TeamManager());
             userList.addUser(user);
+            userList.getChanges().userChanged(user);
             return Enums.RegisterResult.SUCCESS;
         }
     }
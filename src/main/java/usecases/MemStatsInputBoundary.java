@@ -0,0 +1,15 @@
+package usecases;
+
+/**
+ * The input boundary for memory statistics use cases.
+ */
+public interface MemStatsInputBoundary {
+    /**
+     * Show an estimate of the heap retained by users, teams and the undo history, the largest first.
+     *
+     * @param top             the most users and teams to show
+     * @param machineReadable true for JSON lines rather than sentences
+     * @return String showing the estimates
+     */
+    String memStats(int top, boolean machineReadable);
+}
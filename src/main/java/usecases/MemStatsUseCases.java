@@ -0,0 +1,130 @@
+package usecases;
+
+import entities.DescriptionStore;
+import entities.StringPool;
+import entities.Team;
+import entities.User;
+import usecases.managers.MemoryEstimator;
+import usecases.managers.UserList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class deals with memory statistics use cases: how much of the heap each user, each team and the undo history
+ * retain, estimated from their structure, and how much is kept off the heap.
+ */
+public class MemStatsUseCases implements MemStatsInputBoundary {
+    /**
+     * The list of users.
+     */
+    private final UserList userList;
+    /**
+     * The use cases holding the undo history.
+     */
+    private final DataMemoryUseCases dataMemoryUseCases;
+
+    /**
+     * Constructor.
+     *
+     * @param userList           the list of users
+     * @param dataMemoryUseCases the use cases holding the undo history
+     */
+    public MemStatsUseCases(UserList userList, DataMemoryUseCases dataMemoryUseCases) {
+        this.userList = userList;
+        this.dataMemoryUseCases = dataMemoryUseCases;
+    }
+
+    /**
+     * Show an estimate of the heap retained by users, teams and the undo history, the largest first.
+     *
+     * @param top             the most users and teams to show
+     * @param machineReadable true for JSON lines rather than sentences
+     * @return String showing the estimates
+     */
+    @Override
+    public String memStats(int top, boolean machineReadable) {
+        List<Estimate> users = new ArrayList<>();
+        for (User user : this.userList) users.add(new Estimate(user.getName(), MemoryEstimator.user(user)));
+        List<Estimate> teams = new ArrayList<>();
+        for (Team team : this.userList.getTeams()) {
+            teams.add(new Estimate(team.getName(), MemoryEstimator.team(team)));
+        }
+        int historySize = this.dataMemoryUseCases.historySize();
+        long historyBytes = this.dataMemoryUseCases.estimateHistoryBytes();
+        int[] poolSize = {0};
+        long[] poolBytes = {0};
+        StringPool.forEach(s -> {
+            poolSize[0]++;
+            poolBytes[0] += MemoryEstimator.pooled(s);
+        });
+        long total = sum(users) + sum(teams) + historyBytes + poolBytes[0];
+        users.sort(Estimate.LARGEST_FIRST);
+        teams.sort(Estimate.LARGEST_FIRST);
+        List<Estimate> topUsers = users.subList(0, Math.min(top, users.size()));
+        List<Estimate> topTeams = teams.subList(0, Math.min(top, teams.size()));
+
+        StringBuilder output = new StringBuilder();
+        if (machineReadable) {
+            output.append(new StatsLine().put("kind", "total").put("bytes", total)).append('\n');
+            for (Estimate user : topUsers) {
+                output.append(new StatsLine().put("kind", "user").put("name", user.name).put("bytes", user.bytes))
+                        .append('\n');
+            }
+            for (Estimate team : topTeams) {
+                output.append(new StatsLine().put("kind", "team").put("name", team.name).put("bytes", team.bytes))
+                        .append('\n');
+            }
+            output.append(new StatsLine().put("kind", "history").put("mementos", historySize)
+                    .put("bytes", historyBytes)).append('\n');
+            output.append(new StatsLine().put("kind", "pool").put("strings", poolSize[0])
+                    .put("bytes", poolBytes[0])).append('\n');
+            output.append(new StatsLine().put("kind", "offHeap").put("descriptions", DescriptionStore.size())
+                    .put("bytes", DescriptionStore.liveBytes()).put("reserved", DescriptionStore.reservedBytes()))
+                    .append('\n');
+            return output.toString();
+        }
+        output.append("About ").append(total).append(" bytes are retained by ").append(users.size())
+                .append(" users, ").append(teams.size()).append(" teams, the undo history and the string pool.\n");
+        output.append("Users retaining the most:\n");
+        for (Estimate user : topUsers) output.append(user).append('\n');
+        output.append("Teams retaining the most:\n");
+        for (Estimate team : topTeams) output.append(team).append('\n');
+        output.append("Undo history: ").append(historyBytes).append(" bytes in ").append(historySize)
+                .append(" mementos.\n");
+        output.append("String pool: ").append(poolBytes[0]).append(" bytes in ").append(poolSize[0])
+                .append(" strings.\n");
+        output.append("Off the heap: ").append(DescriptionStore.liveBytes()).append(" bytes in ")
+                .append(DescriptionStore.size()).append(" descriptions, ").append(DescriptionStore.reservedBytes())
+                .append(" bytes reserved.\n");
+        return output.toString();
+    }
+
+    private static long sum(List<Estimate> estimates) {
+        long sum = 0;
+        for (Estimate estimate : estimates) sum += estimate.bytes;
+        return sum;
+    }
+
+    /**
+     * This class represents the estimated bytes of a user or a team.
+     */
+    private static class Estimate {
+        private static final Comparator<Estimate> LARGEST_FIRST =
+                Comparator.comparingLong((Estimate e) -> -e.bytes).thenComparing(e -> e.name);
+
+        private final String name;
+        private final long bytes;
+
+        private Estimate(String name, long bytes) {
+            this.name = name;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public String toString() {
+            return this.name + ": " + this.bytes + " bytes";
+        }
+    }
+}
@@ -39,6 +39,7 @@ public class ProjectUseCases implements ProjectInputBoundary {
             return false; // project already exists
         } else {
             projectList.addProject(new Project(projName));
+            this.userList.getChanges().userChanged(user);
             return true;
         }
     }
@@ -62,6 +63,7 @@ public class ProjectUseCases implements ProjectInputBoundary {
             Project project = projectList.getProject(projName);
             emptyTasks(user, project);
             projectList.delProject(project);
+            this.userList.getChanges().userChanged(user);
             return true;
         }
     }
@@ -97,6 +99,8 @@ public class ProjectUseCases implements ProjectInputBoundary {
         } else {
             Project project = projectList.getProject(name1);
             project.setName(name2);
+            projectList.projectRenamed(name1, project);
+            this.userList.getChanges().userChanged(user);
             return true;
         }
     }
@@ -21,6 +21,15 @@ public interface QueryInputBoundary {
      */
     String viewMemsInTeam(String username, String teamName);
 
+    /**
+     * Show the tasks shared by a team.
+     *
+     * @param username current username
+     * @param teamName name of the team
+     * @return String showing the tasks on the board of the team
+     */
+    String viewBoard(String username, String teamName);
+
     /**
      * Show all projects for the user.
      *
@@ -45,4 +54,40 @@ public interface QueryInputBoundary {
      * @return String showing all tasks in a project
      */
     String viewTasksInProj(String username, String projName);
+
+    /**
+     * Show the counts of the tasks of a project, or of all tasks of the user.
+     *
+     * @param username current username
+     * @param projName name of the project, null for all tasks
+     * @return String showing how many tasks there are, how many are starred and the soonest due date
+     */
+    String projStats(String username, String projName);
+
+    /**
+     * Show the tasks due soonest, of all projects or of one.
+     *
+     * @param username current username
+     * @param k        the most tasks to show
+     * @param projName name of the project, null for all projects
+     * @return String showing the tasks due soonest
+     */
+    String viewNext(String username, int k, String projName);
+
+    /**
+     * Show the starred tasks, soonest due first.
+     *
+     * @param username current username
+     * @return String showing the starred tasks
+     */
+    String viewStarred(String username);
+
+    /**
+     * Show the tasks that match a combination of tags.
+     *
+     * @param username current username
+     * @param query    tags joined by '&' into alternatives joined by '|'
+     * @return String showing the matching tasks
+     */
+    String viewTagged(String username, String query);
 }
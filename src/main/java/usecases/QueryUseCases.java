@@ -1,12 +1,16 @@
 package usecases;
 
 import entities.Project;
+import entities.Task;
 import entities.Team;
 import entities.User;
 import usecases.managers.ProjectList;
 import usecases.managers.TeamList;
 import usecases.managers.UserList;
 
+import java.util.Comparator;
+import java.util.List;
+
 /**
  * This class deals with query use cases.
  */
@@ -56,6 +60,19 @@ public class QueryUseCases implements QueryInputBoundary {
         }
     }
 
+    /**
+     * Show the tasks shared by a team. Showing them never waits for members updating the board.
+     *
+     * @param username current username
+     * @param teamName name of the team
+     * @return String showing the tasks on the board of the team
+     */
+    @Override
+    public String viewBoard(String username, String teamName) {
+        Team team = this.userList.getUser(username).getTeamList().getTeam(teamName);
+        return team == null ? "Team does not exist." : team.getBoard().toString();
+    }
+
     /**
      * Show all projects for the user.
      *
@@ -98,4 +115,85 @@ public class QueryUseCases implements QueryInputBoundary {
             return project.toString();
         }
     }
+
+    /**
+     * Show the counts of the tasks of a project, or of all tasks of the user.
+     * The counts are kept up to date as tasks change, so no task is looked at.
+     *
+     * @param username current username
+     * @param projName name of the project, null for all tasks
+     * @return String showing how many tasks there are, how many are starred and the soonest due date
+     */
+    @Override
+    public String projStats(String username, String projName) {
+        User user = this.userList.getUser(username);
+        if (projName == null) return "You have " + user.getTaskList().getStats() + ".";
+        Project project = user.getProjectList().getProject(projName);
+        if (project == null) return "Project does not exist.";
+        return "This project <" + projName + "> has " + project.getStats() + ".";
+    }
+
+    /**
+     * Show the tasks due soonest, of all projects or of one, without sorting every task.
+     *
+     * @param username current username
+     * @param k        the most tasks to show
+     * @param projName name of the project, null for all projects
+     * @return String showing the tasks due soonest
+     */
+    @Override
+    public String viewNext(String username, int k, String projName) {
+        User user = this.userList.getUser(username);
+        List<Task> next;
+        StringBuilder output;
+        if (projName == null) {
+            next = user.getTaskList().next(k);
+            output = new StringBuilder("Your next tasks are:\n");
+        } else {
+            Project project = user.getProjectList().getProject(projName);
+            if (project == null) return "Project does not exist.";
+            next = project.next(k);
+            output = new StringBuilder("The next tasks of project <" + projName + "> are:\n");
+        }
+        for (Task task : next) {
+            output.append(task.toString()).append('\n'); // Each line will be a task
+        }
+        return output.toString();
+    }
+
+    /**
+     * Show the starred tasks, soonest due first, from the index of starred tasks the user keeps.
+     *
+     * @param username current username
+     * @return String showing the starred tasks
+     */
+    @Override
+    public String viewStarred(String username) {
+        User user = this.userList.getUser(username);
+        StringBuilder output = new StringBuilder("You have the following starred tasks:\n");
+        for (Task task : user.getTaskList().starred()) {
+            output.append(task.toString()).append('\n'); // Each line will be a task
+        }
+        return output.toString();
+    }
+
+    /**
+     * Show the tasks that match a combination of tags, soonest due first. The tasks are picked from the bitmaps of
+     * the tags, so only the matching ones are sorted.
+     *
+     * @param username current username
+     * @param query    tags joined by '&' into alternatives joined by '|'
+     * @return String showing the matching tasks
+     */
+    @Override
+    public String viewTagged(String username, String query) {
+        User user = this.userList.getUser(username);
+        List<Task> tasks = user.getTaskList().tagged(query);
+        tasks.sort(Comparator.comparing(Task::getDueDate).thenComparing(Task::getName));
+        StringBuilder output = new StringBuilder("You have the following tasks tagged " + query + ":\n");
+        for (Task task : tasks) {
+            output.append(task.toString()).append('\n'); // Each line will be a task
+        }
+        return output.toString();
+    }
 }
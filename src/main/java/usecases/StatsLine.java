@@ -0,0 +1,67 @@
+package usecases;
+
+/**
+ * This class writes one line of statistics as a flat JSON object whose values are Strings or numbers, for tools that
+ * read the output of administrative commands.
+ */
+class StatsLine {
+    private final StringBuilder line = new StringBuilder("{");
+
+    /**
+     * Add a String field.
+     *
+     * @param key   name of the field
+     * @param value value of the field
+     * @return this line
+     */
+    StatsLine put(String key, String value) {
+        key(key);
+        quote(value);
+        return this;
+    }
+
+    /**
+     * Add a number field.
+     *
+     * @param key   name of the field
+     * @param value value of the field
+     * @return this line
+     */
+    StatsLine put(String key, long value) {
+        key(key);
+        this.line.append(value);
+        return this;
+    }
+
+    /**
+     * Return the line, without a line break.
+     */
+    @Override
+    public String toString() {
+        return this.line + "}";
+    }
+
+    private void key(String key) {
+        if (this.line.length() > 1) this.line.append(',');
+        quote(key);
+        this.line.append(':');
+    }
+
+    /**
+     * Append a String as a JSON string, escaping quotes, backslashes and control characters.
+     */
+    private void quote(String s) {
+        this.line.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                this.line.append('\\').append(c);
+            } else if (c < 0x20) {
+                this.line.append(String.format("\\u%04x", (int) c));
+            } else {
+                this.line.append(c);
+            }
+        }
+        this.line.append('"');
+    }
+}
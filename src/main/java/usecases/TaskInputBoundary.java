@@ -1,5 +1,7 @@
 package usecases;
 
+import java.util.List;
+
 /**
  * The input boundary for task use cases.
  */
@@ -42,6 +44,26 @@ public interface TaskInputBoundary {
      */
     boolean unstar(String username, String taskName);
 
+    /**
+     * Give a task a tag.
+     *
+     * @param username current username
+     * @param taskName name of the task to tag
+     * @param tag      the tag
+     * @return boolean indicating whether success or failure
+     */
+    boolean tag(String username, String taskName, String tag);
+
+    /**
+     * Take a tag off a task.
+     *
+     * @param username current username
+     * @param taskName name of the task to untag
+     * @param tag      the tag
+     * @return boolean indicating whether success or failure
+     */
+    boolean untag(String username, String taskName, String tag);
+
     /**
      * Rename a task.
      *
@@ -83,4 +105,47 @@ public interface TaskInputBoundary {
      * @return boolean indicating whether success or failure
      */
     boolean assignTask(String username1, String teamName, String username2, String taskName, String dueDate);
+
+    /**
+     * Assign a task to every member of a team, or to some of them. Nobody gets the task unless everyone can.
+     *
+     * @param username current username
+     * @param teamName the name of the team
+     * @param memNames names of the teammates, null for every member of the team
+     * @param taskName the name of the task
+     * @param dueDate  due date of the task
+     * @return boolean indicating whether success or failure
+     */
+    boolean broadcastTask(String username, String teamName, List<String> memNames, String taskName, String dueDate);
+
+    /**
+     * Post a task to the board of a team, for any member to claim.
+     *
+     * @param username current username
+     * @param teamName the name of the team
+     * @param taskName the name of the task
+     * @param dueDate  due date of the task
+     * @return boolean indicating whether success or failure
+     */
+    boolean postTask(String username, String teamName, String taskName, String dueDate);
+
+    /**
+     * Claim a task on the board of a team. Only one member may hold a task.
+     *
+     * @param username current username
+     * @param teamName the name of the team
+     * @param taskName the name of the task
+     * @return boolean indicating whether success or failure
+     */
+    boolean claimTask(String username, String teamName, String taskName);
+
+    /**
+     * Complete a task on the board of a team.
+     *
+     * @param username current username
+     * @param teamName the name of the team
+     * @param taskName the name of the task
+     * @return boolean indicating whether success or failure
+     */
+    boolean finishTask(String username, String teamName, String taskName);
 }
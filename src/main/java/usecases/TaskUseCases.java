@@ -1,6 +1,7 @@
 package usecases;
 
 import entities.Project;
+import entities.StringPool;
 import entities.Task;
 import entities.Team;
 import entities.User;
@@ -10,6 +11,11 @@ import usecases.managers.UserList;
 
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * This class deals with task use cases.
@@ -56,6 +62,7 @@ public class TaskUseCases implements TaskInputBoundary {
             Task task = new Task(taskName, dueDate, project);
             taskList.addTask(task);
             task.getProject().addTask(task);
+            this.userList.getChanges().userChanged(user);
             return true;
         }
     }
@@ -78,6 +85,21 @@ public class TaskUseCases implements TaskInputBoundary {
         return false;
     }
 
+    /**
+     * Private method that checks if a due date is a valid date written exactly as yyyy-MM-dd, which
+     * wrongDueDateFormat does not insist on.
+     *
+     * @param dueDate the due date String
+     * @return true if it is
+     */
+    private static boolean isIsoDate(String dueDate) {
+        try {
+            LocalDate.parse(dueDate);
+        } catch (DateTimeParseException | NullPointerException e) {
+            return false;
+        }
+        return true;
+    }
 
     /**
      * Complete a task.
@@ -97,6 +119,7 @@ public class TaskUseCases implements TaskInputBoundary {
             Task task = taskList.getTask(taskName);
             taskList.delTask(task);
             task.getProject().delTask(task);
+            this.userList.getChanges().userChanged(user);
             return true;
         }
     }
@@ -117,7 +140,12 @@ public class TaskUseCases implements TaskInputBoundary {
             return false; // non-existent task
         } else {
             Task task = taskList.getTask(taskName);
-            task.setStarred(true);
+            if (!task.isStarred()) { // counted only when it changes
+                task.setStarred(true);
+                taskList.taskStarred(task);
+                task.getProject().taskStarred(task);
+            }
+            this.userList.getChanges().userChanged(user);
             return true;
         }
     }
@@ -138,7 +166,61 @@ public class TaskUseCases implements TaskInputBoundary {
             return false; // non-existent task
         } else {
             Task task = taskList.getTask(taskName);
-            task.setStarred(false);
+            if (task.isStarred()) { // counted only when it changes
+                task.setStarred(false);
+                taskList.taskStarred(task);
+                task.getProject().taskStarred(task);
+            }
+            this.userList.getChanges().userChanged(user);
+            return true;
+        }
+    }
+
+    /**
+     * Give a task a tag. Tags may not be blank or hold '&' or '|', which combine tags in queries.
+     *
+     * @param username current username
+     * @param taskName name of the task to tag
+     * @param tag      the tag
+     * @return boolean indicating whether success or failure
+     */
+    @Override
+    public boolean tag(String username, String taskName, String tag) {
+        User user = this.userList.getUser(username);
+        TaskList taskList = user.getTaskList();
+
+        if (!taskList.hasTask(taskName)) {
+            return false; // non-existent task
+        } else if (!isValidTag(tag)) {
+            return false; // tag that queries could not name
+        } else {
+            Task task = taskList.getTask(taskName);
+            if (task.addTag(tag)) taskList.taskTagged(task, tag); // indexed only when it changes
+            this.userList.getChanges().userChanged(user);
+            return true;
+        }
+    }
+
+    /**
+     * Take a tag off a task.
+     *
+     * @param username current username
+     * @param taskName name of the task to untag
+     * @param tag      the tag
+     * @return boolean indicating whether success or failure
+     */
+    @Override
+    public boolean untag(String username, String taskName, String tag) {
+        User user = this.userList.getUser(username);
+        TaskList taskList = user.getTaskList();
+
+        if (!taskList.hasTask(taskName)) {
+            return false; // non-existent task
+        } else {
+            Task task = taskList.getTask(taskName);
+            if (!task.removeTag(tag)) return false; // the task does not have the tag
+            taskList.taskTagged(task, tag);
+            this.userList.getChanges().userChanged(user);
             return true;
         }
     }
@@ -161,6 +243,8 @@ public class TaskUseCases implements TaskInputBoundary {
         } else {
             Task task = taskList.getTask(name1);
             task.setName(name2);
+            taskList.taskRenamed(name1, task);
+            this.userList.getChanges().userChanged(user);
             return true;
         }
     }
@@ -186,7 +270,11 @@ public class TaskUseCases implements TaskInputBoundary {
             return false; // overdue task
         } else {
             Task task = taskList.getTask(taskName);
+            String oldDueDate = task.getDueDate();
             task.setDueDate(dueDate);
+            taskList.taskRetimed(oldDueDate, task);
+            task.getProject().taskRetimed(oldDueDate, task);
+            this.userList.getChanges().userChanged(user);
             return true;
         }
     }
@@ -209,6 +297,7 @@ public class TaskUseCases implements TaskInputBoundary {
         } else {
             Task task = taskList.getTask(taskName);
             task.setDescription(desc);
+            this.userList.getChanges().userChanged(user);
             return true;
         }
     }
@@ -244,7 +333,149 @@ public class TaskUseCases implements TaskInputBoundary {
             Task task = new Task(taskName, dueDate, assignedToMe);
             user2.getTaskList().addTask(task);
             assignedToMe.addTask(task);
+            this.userList.getChanges().userChanged(user2);
             return true;
         }
     }
+
+    /**
+     * Assign a task to every member of a team, or to some of them. Nobody gets the task unless everyone can:
+     * the user must be an admin of the team, the due date must be valid and not passed, and every teammate must be
+     * in the team, be named once and not have a task of that name already. The tasks share their name and due date.
+     *
+     * @param username current username
+     * @param teamName the name of the team
+     * @param memNames names of the teammates, null for every member of the team
+     * @param taskName the name of the task
+     * @param dueDate  due date of the task
+     * @return boolean indicating whether success or failure
+     */
+    @Override
+    public boolean broadcastTask(String username, String teamName, List<String> memNames, String taskName,
+                                 String dueDate) {
+        Team team = this.userList.getUser(username).getTeamList().getTeam(teamName);
+        if (team == null || !team.isAdmin(username)) return false;
+        if (wrongDueDateFormat(dueDate) || LocalDate.parse(dueDate).isBefore(LocalDate.now())) return false;
+        List<User> members = new ArrayList<>();
+        if (memNames == null) {
+            for (User member : team) members.add(member);
+        } else {
+            Set<String> named = new HashSet<>();
+            for (String memName : memNames) {
+                User member = team.getMem(memName);
+                if (member == null || !named.add(memName)) return false;
+                members.add(member);
+            }
+        }
+        for (User member : members) {
+            if (member.getTaskList().hasTask(taskName)) return false;
+        }
+        String name = StringPool.canonical(taskName);
+        String due = StringPool.canonical(dueDate);
+        for (User member : members) {
+            Project assignedToMe = member.getProjectList().getProject("Assigned to me");
+            Task task = new Task(name, due, assignedToMe);
+            member.getTaskList().addTask(task);
+            assignedToMe.addTask(task);
+            this.userList.getChanges().userChanged(member);
+        }
+        return true;
+    }
+
+    /**
+     * Post a task to the board of a team, for any member to claim. Any member may post a task, as long as the due
+     * date is valid and not passed and the board has no task of that name yet.
+     *
+     * @param username current username
+     * @param teamName the name of the team
+     * @param taskName the name of the task
+     * @param dueDate  due date of the task
+     * @return boolean indicating whether success or failure
+     */
+    @Override
+    public boolean postTask(String username, String teamName, String taskName, String dueDate) {
+        Team team = this.userList.getUser(username).getTeamList().getTeam(teamName);
+        if (team == null) return false; // user must have teamName
+        if (wrongDueDateFormat(dueDate) || LocalDate.parse(dueDate).isBefore(LocalDate.now())) return false;
+        if (!team.getBoard().post(taskName, dueDate)) return false; // the board already has taskName
+        this.userList.getChanges().teamChanged(team);
+        return true;
+    }
+
+    /**
+     * Claim a task on the board of a team. Only one member may hold a task: if several claim it at once, one of them
+     * gets it and the others fail.
+     *
+     * @param username current username
+     * @param teamName the name of the team
+     * @param taskName the name of the task
+     * @return boolean indicating whether success or failure
+     */
+    @Override
+    public boolean claimTask(String username, String teamName, String taskName) {
+        User user = this.userList.getUser(username);
+        Team team = user.getTeamList().getTeam(teamName);
+        if (team == null || !team.getBoard().claim(taskName, user)) return false;
+        this.userList.getChanges().teamChanged(team);
+        return true;
+    }
+
+    /**
+     * Complete a task on the board of a team. The user must hold the task, or nobody may hold it yet.
+     *
+     * @param username current username
+     * @param teamName the name of the team
+     * @param taskName the name of the task
+     * @return boolean indicating whether success or failure
+     */
+    @Override
+    public boolean finishTask(String username, String teamName, String taskName) {
+        User user = this.userList.getUser(username);
+        Team team = user.getTeamList().getTeam(teamName);
+        if (team == null || !team.getBoard().complete(taskName, user)) return false;
+        this.userList.getChanges().teamChanged(team);
+        return true;
+    }
+
+    /**
+     * Checks whether a tag can be named in a query: not blank, not padded, and without '&' or '|'.
+     *
+     * @param tag the tag
+     * @return true if it can
+     */
+    private static boolean isValidTag(String tag) {
+        return !tag.trim().isEmpty() && tag.equals(tag.trim()) && !tag.contains("&") && !tag.contains("|");
+    }
+
+    /**
+     * Add tasks in bulk, e.g. from an import.
+     * Unlike newTask, a due date in the past is kept, since imported tasks may have been created long ago.
+     * A task is skipped if its user does not exist, the user already has a task of that name, or its due date is
+     * not a valid date written exactly as yyyy-MM-dd, since tasks are ordered by their due dates as written.
+     * A task whose project does not exist goes into "General". Tags that tag would refuse are dropped.
+     *
+     * @param tasks the tasks
+     * @return the number of tasks added
+     */
+    public int importTasks(List<ImportedTask> tasks) {
+        int added = 0;
+        for (ImportedTask imported : tasks) {
+            User user = this.userList.getUser(imported.getUsername());
+            if (user == null || user.getTaskList().hasTask(imported.getName())) continue;
+            if (!isIsoDate(imported.getDueDate())) continue;
+            Project project = user.getProjectList().getProject(imported.getProjName());
+            if (project == null) project = user.getProjectList().getProject("General");
+            Task task = new Task(imported.getName(), imported.getDueDate(), project);
+            task.setDescription(imported.getDescription());
+            task.setStarred(imported.isStarred());
+            for (String tag : imported.getTags()) {
+                if (isValidTag(tag)) task.addTag(tag);
+            }
+            user.getTaskList().addTask(task);
+            project.addTask(task);
+            this.userList.getChanges().userChanged(user);
+            added++;
+        }
+        return added;
+    }
 }
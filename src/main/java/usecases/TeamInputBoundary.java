@@ -1,5 +1,7 @@
 package usecases;
 
+import java.util.List;
+
 /**
  * The input boundary for team use cases.
  */
@@ -42,6 +44,26 @@ public interface TeamInputBoundary {
      */
     boolean addMem(String username, String teamName, String memName);
 
+    /**
+     * Add many members to a team at once. Nothing is added unless every one of them can be.
+     *
+     * @param username current username
+     * @param teamName name of the team you want to add members to
+     * @param memNames names of the members you want to add to the team
+     * @return boolean indicating whether success or failure
+     */
+    boolean addMems(String username, String teamName, List<String> memNames);
+
+    /**
+     * Remove many members from a team at once. Nobody is removed unless every one of them can be.
+     *
+     * @param username current username
+     * @param teamName name of the team you want to remove members from
+     * @param memNames names of the members you want to remove from the team
+     * @return boolean indicating whether success or failure
+     */
+    boolean removeMems(String username, String teamName, List<String> memNames);
+
     /**
      * Leave a team.
      *
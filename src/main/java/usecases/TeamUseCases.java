@@ -2,9 +2,15 @@ package usecases;
 
 import entities.Team;
 import entities.User;
+import usecases.managers.Memberships;
 import usecases.managers.TeamList;
 import usecases.managers.UserList;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * This class deals with team use cases.
  */
@@ -39,9 +45,11 @@ public class TeamUseCases implements TeamInputBoundary {
             return false; // team already exists
         } else {
             Team team = new Team(teamName);
-            teamList.addTeam(team);
-            team.addMem(user);
-            team.addAdmin(user);
+            Memberships.join(user, team);
+            Memberships.promote(user, team);
+            this.userList.getTeams().register(team);
+            this.userList.getChanges().teamChanged(team);
+            this.userList.getChanges().userChanged(user);
             return true;
         }
     }
@@ -64,9 +72,9 @@ public class TeamUseCases implements TeamInputBoundary {
         } else if (!team.isAdmin(username)) {
             return false; // user must be an admin
         } else {
-            for (User member : team) {
-                member.getTeamList().delTeam(team);
-            }
+            // Members drop the team from their lists, and read it back as deleted
+            this.userList.getTeams().disband(team);
+            this.userList.getChanges().teamDeleted(team);
         }
         return true;
     }
@@ -89,29 +97,16 @@ public class TeamUseCases implements TeamInputBoundary {
             return false; // user must have name1
         } else if (!team.isAdmin(username)) {
             return false; // user must be an admin
-        } else if (checkRepetitiveTeam(team, name2)) {
+        } else if (this.userList.getTeams().isNameTaken(team, name2)) {
             return false; // for any user that has name1, they don't have name2
         } else {
             team.setName(name2);
+            this.userList.getTeams().renamed(name1, team);
+            this.userList.getChanges().teamChanged(team);
             return true;
         }
     }
 
-    /**
-     * Helper method of modTeam.
-     * Checking if any team member has another team which has the new name
-     *
-     * @param team  current team
-     * @param name2 new name of the team
-     * @return boolean indicating whether a duplicate team exists
-     */
-    private boolean checkRepetitiveTeam(Team team, String name2) {
-        for (User member : team) {
-            if (member.getTeamList().hasTeam(name2)) return true;
-        }
-        return false;
-    }
-
     /**
      * Add a member to a team.
      *
@@ -133,12 +128,72 @@ public class TeamUseCases implements TeamInputBoundary {
         } else if (member.getTeamList().hasTeam(teamName)) {
             return false; // member must not already have teamName
         } else {
-            team.addMem(member);
-            member.getTeamList().addTeam(team);
+            Memberships.join(member, team);
+            this.userList.getChanges().userChanged(member);
             return true;
         }
     }
 
+    /**
+     * Add many members to a team at once. Nothing is added unless every one of them can be:
+     * the user must be an admin of the team, and every member must exist, be named once and not already be in
+     * a team of that name.
+     *
+     * @param username current username
+     * @param teamName name of the team you want to add members to
+     * @param memNames names of the members you want to add to the team
+     * @return boolean indicating whether success or failure
+     */
+    @Override
+    public boolean addMems(String username, String teamName, List<String> memNames) {
+        Team team = this.userList.getUser(username).getTeamList().getTeam(teamName);
+        if (team == null || !team.isAdmin(username) || memNames.isEmpty()) return false;
+        List<User> members = new ArrayList<>(memNames.size());
+        Set<String> named = new HashSet<>();
+        for (String memName : memNames) {
+            User member = this.userList.getUser(memName);
+            if (member == null || !named.add(memName) || member.getTeamList().hasTeam(teamName)) return false;
+            members.add(member);
+        }
+        for (User member : members) {
+            Memberships.join(member, team);
+            this.userList.getChanges().userChanged(member);
+        }
+        return true;
+    }
+
+    /**
+     * Remove many members from a team at once. Nobody is removed unless every one of them can be:
+     * the user must be an admin of the team, and every member must be named once and be in the team.
+     * A team left without members is deleted.
+     *
+     * @param username current username
+     * @param teamName name of the team you want to remove members from
+     * @param memNames names of the members you want to remove from the team
+     * @return boolean indicating whether success or failure
+     */
+    @Override
+    public boolean removeMems(String username, String teamName, List<String> memNames) {
+        Team team = this.userList.getUser(username).getTeamList().getTeam(teamName);
+        if (team == null || !team.isAdmin(username) || memNames.isEmpty()) return false;
+        List<User> members = new ArrayList<>(memNames.size());
+        Set<String> named = new HashSet<>();
+        for (String memName : memNames) {
+            User member = team.getMem(memName);
+            if (member == null || !named.add(memName)) return false;
+            members.add(member);
+        }
+        for (User member : members) {
+            Memberships.leave(member, team);
+            this.userList.getChanges().userChanged(member);
+        }
+        if (team.size() == 0) {
+            this.userList.getTeams().disband(team);
+            this.userList.getChanges().teamDeleted(team);
+        }
+        return true;
+    }
+
     /**
      * Leave a team.
      *
@@ -155,8 +210,12 @@ public class TeamUseCases implements TeamInputBoundary {
         if (!teamList.hasTeam(teamName)) {
             return false; // user must have teamName in order to leave
         } else {
-            team.delMem(user);
-            teamList.delTeam(team);
+            Memberships.leave(user, team);
+            this.userList.getChanges().userChanged(user);
+            if (team.size() == 0) { // nobody is left to find the team
+                this.userList.getTeams().disband(team);
+                this.userList.getChanges().teamDeleted(team);
+            }
             return true;
         }
     }
@@ -182,8 +241,39 @@ public class TeamUseCases implements TeamInputBoundary {
         } else if (!member.getTeamList().hasTeam(teamName)) {
             return false; // member must have teamName
         } else {
-            team.addAdmin(member);
+            Memberships.promote(member, team);
+            this.userList.getChanges().userChanged(member);
             return true;
         }
     }
+
+    /**
+     * Create a team with all its members and the tasks on its board at once, e.g. from an import.
+     * Members that do not exist or already have a team of that name are left out. A task claimed by someone who is
+     * not a member of the team is put back on the board unclaimed.
+     *
+     * @param teamName name of the team
+     * @param memNames names of the members
+     * @param admins   names of the members who are admins
+     * @param cards    the tasks on the board of the team
+     * @return boolean indicating whether the team has been created with at least one member
+     */
+    public boolean importTeam(String teamName, List<String> memNames, Set<String> admins, List<ImportedCard> cards) {
+        Team team = new Team(teamName);
+        for (String memName : memNames) {
+            User member = this.userList.getUser(memName);
+            if (member == null || member.getTeamList().hasTeam(teamName)) continue;
+            Memberships.join(member, team);
+            if (admins.contains(memName)) Memberships.promote(member, team);
+            this.userList.getChanges().userChanged(member);
+        }
+        if (team.size() == 0) return false;
+        for (ImportedCard card : cards) {
+            User claimant = card.getClaimant() == null ? null : team.getMem(card.getClaimant());
+            team.getBoard().restore(card.getName(), card.getDueDate(), claimant, claimant != null && card.isDone());
+        }
+        this.userList.getTeams().register(team);
+        this.userList.getChanges().teamChanged(team);
+        return true;
+    }
 }
@@ -1,5 +1,6 @@
 package usecases;
 
+import entities.Team;
 import entities.User;
 import usecases.managers.UserList;
 
@@ -35,6 +36,13 @@ public class UserAccountUseCases implements UserAccountInputBoundary {
             return false;
         } else {
             user.setName(newName);
+            this.userList.userRenamed(username, user);
+            for (Team team : user.getTeamList()) {
+                team.memRenamed(username, user);
+                // boards are stored with the names of the members holding their tasks
+                if (team.getBoard().size() > 0) this.userList.getChanges().teamChanged(team);
+            }
+            this.userList.getChanges().userRenamed(username, user);
             return true;
         }
     }
@@ -54,6 +62,7 @@ public class UserAccountUseCases implements UserAccountInputBoundary {
             return false;
         } else {
             user.setPassword(pw2);
+            this.userList.getChanges().userChanged(user);
             return true;
         }
     }
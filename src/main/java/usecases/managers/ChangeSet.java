@@ -0,0 +1,134 @@
+package usecases.managers;
+
+import entities.Team;
+import entities.User;
+
+import java.util.*;
+
+/**
+ * This class records which users and teams have changed since the last time changes were committed,
+ * so that data savers can store only what has changed.
+ */
+public class ChangeSet {
+    /**
+     * Users that have been created or changed.
+     */
+    private final Set<User> changedUsers = Collections.newSetFromMap(new IdentityHashMap<>());
+    /**
+     * Names of users that no longer exist under that name.
+     */
+    private final Set<String> deletedUsers = new HashSet<>();
+    /**
+     * Teams that have been created or renamed.
+     */
+    private final Set<Team> changedTeams = Collections.newSetFromMap(new IdentityHashMap<>());
+    /**
+     * Teams that have been deleted.
+     */
+    private final Set<Team> deletedTeams = Collections.newSetFromMap(new IdentityHashMap<>());
+    /**
+     * Whether the whole system has been replaced, e.g. by undo.
+     */
+    private boolean allChanged;
+
+    /**
+     * Record that a user has been created or changed, including their projects, tasks and memberships.
+     *
+     * @param user the user
+     */
+    public void userChanged(User user) {
+        this.changedUsers.add(user);
+    }
+
+    /**
+     * Record that a user has been renamed.
+     *
+     * @param oldName the name the user had before
+     * @param user    the user
+     */
+    public void userRenamed(String oldName, User user) {
+        this.deletedUsers.add(oldName);
+        this.changedUsers.add(user);
+    }
+
+    /**
+     * Record that a team has been created or renamed.
+     *
+     * @param team the team
+     */
+    public void teamChanged(Team team) {
+        this.changedTeams.add(team);
+    }
+
+    /**
+     * Record that a team has been deleted.
+     *
+     * @param team the team
+     */
+    public void teamDeleted(Team team) {
+        this.changedTeams.remove(team);
+        this.deletedTeams.add(team);
+    }
+
+    /**
+     * Record that the whole system has been replaced.
+     */
+    public void allChanged() {
+        this.allChanged = true;
+    }
+
+    /**
+     * Return the users that have been created or changed.
+     *
+     * @return the users
+     */
+    public Set<User> getChangedUsers() {
+        return this.changedUsers;
+    }
+
+    /**
+     * Return the names of users that no longer exist under that name.
+     *
+     * @return the names
+     */
+    public Set<String> getDeletedUsers() {
+        return this.deletedUsers;
+    }
+
+    /**
+     * Return the teams that have been created or renamed.
+     *
+     * @return the teams
+     */
+    public Set<Team> getChangedTeams() {
+        return this.changedTeams;
+    }
+
+    /**
+     * Return the teams that have been deleted.
+     *
+     * @return the teams
+     */
+    public Set<Team> getDeletedTeams() {
+        return this.deletedTeams;
+    }
+
+    /**
+     * Return whether the whole system has been replaced, so every user and team has to be stored again.
+     *
+     * @return true if everything has changed
+     */
+    public boolean isAllChanged() {
+        return this.allChanged;
+    }
+
+    /**
+     * Return whether nothing has changed.
+     *
+     * @return true if nothing has changed
+     */
+    public boolean isEmpty() {
+        return !this.allChanged && this.changedUsers.isEmpty() && this.deletedUsers.isEmpty() &&
+                this.changedTeams.isEmpty() && this.deletedTeams.isEmpty();
+    }
+}
@@ -0,0 +1,699 @@
+package usecases.managers;
+
+import entities.Project;
+import entities.Task;
+import entities.TaskColumns;
+import entities.TaskStats;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * This class represents a list of tasks kept in columns: one primitive array per field, one row per task.
+ * <p>
+ * Due dates are kept as epoch days, the starred flags in a bitset, projects as ids into a small table of the projects
+ * of this list, and the name and description of each row as one entry of a UTF-8 text array. Tasks are found by
+ * name through an open-addressing table of rows, which compares names as UTF-8 without decoding them. A task added
+ * to this list hands its fields over to the columns, so the task object the rest of the system holds stays valid
+ * and only keeps this list and its row. Tags are kept by row apart from the columns, since most tasks have none.
+ * <p>
+ * The list is saved as a TaskManager, the way the first release saved task lists.
+ */
+public class ColumnarTaskList implements TaskList, TaskColumns, Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int INITIAL_CAPACITY = 16;
+    /**
+     * Due day of a task whose due date is not an ISO date; its text is kept in dueTexts instead.
+     */
+    private static final int TEXT_DATE = Integer.MIN_VALUE;
+    /**
+     * The text array is compacted once it holds more garbage than this and more garbage than live text.
+     */
+    private static final int MIN_GARBAGE = 4096;
+
+    /**
+     * The task of each row, null if the row is free.
+     */
+    private Task[] tasks = new Task[INITIAL_CAPACITY];
+    /**
+     * Where the name and description of each row are in the text array.
+     */
+    private int[] textRefs = new int[INITIAL_CAPACITY];
+    private int[] dueDays = new int[INITIAL_CAPACITY];
+    /**
+     * The project id of each row; for a free row, the next free row.
+     */
+    private int[] projectIds = new int[INITIAL_CAPACITY];
+    private final BitSet starred = new BitSet();
+    /**
+     * Due dates that are not ISO dates, by row. The use cases only let in ISO dates, so this stays tiny.
+     */
+    private final HashMap<Integer, String> dueTexts = new HashMap<>();
+    /**
+     * The tags of the rows that have some, sorted.
+     */
+    private final HashMap<Integer, String[]> tagsByRow = new HashMap<>();
+    /**
+     * Number of rows in use or free, and number of tasks.
+     */
+    private int rows;
+    private int count;
+    private int freeRow = -1;
+
+    /**
+     * The projects of the tasks of this list, by id.
+     */
+    private final ArrayList<Project> projects = new ArrayList<>();
+    private final IdentityHashMap<Project, Integer> projectIdOf = new IdentityHashMap<>();
+
+    /**
+     * The name and then the description of each row, each as a varint length followed by UTF-8 bytes.
+     */
+    private byte[] text = new byte[256];
+    private int textEnd;
+    private int textGarbage;
+
+    /**
+     * Open-addressing table of rows by name, row + 1 in each slot and 0 for an empty slot.
+     */
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+    /**
+     * Counts of the tasks, made on first use.
+     */
+    private transient TaskStats stats;
+    /**
+     * The starred tasks by due date, made on first use.
+     */
+    private transient StarredIndex starredIndex;
+    /**
+     * The tasks by tag, made on first use.
+     */
+    private transient TagIndex tagIndex;
+
+    /**
+     * Checks whether this user has the given task.
+     *
+     * @param name task name
+     * @return true if has task
+     */
+    @Override
+    public boolean hasTask(String name) {
+        return findRow(name) >= 0;
+    }
+
+    /**
+     * Return a task by name.
+     *
+     * @param name task name
+     * @return the task
+     */
+    @Override
+    public Task getTask(String name) {
+        int row = findRow(name);
+        return row < 0 ? null : this.tasks[row];
+    }
+
+    /**
+     * Let the user have this task. The task keeps its fields in this list from now on.
+     *
+     * @param task the task object
+     */
+    @Override
+    public void addTask(Task task) {
+        if (hasTask(task.getName())) return;
+        if (task.isInColumns()) throw new IllegalStateException("A task can only be in one columnar task list.");
+        int row = newRow();
+        this.tasks[row] = task;
+        this.textRefs[row] = addText(task.getName(), task.getDescription());
+        this.projectIds[row] = projectId(task.getProject());
+        writeDueDate(row, task.getDueDate());
+        this.starred.set(row, task.isStarred());
+        if (!task.getTags().isEmpty()) this.tagsByRow.put(row, task.getTags().toArray(new String[0]));
+        index(row);
+        this.count++;
+        task.moveInto(this, row);
+        if (this.stats != null) this.stats.added(task);
+        if (this.starredIndex != null) this.starredIndex.added(task);
+        if (this.tagIndex != null) this.tagIndex.added(task);
+    }
+
+    /**
+     * Remove a task. The task takes its fields back, so it stays usable.
+     *
+     * @param task the task object
+     */
+    @Override
+    public void delTask(Task task) {
+        int row = findRow(task.getName());
+        if (row < 0) return;
+        if (this.stats != null) this.stats.removed(this.tasks[row]);
+        if (this.starredIndex != null) this.starredIndex.removed(this.tasks[row]);
+        if (this.tagIndex != null) this.tagIndex.removed(this.tasks[row]);
+        this.tasks[row].moveOut();
+        unindex(row);
+        freeText(this.textRefs[row]);
+        this.dueTexts.remove(row);
+        this.tagsByRow.remove(row);
+        this.starred.clear(row);
+        this.tasks[row] = null;
+        this.projectIds[row] = this.freeRow;
+        this.freeRow = row;
+        this.count--;
+        compactText();
+    }
+
+    /**
+     * Nothing to do: renaming a task in this list moves its row in the table of rows by name.
+     *
+     * @param oldName name of the task before it was renamed
+     * @param task    the task object
+     */
+    @Override
+    public void taskRenamed(String oldName, Task task) {
+
+    }
+
+    /**
+     * Count a task under its new due date after it has been retimed.
+     *
+     * @param oldDueDate due date of the task before it was retimed
+     * @param task       the task object
+     */
+    @Override
+    public void taskRetimed(String oldDueDate, Task task) {
+        if (this.stats != null) this.stats.retimed(oldDueDate, task);
+        if (this.starredIndex != null) this.starredIndex.retimed(oldDueDate, task);
+    }
+
+    /**
+     * Count a task after it has been starred or unstarred.
+     *
+     * @param task the task object
+     */
+    @Override
+    public void taskStarred(Task task) {
+        if (this.stats != null) this.stats.starred(task);
+        if (this.starredIndex != null) this.starredIndex.starred(task);
+    }
+
+    /**
+     * Index a task after it has been given a tag or had one taken off.
+     *
+     * @param task the task object
+     * @param tag  the tag
+     */
+    @Override
+    public void taskTagged(Task task, String tag) {
+        if (this.tagIndex != null) this.tagIndex.tagged(task, tag);
+    }
+
+    /**
+     * Return the counts of the tasks, kept up to date as tasks change.
+     *
+     * @return the counts
+     */
+    @Override
+    public TaskStats getStats() {
+        if (this.stats == null) {
+            this.stats = new TaskStats();
+            for (int row = 0; row < this.rows; row++) {
+                if (this.tasks[row] != null) this.stats.added(this.tasks[row]);
+            }
+        }
+        return this.stats;
+    }
+
+    /**
+     * Return the number of tasks.
+     *
+     * @return the number of tasks
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * Return an estimate of the heap this list takes, its columns, text and tables, but not its task objects.
+     *
+     * @return bytes
+     */
+    long estimateBytes() {
+        int capacity = this.tasks.length;
+        long bytes = MemoryEstimator.object(14, 20) + MemoryEstimator.array(capacity, MemoryEstimator.REF);
+        bytes += MemoryEstimator.array(capacity, 4) * 3 + MemoryEstimator.array(this.slots.length, 4);
+        bytes += MemoryEstimator.array(this.text.length, 1) + MemoryEstimator.array(this.rows / 64 + 1, 8);
+        // A HashMap entry with its boxed key, and the table slot, for each due date that is not an ISO date
+        for (String dueText : this.dueTexts.values()) bytes += 32 + 16 + 8 + MemoryEstimator.string(dueText);
+        // The same for each row with tags; the arrays of tags are counted with their tasks
+        bytes += this.tagsByRow.size() * (32 + 16 + 8L);
+        // A slot in the list of projects, and a key, a value and a boxed id in the ids of projects, for each project
+        return bytes + this.projects.size() * (MemoryEstimator.REF * 3L + 16);
+    }
+
+    /**
+     * Return the starred tasks, soonest due first, from the index of starred tasks.
+     *
+     * @return the starred tasks
+     */
+    @Override
+    public List<Task> starred() {
+        if (this.starredIndex == null) {
+            this.starredIndex = StarredIndex.of(() -> Arrays.stream(this.tasks, 0, this.rows).filter(Objects::nonNull)
+                    .iterator());
+        }
+        return this.starredIndex.tasks();
+    }
+
+    /**
+     * Return the tasks that match a combination of tags, from the bitmaps of the tasks that have each tag.
+     *
+     * @param query tags joined by '&' into alternatives joined by '|'
+     * @return the tasks, in no particular order
+     */
+    @Override
+    public List<Task> tagged(String query) {
+        if (this.tagIndex == null) {
+            this.tagIndex = TagIndex.of(() -> Arrays.stream(this.tasks, 0, this.rows).filter(Objects::nonNull)
+                    .iterator());
+        }
+        return this.tagIndex.select(query);
+    }
+
+    /**
+     * Return the k tasks due soonest, soonest first. A heap of at most k rows keyed by due day keeps the k soonest
+     * seen so far, so no date is parsed and no task is touched until the end.
+     *
+     * @param k the most tasks to return
+     * @return the tasks due soonest
+     */
+    @Override
+    public List<Task> next(int k) {
+        long[] heap = new long[Math.max(0, Math.min(k, this.count))]; // the latest of the k soonest on top
+        int size = 0;
+        for (int row = 0; row < this.rows && heap.length > 0; row++) {
+            if (this.tasks[row] == null) continue;
+            if (this.dueDays[row] == TEXT_DATE) { // some date is not an ISO date, so compare the tasks themselves
+                return Task.soonest(() -> Arrays.stream(this.tasks, 0, this.rows).filter(Objects::nonNull)
+                        .iterator(), k);
+            }
+            long key = (long) this.dueDays[row] << 32 | row;
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(heap, size++);
+            } else if (key < heap[0]) {
+                heap[0] = key;
+                siftDown(heap, size);
+            }
+        }
+        Arrays.sort(heap, 0, size);
+        List<Task> next = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) next.add(this.tasks[(int) heap[i]]); // the row is in the low bits
+        return next;
+    }
+
+    /**
+     * Move a key up a max-heap until its parent is larger.
+     */
+    private static void siftUp(long[] heap, int i) {
+        long key = heap[i];
+        while (i > 0 && heap[(i - 1) / 2] < key) {
+            heap[i] = heap[(i - 1) / 2];
+            i = (i - 1) / 2;
+        }
+        heap[i] = key;
+    }
+
+    /**
+     * Move the top key of a max-heap down until its children are smaller.
+     */
+    private static void siftDown(long[] heap, int size) {
+        long key = heap[0];
+        int i = 0;
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] > heap[child]) child++;
+            if (heap[child] <= key) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = key;
+    }
+
+    /**
+     * Return a String showing all task info.
+     *
+     * @return a String showing all team names
+     */
+    @Override
+    public String toString() {
+        StringBuilder output = new StringBuilder("You have the following upcoming tasks:\n");
+        // Sort rows by due day, then by row, without parsing a single date
+        long[] keys = new long[this.count];
+        int n = 0;
+        for (int row = 0; row < this.rows && keys != null; row++) {
+            if (this.tasks[row] == null) continue;
+            if (this.dueDays[row] == TEXT_DATE) {
+                keys = null;
+            } else {
+                keys[n++] = (long) this.dueDays[row] << 32 | row;
+            }
+        }
+        if (keys == null) { // some date is not an ISO date, so let tasks compare themselves as TaskManager does
+            Task[] tasks = Arrays.stream(this.tasks, 0, this.rows).filter(Objects::nonNull).toArray(Task[]::new);
+            Arrays.sort(tasks);
+            for (Task task : tasks) {
+                output.append(task.toString()).append('\n');
+            }
+        } else {
+            Arrays.sort(keys);
+            for (long key : keys) {
+                output.append(this.tasks[(int) key].toString()).append('\n'); // the row is in the low bits
+            }
+        }
+        return output.toString();
+    }
+
+    @Override
+    public String getName(int row) {
+        return readText(this.textRefs[row]);
+    }
+
+    @Override
+    public void setName(int row, String name) {
+        String description = getDescription(row);
+        unindex(row);
+        freeText(this.textRefs[row]);
+        this.textRefs[row] = addText(name, description);
+        index(row);
+        compactText();
+    }
+
+    @Override
+    public String getDueDate(int row) {
+        if (this.dueDays[row] == TEXT_DATE) return this.dueTexts.get(row);
+        return LocalDate.ofEpochDay(this.dueDays[row]).toString();
+    }
+
+    @Override
+    public void setDueDate(int row, String dueDate) {
+        this.dueTexts.remove(row);
+        writeDueDate(row, dueDate);
+    }
+
+    @Override
+    public String getDescription(int row) {
+        int ref = this.textRefs[row];
+        return readText(ref + textSize(this.text, ref));
+    }
+
+    @Override
+    public void setDescription(int row, String description) {
+        String name = getName(row);
+        freeText(this.textRefs[row]);
+        this.textRefs[row] = addText(name, description);
+        compactText();
+    }
+
+    @Override
+    public Project getProject(int row) {
+        return this.projects.get(this.projectIds[row]);
+    }
+
+    @Override
+    public boolean isStarred(int row) {
+        return this.starred.get(row);
+    }
+
+    @Override
+    public void setStarred(int row, boolean starred) {
+        this.starred.set(row, starred);
+    }
+
+    @Override
+    public String[] getTags(int row) {
+        return this.tagsByRow.get(row);
+    }
+
+    @Override
+    public void setTags(int row, String[] tags) {
+        if (tags == null) {
+            this.tagsByRow.remove(row);
+        } else {
+            this.tagsByRow.put(row, tags);
+        }
+    }
+
+    /**
+     * Save this list as a TaskManager of the same tasks, which write their fields themselves.
+     */
+    private Object writeReplace() {
+        TaskManager manager = new TaskManager();
+        for (int row = 0; row < this.rows; row++) {
+            if (this.tasks[row] != null) manager.addTask(this.tasks[row]);
+        }
+        return manager;
+    }
+
+    /**
+     * Take a free row, growing the columns if there is none.
+     *
+     * @return the row
+     */
+    private int newRow() {
+        if (this.freeRow >= 0) {
+            int row = this.freeRow;
+            this.freeRow = this.projectIds[row];
+            return row;
+        }
+        if (this.rows == this.tasks.length) {
+            int capacity = this.rows * 2;
+            this.tasks = Arrays.copyOf(this.tasks, capacity);
+            this.textRefs = Arrays.copyOf(this.textRefs, capacity);
+            this.dueDays = Arrays.copyOf(this.dueDays, capacity);
+            this.projectIds = Arrays.copyOf(this.projectIds, capacity);
+        }
+        return this.rows++;
+    }
+
+    /**
+     * Return the id of a project, giving it one if it has none yet.
+     * Ids are never taken back; a user has few projects.
+     */
+    private int projectId(Project project) {
+        Integer id = this.projectIdOf.get(project);
+        if (id != null) return id;
+        this.projects.add(project);
+        this.projectIdOf.put(project, this.projects.size() - 1);
+        return this.projects.size() - 1;
+    }
+
+    /**
+     * Keep a due date as an epoch day if it is an ISO date, or as text otherwise.
+     */
+    private void writeDueDate(int row, String dueDate) {
+        try {
+            LocalDate date = LocalDate.parse(dueDate);
+            if (date.toString().equals(dueDate)) {
+                this.dueDays[row] = (int) date.toEpochDay();
+                return;
+            }
+        } catch (DateTimeParseException e) {
+            // kept as text below
+        }
+        this.dueDays[row] = TEXT_DATE;
+        this.dueTexts.put(row, dueDate);
+    }
+
+    /**
+     * Spread a hash over the slots.
+     */
+    private int home(int hash) {
+        return (hash ^ hash >>> 16) & (this.slots.length - 1);
+    }
+
+    /**
+     * Hash a name by its UTF-8 bytes, as found in the text array.
+     */
+    private static int hash(byte[] bytes, int from, int to) {
+        int hash = 1;
+        for (int i = from; i < to; i++) hash = 31 * hash + bytes[i];
+        return hash;
+    }
+
+    /**
+     * Hash the name of a row.
+     */
+    private int nameHash(int row) {
+        int ref = this.textRefs[row];
+        int length = lengthAt(this.text, ref);
+        int from = ref + headerSize(length);
+        return hash(this.text, from, from + length);
+    }
+
+    /**
+     * Return the row of the task with the given name, or -1 if there is none.
+     */
+    private int findRow(String name) {
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        int mask = this.slots.length - 1;
+        for (int i = home(hash(key, 0, key.length)); this.slots[i] != 0; i = i + 1 & mask) {
+            int row = this.slots[i] - 1;
+            int ref = this.textRefs[row];
+            int length = lengthAt(this.text, ref);
+            int from = ref + headerSize(length);
+            if (length == key.length && Arrays.equals(this.text, from, from + length, key, 0, length)) return row;
+        }
+        return -1;
+    }
+
+    /**
+     * Put a row in the table of rows by name, growing the table to keep it at most three quarters full.
+     */
+    private void index(int row) {
+        if ((this.count + 1) * 4 > this.slots.length * 3) {
+            int[] old = this.slots;
+            this.slots = new int[old.length * 2];
+            for (int slot : old) {
+                if (slot != 0) place(slot - 1);
+            }
+        }
+        place(row);
+    }
+
+    private void place(int row) {
+        int mask = this.slots.length - 1;
+        int i = home(nameHash(row));
+        while (this.slots[i] != 0) i = i + 1 & mask;
+        this.slots[i] = row + 1;
+    }
+
+    /**
+     * Take a row out of the table of rows by name, shifting back the rows probed past it.
+     */
+    private void unindex(int row) {
+        int mask = this.slots.length - 1;
+        int i = home(nameHash(row));
+        while (this.slots[i] != row + 1) i = i + 1 & mask;
+        for (int j = i + 1 & mask; this.slots[j] != 0; j = j + 1 & mask) {
+            int k = home(nameHash(this.slots[j] - 1));
+            // Move the slot at j into the hole at i unless its home lies cyclically in (i, j]
+            if (i <= j ? i < k && k <= j : i < k || k <= j) continue;
+            this.slots[i] = this.slots[j];
+            i = j;
+        }
+        this.slots[i] = 0;
+    }
+
+    /**
+     * Append the name and description of a row to the text array, growing it by half when it is full.
+     *
+     * @return the reference of the entry
+     */
+    private int addText(String name, String description) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] descriptionBytes = description.getBytes(StandardCharsets.UTF_8);
+        int size = nameBytes.length + descriptionBytes.length + 10;
+        if (this.textEnd + size > this.text.length) {
+            this.text = Arrays.copyOf(this.text, Math.max(this.text.length + (this.text.length >> 1),
+                    this.textEnd + size));
+        }
+        int ref = this.textEnd;
+        putText(nameBytes);
+        putText(descriptionBytes);
+        return ref;
+    }
+
+    /**
+     * Append a varint length and then the bytes of a String.
+     */
+    private void putText(byte[] bytes) {
+        int length = bytes.length;
+        while (length >= 0x80) {
+            this.text[this.textEnd++] = (byte) (length | 0x80);
+            length >>>= 7;
+        }
+        this.text[this.textEnd++] = (byte) length;
+        System.arraycopy(bytes, 0, this.text, this.textEnd, bytes.length);
+        this.textEnd += bytes.length;
+    }
+
+    /**
+     * Read a String back from the text array.
+     */
+    private String readText(int ref) {
+        int length = lengthAt(this.text, ref);
+        return new String(this.text, ref + headerSize(length), length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Return the number of bytes a String takes in a text array.
+     */
+    private static int textSize(byte[] text, int ref) {
+        int length = lengthAt(text, ref);
+        return headerSize(length) + length;
+    }
+
+    /**
+     * Return the number of bytes the entry of a row takes in a text array, its name and its description.
+     */
+    private static int entrySize(byte[] text, int ref) {
+        int nameSize = textSize(text, ref);
+        return nameSize + textSize(text, ref + nameSize);
+    }
+
+    /**
+     * Decode the varint length in front of a String.
+     */
+    private static int lengthAt(byte[] text, int ref) {
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = text[ref++];
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return length;
+    }
+
+    /**
+     * Return the number of bytes of the varint of a length.
+     */
+    private static int headerSize(int length) {
+        int size = 1;
+        while (length >= 0x80) {
+            length >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private void freeText(int ref) {
+        this.textGarbage += entrySize(this.text, ref);
+    }
+
+    /**
+     * Copy the live text into a new array once garbage dominates.
+     */
+    private void compactText() {
+        if (this.textGarbage < MIN_GARBAGE || this.textGarbage * 2 < this.textEnd) return;
+        byte[] old = this.text;
+        this.text = new byte[Math.max(256, (this.textEnd - this.textGarbage) * 2)];
+        this.textEnd = 0;
+        this.textGarbage = 0;
+        for (int row = 0; row < this.rows; row++) {
+            if (this.tasks[row] == null) continue;
+            this.textRefs[row] = moveText(old, this.textRefs[row]);
+        }
+    }
+
+    private int moveText(byte[] old, int ref) {
+        int size = entrySize(old, ref);
+        System.arraycopy(old, ref, this.text, this.textEnd, size);
+        this.textEnd += size;
+        return this.textEnd - size;
+    }
+}
@@ -0,0 +1,98 @@
+package usecases.managers;
+
+import entities.Team;
+import entities.User;
+
+import java.util.Arrays;
+
+/**
+ * This class keeps both sides of team membership in step: the members of each team, and the team list of each user.
+ * Together they index membership both ways, so the teams of a user and the members of a team are found without
+ * going through names, and every change of membership goes through here so that neither side is left behind.
+ * The teams themselves are kept in the TeamRegistry of the UserList.
+ */
+public class Memberships {
+    private Memberships() {
+
+    }
+
+    /**
+     * Let a user join a team.
+     *
+     * @param user the user
+     * @param team the team
+     */
+    public static void join(User user, Team team) {
+        team.addMem(user);
+        user.getTeamList().addTeam(team);
+    }
+
+    /**
+     * Let a member of a team become one of its admins.
+     *
+     * @param user the member
+     * @param team the team
+     */
+    public static void promote(User user, Team team) {
+        team.addAdmin(user);
+    }
+
+    /**
+     * Let a user leave a team.
+     *
+     * @param user the user
+     * @param team the team
+     */
+    public static void leave(User user, Team team) {
+        team.delMem(user);
+        user.getTeamList().delTeam(team);
+    }
+
+    /**
+     * Let the members of a team find it by its new name after it has been renamed.
+     *
+     * @param oldName name of the team before it was renamed
+     * @param team    the team
+     */
+    public static void renamed(String oldName, Team team) {
+        for (User member : team) member.getTeamList().teamRenamed(oldName, team);
+    }
+
+    /**
+     * Let the members of a team that has been disbanded drop it from their lists. The team keeps its members, so
+     * it can still be saved as deleted.
+     *
+     * @param team the team
+     */
+    public static void disbanded(Team team) {
+        for (User member : team) member.getTeamList().delTeam(team);
+    }
+
+    /**
+     * Return the teams a user is in, sorted by name.
+     *
+     * @param user the user
+     * @return the teams
+     */
+    public static Team[] teamsOf(User user) {
+        Team[] teams = new Team[user.getTeamList().size()];
+        int i = 0;
+        for (Team team : user.getTeamList()) teams[i++] = team;
+        Arrays.sort(teams);
+        return teams;
+    }
+
+    /**
+     * Return the members of a team, sorted by name.
+     *
+     * @param team the team
+     * @return the members
+     */
+    public static User[] membersOf(Team team) {
+        User[] members = new User[team.size()];
+        int i = 0;
+        for (User member : team) members[i++] = member;
+        Arrays.sort(members);
+        return members;
+    }
+}
@@ -0,0 +1,223 @@
+package usecases.managers;
+
+import entities.Membership;
+import entities.Memento;
+import entities.Project;
+import entities.Task;
+import entities.TaskBoard;
+import entities.Team;
+import entities.User;
+
+/**
+ * This class estimates the heap that entities and their managers retain, from their structure rather than from a
+ * heap dump, so that it is fast enough to run on a live system.
+ * <p>
+ * Sizes assume a 64-bit JVM with compressed references: 12-byte object headers, 16-byte array headers, 4-byte
+ * references and objects aligned to 8 bytes. Strings shared through the StringPool (due dates, tags, project and
+ * team names) are counted by the pool, not by their holders, so the shares of users and teams add up.
+ */
+public class MemoryEstimator {
+    static final int HEADER = 12;
+    static final int ARRAY_HEADER = 16;
+    static final int REF = 4;
+    /**
+     * Smallest capacity of the open-addressing maps behind a NameDictionary.
+     */
+    private static final int MIN_CAPACITY = 4;
+    /**
+     * An entry of a WeakHashMap in the StringPool, with its WeakReference.
+     */
+    private static final int POOL_ENTRY = 40 + 32;
+    /**
+     * What a task holds of a description kept off the heap: a handle and the cleaner that frees it.
+     */
+    private static final int OFF_HEAP_REF = 16 + 48;
+
+    private MemoryEstimator() {
+
+    }
+
+    /**
+     * Round a size up to the alignment of objects.
+     */
+    static long align(long bytes) {
+        return bytes + 7 & ~7L;
+    }
+
+    /**
+     * Return the size of an object with the given fields.
+     *
+     * @param refs      number of reference fields
+     * @param primitive bytes of primitive fields
+     * @return bytes
+     */
+    static long object(int refs, int primitive) {
+        return align(HEADER + (long) refs * REF + primitive);
+    }
+
+    /**
+     * Return the size of an array.
+     *
+     * @param length  number of elements
+     * @param element bytes of an element
+     * @return bytes
+     */
+    static long array(int length, int element) {
+        return align(ARRAY_HEADER + (long) length * element);
+    }
+
+    /**
+     * Return the size of a String and its characters, kept one byte each when they are all Latin-1.
+     *
+     * @param s the String, may be null
+     * @return bytes
+     */
+    public static long string(String s) {
+        if (s == null) return 0;
+        int width = 1;
+        for (int i = 0; i < s.length() && width == 1; i++) {
+            if (s.charAt(i) > 0xFF) width = 2;
+        }
+        return object(1, 6) + array(s.length(), width);
+    }
+
+    /**
+     * Return the size of a NameDictionary of n entries: its map by name.
+     *
+     * @param n number of entries
+     * @return bytes
+     */
+    public static long dictionary(int n) {
+        int capacity = MIN_CAPACITY;
+        while (n * 4 > capacity * 3) capacity *= 2;
+        return object(2, 0) + object(2, 8) + array(capacity, REF) * 2;
+    }
+
+    /**
+     * Return the size of an IdentitySet of n members.
+     *
+     * @param n number of members
+     * @return bytes
+     */
+    public static long identitySet(int n) {
+        int capacity = MIN_CAPACITY;
+        while (n * 4 > capacity * 3) capacity *= 2;
+        return object(1, 8) + array(capacity, REF);
+    }
+
+    /**
+     * Return the size of a user, their tasks, projects and the lists holding their teams,
+     * but not the teams themselves.
+     *
+     * @param user the user
+     * @return bytes
+     */
+    public static long user(User user) {
+        long bytes = object(5, 4) + string(user.getName()) + string(user.getPassword());
+        int projects = 0;
+        int tasks = 0;
+        for (Project project : user.getProjectList()) {
+            projects++;
+            int inProject = 0;
+            for (Task task : project) {
+                inProject++;
+                bytes += task(task);
+            }
+            tasks += inProject;
+            bytes += object(3, 4) + identitySet(inProject);
+        }
+        bytes += object(1, 0) + dictionary(projects);
+        TaskList taskList = user.getTaskList();
+        if (taskList instanceof ColumnarTaskList) {
+            bytes += ((ColumnarTaskList) taskList).estimateBytes();
+        } else {
+            bytes += object(2, 0) + dictionary(tasks);
+        }
+        return bytes + object(1, 0) + dictionary(user.getTeamList().size());
+    }
+
+    /**
+     * Return the size of a task, its fields and its description. A task kept in columns only keeps its list and
+     * row, its fields are counted with its ColumnarTaskList. A description kept off the heap only counts its handle
+     * and cleaner here. Tags are shared through the StringPool, so only the array holding them is counted.
+     *
+     * @param task the task
+     * @return bytes
+     */
+    public static long task(Task task) {
+        long bytes = object(1, 8);
+        int tags = task.getTags().size();
+        if (tags > 0) bytes += array(tags, REF);
+        if (task.isInColumns()) return bytes;
+        bytes += object(6, 1) + string(task.getName());
+        if (task.isDescriptionOffHeap()) return bytes + OFF_HEAP_REF;
+        return bytes + string(task.getDescription());
+    }
+
+    /**
+     * Return the size of a team, its members and the tasks on its board, but not the users themselves.
+     *
+     * @param team the team
+     * @return bytes
+     */
+    public static long team(Team team) {
+        int members = team.size();
+        int admins = 0;
+        if (members > Membership.SMALL) {
+            for (User member : team) {
+                if (team.isAdmin(member.getName())) admins++;
+            }
+        }
+        long membership = object(6, 8);
+        if (members <= Membership.SMALL) {
+            int capacity = 2;
+            while (capacity < members) capacity *= 2;
+            membership += array(capacity, REF);
+        } else {
+            int capacity = MIN_CAPACITY;
+            while (admins * 4 > capacity * 3) capacity *= 2;
+            membership += dictionary(members) + object(2, 8) + array(capacity, 4) + array(capacity, REF);
+        }
+        return object(3, 4) + membership + board(team.getBoard());
+    }
+
+    /**
+     * Return the size of a TaskBoard: a ConcurrentHashMap node, a task, its AtomicReference and who holds it for
+     * each task. Task names and due dates are pooled.
+     *
+     * @param board the board
+     * @return bytes
+     */
+    public static long board(TaskBoard board) {
+        int capacity = 16;
+        while (board.size() * 4 > capacity * 3) capacity *= 2;
+        long bytes = object(1, 0) + object(10, 16) + array(capacity, REF);
+        for (TaskBoard.Card card : board) {
+            bytes += object(3, 4) + object(3, 0) + object(1, 0);
+            if (card.getClaimant() != null) bytes += object(1, 1);
+        }
+        return bytes;
+    }
+
+    /**
+     * Return the size of a String kept in the StringPool, with its entry in the pool.
+     *
+     * @param s the String
+     * @return bytes
+     */
+    public static long pooled(String s) {
+        return string(s) + POOL_ENTRY;
+    }
+
+    /**
+     * Return the size of a memento. The copies of users it keeps share their tasks, projects and teams with the users
+     * they were copied from, so only the copies themselves and the dictionary holding them are counted.
+     *
+     * @param memento the memento
+     * @return bytes
+     */
+    public static long memento(Memento memento) {
+        int users = memento.getState().size();
+        return object(3, 0) + dictionary(users) + users * object(5, 4);
+    }
+}
@@ -36,4 +36,12 @@ public interface ProjectList extends Iterable<Project> {
      * @param project the project object
      */
     void delProject(Project project);
+
+    /**
+     * Find a project by its new name after it has been renamed.
+     *
+     * @param oldName name of the project before it was renamed
+     * @param project the project object
+     */
+    void projectRenamed(String oldName, Project project);
 }
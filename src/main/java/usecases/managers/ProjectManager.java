@@ -1,8 +1,9 @@
 package usecases.managers;
 
+import entities.NameDictionary;
 import entities.Project;
 
-import java.io.Serializable;
+import java.io.*;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -11,10 +12,19 @@ import java.util.Iterator;
  * This class represents a list of projects.
  */
 public class ProjectManager implements ProjectList, Serializable {
+    /**
+     * Pinned to the value of the first release, so files saved by it can still be read after this class changes.
+     */
+    private static final long serialVersionUID = -4863379349537652585L;
+    /**
+     * Files keep the projects as a map by name, as the first release saved them.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("projects", HashMap.class)};
     /**
      * A collection of projects.
      */
-    private final HashMap<String, Project> projects = new HashMap<>();
+    private transient NameDictionary<Project> projects = new NameDictionary<>();
 
     /**
      * Checks whether this user has the given project.
@@ -24,7 +34,7 @@ public class ProjectManager implements ProjectList, Serializable {
      */
     @Override
     public boolean hasProject(String name) {
-        return this.projects.containsKey(name);
+        return this.projects.contains(name);
     }
 
     /**
@@ -35,7 +45,7 @@ public class ProjectManager implements ProjectList, Serializable {
      */
     @Override
     public Project getProject(String name) {
-        return this.projects.getOrDefault(name, null);
+        return this.projects.get(name);
     }
 
     /**
@@ -45,7 +55,7 @@ public class ProjectManager implements ProjectList, Serializable {
      */
     @Override
     public void addProject(Project project) {
-        this.projects.putIfAbsent(project.getName(), project);
+        this.projects.add(project);
     }
 
     /**
@@ -58,6 +68,17 @@ public class ProjectManager implements ProjectList, Serializable {
         this.projects.remove(project.getName());
     }
 
+    /**
+     * Find a project by its new name after it has been renamed.
+     *
+     * @param oldName name of the project before it was renamed
+     * @param project the project object
+     */
+    @Override
+    public void projectRenamed(String oldName, Project project) {
+        this.projects.renamed(oldName, project);
+    }
+
     /**
      * Return a String showing all project names.
      *
@@ -65,11 +86,12 @@ public class ProjectManager implements ProjectList, Serializable {
      */
     @Override
     public String toString() {
-        Project[] projects = this.projects.values().toArray(new Project[0]);
+        Project[] projects = this.projects.toArray(new Project[0]);
         Arrays.sort(projects); // Sort them
         StringBuilder output = new StringBuilder("You have the following projects:\n");
         for (Project project : projects) {
-            output.append(project.getName()).append('\n'); // Each line will be a task
+            // Each line will be a project with the counts it keeps of its tasks
+            output.append(project.getName()).append(": ").append(project.getStats()).append('\n');
         }
 
         return output.toString();
@@ -82,6 +104,17 @@ public class ProjectManager implements ProjectList, Serializable {
      */
     @Override
     public Iterator<Project> iterator() {
-        return this.projects.values().iterator();
+        return this.projects.iterator();
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("projects", this.projects.toMap());
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        this.projects = NameDictionary.of((HashMap<String, Project>) in.readFields().get("projects", new HashMap<>()));
     }
 }
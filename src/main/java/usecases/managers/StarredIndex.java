@@ -0,0 +1,101 @@
+package usecases.managers;
+
+import entities.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * This class keeps the starred tasks of a task list by due date, so they can be shown soonest first without going
+ * through the other tasks.
+ * <p>
+ * A task is found again under the due date it had, which its list passes along when the task is retimed or removed.
+ */
+class StarredIndex {
+    /**
+     * The starred tasks due on each date, in the order they were starred.
+     */
+    private final TreeMap<String, List<Task>> byDueDate = new TreeMap<>();
+    private int size;
+
+    /**
+     * Index the starred tasks among the given ones.
+     *
+     * @param tasks the tasks
+     * @return the index
+     */
+    static StarredIndex of(Iterable<Task> tasks) {
+        StarredIndex index = new StarredIndex();
+        for (Task task : tasks) index.added(task);
+        return index;
+    }
+
+    /**
+     * Index a task that has been added, if it is starred.
+     *
+     * @param task the task
+     */
+    void added(Task task) {
+        if (!task.isStarred()) return;
+        this.byDueDate.computeIfAbsent(task.getDueDate(), dueDate -> new ArrayList<>(1)).add(task);
+        this.size++;
+    }
+
+    /**
+     * Drop a task that has been removed.
+     *
+     * @param task the task
+     */
+    void removed(Task task) {
+        if (task.isStarred()) remove(task.getDueDate(), task);
+    }
+
+    /**
+     * Move a task to its new due date, if it is starred.
+     *
+     * @param oldDueDate due date of the task before it was retimed
+     * @param task       the task
+     */
+    void retimed(String oldDueDate, Task task) {
+        if (!task.isStarred()) return;
+        remove(oldDueDate, task);
+        added(task);
+    }
+
+    /**
+     * Index a task that has been starred, or drop one that has been unstarred.
+     *
+     * @param task the task
+     */
+    void starred(Task task) {
+        if (task.isStarred()) {
+            added(task);
+        } else {
+            remove(task.getDueDate(), task);
+        }
+    }
+
+    /**
+     * Return the starred tasks, soonest due first.
+     *
+     * @return the starred tasks
+     */
+    List<Task> tasks() {
+        List<Task> tasks = new ArrayList<>(this.size);
+        for (List<Task> due : this.byDueDate.values()) tasks.addAll(due);
+        return tasks;
+    }
+
+    private void remove(String dueDate, Task task) {
+        List<Task> due = this.byDueDate.get(dueDate);
+        if (due == null) return;
+        for (int i = 0; i < due.size(); i++) {
+            if (due.get(i) != task) continue;
+            due.remove(i);
+            this.size--;
+            if (due.isEmpty()) this.byDueDate.remove(dueDate);
+            return;
+        }
+    }
+}
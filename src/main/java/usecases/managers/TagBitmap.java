@@ -0,0 +1,332 @@
+package usecases.managers;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * This class represents a set of ids, such as task ordinals, as a compressed bitmap, in the manner of Roaring bitmaps.
+ * <p>
+ * Ids are split by their upper 16 bits into chunks of 65536. Each chunk that holds an id has a container of the
+ * lower 16 bits: a sorted array while it holds at most 4096 ids, otherwise a bitset of 8KB, so no chunk takes more
+ * than 8KB and a sparse one takes 2 bytes an id. Intersections and unions go chunk by chunk and word by word, and
+ * never look at single ids of two bitsets.
+ */
+class TagBitmap {
+    /**
+     * The upper 16 bits of the chunks that hold ids, ascending.
+     */
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int size;
+
+    /**
+     * Add an id.
+     *
+     * @param id the id
+     */
+    void add(int id) {
+        char key = (char) (id >>> 16);
+        int i = Arrays.binarySearch(this.keys, 0, this.size, key);
+        if (i >= 0) {
+            this.containers[i].add((char) id);
+            return;
+        }
+        Container container = new Container();
+        container.add((char) id);
+        insert(-i - 1, key, container);
+    }
+
+    /**
+     * Remove an id.
+     *
+     * @param id the id
+     */
+    void remove(int id) {
+        int i = Arrays.binarySearch(this.keys, 0, this.size, (char) (id >>> 16));
+        if (i < 0) return;
+        this.containers[i].remove((char) id);
+        if (this.containers[i].cardinality > 0) return;
+        System.arraycopy(this.keys, i + 1, this.keys, i, this.size - i - 1);
+        System.arraycopy(this.containers, i + 1, this.containers, i, this.size - i - 1);
+        this.containers[--this.size] = null;
+    }
+
+    /**
+     * Checks whether this bitmap has an id.
+     *
+     * @param id the id
+     * @return true if it has the id
+     */
+    boolean contains(int id) {
+        int i = Arrays.binarySearch(this.keys, 0, this.size, (char) (id >>> 16));
+        return i >= 0 && this.containers[i].contains((char) id);
+    }
+
+    /**
+     * Return the number of ids.
+     *
+     * @return the number of ids
+     */
+    int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < this.size; i++) cardinality += this.containers[i].cardinality;
+        return cardinality;
+    }
+
+    /**
+     * Checks whether this bitmap has no ids.
+     *
+     * @return true if it has none
+     */
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Return the ids that are in both this bitmap and another, leaving both as they are.
+     *
+     * @param other the other bitmap
+     * @return a new bitmap
+     */
+    TagBitmap and(TagBitmap other) {
+        TagBitmap result = new TagBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < this.size && j < other.size) {
+            if (this.keys[i] < other.keys[j]) {
+                i++;
+            } else if (this.keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container both = this.containers[i].and(other.containers[j]);
+                if (both != null) result.insert(result.size, this.keys[i], both);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return the ids that are in this bitmap or another, leaving both as they are.
+     *
+     * @param other the other bitmap
+     * @return a new bitmap
+     */
+    TagBitmap or(TagBitmap other) {
+        TagBitmap result = new TagBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < this.size || j < other.size) {
+            if (j == other.size || i < this.size && this.keys[i] < other.keys[j]) {
+                result.insert(result.size, this.keys[i], this.containers[i].copy());
+                i++;
+            } else if (i == this.size || this.keys[i] > other.keys[j]) {
+                result.insert(result.size, other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.insert(result.size, this.keys[i], this.containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Give every id to an action, ascending.
+     *
+     * @param action the action
+     */
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < this.size; i++) this.containers[i].forEach(this.keys[i] << 16, action);
+    }
+
+    private void insert(int i, char key, Container container) {
+        if (this.size == this.keys.length) {
+            int capacity = Math.max(4, this.size * 2);
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.containers = Arrays.copyOf(this.containers, capacity);
+        }
+        System.arraycopy(this.keys, i, this.keys, i + 1, this.size - i);
+        System.arraycopy(this.containers, i, this.containers, i + 1, this.size - i);
+        this.keys[i] = key;
+        this.containers[i] = container;
+        this.size++;
+    }
+
+    /**
+     * This class represents the lower 16 bits of the ids of one chunk, either as a sorted array or as a bitset.
+     */
+    private static final class Container {
+        /**
+         * The most ids kept as an array: past this a bitset takes less room.
+         */
+        private static final int ARRAY_MAX = 4096;
+        private static final int WORDS = 1 << 16 >>> 6;
+
+        /**
+         * The ids, sorted, null while they are kept as a bitset.
+         */
+        private char[] values = new char[4];
+        /**
+         * The ids as a bitset, null while they are kept as an array.
+         */
+        private long[] bits;
+        private int cardinality;
+
+        void add(char low) {
+            if (this.bits != null) {
+                long word = this.bits[low >>> 6];
+                if ((word & 1L << low) != 0) return;
+                this.bits[low >>> 6] = word | 1L << low;
+                this.cardinality++;
+                return;
+            }
+            int i = Arrays.binarySearch(this.values, 0, this.cardinality, low);
+            if (i >= 0) return;
+            if (this.cardinality == ARRAY_MAX) {
+                this.bits = toBits();
+                this.values = null;
+                add(low);
+                return;
+            }
+            i = -i - 1;
+            if (this.cardinality == this.values.length) {
+                this.values = Arrays.copyOf(this.values, Math.min(ARRAY_MAX, this.cardinality * 2));
+            }
+            System.arraycopy(this.values, i, this.values, i + 1, this.cardinality - i);
+            this.values[i] = low;
+            this.cardinality++;
+        }
+
+        void remove(char low) {
+            if (this.bits != null) {
+                long word = this.bits[low >>> 6];
+                if ((word & 1L << low) == 0) return;
+                this.bits[low >>> 6] = word & ~(1L << low);
+                if (--this.cardinality == ARRAY_MAX) {
+                    this.values = toValues(this.bits, ARRAY_MAX);
+                    this.bits = null;
+                }
+                return;
+            }
+            int i = Arrays.binarySearch(this.values, 0, this.cardinality, low);
+            if (i < 0) return;
+            System.arraycopy(this.values, i + 1, this.values, i, this.cardinality - i - 1);
+            this.cardinality--;
+        }
+
+        boolean contains(char low) {
+            if (this.bits != null) return (this.bits[low >>> 6] & 1L << low) != 0;
+            return Arrays.binarySearch(this.values, 0, this.cardinality, low) >= 0;
+        }
+
+        /**
+         * Return the ids in both containers, null if there are none.
+         */
+        Container and(Container other) {
+            if (this.bits != null && other.bits != null) {
+                long[] bits = new long[WORDS];
+                for (int w = 0; w < WORDS; w++) bits[w] = this.bits[w] & other.bits[w];
+                return fromBits(bits);
+            }
+            Container array = this.bits == null ? this : other;
+            Container probe = array == this ? other : this;
+            Container result = new Container();
+            result.values = new char[Math.min(array.cardinality, probe.cardinality)];
+            for (int i = 0; i < array.cardinality; i++) {
+                char low = array.values[i];
+                if (probe.contains(low)) result.values[result.cardinality++] = low;
+            }
+            return result.cardinality == 0 ? null : result;
+        }
+
+        /**
+         * Return the ids in either container.
+         */
+        Container or(Container other) {
+            if (this.bits == null && other.bits == null && this.cardinality + other.cardinality <= ARRAY_MAX) {
+                Container result = new Container();
+                result.values = new char[this.cardinality + other.cardinality];
+                int i = 0;
+                int j = 0;
+                while (i < this.cardinality || j < other.cardinality) {
+                    char low;
+                    if (j == other.cardinality || i < this.cardinality && this.values[i] < other.values[j]) {
+                        low = this.values[i++];
+                    } else if (i == this.cardinality || this.values[i] > other.values[j]) {
+                        low = other.values[j++];
+                    } else {
+                        low = this.values[i++];
+                        j++;
+                    }
+                    result.values[result.cardinality++] = low;
+                }
+                return result;
+            }
+            long[] bits = this.bits != null ? this.bits.clone() : toBits();
+            if (other.bits != null) {
+                for (int w = 0; w < WORDS; w++) bits[w] |= other.bits[w];
+            } else {
+                for (int i = 0; i < other.cardinality; i++) bits[other.values[i] >>> 6] |= 1L << other.values[i];
+            }
+            return fromBits(bits);
+        }
+
+        Container copy() {
+            Container copy = new Container();
+            copy.values = this.values == null ? null : Arrays.copyOf(this.values, this.cardinality);
+            copy.bits = this.bits == null ? null : this.bits.clone();
+            copy.cardinality = this.cardinality;
+            return copy;
+        }
+
+        void forEach(int high, IntConsumer action) {
+            if (this.bits == null) {
+                for (int i = 0; i < this.cardinality; i++) action.accept(high | this.values[i]);
+                return;
+            }
+            for (int w = 0; w < WORDS; w++) {
+                for (long word = this.bits[w]; word != 0; word &= word - 1) {
+                    action.accept(high | w << 6 | Long.numberOfTrailingZeros(word));
+                }
+            }
+        }
+
+        private long[] toBits() {
+            long[] bits = new long[WORDS];
+            for (int i = 0; i < this.cardinality; i++) bits[this.values[i] >>> 6] |= 1L << this.values[i];
+            return bits;
+        }
+
+        /**
+         * Make a container of a bitset, as an array if it holds few ids, null if it holds none.
+         */
+        private static Container fromBits(long[] bits) {
+            int cardinality = 0;
+            for (long word : bits) cardinality += Long.bitCount(word);
+            if (cardinality == 0) return null;
+            Container container = new Container();
+            container.cardinality = cardinality;
+            if (cardinality > ARRAY_MAX) {
+                container.bits = bits;
+                container.values = null;
+            } else {
+                container.values = toValues(bits, cardinality);
+            }
+            return container;
+        }
+
+        private static char[] toValues(long[] bits, int cardinality) {
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int w = 0; w < WORDS; w++) {
+                for (long word = bits[w]; word != 0; word &= word - 1) {
+                    values[n++] = (char) (w << 6 | Long.numberOfTrailingZeros(word));
+                }
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package usecases.managers;
+
+import entities.StringMap;
+import entities.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * This class keeps, for every tag of a task list, a compressed bitmap of the tasks that have it, so tasks can be
+ * picked by a combination of tags with bitmap intersections and unions instead of looking at every task.
+ * <p>
+ * Bitmaps hold ordinals this index gives out to the tasks that have some tag. An ordinal given back is given out
+ * again before a new one, so ordinals stay dense and the bitmaps of a list stay small however long the system runs.
+ */
+class TagIndex {
+    /**
+     * The ordinals of the tasks that have each tag.
+     */
+    private final StringMap<TagBitmap> byTag = new StringMap<>();
+    /**
+     * The ordinal of each task that has some tag.
+     */
+    private final IdentityHashMap<Task, Integer> ordinals = new IdentityHashMap<>();
+    /**
+     * The tasks that have some tag, by ordinal, null for an ordinal given back.
+     */
+    private Task[] tasks = new Task[16];
+    /**
+     * Number of ordinals given out so far.
+     */
+    private int next;
+    /**
+     * Ordinals given back and not given out again yet.
+     */
+    private int[] free = new int[16];
+    private int freeCount;
+
+    /**
+     * Index the tags of the given tasks.
+     *
+     * @param tasks the tasks
+     * @return the index
+     */
+    static TagIndex of(Iterable<Task> tasks) {
+        TagIndex index = new TagIndex();
+        for (Task task : tasks) index.added(task);
+        return index;
+    }
+
+    /**
+     * Index the tags of a task that has been added.
+     *
+     * @param task the task
+     */
+    void added(Task task) {
+        if (task.getTags().isEmpty()) return;
+        int ordinal = ordinal(task);
+        for (String tag : task.getTags()) bitmap(tag).add(ordinal);
+    }
+
+    /**
+     * Drop a task that has been removed.
+     *
+     * @param task the task
+     */
+    void removed(Task task) {
+        Integer ordinal = this.ordinals.get(task);
+        if (ordinal == null) return;
+        for (String tag : task.getTags()) unindex(tag, ordinal);
+        release(task, ordinal);
+    }
+
+    /**
+     * Index a tag a task has been given, or drop one that has been taken off.
+     *
+     * @param task the task
+     * @param tag  the tag
+     */
+    void tagged(Task task, String tag) {
+        if (task.hasTag(tag)) {
+            bitmap(tag).add(ordinal(task));
+            return;
+        }
+        Integer ordinal = this.ordinals.get(task);
+        if (ordinal == null) return;
+        unindex(tag, ordinal);
+        if (task.getTags().isEmpty()) release(task, ordinal);
+    }
+
+    /**
+     * Return the tasks that match a combination of tags, in no particular order. The combination is a
+     * list of alternatives separated by '|', each a list of tags separated by '&' that a task must all have.
+     *
+     * @param query the combination of tags, e.g. "urgent&client|blocked"
+     * @return the tasks
+     */
+    List<Task> select(String query) {
+        TagBitmap matching = new TagBitmap();
+        for (String alternative : query.split("\\|")) {
+            TagBitmap all = null;
+            for (String tag : alternative.split("&")) {
+                TagBitmap bitmap = this.byTag.get(tag.trim());
+                if (bitmap == null) {
+                    all = null; // no task has this tag, so none has them all
+                    break;
+                }
+                all = all == null ? bitmap : all.and(bitmap);
+                if (all.isEmpty()) break;
+            }
+            if (all != null) matching = matching.or(all);
+        }
+        List<Task> tasks = new ArrayList<>(matching.cardinality());
+        matching.forEach(ordinal -> tasks.add(this.tasks[ordinal]));
+        return tasks;
+    }
+
+    /**
+     * Return the ordinal of a task, giving it one if it has none yet.
+     */
+    private int ordinal(Task task) {
+        Integer known = this.ordinals.get(task);
+        if (known != null) return known;
+        int ordinal;
+        if (this.freeCount > 0) {
+            ordinal = this.free[--this.freeCount];
+        } else {
+            if (this.next == this.tasks.length) this.tasks = Arrays.copyOf(this.tasks, this.next * 2);
+            ordinal = this.next++;
+        }
+        this.tasks[ordinal] = task;
+        this.ordinals.put(task, ordinal);
+        return ordinal;
+    }
+
+    /**
+     * Take back the ordinal of a task that no longer has any tag.
+     */
+    private void release(Task task, int ordinal) {
+        this.ordinals.remove(task);
+        this.tasks[ordinal] = null;
+        if (this.freeCount == this.free.length) this.free = Arrays.copyOf(this.free, this.freeCount * 2);
+        this.free[this.freeCount++] = ordinal;
+    }
+
+    private TagBitmap bitmap(String tag) {
+        TagBitmap bitmap = this.byTag.get(tag);
+        if (bitmap == null) {
+            bitmap = new TagBitmap();
+            this.byTag.put(tag, bitmap);
+        }
+        return bitmap;
+    }
+
+    private void unindex(String tag, int ordinal) {
+        TagBitmap bitmap = this.byTag.get(tag);
+        if (bitmap == null) return;
+        bitmap.remove(ordinal);
+        if (bitmap.isEmpty()) this.byTag.remove(tag);
+    }
+}
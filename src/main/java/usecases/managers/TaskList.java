@@ -1,6 +1,9 @@
 package usecases.managers;
 
 import entities.Task;
+import entities.TaskStats;
+
+import java.util.List;
 
 /**
  * This interface represents a list of tasks.
@@ -35,4 +38,65 @@ public interface TaskList {
      * @param task the task object
      */
     void delTask(Task task);
+
+    /**
+     * Find a task by its new name after it has been renamed.
+     *
+     * @param oldName name of the task before it was renamed
+     * @param task    the task object
+     */
+    void taskRenamed(String oldName, Task task);
+
+    /**
+     * Count a task under its new due date after it has been retimed.
+     *
+     * @param oldDueDate due date of the task before it was retimed
+     * @param task       the task object
+     */
+    void taskRetimed(String oldDueDate, Task task);
+
+    /**
+     * Count a task after it has been starred or unstarred.
+     *
+     * @param task the task object
+     */
+    void taskStarred(Task task);
+
+    /**
+     * Index a task after it has been given a tag or had one taken off.
+     *
+     * @param task the task object
+     * @param tag  the tag
+     */
+    void taskTagged(Task task, String tag);
+
+    /**
+     * Return the counts of the tasks, kept up to date as tasks change.
+     *
+     * @return the counts
+     */
+    TaskStats getStats();
+
+    /**
+     * Return the starred tasks, soonest due first, without going through the other tasks.
+     *
+     * @return the starred tasks
+     */
+    List<Task> starred();
+
+    /**
+     * Return the tasks that match a combination of tags, without looking at the tasks that do not.
+     *
+     * @param query tags joined by '&' into alternatives joined by '|', e.g. "urgent&client|blocked"
+     * @return the tasks, in no particular order
+     */
+    List<Task> tagged(String query);
+
+    /**
+     * Return the k tasks due soonest, soonest first, without sorting every task.
+     *
+     * @param k the most tasks to return
+     * @return the tasks due soonest
+     */
+    List<Task> next(int k);
 }
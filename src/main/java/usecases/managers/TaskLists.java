@@ -0,0 +1,33 @@
+package usecases.managers;
+
+/**
+ * This class creates the task list of every new or loaded user, so all users of a run keep tasks the same way.
+ */
+public class TaskLists {
+    /**
+     * Whether new task lists keep their tasks in columns.
+     */
+    private static boolean columnar;
+
+    private TaskLists() {
+
+    }
+
+    /**
+     * Choose how new task lists keep their tasks.
+     *
+     * @param columnar true for ColumnarTaskList, false for TaskManager
+     */
+    public static void setColumnar(boolean columnar) {
+        TaskLists.columnar = columnar;
+    }
+
+    /**
+     * Create an empty task list.
+     *
+     * @return the task list
+     */
+    public static TaskList create() {
+        return columnar ? new ColumnarTaskList() : new TaskManager();
+    }
+}
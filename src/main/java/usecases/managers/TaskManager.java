@@ -1,19 +1,42 @@
 package usecases.managers;
 
+import entities.NameDictionary;
 import entities.Task;
+import entities.TaskStats;
 
-import java.io.Serializable;
+import java.io.*;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 
 /**
  * This class represents a list of tasks.
  */
 public class TaskManager implements TaskList, Serializable {
+    /**
+     * Pinned to the value of the first release, so files saved by it can still be read after this class changes.
+     */
+    private static final long serialVersionUID = 4400574560344515870L;
+    /**
+     * Files keep the tasks as a map by name, as the first release saved them.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {new ObjectStreamField("tasks", HashMap.class)};
     /**
      * A collection of tasks.
      */
-    private final HashMap<String, Task> tasks = new HashMap<>();
+    private transient NameDictionary<Task> tasks = new NameDictionary<>();
+    /**
+     * Counts of the tasks, made on first use: a list read from a file may not have its tasks complete yet.
+     */
+    private transient TaskStats stats;
+    /**
+     * The starred tasks by due date, made on first use.
+     */
+    private transient StarredIndex starred;
+    /**
+     * The tasks by tag, made on first use.
+     */
+    private transient TagIndex tags;
 
     /**
      * Checks whether this user has the given task.
@@ -23,7 +46,7 @@ public class TaskManager implements TaskList, Serializable {
      */
     @Override
     public boolean hasTask(String name) {
-        return this.tasks.containsKey(name);
+        return this.tasks.contains(name);
     }
 
     /**
@@ -34,7 +57,7 @@ public class TaskManager implements TaskList, Serializable {
      */
     @Override
     public Task getTask(String name) {
-        return this.tasks.getOrDefault(name, null);
+        return this.tasks.get(name);
     }
 
     /**
@@ -44,7 +67,10 @@ public class TaskManager implements TaskList, Serializable {
      */
     @Override
     public void addTask(Task task) {
-        this.tasks.putIfAbsent(task.getName(), task);
+        if (!this.tasks.add(task)) return;
+        if (this.stats != null) this.stats.added(task);
+        if (this.starred != null) this.starred.added(task);
+        if (this.tags != null) this.tags.added(task);
     }
 
     /**
@@ -54,7 +80,101 @@ public class TaskManager implements TaskList, Serializable {
      */
     @Override
     public void delTask(Task task) {
-        this.tasks.remove(task.getName());
+        Task removed = this.tasks.remove(task.getName());
+        if (removed == null) return;
+        if (this.stats != null) this.stats.removed(removed);
+        if (this.starred != null) this.starred.removed(removed);
+        if (this.tags != null) this.tags.removed(removed);
+    }
+
+    /**
+     * Find a task by its new name after it has been renamed.
+     *
+     * @param oldName name of the task before it was renamed
+     * @param task    the task object
+     */
+    @Override
+    public void taskRenamed(String oldName, Task task) {
+        this.tasks.renamed(oldName, task);
+    }
+
+    /**
+     * Count a task under its new due date after it has been retimed.
+     *
+     * @param oldDueDate due date of the task before it was retimed
+     * @param task       the task object
+     */
+    @Override
+    public void taskRetimed(String oldDueDate, Task task) {
+        if (this.stats != null) this.stats.retimed(oldDueDate, task);
+        if (this.starred != null) this.starred.retimed(oldDueDate, task);
+    }
+
+    /**
+     * Count a task after it has been starred or unstarred.
+     *
+     * @param task the task object
+     */
+    @Override
+    public void taskStarred(Task task) {
+        if (this.stats != null) this.stats.starred(task);
+        if (this.starred != null) this.starred.starred(task);
+    }
+
+    /**
+     * Index a task after it has been given a tag or had one taken off.
+     *
+     * @param task the task object
+     * @param tag  the tag
+     */
+    @Override
+    public void taskTagged(Task task, String tag) {
+        if (this.tags != null) this.tags.tagged(task, tag);
+    }
+
+    /**
+     * Return the counts of the tasks, kept up to date as tasks change.
+     *
+     * @return the counts
+     */
+    @Override
+    public TaskStats getStats() {
+        if (this.stats == null) this.stats = TaskStats.of(this.tasks);
+        return this.stats;
+    }
+
+    /**
+     * Return the starred tasks, soonest due first, from the index of starred tasks.
+     *
+     * @return the starred tasks
+     */
+    @Override
+    public List<Task> starred() {
+        if (this.starred == null) this.starred = StarredIndex.of(this.tasks);
+        return this.starred.tasks();
+    }
+
+    /**
+     * Return the tasks that match a combination of tags, from the bitmaps of the tasks that have each tag.
+     *
+     * @param query tags joined by '&' into alternatives joined by '|'
+     * @return the tasks, in no particular order
+     */
+    @Override
+    public List<Task> tagged(String query) {
+        if (this.tags == null) this.tags = TagIndex.of(this.tasks);
+        return this.tags.select(query);
+    }
+
+    /**
+     * Return the k tasks due soonest, soonest first, through a heap of at most k tasks.
+     *
+     * @param k the most tasks to return
+     * @return the tasks due soonest
+     */
+    @Override
+    public List<Task> next(int k) {
+        return Task.soonest(this.tasks, k);
     }
 
     /**
@@ -64,7 +184,7 @@ public class TaskManager implements TaskList, Serializable {
      */
     @Override
     public String toString() {
-        Task[] tasks = this.tasks.values().toArray(new Task[0]);
+        Task[] tasks = this.tasks.toArray(new Task[0]);
         Arrays.sort(tasks); // Sort them
         StringBuilder output = new StringBuilder("You have the following upcoming tasks:\n");
         for (Task task : tasks) {
@@ -73,4 +193,15 @@ public class TaskManager implements TaskList, Serializable {
 
         return output.toString();
     }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("tasks", this.tasks.toMap());
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        this.tasks = NameDictionary.of((HashMap<String, Task>) in.readFields().get("tasks", new HashMap<>()));
+    }
 }
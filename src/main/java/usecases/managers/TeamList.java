@@ -5,7 +5,7 @@ import entities.Team;
 /**
  * This interface represents a list of teams.
  */
-public interface TeamList {
+public interface TeamList extends Iterable<Team> {
     /**
      * Checks whether this user is in the given team.
      *
@@ -35,4 +35,19 @@ public interface TeamList {
      * @param team the team object
      */
     void delTeam(Team team);
+
+    /**
+     * Find a team by its new name after it has been renamed.
+     *
+     * @param oldName name of the team before it was renamed
+     * @param team    the team object
+     */
+    void teamRenamed(String oldName, Team team);
+
+    /**
+     * Return the number of teams this user is in.
+     *
+     * @return the number of teams
+     */
+    int size();
 }
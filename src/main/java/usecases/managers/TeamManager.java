@@ -1,19 +1,32 @@
 package usecases.managers;
 
+import entities.NameDictionary;
 import entities.Team;
 
-import java.io.Serializable;
+import java.io.*;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 
 /**
  * This class represents a list of teams.
+ * <p>
+ * Teams are found by name. When a team is renamed or disbanded, the TeamRegistry tells the lists of its members
+ * through Memberships, so only those lists change.
  */
 public class TeamManager implements TeamList, Serializable {
+    /**
+     * Pinned to the value of the first release, so files saved by it can still be read after this class changes.
+     */
+    private static final long serialVersionUID = 6915029957572330594L;
+    /**
+     * Files keep the teams as a map by name, as the first release saved them.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {new ObjectStreamField("teams", HashMap.class)};
     /**
      * A collection of teams.
      */
-    private final HashMap<String, Team> teams = new HashMap<>();
+    private transient NameDictionary<Team> teams = new NameDictionary<>();
 
     /**
      * Checks whether this user is in the given team.
@@ -23,7 +36,7 @@ public class TeamManager implements TeamList, Serializable {
      */
     @Override
     public boolean hasTeam(String name) {
-        return this.teams.containsKey(name);
+        return this.teams.contains(name);
     }
 
     /**
@@ -34,17 +47,17 @@ public class TeamManager implements TeamList, Serializable {
      */
     @Override
     public Team getTeam(String name) {
-        return this.teams.getOrDefault(name, null);
+        return this.teams.get(name);
     }
 
     /**
-     * Let the user join this team.
+     * Let the user join this team, unless they are in another team with its name.
      *
      * @param team the team object
      */
     @Override
     public void addTeam(Team team) {
-        this.teams.putIfAbsent(team.getName(), team);
+        if (!team.isDisbanded()) this.teams.add(team);
     }
 
     /**
@@ -54,7 +67,28 @@ public class TeamManager implements TeamList, Serializable {
      */
     @Override
     public void delTeam(Team team) {
-        this.teams.remove(team.getName());
+        if (this.teams.get(team.getName()) == team) this.teams.remove(team.getName());
+    }
+
+    /**
+     * Find a team by its new name after it has been renamed.
+     *
+     * @param oldName name of the team before it was renamed
+     * @param team    the team object
+     */
+    @Override
+    public void teamRenamed(String oldName, Team team) {
+        this.teams.renamed(oldName, team);
+    }
+
+    /**
+     * Return the number of teams this user is in.
+     *
+     * @return the number of teams
+     */
+    @Override
+    public int size() {
+        return this.teams.size();
     }
 
     /**
@@ -64,7 +98,7 @@ public class TeamManager implements TeamList, Serializable {
      */
     @Override
     public String toString() {
-        Team[] teams = this.teams.values().toArray(new Team[0]);
+        Team[] teams = this.teams.toArray(new Team[0]);
         Arrays.sort(teams); // Sort them
         StringBuilder output = new StringBuilder("You are in the following teams:\n");
         for (Team team : teams) {
@@ -73,4 +107,25 @@ public class TeamManager implements TeamList, Serializable {
 
         return output.toString();
     }
+
+    /**
+     * Return an Iterator object required by the Iterator Design Pattern.
+     *
+     * @return an Iterator object
+     */
+    @Override
+    public Iterator<Team> iterator() {
+        return this.teams.iterator();
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("teams", this.teams.toMap());
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        this.teams = NameDictionary.of((HashMap<String, Team>) in.readFields().get("teams", new HashMap<>()));
+    }
 }
@@ -0,0 +1,135 @@
+package usecases.managers;
+
+import entities.IntMap;
+import entities.StringMap;
+import entities.Team;
+import entities.User;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * This class represents every team of the system, by run id and by name.
+ * <p>
+ * Team names are only unique among the teams of a user, so a name may stand for several teams. Looking a team up,
+ * disbanding and renaming it are single updates here, whatever the size of the team; only the lists of its own
+ * members are then told, through Memberships.
+ */
+public class TeamRegistry implements Iterable<Team> {
+    /**
+     * The teams by run id.
+     */
+    private final IntMap<Team> teams = new IntMap<>();
+    /**
+     * The teams that have each name, by run id.
+     */
+    private final StringMap<IntMap<Team>> names = new StringMap<>();
+
+    /**
+     * Add a team.
+     *
+     * @param team the team
+     */
+    public void register(Team team) {
+        if (this.teams.put(team.getRunId(), team) != null) return;
+        IntMap<Team> named = this.names.get(team.getName());
+        if (named == null) {
+            named = new IntMap<>();
+            this.names.put(team.getName(), named);
+        }
+        named.put(team.getRunId(), team);
+    }
+
+    /**
+     * Return a team by run id.
+     *
+     * @param id the run id
+     * @return the team, null if there is none
+     */
+    public Team get(int id) {
+        return this.teams.get(id);
+    }
+
+    /**
+     * Return the teams that have the given name.
+     *
+     * @param name team name
+     * @return the teams
+     */
+    public Iterable<Team> named(String name) {
+        IntMap<Team> named = this.names.get(name);
+        return named == null ? Collections.emptyList() : named;
+    }
+
+    /**
+     * Disband a team and remove it, and let its members drop it from their lists.
+     *
+     * @param team the team
+     */
+    public void disband(Team team) {
+        team.disband();
+        Memberships.disbanded(team);
+        if (this.teams.remove(team.getRunId()) == null) return;
+        unname(team.getName(), team);
+    }
+
+    /**
+     * Find a team by its new name after it has been renamed, here and in the lists of its members.
+     *
+     * @param oldName name of the team before it was renamed
+     * @param team    the team
+     */
+    public void renamed(String oldName, Team team) {
+        Memberships.renamed(oldName, team);
+        if (this.teams.get(team.getRunId()) != team) return;
+        unname(oldName, team);
+        this.teams.remove(team.getRunId());
+        register(team);
+    }
+
+    /**
+     * Checks whether a member of a team is in a team of the given name, so the team may not take the name.
+     * Only the few teams of that name are looked at, each from its smaller side.
+     *
+     * @param team the team
+     * @param name a team name
+     * @return true if a member is in a team of that name
+     */
+    public boolean isNameTaken(Team team, String name) {
+        for (Team other : named(name)) {
+            if (other == team) return true; // the team already has the name
+            Team smaller = other.size() < team.size() ? other : team;
+            Team larger = smaller == team ? other : team;
+            for (User member : smaller) {
+                if (larger.isMem(member.getName())) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return the number of teams.
+     *
+     * @return the number of teams
+     */
+    public int size() {
+        return this.teams.size();
+    }
+
+    private void unname(String name, Team team) {
+        IntMap<Team> named = this.names.get(name);
+        if (named == null) return;
+        named.remove(team.getRunId());
+        if (named.size() == 0) this.names.remove(name);
+    }
+
+    /**
+     * Return an Iterator object required by the Iterator Design Pattern.
+     *
+     * @return an Iterator object
+     */
+    @Override
+    public Iterator<Team> iterator() {
+        return this.teams.iterator();
+    }
+}
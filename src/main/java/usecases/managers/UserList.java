@@ -1,21 +1,39 @@
 package usecases.managers;
 
+import entities.IntMap;
 import entities.Memento;
+import entities.NameDictionary;
 import entities.Team;
 import entities.User;
 
-import java.io.Serializable;
-import java.util.Arrays;
+import java.io.*;
 import java.util.HashMap;
+import java.util.Iterator;
 
 /**
  * This class represents a list of users.
  */
-public class UserList implements Serializable {
+public class UserList implements Serializable, Iterable<User> {
+    /**
+     * Pinned to the value of the first release, so files saved by it can still be read after this class changes.
+     */
+    private static final long serialVersionUID = 6374955651621803792L;
+    /**
+     * Files keep the users as a map by name, as the first release saved them.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {new ObjectStreamField("users", HashMap.class)};
     /**
      * A collection of users.
      */
-    private HashMap<String, User> users = new HashMap<>();
+    private transient NameDictionary<User> users = new NameDictionary<>();
+    /**
+     * What has changed since changes were last taken by a data saver. Never saved with the users.
+     */
+    private transient ChangeSet changes;
+    /**
+     * Every team of the users, null until it is first needed after the users have been read or restored.
+     */
+    private transient TeamRegistry teams;
 
     /**
      * Return a user by username.
@@ -24,7 +42,7 @@ public class UserList implements Serializable {
      * @return the user
      */
     public User getUser(String name) {
-        return this.users.getOrDefault(name, null);
+        return this.users.get(name);
     }
 
     /**
@@ -33,7 +51,45 @@ public class UserList implements Serializable {
      * @param user the user object
      */
     public void addUser(User user) {
-        this.users.put(user.getName(), user);
+        this.users.put(user);
+        if (this.teams != null) {
+            for (Team team : user.getTeamList()) this.teams.register(team);
+        }
+    }
+
+    /**
+     * Return every team of the users.
+     *
+     * @return the teams
+     */
+    public TeamRegistry getTeams() {
+        if (this.teams == null) {
+            this.teams = new TeamRegistry();
+            for (User user : this.users) {
+                for (Team team : user.getTeamList()) this.teams.register(team);
+            }
+        }
+        return this.teams;
+    }
+
+    /**
+     * Find a user by their new name after they have been renamed.
+     *
+     * @param oldName username before the user was renamed
+     * @param user    the user object
+     */
+    public void userRenamed(String oldName, User user) {
+        this.users.renamed(oldName, user);
+    }
+
+    /**
+     * Return an Iterator object required by the Iterator Design Pattern.
+     *
+     * @return an Iterator object
+     */
+    @Override
+    public Iterator<User> iterator() {
+        return this.users.iterator();
     }
 
     /**
@@ -54,6 +110,31 @@ public class UserList implements Serializable {
      */
     public void restore(Memento memento) {
         this.users = memento.getState();
+        this.teams = null;
+        // Boards are not copied into mementos, so their claims still point at the users being replaced
+        for (Team team : getTeams()) team.getBoard().relink(this::getUser);
+        getChanges().allChanged(); // every user and team is a different object now
+    }
+
+    /**
+     * Return what has changed since changes were last taken, so that use cases can record their changes.
+     *
+     * @return the changes
+     */
+    public ChangeSet getChanges() {
+        if (this.changes == null) this.changes = new ChangeSet();
+        return this.changes;
+    }
+
+    /**
+     * Return what has changed and start recording changes afresh.
+     *
+     * @return the changes since the last call
+     */
+    public ChangeSet takeChanges() {
+        ChangeSet taken = getChanges();
+        this.changes = new ChangeSet();
+        return taken;
     }
 
     /**
@@ -61,12 +142,12 @@ public class UserList implements Serializable {
      *
      * @return a copy of users
      */
-    public HashMap<String, User> copy() {
-        HashMap<String, User> userListCopy = new HashMap<>();
-        HashMap<String, Team> visitedTeams = new HashMap<>();
-        for (User user : this.users.values()) {
+    public NameDictionary<User> copy() {
+        NameDictionary<User> userListCopy = new NameDictionary<>();
+        IntMap<Team> visitedTeams = new IntMap<>();
+        for (User user : this.users) {
             User userCopy = user.copy();
-            userListCopy.put(user.getName(), userCopy);
+            userListCopy.put(userCopy);
             copyTeams(visitedTeams, user, userCopy);
         }
 
@@ -76,35 +157,30 @@ public class UserList implements Serializable {
     /**
      * Copy the teams each user is in.
      *
-     * @param visitedTeams Already visited teams, do not want to add them twice
+     * @param visitedTeams copies of the teams already visited by the id of the team, do not want to add them twice
      * @param user         the user
      * @param userCopy     the clone of the user
      */
-    private void copyTeams(HashMap<String, Team> visitedTeams, User user, User userCopy) {
-        String[] teams = user.getTeamList().toString().split("\n");
-        for (String teamName : Arrays.copyOfRange(teams, 1, teams.length)) {
-            Team teamCopy = getTeamCopy(visitedTeams, teamName);
-            userCopy.getTeamList().addTeam(teamCopy);
-            teamCopy.addMem(userCopy);
-            if (user.getTeamList().getTeam(teamName).isAdmin(user.getName())) teamCopy.addAdmin(userCopy);
+    private void copyTeams(IntMap<Team> visitedTeams, User user, User userCopy) {
+        for (Team team : user.getTeamList()) {
+            Team teamCopy = visitedTeams.get(team.getRunId());
+            if (teamCopy == null) {
+                teamCopy = new Team(team.getName());
+                visitedTeams.put(team.getRunId(), teamCopy);
+            }
+            Memberships.join(userCopy, teamCopy);
+            if (team.isAdmin(user.getName())) Memberships.promote(userCopy, teamCopy);
         }
     }
 
-    /**
-     * Get the clone of a team from visitedTeams or create a new one.
-     *
-     * @param visitedTeams the collection of visited teams
-     * @param teamName     name of the team
-     * @return the cloned team
-     */
-    private Team getTeamCopy(HashMap<String, Team> visitedTeams, String teamName) {
-        Team teamCopy;
-        if (!visitedTeams.containsKey(teamName)) {
-            teamCopy = new Team(teamName);
-            visitedTeams.put(teamName, teamCopy);
-        } else {
-            teamCopy = visitedTeams.get(teamName);
-        }
-        return teamCopy;
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("users", this.users.toMap());
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        this.users = NameDictionary.of((HashMap<String, User>) in.readFields().get("users", new HashMap<>()));
     }
 }
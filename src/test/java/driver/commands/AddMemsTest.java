@@ -0,0 +1,73 @@
+package driver.commands;
+
+import controllers.DataMemoryController;
+import controllers.TeamController;
+import entities.Team;
+import entities.User;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import usecases.DataMemoryUseCases;
+import usecases.TeamUseCases;
+import usecases.managers.ProjectManager;
+import usecases.managers.TaskManager;
+import usecases.managers.TeamManager;
+import usecases.managers.UserList;
+
+class AddMemsTest {
+    private final AddMems addMemsCommand = new AddMems();
+    private UserList userList = new UserList();
+
+    @BeforeEach
+    void setUp() {
+        userList = TestingSystemSetUp.SetUp();
+        userList.addUser(new User("Andy", "1987", new TaskManager(), new ProjectManager(), new TeamManager()));
+        TeamController.getInstance().setInputBoundary(new TeamUseCases(userList));
+        DataMemoryController.getInstance().setInputBoundary(new DataMemoryUseCases(userList));
+    }
+
+    @Test
+    public void testSuccessfullyAddedMems() {
+        try {
+            String[] args = {"Goats Club", "Nole,Andy"};
+            addMemsCommand.execute("Roge", args);
+            Team team = userList.getUser("Roge").getTeamList().getTeam("Goats Club");
+            Assertions.assertTrue(team.isMem("Nole") && team.isMem("Andy"),
+                    "Failure: Members have not been added successfully");
+            Assertions.assertSame(team, userList.getUser("Andy").getTeamList().getTeam("Goats Club"));
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testNobodyAddedIfOneCannotBe() {
+        Team team = userList.getUser("Roge").getTeamList().getTeam("Goats Club");
+        for (String names : new String[]{"Nole,Rafa", "Nole,Pete", "Nole,Nole", "Nole,,Andy"}) {
+            Assertions.assertThrows(Exception.class,
+                    () -> addMemsCommand.execute("Roge", new String[]{"Goats Club", names}), names);
+            Assertions.assertFalse(team.isMem("Nole"), names);
+            Assertions.assertFalse(userList.getUser("Nole").getTeamList().hasTeam("Goats Club"), names);
+        }
+    }
+
+    @Test
+    public void testMemNotAdmin() {
+        Assertions.assertThrows(Exception.class,
+                () -> addMemsCommand.execute("Rafa", new String[]{"Goats Club", "Nole,Andy"}));
+    }
+
+    @Test
+    public void testOneUndoStep() {
+        try {
+            DataMemoryUseCases dataMemoryUseCases = new DataMemoryUseCases(userList);
+            DataMemoryController.getInstance().setInputBoundary(dataMemoryUseCases);
+            dataMemoryUseCases.setTimeStamp();
+            addMemsCommand.execute("Roge", new String[]{"Goats Club", "Nole,Andy"});
+            Assertions.assertEquals(2, dataMemoryUseCases.historySize());
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+}
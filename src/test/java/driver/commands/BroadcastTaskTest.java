@@ -0,0 +1,85 @@
+package driver.commands;
+
+import controllers.DataMemoryController;
+import controllers.TaskController;
+import entities.Task;
+import entities.Team;
+import entities.User;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import usecases.DataMemoryUseCases;
+import usecases.TaskUseCases;
+import usecases.managers.Memberships;
+import usecases.managers.ProjectManager;
+import usecases.managers.TaskManager;
+import usecases.managers.TeamManager;
+import usecases.managers.UserList;
+
+class BroadcastTaskTest {
+    private final BroadcastTask broadcastTaskCommand = new BroadcastTask();
+    private UserList userList;
+
+    @BeforeEach
+    void setUp() {
+        userList = TestingSystemSetUp.SetUp();
+        TaskController.getInstance().setInputBoundary(new TaskUseCases(userList));
+        DataMemoryController.getInstance().setInputBoundary(new DataMemoryUseCases(userList));
+    }
+
+    @Test
+    public void testSuccessfullyAssignedToTeam() {
+        try {
+            broadcastTaskCommand.execute("Roge", new String[]{"Goats Club", "Win", "2099-07-01"});
+            Task rogeTask = userList.getUser("Roge").getTaskList().getTask("Win");
+            Task rafaTask = userList.getUser("Rafa").getTaskList().getTask("Win");
+            Assertions.assertEquals("Assigned to me", rafaTask.getProject().getName());
+            Assertions.assertTrue(rafaTask.getProject().hasTask("Win"));
+            Assertions.assertSame(rogeTask.getName(), rafaTask.getName());
+            Assertions.assertSame(rogeTask.getDueDate(), rafaTask.getDueDate());
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testSuccessfullyAssignedToSome() {
+        try {
+            broadcastTaskCommand.execute("Roge", new String[]{"Goats Club", "Win", "2099-07-01", "Rafa"});
+            Assertions.assertTrue(userList.getUser("Rafa").getTaskList().hasTask("Win"));
+            Assertions.assertFalse(userList.getUser("Roge").getTaskList().hasTask("Win"));
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testNobodyAssignedIfOneCannotBe() {
+        // Rafa already has a task called Practice, Nole is not in the team, Rafa is not an admin
+        String[][] args = {{"Goats Club", "Practice", "2099-07-01"}, {"Goats Club", "Win", "2099-07-01", "Rafa,Nole"},
+                {"Goats Club", "Win", "2099-07-01", "Rafa,Rafa"}, {"Goats Club", "Win", "07/01/2099"}};
+        for (String[] arg : args) {
+            Assertions.assertThrows(Exception.class, () -> broadcastTaskCommand.execute("Roge", arg));
+            Assertions.assertFalse(userList.getUser("Roge").getTaskList().hasTask(arg[1]));
+        }
+        Assertions.assertThrows(Exception.class,
+                () -> broadcastTaskCommand.execute("Rafa", new String[]{"Goats Club", "Win", "2099-07-01"}));
+    }
+
+    @Test
+    public void testLargeTeam() {
+        try {
+            Team team = userList.getUser("Roge").getTeamList().getTeam("Goats Club");
+            for (int i = 0; i < 5000; i++) {
+                User user = new User("User " + i, "pwd", new TaskManager(), new ProjectManager(), new TeamManager());
+                userList.addUser(user);
+                Memberships.join(user, team);
+            }
+            broadcastTaskCommand.execute("Roge", new String[]{"Goats Club", "Win", "2099-07-01"});
+            for (User member : team) Assertions.assertTrue(member.getTaskList().hasTask("Win"), member.getName());
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package driver.commands;
+
+import controllers.DataMemoryController;
+import controllers.QueryController;
+import controllers.TaskController;
+import entities.TaskBoard;
+import entities.Team;
+import entities.User;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import usecases.DataMemoryUseCases;
+import usecases.QueryUseCases;
+import usecases.TaskUseCases;
+import usecases.managers.Memberships;
+import usecases.managers.ProjectManager;
+import usecases.managers.TaskManager;
+import usecases.managers.TeamManager;
+import usecases.managers.UserList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ClaimTaskTest {
+    private final PostTask postTaskCommand = new PostTask();
+    private final ClaimTask claimTaskCommand = new ClaimTask();
+    private final FinishTask finishTaskCommand = new FinishTask();
+    private final ViewBoard viewBoardCommand = new ViewBoard();
+    private UserList userList;
+
+    @BeforeEach
+    void setUp() {
+        userList = TestingSystemSetUp.SetUp();
+        TaskController.getInstance().setInputBoundary(new TaskUseCases(userList));
+        QueryController.getInstance().setInputBoundary(new QueryUseCases(userList));
+        DataMemoryController.getInstance().setInputBoundary(new DataMemoryUseCases(userList));
+    }
+
+    @Test
+    public void testSuccessfullyClaimedAndFinished() {
+        try {
+            postTaskCommand.execute("Rafa", new String[]{"Goats Club", "Win", "2099-07-01"});
+            postTaskCommand.execute("Roge", new String[]{"Goats Club", "Train", "2099-06-01"});
+            claimTaskCommand.execute("Rafa", new String[]{"Goats Club", "Win"});
+            finishTaskCommand.execute("Roge", new String[]{"Goats Club", "Train"}); // nobody held it
+            Assertions.assertEquals("The team shares the following tasks:\n" +
+                            "Train: due on 2099-06-01; completed by Roge\n" +
+                            "Win: due on 2099-07-01; claimed by Rafa\n",
+                    viewBoardCommand.execute("Roge", new String[]{"Goats Club"}));
+            finishTaskCommand.execute("Rafa", new String[]{"Goats Club", "Win"});
+            Assertions.assertTrue(userList.getUser("Rafa").getTeamList().getTeam("Goats Club").getBoard()
+                    .get("Win").isDone());
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testFinishAfterUndo() {
+        try {
+            DataMemoryController.getInstance().setTimeStamp();
+            postTaskCommand.execute("Rafa", new String[]{"Goats Club", "Win", "2099-07-01"});
+            claimTaskCommand.execute("Rafa", new String[]{"Goats Club", "Win"});
+            TaskController.getInstance().newTask("Rafa", "Serve", "2099-06-01", "General");
+            Assertions.assertEquals("Action has been undone successfully.", DataMemoryController.getInstance().undo());
+            // every user has been replaced by a copy, while the board is still the same
+            finishTaskCommand.execute("Rafa", new String[]{"Goats Club", "Win"});
+            Assertions.assertSame(userList.getUser("Rafa"), userList.getUser("Rafa").getTeamList()
+                    .getTeam("Goats Club").getBoard().get("Win").getClaimant());
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testFailures() {
+        try {
+            postTaskCommand.execute("Rafa", new String[]{"Goats Club", "Win", "2099-07-01"});
+            claimTaskCommand.execute("Rafa", new String[]{"Goats Club", "Win"});
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+        // the name is taken, the date is wrong, Nole is not in the team
+        Assertions.assertThrows(Exception.class,
+                () -> postTaskCommand.execute("Roge", new String[]{"Goats Club", "Win", "2099-07-01"}));
+        Assertions.assertThrows(Exception.class,
+                () -> postTaskCommand.execute("Roge", new String[]{"Goats Club", "Lose", "07/01/2099"}));
+        Assertions.assertThrows(Exception.class,
+                () -> postTaskCommand.execute("Nole", new String[]{"Goats Club", "Lose", "2099-07-01"}));
+        // Rafa holds the task, and there is no task called Lose
+        Assertions.assertThrows(Exception.class,
+                () -> claimTaskCommand.execute("Roge", new String[]{"Goats Club", "Win"}));
+        Assertions.assertThrows(Exception.class,
+                () -> finishTaskCommand.execute("Roge", new String[]{"Goats Club", "Win"}));
+        Assertions.assertThrows(Exception.class,
+                () -> claimTaskCommand.execute("Roge", new String[]{"Goats Club", "Lose"}));
+        Assertions.assertEquals("Team does not exist.", QueryController.getInstance().viewBoard("Nole", "Goats Club"));
+    }
+
+    @Test
+    public void testConcurrentClaims() throws Exception {
+        Team team = userList.getUser("Roge").getTeamList().getTeam("Goats Club");
+        List<User> members = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            User user = new User("User " + i, "pwd", new TaskManager(), new ProjectManager(), new TeamManager());
+            userList.addUser(user);
+            Memberships.join(user, team);
+            members.add(user);
+        }
+        TaskBoard board = team.getBoard();
+        for (int i = 0; i < 1000; i++) board.post("Task " + i, "2099-07-01");
+
+        // every member races for every task, while the board is being shown
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger claimed = new AtomicInteger();
+        AtomicInteger misread = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (User member : members) {
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (board.claim("Task " + i, member)) claimed.incrementAndGet();
+                    if (i % 100 == 0 && board.toString().split("\n").length != 1001) misread.incrementAndGet();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) thread.join();
+
+        Assertions.assertEquals(1000, claimed.get());
+        Assertions.assertEquals(0, misread.get());
+        for (TaskBoard.Card card : board) {
+            Assertions.assertTrue(members.contains(card.getClaimant()), card.getName());
+            Assertions.assertFalse(board.complete(card.getName(), userList.getUser("Roge")));
+            Assertions.assertTrue(board.complete(card.getName(), card.getClaimant()));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package driver.commands;
+
+import controllers.MemStatsController;
+import entities.Project;
+import entities.Task;
+import entities.User;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import usecases.DataMemoryUseCases;
+import usecases.MemStatsUseCases;
+import usecases.managers.UserList;
+
+import java.util.Collections;
+
+class MemStatsTest {
+    private final MemStats memStatsCommand = new MemStats();
+    private UserList userList;
+
+    @BeforeEach
+    void setUp() {
+        userList = TestingSystemSetUp.SetUp();
+        DataMemoryUseCases dataMemoryUseCases = new DataMemoryUseCases(userList);
+        dataMemoryUseCases.setTimeStamp();
+        dataMemoryUseCases.setTimeStamp();
+        MemStatsController.getInstance().setInputBoundary(new MemStatsUseCases(userList, dataMemoryUseCases));
+    }
+
+    @Test
+    public void testShowsLargestUsersAndTeams() {
+        try {
+            String result = memStatsCommand.execute("Roge", new String[]{"2"});
+            Assertions.assertTrue(result.contains(" bytes are retained by 3 users, 1 teams"), result);
+            String users = result.substring(result.indexOf("Users retaining the most:\n"),
+                    result.indexOf("Teams retaining the most:\n"));
+            Assertions.assertEquals(3, users.split("\n").length, "Failure: Not the two largest users");
+            Assertions.assertTrue(result.contains("Goats Club: "), result);
+            Assertions.assertTrue(result.contains(" bytes in 2 mementos.\n"), result);
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testShowsJsonLines() {
+        try {
+            String[] lines = memStatsCommand.execute("Roge", new String[]{"1", "json"}).split("\n");
+            Assertions.assertEquals(6, lines.length);
+            Assertions.assertTrue(lines[0].startsWith("{\"kind\":\"total\",\"bytes\":"), lines[0]);
+            Assertions.assertTrue(lines[1].startsWith("{\"kind\":\"user\",\"name\":"), lines[1]);
+            Assertions.assertTrue(lines[2].startsWith("{\"kind\":\"team\",\"name\":\"Goats Club\",\"bytes\":"),
+                    lines[2]);
+            Assertions.assertTrue(lines[3].startsWith("{\"kind\":\"history\",\"mementos\":2,\"bytes\":"), lines[3]);
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testLargerUserFirst() {
+        try {
+            User nole = userList.getUser("Nole");
+            Project project = nole.getProjectList().getProject("Take Over");
+            Task task = new Task("Write", "2099-01-01", project);
+            task.setDescription(String.join("", Collections.nCopies(1000, "A long plan. ")));
+            project.addTask(task);
+            nole.getTaskList().addTask(task);
+            String result = memStatsCommand.execute("Roge", new String[]{"1"});
+            Assertions.assertTrue(result.contains("Users retaining the most:\nNole: "), result);
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testIncorrectArguments() {
+        Assertions.assertThrows(Exception.class, () -> memStatsCommand.execute("Roge", new String[]{"0"}));
+        Assertions.assertThrows(Exception.class, () -> memStatsCommand.execute("Roge", new String[]{"many"}));
+        Assertions.assertThrows(Exception.class, () -> memStatsCommand.execute("Roge", new String[]{"3", "xml"}));
+    }
+}
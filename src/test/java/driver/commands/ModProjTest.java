@@ -32,6 +32,8 @@ class ModProjTest {
             User user = userList.getUser("Nole");
             Assertions.assertTrue(user.getProjectList().hasProject("Join Goats Club"),
                     "Failure: Project has not been renamed successfully");
+            Assertions.assertFalse(user.getProjectList().hasProject("Take Over"),
+                    "Failure: Project is still found by its old name");
         } catch (Exception e) {
             Assertions.fail(e.getMessage());
         }
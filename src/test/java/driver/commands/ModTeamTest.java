@@ -32,6 +32,13 @@ class ModTeamTest {
             User user = userList.getUser("Roge");
             Assertions.assertTrue(user.getTeamList().hasTeam("The Holy Trinity"),
                     "Failure: Team has not been renamed successfully");
+            // Every member finds the team by its new name only
+            for (String username : new String[]{"Roge", "Rafa"}) {
+                Assertions.assertTrue(userList.getUser(username).getTeamList().hasTeam("The Holy Trinity"),
+                        "Failure: A member cannot find the renamed team");
+                Assertions.assertFalse(userList.getUser(username).getTeamList().hasTeam("Goats Club"),
+                        "Failure: A member still finds the team by its old name");
+            }
         } catch (Exception e) {
             Assertions.fail(e.getMessage());
         }
@@ -32,6 +32,11 @@ class ModUsnTest {
             // Check that the username has been changed
             Assertions.assertEquals("Nadal", user.getName(),
                     "Failure: Username has not been changed successfully");
+            // The user is found by the new name only, also within their team
+            Assertions.assertSame(user, userList.getUser("Nadal"), "Failure: User is not found by the new name");
+            Assertions.assertNull(userList.getUser("Rafa"), "Failure: User is still found by the old name");
+            Assertions.assertTrue(user.getTeamList().getTeam("Goats Club").isMem("Nadal"),
+                    "Failure: Team does not find the renamed member");
         } catch (Exception e) {
             Assertions.fail(e.getMessage());
         }
@@ -0,0 +1,61 @@
+package driver.commands;
+
+import controllers.DataMemoryController;
+import controllers.QueryController;
+import controllers.TaskController;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import usecases.DataMemoryUseCases;
+import usecases.QueryUseCases;
+import usecases.TaskUseCases;
+import usecases.managers.UserList;
+
+class ProjStatsTest {
+    private final ProjStats projStatsCommand = new ProjStats();
+
+    @BeforeEach
+    void setUp() {
+        UserList userList = TestingSystemSetUp.SetUp();
+        QueryController.getInstance().setInputBoundary(new QueryUseCases(userList));
+        TaskController.getInstance().setInputBoundary(new TaskUseCases(userList));
+        DataMemoryController.getInstance().setInputBoundary(new DataMemoryUseCases(userList));
+    }
+
+    @Test
+    public void testSuccessfullyShowedStats() {
+        try {
+            Assertions.assertEquals("This project <General> has 1 task, 0 starred, next due on 2021-12-15.",
+                    projStatsCommand.execute("Rafa", new String[]{"General"}));
+            Assertions.assertEquals("This project <Take Over> has no tasks.",
+                    projStatsCommand.execute("Nole", new String[]{"Take Over"}));
+            Assertions.assertEquals("Project does not exist.", projStatsCommand.execute("Rafa", new String[]{"Win"}));
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testStatsFollowChanges() {
+        try {
+            TaskController.getInstance().newTask("Rafa", "Serve", "2099-03-01", "General");
+            TaskController.getInstance().newTask("Rafa", "Return", "2099-01-01", "General");
+            TaskController.getInstance().star("Rafa", "Return");
+            TaskController.getInstance().star("Rafa", "Return"); // already starred, counted once
+            TaskController.getInstance().completeTask("Rafa", "Practice");
+            Assertions.assertEquals("This project <General> has 2 tasks, 1 starred, next due on 2099-01-01.",
+                    projStatsCommand.execute("Rafa", new String[]{"General"}));
+
+            TaskController.getInstance().retime("Rafa", "Return", "2099-05-01");
+            TaskController.getInstance().unstar("Rafa", "Return");
+            Assertions.assertEquals("You have 2 tasks, 0 starred, next due on 2099-03-01.",
+                    projStatsCommand.execute("Rafa", new String[]{}));
+            Assertions.assertEquals("You have the following projects:\nAssigned to me: no tasks\n" +
+                            "General: 2 tasks, 0 starred, next due on 2099-03-01\n",
+                    QueryController.getInstance().viewProjs("Rafa"));
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+}
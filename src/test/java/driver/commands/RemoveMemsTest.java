@@ -0,0 +1,63 @@
+package driver.commands;
+
+import controllers.DataMemoryController;
+import controllers.TeamController;
+import entities.Team;
+import entities.User;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import usecases.DataMemoryUseCases;
+import usecases.TeamUseCases;
+import usecases.managers.UserList;
+
+class RemoveMemsTest {
+    private final RemoveMems removeMemsCommand = new RemoveMems();
+    private UserList userList = new UserList();
+
+    @BeforeEach
+    void setUp() {
+        userList = TestingSystemSetUp.SetUp();
+        TeamController.getInstance().setInputBoundary(new TeamUseCases(userList));
+        DataMemoryController.getInstance().setInputBoundary(new DataMemoryUseCases(userList));
+    }
+
+    @Test
+    public void testSuccessfullyRemovedMems() {
+        try {
+            Team team = userList.getUser("Roge").getTeamList().getTeam("Goats Club");
+            removeMemsCommand.execute("Roge", new String[]{"Goats Club", "Rafa"});
+            User rafa = userList.getUser("Rafa");
+            Assertions.assertFalse(team.isMem("Rafa") || rafa.getTeamList().hasTeam("Goats Club"),
+                    "Failure: Member has not been removed successfully");
+            Assertions.assertTrue(team.isMem("Roge"));
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testTeamLeftEmptyIsDeleted() {
+        try {
+            Team team = userList.getUser("Roge").getTeamList().getTeam("Goats Club");
+            removeMemsCommand.execute("Roge", new String[]{"Goats Club", "Rafa,Roge"});
+            Assertions.assertTrue(team.isDisbanded());
+            Assertions.assertNull(userList.getTeams().get(team.getRunId()));
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testNobodyRemovedIfOneCannotBe() {
+        Team team = userList.getUser("Roge").getTeamList().getTeam("Goats Club");
+        for (String names : new String[]{"Rafa,Nole", "Rafa,Rafa"}) {
+            Assertions.assertThrows(Exception.class,
+                    () -> removeMemsCommand.execute("Roge", new String[]{"Goats Club", names}), names);
+            Assertions.assertTrue(team.isMem("Rafa"), names);
+        }
+        Assertions.assertThrows(Exception.class,
+                () -> removeMemsCommand.execute("Rafa", new String[]{"Goats Club", "Roge"}));
+    }
+}
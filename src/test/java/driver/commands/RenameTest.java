@@ -34,6 +34,10 @@ class RenameTest {
             User user = userList.getUser("Rafa");
             Assertions.assertTrue(user.getTaskList().hasTask("Work out"),
                     "Failure: Task name has not been changed successfully");
+            Assertions.assertFalse(user.getTaskList().hasTask("Practice"),
+                    "Failure: Task is still found by its old name");
+            Assertions.assertTrue(user.getTaskList().getTask("Work out").getProject().hasTask("Work out"),
+                    "Failure: Project cannot find the renamed task");
         } catch (Exception e) {
             Assertions.fail(e.getMessage());
         }
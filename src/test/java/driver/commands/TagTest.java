@@ -0,0 +1,61 @@
+package driver.commands;
+
+import controllers.DataMemoryController;
+import controllers.TaskController;
+import entities.User;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import usecases.DataMemoryUseCases;
+import usecases.TaskUseCases;
+import usecases.managers.UserList;
+
+import java.util.Arrays;
+
+class TagTest {
+    private final Tag tagCommand = new Tag();
+    private UserList userList;
+
+    @BeforeEach
+    void setUp() {
+        userList = TestingSystemSetUp.SetUp();
+        TaskController.getInstance().setInputBoundary(new TaskUseCases(userList));
+        DataMemoryController.getInstance().setInputBoundary(new DataMemoryUseCases(userList));
+    }
+
+    // test if user has the task and tags it.
+    @Test
+    public void testSuccessfullyTaggedTask() {
+        try {
+            tagCommand.execute("Rafa", new String[]{"Practice", "urgent"});
+            tagCommand.execute("Rafa", new String[]{"Practice", "clay"});
+            tagCommand.execute("Rafa", new String[]{"Practice", "urgent"}); // already tagged
+            // Check that the task has been tagged
+            User user = userList.getUser("Rafa");
+            Assertions.assertEquals(Arrays.asList("clay", "urgent"), user.getTaskList().getTask("Practice").getTags());
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+
+    // test if user does not have the task.
+    @Test
+    public void testTaskExist() {
+        Assertions.assertThrows(Exception.class, () -> tagCommand.execute("Rafa", new String[]{"Exercise", "urgent"}));
+    }
+
+    // test if the tag could not be named in a query.
+    @Test
+    public void testWrongTag() {
+        for (String tag : new String[]{"", " ", "a&b", "a|b", " urgent"}) {
+            Assertions.assertThrows(Exception.class, () -> tagCommand.execute("Rafa", new String[]{"Practice", tag}));
+        }
+        Assertions.assertTrue(userList.getUser("Rafa").getTaskList().getTask("Practice").getTags().isEmpty());
+    }
+
+    @Test
+    public void testWrongArguments() {
+        Assertions.assertThrows(Exception.class, () -> tagCommand.execute("Rafa", new String[]{"Practice"}));
+    }
+}
@@ -0,0 +1,56 @@
+package driver.commands;
+
+import controllers.DataMemoryController;
+import controllers.TaskController;
+import entities.User;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import usecases.DataMemoryUseCases;
+import usecases.TaskUseCases;
+import usecases.managers.UserList;
+
+import java.util.Collections;
+
+class UntagTest {
+    private final Untag untagCommand = new Untag();
+    private UserList userList;
+
+    @BeforeEach
+    void setUp() {
+        userList = TestingSystemSetUp.SetUp();
+        TaskController.getInstance().setInputBoundary(new TaskUseCases(userList));
+        DataMemoryController.getInstance().setInputBoundary(new DataMemoryUseCases(userList));
+    }
+
+    // test if user has the tagged task and untags it.
+    @Test
+    public void testSuccessfullyUntaggedTask() {
+        try {
+            TaskController.getInstance().tag("Rafa", "Practice", "urgent");
+            TaskController.getInstance().tag("Rafa", "Practice", "clay");
+            untagCommand.execute("Rafa", new String[]{"Practice", "urgent"});
+            // Check that only the given tag has been taken off
+            User user = userList.getUser("Rafa");
+            Assertions.assertEquals(Collections.singletonList("clay"),
+                    user.getTaskList().getTask("Practice").getTags());
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+
+    // test if the task does not have the tag.
+    @Test
+    public void testTagExist() {
+        Assertions.assertThrows(Exception.class,
+                () -> untagCommand.execute("Rafa", new String[]{"Practice", "urgent"}));
+    }
+
+    // test if user does not have the task.
+    @Test
+    public void testTaskExist() {
+        Assertions.assertThrows(Exception.class,
+                () -> untagCommand.execute("Rafa", new String[]{"Exercise", "urgent"}));
+    }
+}
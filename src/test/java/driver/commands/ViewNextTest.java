@@ -0,0 +1,53 @@
+package driver.commands;
+
+import controllers.DataMemoryController;
+import controllers.QueryController;
+import controllers.TaskController;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import usecases.DataMemoryUseCases;
+import usecases.QueryUseCases;
+import usecases.TaskUseCases;
+import usecases.managers.UserList;
+
+class ViewNextTest {
+    private final ViewNext viewNextCommand = new ViewNext();
+
+    @BeforeEach
+    void setUp() {
+        UserList userList = TestingSystemSetUp.SetUp();
+        QueryController.getInstance().setInputBoundary(new QueryUseCases(userList));
+        TaskController.getInstance().setInputBoundary(new TaskUseCases(userList));
+        DataMemoryController.getInstance().setInputBoundary(new DataMemoryUseCases(userList));
+    }
+
+    @Test
+    public void testSuccessfullyShowedNextTasks() {
+        try {
+            TaskController.getInstance().newTask("Nole", "Serve", "2099-03-01", "Take Over");
+            TaskController.getInstance().newTask("Nole", "Return", "2099-01-01", "General");
+            TaskController.getInstance().newTask("Nole", "Volley", "2099-02-01", "Take Over");
+            Assertions.assertEquals("Your next tasks are:\n" +
+                            "Return: due on 2099-01-01; in project <General>; description: \n" +
+                            "Volley: due on 2099-02-01; in project <Take Over>; description: \n",
+                    viewNextCommand.execute("Nole", new String[]{"2"}));
+            Assertions.assertEquals("The next tasks of project <Take Over> are:\n" +
+                            "Volley: due on 2099-02-01; in project <Take Over>; description: \n" +
+                            "Serve: due on 2099-03-01; in project <Take Over>; description: \n",
+                    viewNextCommand.execute("Nole", new String[]{"5", "Take Over"}));
+            Assertions.assertEquals("Project does not exist.",
+                    viewNextCommand.execute("Nole", new String[]{"1", "Win"}));
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testWrongNumber() {
+        Assertions.assertThrows(Exception.class, () -> viewNextCommand.execute("Nole", new String[]{"0"}));
+        Assertions.assertThrows(Exception.class, () -> viewNextCommand.execute("Nole", new String[]{"next"}));
+        Assertions.assertThrows(Exception.class, () -> viewNextCommand.execute("Nole", new String[]{}));
+    }
+}
@@ -25,7 +25,8 @@ class ViewProjTest {
         try {
             String[] args = {};
             String result = viewProjCommand.execute("Nole", args);
-            String actual = "You have the following projects:\nAssigned to me\nGeneral\nTake Over\n";
+            String actual = "You have the following projects:\nAssigned to me: no tasks\nGeneral: no tasks\n" +
+                    "Take Over: no tasks\n";
             // Check that the returned String is correct
             Assertions.assertEquals(result, actual,
                     "Failure: Failed to show projects successfully");
@@ -0,0 +1,69 @@
+package driver.commands;
+
+import controllers.DataMemoryController;
+import controllers.ProjectController;
+import controllers.QueryController;
+import controllers.TaskController;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import usecases.DataMemoryUseCases;
+import usecases.ProjectUseCases;
+import usecases.QueryUseCases;
+import usecases.TaskUseCases;
+import usecases.managers.UserList;
+
+class ViewStarredTest {
+    private final ViewStarred viewStarredCommand = new ViewStarred();
+
+    @BeforeEach
+    void setUp() {
+        UserList userList = TestingSystemSetUp.SetUp();
+        QueryController.getInstance().setInputBoundary(new QueryUseCases(userList));
+        TaskController.getInstance().setInputBoundary(new TaskUseCases(userList));
+        ProjectController.getInstance().setInputBoundary(new ProjectUseCases(userList));
+        DataMemoryController.getInstance().setInputBoundary(new DataMemoryUseCases(userList));
+    }
+
+    @Test
+    public void testSuccessfullyShowedStarredTasks() {
+        try {
+            Assertions.assertEquals("You have the following starred tasks:\n",
+                    viewStarredCommand.execute("Nole", new String[]{}));
+            TaskController.getInstance().newTask("Nole", "Serve", "2099-03-01", "Take Over");
+            TaskController.getInstance().newTask("Nole", "Return", "2099-01-01", "General");
+            TaskController.getInstance().newTask("Nole", "Volley", "2099-02-01", "Take Over");
+            TaskController.getInstance().star("Nole", "Serve");
+            TaskController.getInstance().star("Nole", "Return");
+            Assertions.assertEquals("You have the following starred tasks:\n" +
+                            "*STARRED* Return: due on 2099-01-01; in project <General>; description: \n" +
+                            "*STARRED* Serve: due on 2099-03-01; in project <Take Over>; description: \n",
+                    viewStarredCommand.execute("Nole", new String[]{}));
+
+            // the index follows every change once it has been made
+            TaskController.getInstance().retime("Nole", "Return", "2099-04-01");
+            TaskController.getInstance().star("Nole", "Volley");
+            Assertions.assertEquals("You have the following starred tasks:\n" +
+                            "*STARRED* Volley: due on 2099-02-01; in project <Take Over>; description: \n" +
+                            "*STARRED* Serve: due on 2099-03-01; in project <Take Over>; description: \n" +
+                            "*STARRED* Return: due on 2099-04-01; in project <General>; description: \n",
+                    viewStarredCommand.execute("Nole", new String[]{}));
+            TaskController.getInstance().unstar("Nole", "Volley");
+            TaskController.getInstance().completeTask("Nole", "Return");
+            Assertions.assertEquals("You have the following starred tasks:\n" +
+                            "*STARRED* Serve: due on 2099-03-01; in project <Take Over>; description: \n",
+                    viewStarredCommand.execute("Nole", new String[]{}));
+            ProjectController.getInstance().delProj("Nole", "Take Over");
+            Assertions.assertEquals("You have the following starred tasks:\n",
+                    viewStarredCommand.execute("Nole", new String[]{}));
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testWrongArguments() {
+        Assertions.assertThrows(Exception.class, () -> viewStarredCommand.execute("Nole", new String[]{"Serve"}));
+    }
+}
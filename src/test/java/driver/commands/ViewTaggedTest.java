@@ -0,0 +1,70 @@
+package driver.commands;
+
+import controllers.DataMemoryController;
+import controllers.ProjectController;
+import controllers.QueryController;
+import controllers.TaskController;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import usecases.DataMemoryUseCases;
+import usecases.ProjectUseCases;
+import usecases.QueryUseCases;
+import usecases.TaskUseCases;
+import usecases.managers.UserList;
+
+class ViewTaggedTest {
+    private final ViewTagged viewTaggedCommand = new ViewTagged();
+
+    @BeforeEach
+    void setUp() {
+        UserList userList = TestingSystemSetUp.SetUp();
+        QueryController.getInstance().setInputBoundary(new QueryUseCases(userList));
+        TaskController.getInstance().setInputBoundary(new TaskUseCases(userList));
+        ProjectController.getInstance().setInputBoundary(new ProjectUseCases(userList));
+        DataMemoryController.getInstance().setInputBoundary(new DataMemoryUseCases(userList));
+    }
+
+    @Test
+    public void testSuccessfullyShowedTaggedTasks() {
+        try {
+            TaskController.getInstance().newTask("Nole", "Serve", "2099-03-01", "Take Over");
+            TaskController.getInstance().newTask("Nole", "Return", "2099-01-01", "General");
+            TaskController.getInstance().newTask("Nole", "Volley", "2099-02-01", "Take Over");
+            TaskController.getInstance().tag("Nole", "Serve", "urgent");
+            TaskController.getInstance().tag("Nole", "Serve", "grass");
+            TaskController.getInstance().tag("Nole", "Return", "urgent");
+            TaskController.getInstance().tag("Nole", "Volley", "blocked");
+            Assertions.assertEquals("You have the following tasks tagged urgent:\n" +
+                            "Return: due on 2099-01-01; in project <General>; description: \n" +
+                            "Serve: due on 2099-03-01; in project <Take Over>; description: \n",
+                    viewTaggedCommand.execute("Nole", new String[]{"urgent"}));
+            Assertions.assertEquals("You have the following tasks tagged urgent&grass|blocked:\n" +
+                            "Volley: due on 2099-02-01; in project <Take Over>; description: \n" +
+                            "Serve: due on 2099-03-01; in project <Take Over>; description: \n",
+                    viewTaggedCommand.execute("Nole", new String[]{"urgent&grass|blocked"}));
+            Assertions.assertEquals("You have the following tasks tagged clay&urgent:\n",
+                    viewTaggedCommand.execute("Nole", new String[]{"clay&urgent"}));
+
+            // the index follows every change once it has been made
+            TaskController.getInstance().untag("Nole", "Serve", "grass");
+            TaskController.getInstance().tag("Nole", "Return", "grass");
+            TaskController.getInstance().completeTask("Nole", "Volley");
+            Assertions.assertEquals("You have the following tasks tagged urgent&grass|blocked:\n" +
+                            "Return: due on 2099-01-01; in project <General>; description: \n",
+                    viewTaggedCommand.execute("Nole", new String[]{"urgent&grass|blocked"}));
+            ProjectController.getInstance().delProj("Nole", "Take Over");
+            Assertions.assertEquals("You have the following tasks tagged urgent|grass:\n" +
+                            "Return: due on 2099-01-01; in project <General>; description: \n",
+                    viewTaggedCommand.execute("Nole", new String[]{"urgent|grass"}));
+        } catch (Exception e) {
+            Assertions.fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testWrongArguments() {
+        Assertions.assertThrows(Exception.class, () -> viewTaggedCommand.execute("Nole", new String[]{}));
+    }
+}
@@ -0,0 +1,77 @@
+package entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class DescriptionStoreTest {
+    private static String note(int i) {
+        return "Note " + i + ": " + String.join("", Collections.nCopies(20, "hît the ball ")) + i;
+    }
+
+    @Test
+    public void testLongDescriptionsLeaveTheHeap() {
+        Project project = new Project("General");
+        Task task = new Task("Serve", "2099-01-01", project);
+        task.setDescription("Aces");
+        Assertions.assertFalse(task.isDescriptionOffHeap());
+        task.setDescription(note(1));
+        Assertions.assertTrue(task.isDescriptionOffHeap());
+        Assertions.assertEquals(note(1), task.getDescription());
+        Assertions.assertTrue(task.toString().endsWith("description: " + note(1)));
+
+        Task copy = new Task("Serve", "2099-01-01", project);
+        synchronized (DescriptionStore.class) { // no description is freed meanwhile
+            int size = DescriptionStore.size();
+            long live = DescriptionStore.liveBytes();
+            copy.copyDescription(task);
+            Assertions.assertEquals(size, DescriptionStore.size(), "Failure: The description has been copied.");
+            Assertions.assertEquals(live, DescriptionStore.liveBytes());
+        }
+        task.setDescription("Aces");
+        Assertions.assertFalse(task.isDescriptionOffHeap());
+        Assertions.assertEquals(note(1), copy.getDescription());
+    }
+
+    @Test
+    public void testFreedChunksAreLetGo() {
+        Project project = new Project("General");
+        List<Task> tasks = new ArrayList<>();
+        int n = 3 * DescriptionStore.CHUNK / note(0).length();
+        for (int i = 0; i < n; i++) {
+            Task task = new Task("Task " + i, "2099-01-01", project);
+            task.setDescription(note(i));
+            tasks.add(task);
+        }
+        long reserved = DescriptionStore.reservedBytes();
+        // Keep one task in fifty, so earlier chunks are mostly garbage and get emptied into later ones
+        for (int i = 0; i < n; i++) {
+            if (i % 50 != 0) tasks.get(i).setDescription("");
+        }
+        Assertions.assertTrue(DescriptionStore.reservedBytes() < reserved);
+        for (int i = 0; i < n; i += 50) Assertions.assertEquals(note(i), tasks.get(i).getDescription());
+    }
+
+    @Test
+    public void testHugeDescriptionAfterSparseChunk() {
+        Project project = new Project("General");
+        List<Task> tasks = new ArrayList<>();
+        String note = String.join("", Collections.nCopies(100, "0123456789"));
+        for (int i = 0; i < 1040; i++) {
+            Task task = new Task("Task " + i, "2099-01-01", project);
+            task.setDescription(note);
+            tasks.add(task);
+        }
+        for (int i = 0; i < 1040; i++) {
+            if (i % 10 != 0) tasks.get(i).setDescription("");
+        }
+        // The chunk it starts must also take what is left of the sparse chunk it replaces
+        String huge = String.join("", Collections.nCopies(100_000, "0123456789"));
+        tasks.get(1).setDescription(huge);
+        Assertions.assertEquals(huge, tasks.get(1).getDescription());
+        for (int i = 0; i < 1040; i += 10) Assertions.assertEquals(note, tasks.get(i).getDescription());
+    }
+}
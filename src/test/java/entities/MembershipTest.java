@@ -0,0 +1,72 @@
+package entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import usecases.managers.ProjectManager;
+import usecases.managers.TaskManager;
+import usecases.managers.TeamManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class MembershipTest {
+    private static User user(String name) {
+        return new User(name, "pw", new TaskManager(), new ProjectManager(), new TeamManager());
+    }
+
+    @Test
+    public void testSmallTeam() {
+        Membership members = new Membership();
+        User roge = user("Roge");
+        User rafa = user("Rafa");
+        User nole = user("Nole");
+        members.add(roge);
+        members.add(rafa);
+        members.add(nole);
+        members.add(user("Rafa")); // the name is taken
+        members.addAdmin(roge);
+        members.addAdmin(nole);
+        members.addAdmin(user("Andy")); // not a member
+        Assertions.assertEquals(3, members.size());
+
+        members.remove(roge); // the last member takes the slot, and keeps being an admin
+        Assertions.assertNull(members.get("Roge"));
+        Assertions.assertTrue(members.isAdmin("Nole"));
+        Assertions.assertFalse(members.isAdmin("Rafa"));
+        members.remove(nole); // the last slot itself
+        Assertions.assertFalse(members.isAdmin("Nole"));
+        members.add(nole);
+        Assertions.assertFalse(members.isAdmin("Nole"), "Failure: Admin rights outlived the membership");
+
+        rafa.setName("Nadal"); // found by the current name without being told
+        Assertions.assertSame(rafa, members.get("Nadal"));
+    }
+
+    @Test
+    public void testLargeTeam() {
+        Membership members = new Membership();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < Membership.SMALL * 3; i++) {
+            User user = user("user" + i);
+            users.add(user);
+            members.add(user);
+            if (i % 5 == 0) members.addAdmin(user);
+        }
+        Assertions.assertEquals(Membership.SMALL * 3, members.size());
+        for (int i = 0; i < users.size(); i++) {
+            Assertions.assertSame(users.get(i), members.get("user" + i));
+            Assertions.assertEquals(i % 5 == 0, members.isAdmin("user" + i));
+        }
+        int iterated = 0;
+        for (User ignored : members) iterated++;
+        Assertions.assertEquals(users.size(), iterated);
+
+        User first = users.get(0);
+        first.setName("renamed");
+        members.renamed("user0", first);
+        Assertions.assertTrue(members.isAdmin("renamed"));
+        members.remove(first);
+        Assertions.assertNull(members.get("renamed"));
+        Assertions.assertEquals(users.size() - 1, members.toArray().length);
+    }
+}
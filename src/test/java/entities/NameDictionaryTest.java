@@ -0,0 +1,57 @@
+package entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+class NameDictionaryTest {
+    @Test
+    public void testSameAsHashMap() {
+        // Many removals make the maps shift entries back into the holes they leave
+        Random random = new Random(42);
+        StringMap<Integer> strings = new StringMap<>();
+        IntMap<Integer> ints = new IntMap<>();
+        HashMap<String, Integer> expectedStrings = new HashMap<>();
+        HashMap<Integer, Integer> expectedInts = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(2000) + 1;
+            if (random.nextInt(3) == 0) {
+                Assertions.assertEquals(expectedStrings.remove("key" + key), strings.remove("key" + key));
+                Assertions.assertEquals(expectedInts.remove(key), ints.remove(key));
+            } else {
+                Assertions.assertEquals(expectedStrings.put("key" + key, i), strings.put("key" + key, i));
+                Assertions.assertEquals(expectedInts.put(key, i), ints.put(key, i));
+            }
+        }
+        Assertions.assertEquals(expectedStrings.size(), strings.size());
+        Assertions.assertEquals(expectedInts.size(), ints.size());
+        for (int key = 1; key <= 2000; key++) {
+            Assertions.assertEquals(expectedStrings.get("key" + key), strings.get("key" + key));
+            Assertions.assertEquals(expectedInts.get(key), ints.get(key));
+        }
+        int iterated = 0;
+        for (Integer ignored : ints) iterated++;
+        Assertions.assertEquals(expectedInts.size(), iterated);
+        iterated = 0;
+        for (Integer ignored : strings) iterated++;
+        Assertions.assertEquals(expectedStrings.size(), iterated);
+        Assertions.assertEquals(expectedStrings.size(), strings.toArray(new Integer[0]).length);
+    }
+
+    @Test
+    public void testRenamed() {
+        NameDictionary<Project> projects = new NameDictionary<>();
+        Project work = new Project("Work");
+        Assertions.assertTrue(projects.add(work));
+        Assertions.assertFalse(projects.add(new Project("Work")));
+        work.setName("Job");
+        projects.renamed("Work", work);
+        Assertions.assertNull(projects.get("Work"));
+        Assertions.assertSame(work, projects.get("Job"));
+        projects.remove("Job");
+        Assertions.assertEquals(0, projects.size());
+        Assertions.assertFalse(projects.iterator().hasNext());
+    }
+}
@@ -0,0 +1,18 @@
+package entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class StringPoolTest {
+    @Test
+    public void testEntitiesShareStrings() {
+        Project home = new Project(new String("Home"));
+        Task first = new Task(new String("Practice"), new String("2099-12-15"), home);
+        Task second = new Task(new String("Practice"), new String("2099-12-15"), new Project(new String("Home")));
+        Assertions.assertSame(first.getDueDate(), second.getDueDate());
+        Assertions.assertSame(home.getName(), second.getProject().getName());
+        second.setDueDate(new String("2099-12-16"));
+        first.setDueDate(new String("2099-12-16"));
+        Assertions.assertSame(first.getDueDate(), second.getDueDate());
+    }
+}
@@ -0,0 +1,77 @@
+package gateway;
+
+import entities.TaskBoard;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import usecases.QueryUseCases;
+import usecases.managers.UserList;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+class BulkTransferTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testExportAndImport() throws Exception {
+        UserList userList = TestingSystemSetUp.SetUp();
+        userList.getUser("Rafa").getTaskList().getTask("Practice").setDescription("Clay \"court\"\nthen grass");
+        userList.getUser("Rafa").getTaskList().getTask("Practice").addTag("clay");
+        userList.getUser("Rafa").getTaskList().getTask("Practice").addTag("slam, final");
+        TaskBoard board = userList.getUser("Roge").getTeamList().getTeam("Goats Club").getBoard();
+        board.post("Drill", "2099-01-01");
+        board.post("Warm up", "2099-01-02");
+        board.claim("Warm up", userList.getUser("Rafa"));
+        board.post("Stretch", "2099-01-03");
+        board.complete("Stretch", userList.getUser("Roge"));
+        Path path = tempDir.resolve("system.jsonl");
+        Assertions.assertEquals(11, BulkTransfer.export(userList, path));
+
+        UserList imported = new UserList();
+        Assertions.assertEquals("Imported 3 users, 1 projects, 1 tasks and 1 teams; 0 records have been skipped.",
+                BulkTransfer.importFrom(imported, path));
+        QueryUseCases before = new QueryUseCases(userList);
+        QueryUseCases after = new QueryUseCases(imported);
+        for (String username : new String[]{"Roge", "Rafa", "Nole"}) {
+            Assertions.assertEquals(before.viewTasks(username), after.viewTasks(username));
+            Assertions.assertEquals(before.viewProjs(username), after.viewProjs(username));
+            Assertions.assertEquals(before.viewTeams(username), after.viewTeams(username));
+            Assertions.assertEquals(before.viewTagged(username, "clay&slam, final"),
+                    after.viewTagged(username, "clay&slam, final"));
+            Assertions.assertEquals(before.viewBoard(username, "Goats Club"), after.viewBoard(username, "Goats Club"));
+            Assertions.assertEquals(before.viewMemsInTeam(username, "Goats Club"),
+                    after.viewMemsInTeam(username, "Goats Club"));
+        }
+        Assertions.assertEquals(3, imported.getUser("Roge").getTeamList().getTeam("Goats Club").getBoard().size());
+        Assertions.assertEquals(List.of("clay", "slam, final"),
+                imported.getUser("Rafa").getTaskList().getTask("Practice").getTags());
+    }
+
+    @Test
+    public void testSkipInvalidRecords() throws Exception {
+        Path path = tempDir.resolve("system.jsonl");
+        Files.write(path, List.of(
+                "{\"type\":\"user\",\"name\":\"Roge\",\"password\":\"1981\"}",
+                "{\"type\":\"task\",\"user\":\"Roge\",\"name\":\"Serve\"", // malformed
+                "{\"type\":\"task\",\"user\":\"Nobody\",\"name\":\"Serve\",\"due\":\"2099-01-01\"}",
+                "{\"type\":\"task\",\"user\":\"Roge\",\"name\":\"Serve\",\"due\":\"2099-01-01\"}",
+                // dates that are not valid or not written as yyyy-MM-dd
+                "{\"type\":\"task\",\"user\":\"Roge\",\"name\":\"Volley\",\"due\":\"2099-2-3\"}",
+                "{\"type\":\"task\",\"user\":\"Roge\",\"name\":\"Smash\",\"due\":\"2099-02-30\"}",
+                "{\"type\":\"task\",\"user\":\"Roge\",\"name\":\"Lob\",\"due\":\"2099-01-01junk\"}",
+                "{\"type\":\"member\",\"user\":\"Roge\"}"), StandardCharsets.UTF_8, StandardOpenOption.CREATE);
+        UserList userList = new UserList();
+        Assertions.assertEquals("Imported 1 users, 0 projects, 1 tasks and 0 teams; 6 records have been skipped.",
+                BulkTransfer.importFrom(userList, path));
+        Assertions.assertTrue(userList.getUser("Roge").getTaskList().hasTask("Serve"));
+        Assertions.assertFalse(userList.getUser("Roge").getTaskList().hasTask("Volley"));
+        Assertions.assertFalse(userList.getUser("Roge").getTaskList().hasTask("Smash"));
+        Assertions.assertFalse(userList.getUser("Roge").getTaskList().hasTask("Lob"));
+    }
+}
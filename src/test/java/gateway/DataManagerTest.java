@@ -0,0 +1,98 @@
+package gateway;
+
+import constants.Enums;
+import controllers.LoginRegisterController;
+import controllers.QueryController;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class DataManagerTest {
+    @TempDir
+    Path tempDir;
+
+    private String queryPath() {
+        return tempDir.resolve("system.qry").toString();
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        String filePath = tempDir.resolve("system.ser").toString();
+        DataManager dataManager = new DataManager(filePath, queryPath(), Enums.Durability.FSYNC_ON_SAVE);
+        dataManager.readData();
+        LoginRegisterController.getInstance().register("Roge", "1981");
+        Assertions.assertEquals("Data has been saved successfully.", dataManager.writeData());
+        Assertions.assertFalse(Files.exists(tempDir.resolve("system.ser.tmp")),
+                "Failure: Temporary file has not been renamed.");
+
+        Assertions.assertEquals("Data has been loaded successfully.", new DataManager(filePath, queryPath(),
+                Enums.Durability.FSYNC_ON_SAVE).readData());
+        LoginRegisterController.getInstance().login("Roge", "1981");
+    }
+
+    @Test
+    public void testLoadSerializedUserList() throws Exception {
+        // Files saved before segmented snapshots hold a serialized UserList with maps by name
+        Path path = tempDir.resolve("system.ser");
+        try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(path))) {
+            out.writeObject(TestingSystemSetUp.SetUp());
+        }
+        Assertions.assertEquals("Data has been loaded successfully.", new DataManager(path.toString(), queryPath(),
+                Enums.Durability.NONE).readData());
+        LoginRegisterController.getInstance().login("Rafa", "1986");
+        Assertions.assertEquals("This team <Goats Club> consists of the following members:\nRafa\n*ADMIN* Roge\n",
+                QueryController.getInstance().viewMemsInTeam("Rafa", "Goats Club"));
+        Assertions.assertTrue(QueryController.getInstance().viewTasks("Rafa").contains("Practice: due on 2021-12-15"));
+    }
+
+    @Test
+    public void testRecoverFromGeneration() throws Exception {
+        String filePath = tempDir.resolve("system.ser").toString();
+        DataManager dataManager = new DataManager(filePath, queryPath(), Enums.Durability.NONE);
+        dataManager.readData();
+        LoginRegisterController.getInstance().register("Roge", "1981");
+        dataManager.writeData();
+        dataManager.writeData();
+        Assertions.assertTrue(Files.exists(tempDir.resolve("system.ser.1")),
+                "Failure: Previous save has not been kept as a generation.");
+
+        // Simulate a torn write of the latest save
+        Files.write(tempDir.resolve("system.ser"), new byte[]{(byte) 0xAC, (byte) 0xED});
+        String msg = new DataManager(filePath, queryPath(), Enums.Durability.NONE).readData();
+        Assertions.assertTrue(msg.startsWith("Latest data is unreadable. Data has been recovered from an older save."),
+                "Failure: Data has not been recovered from an older save.");
+        Assertions.assertEquals(1, Files.list(tempDir).filter(p -> p.getFileName().toString()
+                .startsWith("system.ser.unreadable")).count(), "Failure: The unreadable file has not been kept.");
+        LoginRegisterController.getInstance().login("Roge", "1981");
+    }
+
+    @Test
+    public void testCurrentFileReplacedInPlace() throws Exception {
+        String filePath = tempDir.resolve("system.ser").toString();
+        DataManager dataManager = new DataManager(filePath, queryPath(), Enums.Durability.NONE);
+        dataManager.readData();
+        LoginRegisterController.getInstance().register("Roge", "1981");
+        dataManager.writeData();
+        byte[] first = Files.readAllBytes(tempDir.resolve("system.ser"));
+        LoginRegisterController.getInstance().register("Rafa", "1986");
+        dataManager.writeData();
+        // The newest generation holds the previous save, and the current file was replaced, not rewritten
+        Assertions.assertArrayEquals(first, Files.readAllBytes(tempDir.resolve("system.ser.1")));
+        Assertions.assertFalse(Files.isSameFile(tempDir.resolve("system.ser"), tempDir.resolve("system.ser.1")));
+        Assertions.assertEquals("Data has been loaded successfully.", new DataManager(filePath, queryPath(),
+                Enums.Durability.NONE).readData());
+        LoginRegisterController.getInstance().login("Rafa", "1986");
+    }
+
+    @Test
+    public void testNoData() {
+        String filePath = tempDir.resolve("system.ser").toString();
+        String msg = new DataManager(filePath, queryPath(), Enums.Durability.NONE).readData();
+        Assertions.assertEquals("Data not found. We are starting with a new empty system.", msg);
+    }
+}
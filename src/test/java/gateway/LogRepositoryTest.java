@@ -0,0 +1,279 @@
+package gateway;
+
+import constants.Enums;
+import controllers.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class LogRepositoryTest {
+    @TempDir
+    Path tempDir;
+
+    private RepositoryManager open() {
+        return new RepositoryManager(new LogRepository(tempDir.resolve("system.db"), Enums.Durability.NONE));
+    }
+
+    @Test
+    public void testCommitsWithoutSaving() throws Exception {
+        try (RepositoryManager repositoryManager = open()) {
+            Assertions.assertEquals("Data not found. We are starting with a new empty system.",
+                    repositoryManager.readData());
+            LoginRegisterController.getInstance().register("Roge", "1981");
+            LoginRegisterController.getInstance().register("Rafa", "1986");
+            TeamController.getInstance().newTeam("Roge", "Goats Club");
+            TeamController.getInstance().addMem("Roge", "Goats Club", "Rafa");
+            TaskController.getInstance().newTask("Rafa", "Practice", "2099-12-15", "General");
+            UserAccountController.getInstance().modUsn("Rafa", "Nadal");
+        } // never saved, as if the program had crashed
+
+        try (RepositoryManager repositoryManager = open()) {
+            Assertions.assertTrue(repositoryManager.readData().startsWith("Data has been loaded successfully."));
+            LoginRegisterController.getInstance().login("Nadal", "1986");
+            Assertions.assertEquals("This team <Goats Club> consists of the following members:\n" +
+                    "Nadal\n*ADMIN* Roge\n", QueryController.getInstance().viewMemsInTeam("Roge", "Goats Club"));
+            Assertions.assertTrue(QueryController.getInstance().viewTasks("Nadal").contains("Practice"));
+            Assertions.assertThrows(Exception.class, () -> LoginRegisterController.getInstance().login("Rafa", "1986"),
+                    "Failure: The old name of a renamed user is still stored.");
+        }
+    }
+
+    @Test
+    public void testDeleteTeam() throws Exception {
+        try (RepositoryManager repositoryManager = open()) {
+            repositoryManager.readData();
+            LoginRegisterController.getInstance().register("Roge", "1981");
+            TeamController.getInstance().newTeam("Roge", "Goats Club");
+            TeamController.getInstance().delTeam("Roge", "Goats Club");
+            Assertions.assertEquals("Data has been saved successfully.", repositoryManager.writeData());
+        }
+        try (RepositoryManager repositoryManager = open()) {
+            repositoryManager.readData();
+            Assertions.assertEquals("You are in the following teams:\n",
+                    QueryController.getInstance().viewTeams("Roge"));
+        }
+    }
+
+    @Test
+    public void testBoard() throws Exception {
+        try (RepositoryManager repositoryManager = open()) {
+            repositoryManager.readData();
+            LoginRegisterController.getInstance().register("Roge", "1981");
+            LoginRegisterController.getInstance().register("Rafa", "1986");
+            TeamController.getInstance().newTeam("Roge", "Goats Club");
+            TeamController.getInstance().addMem("Roge", "Goats Club", "Rafa");
+            TaskController.getInstance().postTask("Roge", "Goats Club", "Win", "2099-07-01");
+            TaskController.getInstance().postTask("Roge", "Goats Club", "Train", "2099-06-01");
+            TaskController.getInstance().claimTask("Rafa", "Goats Club", "Win");
+            TaskController.getInstance().finishTask("Roge", "Goats Club", "Train");
+            UserAccountController.getInstance().modUsn("Rafa", "Nadal");
+        } // never saved, as if the program had crashed
+
+        try (RepositoryManager repositoryManager = open()) {
+            repositoryManager.readData();
+            Assertions.assertEquals("The team shares the following tasks:\n" +
+                            "Train: due on 2099-06-01; completed by Roge\n" +
+                            "Win: due on 2099-07-01; claimed by Nadal\n",
+                    QueryController.getInstance().viewBoard("Roge", "Goats Club"));
+        }
+    }
+
+    @Test
+    public void testCheckpoint() throws Exception {
+        LogRepository repository = new LogRepository(tempDir.resolve("system.db"), Enums.Durability.NONE);
+        repository.setCheckpointThreshold(1); // after every commit
+        try (RepositoryManager repositoryManager = new RepositoryManager(repository)) {
+            repositoryManager.readData();
+            LoginRegisterController.getInstance().register("Roge", "1981");
+            LoginRegisterController.getInstance().register("Rafa", "1986");
+            TeamController.getInstance().newTeam("Roge", "Goats Club");
+            TeamController.getInstance().addMem("Roge", "Goats Club", "Rafa");
+            for (int i = 0; i < 20; i++) {
+                TaskController.getInstance().newTask("Rafa", "Practice " + i, "2099-12-15", "General");
+            }
+        }
+        List<Path> segments = Files.list(tempDir.resolve("system.db")).filter(p -> p.getFileName().toString()
+                .startsWith("journal-")).collect(Collectors.toList());
+        long bases = Files.list(tempDir.resolve("system.db")).filter(p -> p.getFileName().toString()
+                .startsWith("base-")).count();
+        Assertions.assertEquals(1, bases, "Failure: Superseded bases have not been deleted.");
+        Assertions.assertEquals(1, segments.size(), "Failure: Superseded segments have not been deleted.");
+        long journalAfterBase = Files.size(segments.get(0)) - LogRepository.HEADER_SIZE;
+
+        repository = new LogRepository(tempDir.resolve("system.db"), Enums.Durability.NONE);
+        try (RepositoryManager repositoryManager = new RepositoryManager(repository)) {
+            Assertions.assertTrue(repositoryManager.readData().startsWith("Data has been loaded successfully."));
+            Assertions.assertEquals(journalAfterBase, repository.getReplayedBytes(),
+                    "Failure: Journal folded into the base has been replayed.");
+            Assertions.assertTrue(QueryController.getInstance().viewTasks("Rafa").contains("Practice 19"));
+            Assertions.assertEquals("This team <Goats Club> consists of the following members:\n" +
+                    "Rafa\n*ADMIN* Roge\n", QueryController.getInstance().viewMemsInTeam("Rafa", "Goats Club"));
+            TaskController.getInstance().completeTask("Rafa", "Practice 0");
+        }
+        try (RepositoryManager repositoryManager = open()) {
+            repositoryManager.readData();
+            Assertions.assertFalse(QueryController.getInstance().viewTasks("Rafa").contains("Practice 0;"));
+        }
+    }
+
+    @Test
+    public void testCheckpointFailure() throws Exception {
+        LogRepository repository = new LogRepository(tempDir.resolve("system.db"), Enums.Durability.NONE);
+        repository.setCheckpointThreshold(1); // after every commit
+        Files.createDirectories(tempDir.resolve("system.db").resolve("base.tmp")); // no base can be written
+        try (RepositoryManager repositoryManager = new RepositoryManager(repository)) {
+            repositoryManager.readData();
+            LoginRegisterController.getInstance().register("Roge", "1981");
+            Assertions.assertEquals("Data has been saved successfully, but it could not be compacted, so loading " +
+                    "will be slower.", repositoryManager.writeData());
+            Assertions.assertTrue(repository.needsCheckpoint(), "Failure: A failed checkpoint is not tried again.");
+        }
+
+        repository = new LogRepository(tempDir.resolve("system.db"), Enums.Durability.NONE);
+        try (RepositoryManager repositoryManager = new RepositoryManager(repository)) {
+            Assertions.assertTrue(repositoryManager.readData().startsWith("Data has been loaded successfully."));
+            Assertions.assertTrue(repository.getReplayedBytes() > 0);
+            LoginRegisterController.getInstance().login("Roge", "1981");
+        }
+    }
+
+    /**
+     * Flip the last byte of a file, which is in its last frame.
+     */
+    private static void damageLastFrame(Path segment) throws Exception {
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(segment, bytes);
+    }
+
+    /**
+     * Flip the last byte of a frame of a segment.
+     *
+     * @param index the frame, 0 for the first one
+     */
+    private static void damageFrame(Path segment, int index) throws Exception {
+        byte[] bytes = Files.readAllBytes(segment);
+        ByteBuffer frames = ByteBuffer.wrap(bytes);
+        int position = LogRepository.HEADER_SIZE;
+        for (int i = 0; i <= index; i++) position += LogRepository.FRAME_HEADER_SIZE + frames.getInt(position);
+        bytes[position - 1] ^= 1;
+        Files.write(segment, bytes);
+    }
+
+    @Test
+    public void testDamagedMiddleFrameOfLastSegment() throws Exception {
+        Path segment = tempDir.resolve("system.db").resolve("journal-000001.log");
+        try (RepositoryManager repositoryManager = open()) {
+            repositoryManager.readData();
+            for (String name : new String[]{"Roge", "Rafa", "Nole", "Andy"}) {
+                LoginRegisterController.getInstance().register(name, "1986");
+                repositoryManager.writeData(); // one frame each
+            }
+        }
+        long size = Files.size(segment);
+        damageFrame(segment, 1);
+
+        try (RepositoryManager repositoryManager = open()) {
+            Assertions.assertTrue(repositoryManager.readData().contains("1 damaged part(s) could not be loaded"));
+            Assertions.assertEquals(size, Files.size(segment), "Failure: Intact frames have been truncated.");
+            LoginRegisterController.getInstance().login("Roge", "1986");
+            LoginRegisterController.getInstance().login("Nole", "1986");
+            LoginRegisterController.getInstance().login("Andy", "1986");
+            Assertions.assertThrows(Exception.class, () -> LoginRegisterController.getInstance().login("Rafa", "1986"),
+                    "Failure: A damaged frame has been loaded.");
+        }
+    }
+
+    @Test
+    public void testDamagedLastFrameIsTorn() throws Exception {
+        try (RepositoryManager repositoryManager = open()) {
+            repositoryManager.readData();
+            LoginRegisterController.getInstance().register("Roge", "1981");
+            repositoryManager.writeData(); // one frame each
+            LoginRegisterController.getInstance().register("Rafa", "1986");
+            repositoryManager.writeData();
+        }
+        damageLastFrame(tempDir.resolve("system.db").resolve("journal-000001.log"));
+
+        try (RepositoryManager repositoryManager = open()) {
+            String output = repositoryManager.readData();
+            Assertions.assertTrue(output.startsWith("Data has been loaded successfully."));
+            Assertions.assertFalse(output.contains("damaged"), "Failure: A torn frame has been quarantined.");
+            LoginRegisterController.getInstance().login("Roge", "1981");
+            LoginRegisterController.getInstance().register("Rafa", "1986");
+            repositoryManager.writeData();
+        }
+        try (RepositoryManager repositoryManager = open()) {
+            repositoryManager.readData();
+            LoginRegisterController.getInstance().login("Rafa", "1986");
+        }
+    }
+
+    @Test
+    public void testDamagedFrameIsQuarantined() throws Exception {
+        try (RepositoryManager repositoryManager = open()) {
+            repositoryManager.readData();
+            LoginRegisterController.getInstance().register("Roge", "1981");
+            repositoryManager.writeData(); // one frame each
+            LoginRegisterController.getInstance().register("Rafa", "1986");
+            repositoryManager.writeData();
+            LoginRegisterController.getInstance().register("Nole", "1987");
+            repositoryManager.writeData();
+        }
+        Path directory = tempDir.resolve("system.db");
+        damageLastFrame(directory.resolve("journal-000001.log"));
+        // An empty newer segment, so that the damaged frame is not at the end of the journal
+        byte[] header = Arrays.copyOf(Files.readAllBytes(directory.resolve("journal-000001.log")),
+                LogRepository.HEADER_SIZE);
+        Files.write(directory.resolve("journal-000002.log"), header);
+
+        try (RepositoryManager repositoryManager = open()) {
+            Assertions.assertTrue(repositoryManager.readData().contains("1 damaged part(s) could not be loaded"));
+            LoginRegisterController.getInstance().login("Roge", "1981");
+            LoginRegisterController.getInstance().login("Rafa", "1986");
+            Assertions.assertThrows(Exception.class, () -> LoginRegisterController.getInstance().login("Nole", "1987"),
+                    "Failure: A damaged frame has been loaded.");
+            LoginRegisterController.getInstance().register("Andy", "1987");
+            repositoryManager.writeData();
+        }
+        Assertions.assertEquals(1, Files.list(directory).filter(p -> p.getFileName().toString()
+                .startsWith("journal-000001.log.damaged-")).count(), "Failure: The damaged frame has not been kept.");
+
+        try (RepositoryManager repositoryManager = open()) {
+            Assertions.assertFalse(repositoryManager.readData().contains("damaged"),
+                    "Failure: The damage has not been folded away.");
+            LoginRegisterController.getInstance().login("Andy", "1987");
+        }
+    }
+
+    @Test
+    public void testTornFrame() throws Exception {
+        try (RepositoryManager repositoryManager = open()) {
+            repositoryManager.readData();
+            LoginRegisterController.getInstance().register("Roge", "1981");
+            repositoryManager.writeData();
+        }
+        // Simulate a crash in the middle of appending a frame
+        Path segment = tempDir.resolve("system.db").resolve("journal-000001.log");
+        Files.write(segment, new byte[]{0, 0, 1, 0, 0, 1, 2}, StandardOpenOption.APPEND);
+
+        try (RepositoryManager repositoryManager = open()) {
+            Assertions.assertTrue(repositoryManager.readData().startsWith("Data has been loaded successfully."));
+            LoginRegisterController.getInstance().register("Rafa", "1986");
+            repositoryManager.writeData();
+        }
+        try (RepositoryManager repositoryManager = open()) {
+            repositoryManager.readData();
+            LoginRegisterController.getInstance().login("Roge", "1981");
+            LoginRegisterController.getInstance().login("Rafa", "1986");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package gateway;
+
+import constants.Enums;
+import entities.Project;
+import entities.Task;
+import entities.User;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import usecases.QueryUseCases;
+import usecases.managers.UserList;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+class QuerySnapshotReaderTest {
+    @TempDir
+    Path tempDir;
+    private QueryUseCases queryUseCases;
+    private QuerySnapshotReader reader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UserList userList = TestingSystemSetUp.SetUp();
+        userList.getUser("Rafa").getTaskList().getTask("Practice").setStarred(true);
+        queryUseCases = new QueryUseCases(userList);
+        Path path = tempDir.resolve("system.qry");
+        QuerySnapshot.write(userList, path, Enums.Durability.NONE);
+        reader = new QuerySnapshotReader(path);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        reader.close();
+    }
+
+    @Test
+    public void testSameAnswersAsQueryUseCases() {
+        for (String username : new String[]{"Roge", "Rafa", "Nole"}) {
+            Assertions.assertEquals(queryUseCases.viewTasks(username), reader.viewTasks(username));
+            Assertions.assertEquals(queryUseCases.viewProjs(username), reader.viewProjs(username));
+            Assertions.assertEquals(queryUseCases.viewTeams(username), reader.viewTeams(username));
+            Assertions.assertEquals(queryUseCases.viewMemsInTeam(username, "Goats Club"),
+                    reader.viewMemsInTeam(username, "Goats Club"));
+            Assertions.assertEquals(queryUseCases.viewTasksInProj(username, "General"),
+                    reader.viewTasksInProj(username, "General"));
+            Assertions.assertEquals(queryUseCases.viewTasksInProj(username, "Take Over"),
+                    reader.viewTasksInProj(username, "Take Over"));
+            Assertions.assertEquals(queryUseCases.projStats(username, null), reader.projStats(username, null));
+            Assertions.assertEquals(queryUseCases.projStats(username, "General"),
+                    reader.projStats(username, "General"));
+            Assertions.assertEquals(queryUseCases.viewNext(username, 1, null), reader.viewNext(username, 1, null));
+            Assertions.assertEquals(queryUseCases.viewStarred(username), reader.viewStarred(username));
+            Assertions.assertEquals("Tags are not available in read-only mode.", reader.viewTagged(username, "urgent"));
+            Assertions.assertEquals(queryUseCases.viewNext(username, 3, "General"),
+                    reader.viewNext(username, 3, "General"));
+        }
+    }
+
+    @Test
+    public void testStringsWrittenAgainOnceForgotten() throws Exception {
+        UserList userList = TestingSystemSetUp.SetUp();
+        User rafa = userList.getUser("Rafa");
+        Project general = rafa.getProjectList().getProject("General");
+        // More distinct Strings than are remembered, with the first description met again only at the end
+        for (int i = 0; i < 5000; i++) {
+            Task task = new Task("Task " + i, LocalDate.of(2099, 1, 1).plusDays(i).toString(), general);
+            task.setDescription(i % 4999 == 0 ? "Serve" : "Note " + i);
+            general.addTask(task);
+            rafa.getTaskList().addTask(task);
+        }
+        Path path = tempDir.resolve("large.qry");
+        QuerySnapshot.write(userList, path, Enums.Durability.FSYNC_ON_SAVE);
+        try (QuerySnapshotReader large = new QuerySnapshotReader(path)) {
+            Assertions.assertEquals(new QueryUseCases(userList).viewTasks("Rafa"), large.viewTasks("Rafa"));
+        }
+    }
+
+    @Test
+    public void testLogin() {
+        Assertions.assertEquals(Enums.LoginResult.SUCCESS, reader.login("Rafa", "1986"));
+        Assertions.assertEquals(Enums.LoginResult.FAILURE, reader.login("Rafa", "1987"));
+        Assertions.assertEquals(Enums.LoginResult.NO_SUCH_USER, reader.login("Andy", "1987"));
+        Assertions.assertEquals(Enums.RegisterResult.FAILURE, reader.register("Andy", "1987"));
+    }
+}
@@ -0,0 +1,204 @@
+package gateway;
+
+import entities.TaskBoard;
+import entities.Team;
+import entities.User;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import usecases.QueryUseCases;
+import usecases.managers.ProjectManager;
+import usecases.managers.TaskManager;
+import usecases.managers.TeamManager;
+import usecases.managers.UserList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+class SegmentedSnapshotTest {
+    @TempDir
+    Path tempDir;
+
+    private UserList roundTrip(UserList userList) throws Exception {
+        return roundTrip(userList, 0);
+    }
+
+    private UserList roundTrip(UserList userList, int compressionLevel) throws Exception {
+        Path path = tempDir.resolve("system.ser");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            SegmentedSnapshot.write(userList, channel, compressionLevel);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Assertions.assertTrue(SegmentedSnapshot.isSegmentedSnapshot(channel));
+            return SegmentedSnapshot.read(channel);
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        UserList userList = TestingSystemSetUp.SetUp();
+        userList.getUser("Rafa").getTaskList().getTask("Practice").setDescription("Clay court");
+        TaskBoard board = userList.getUser("Roge").getTeamList().getTeam("Goats Club").getBoard();
+        board.post("Win", "2099-07-01");
+        board.post("Train", "2099-06-01");
+        board.claim("Win", userList.getUser("Rafa"));
+        userList.getUser("Rafa").getTaskList().getTask("Practice").addTag("clay");
+        userList.getUser("Rafa").getTaskList().getTask("Practice").addTag("urgent");
+        QueryUseCases before = new QueryUseCases(userList);
+        QueryUseCases after = new QueryUseCases(roundTrip(userList));
+        for (String username : new String[]{"Roge", "Rafa", "Nole"}) {
+            Assertions.assertEquals(before.viewTasks(username), after.viewTasks(username));
+            Assertions.assertEquals(before.viewProjs(username), after.viewProjs(username));
+            Assertions.assertEquals(before.viewTeams(username), after.viewTeams(username));
+            Assertions.assertEquals(before.viewMemsInTeam(username, "Goats Club"),
+                    after.viewMemsInTeam(username, "Goats Club"));
+            Assertions.assertEquals(before.viewBoard(username, "Goats Club"), after.viewBoard(username, "Goats Club"));
+            Assertions.assertEquals(before.viewTagged(username, "clay&urgent"),
+                    after.viewTagged(username, "clay&urgent"));
+        }
+        Assertions.assertTrue(after.viewTagged("Rafa", "clay&urgent").contains("Practice"));
+    }
+
+    @Test
+    public void testCompressedRoundTrip() throws Exception {
+        UserList userList = TestingSystemSetUp.SetUp();
+        QueryUseCases before = new QueryUseCases(userList);
+        QueryUseCases after = new QueryUseCases(roundTrip(userList, 6));
+        for (String username : new String[]{"Roge", "Rafa", "Nole"}) {
+            Assertions.assertEquals(before.viewTasks(username), after.viewTasks(username));
+            Assertions.assertEquals(before.viewProjs(username), after.viewProjs(username));
+            Assertions.assertEquals(before.viewTeams(username), after.viewTeams(username));
+        }
+    }
+
+    @Test
+    public void testUpgradeVersion2() throws Exception {
+        // A version 2 file, whose records have no versions of their own
+        ByteArrayOutputStream segment = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(segment);
+        out.writeInt(1); // users
+        SnapshotCodec.writeString(out, "Rafa");
+        SnapshotCodec.writeString(out, "1986");
+        out.writeInt(1); // projects
+        SnapshotCodec.writeString(out, "General");
+        out.writeInt(1); // tasks
+        SnapshotCodec.writeString(out, "Practice");
+        SnapshotCodec.writeString(out, "2021-12-15");
+        SnapshotCodec.writeString(out, "Clay court");
+        out.writeBoolean(true);
+        byte[] users = segment.toByteArray();
+        byte[] teams = {0, 0, 0, 0};
+
+        int tableEnd = SegmentedSnapshot.HEADER_SIZE + 4 * Long.BYTES;
+        ByteBuffer file = ByteBuffer.allocate(tableEnd + users.length + teams.length);
+        file.putInt(SegmentedSnapshot.MAGIC).putInt(2).putInt(1).putInt(0);
+        file.putLong(tableEnd).putLong(users.length).putLong(tableEnd + users.length).putLong(teams.length);
+        file.put(users).put(teams);
+        Path path = tempDir.resolve("system.ser");
+        Files.write(path, file.array());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            UserList userList = SegmentedSnapshot.read(channel);
+            Assertions.assertEquals("You have the following upcoming tasks:\n*STARRED* Practice: due on 2021-12-15; " +
+                    "in project <General>; description: Clay court\n", new QueryUseCases(userList).viewTasks("Rafa"));
+        }
+    }
+
+    /**
+     * Flip one byte in the middle of a section of the file.
+     */
+    private void damage(Path path, int section) throws Exception {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer entry = SegmentedSnapshot.readFully(channel,
+                    SegmentedSnapshot.HEADER_SIZE + (long) section * SegmentedSnapshot.ENTRY_SIZE, 2 * Long.BYTES);
+            long position = entry.getLong() + entry.getLong() / 2;
+            ByteBuffer b = SegmentedSnapshot.readFully(channel, position, 1);
+            b.put(0, (byte) ~b.get(0));
+            channel.write(b, position);
+        }
+    }
+
+    private UserList createTeamOfThousand() {
+        UserList userList = new UserList();
+        Team team = new Team("Everyone");
+        for (int i = 0; i < 1000; i++) {
+            User user = new User("User" + i, "pw", new TaskManager(), new ProjectManager(), new TeamManager());
+            user.getTeamList().addTeam(team);
+            team.addMem(user);
+            userList.addUser(user);
+        }
+        return userList;
+    }
+
+    @Test
+    public void testQuarantineDamagedSegment() throws Exception {
+        Path path = tempDir.resolve("system.ser");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            SegmentedSnapshot.write(createTeamOfThousand(), channel);
+        }
+        damage(path, 1);
+
+        List<SegmentedSnapshot.Section> quarantined = new ArrayList<>();
+        UserList loaded;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            loaded = SegmentedSnapshot.read(channel, quarantined);
+        }
+        Assertions.assertEquals(1, quarantined.size());
+        Assertions.assertEquals("segment-2", quarantined.get(0).getName());
+        int count = 0;
+        for (User user : loaded) {
+            Assertions.assertTrue(user.getTeamList().hasTeam("Everyone"), "Failure: Intact users lost their team.");
+            count++;
+        }
+        Assertions.assertTrue(count > 0 && count < 1000, "Failure: Only the damaged segment should be left out.");
+    }
+
+    @Test
+    public void testQuarantineDamagedTeams() throws Exception {
+        Path path = tempDir.resolve("system.ser");
+        UserList userList = createTeamOfThousand();
+        int segmentCount;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            SegmentedSnapshot.write(userList, channel);
+            segmentCount = SegmentedSnapshot.readFully(channel, 8, Integer.BYTES).getInt();
+        }
+        damage(path, segmentCount);
+
+        List<SegmentedSnapshot.Section> quarantined = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            UserList loaded = SegmentedSnapshot.read(channel, quarantined);
+            Assertions.assertNotNull(loaded.getUser("User999"));
+            Assertions.assertFalse(loaded.getUser("User999").getTeamList().hasTeam("Everyone"));
+        }
+        Assertions.assertEquals("teams", quarantined.get(0).getName());
+    }
+
+    @Test
+    public void testTeamAcrossSegments() throws Exception {
+        UserList userList = new UserList();
+        Team team = new Team("Everyone");
+        for (int i = 0; i < 1000; i++) {
+            User user = new User("User" + i, "pw", new TaskManager(), new ProjectManager(), new TeamManager());
+            user.getTeamList().addTeam(team);
+            team.addMem(user);
+            userList.addUser(user);
+        }
+        team.addAdmin(userList.getUser("User0"));
+
+        UserList loaded = roundTrip(userList);
+        Team first = loaded.getUser("User0").getTeamList().getTeam("Everyone");
+        Team last = loaded.getUser("User999").getTeamList().getTeam("Everyone");
+        Assertions.assertSame(first, last, "Failure: Team has not been linked across segments.");
+        Assertions.assertTrue(first.isAdmin("User0") && !first.isAdmin("User999") && first.isMem("User500"));
+    }
+}
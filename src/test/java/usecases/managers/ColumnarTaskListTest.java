@@ -0,0 +1,133 @@
+package usecases.managers;
+
+import entities.Project;
+import entities.Task;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class ColumnarTaskListTest {
+    @Test
+    public void testSameAsTaskManager() {
+        Project project = new Project("General");
+        ColumnarTaskList columnar = new ColumnarTaskList();
+        TaskManager manager = new TaskManager();
+        for (int i = 0; i < 1000; i++) {
+            String due = LocalDate.of(2099, 1, 1).plusDays(i * 7 % 1000).toString();
+            columnar.addTask(new Task("Task " + i, due, project));
+            manager.addTask(new Task("Task " + i, due, project));
+        }
+        for (int i = 0; i < 1000; i += 3) {
+            columnar.delTask(columnar.getTask("Task " + i));
+            manager.delTask(manager.getTask("Task " + i));
+        }
+        for (int i = 1; i < 1000; i += 3) {
+            for (TaskList tasks : new TaskList[]{columnar, manager}) {
+                Task task = tasks.getTask("Task " + i);
+                task.setStarred(true);
+                task.setDescription("Described ünïcode " + i);
+                task.setName("Renamed " + i);
+            }
+        }
+        Assertions.assertEquals(manager.toString(), columnar.toString());
+        Assertions.assertEquals(666, columnar.size());
+        Assertions.assertFalse(columnar.hasTask("Task 0"));
+        Assertions.assertFalse(columnar.hasTask("Task 1"));
+        Assertions.assertTrue(columnar.hasTask("Renamed 1"));
+        Assertions.assertTrue(columnar.hasTask("Task 2"));
+        Assertions.assertSame(project, columnar.getTask("Task 2").getProject());
+    }
+
+    @Test
+    public void testNextSameAsSorting() {
+        Project project = new Project("General");
+        ColumnarTaskList columnar = new ColumnarTaskList();
+        TaskManager manager = new TaskManager();
+        List<String> sorted = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String due = LocalDate.of(2099, 1, 1).plusDays(i * 7 % 1000).toString();
+            columnar.addTask(new Task("Task " + i, due, project));
+            manager.addTask(new Task("Task " + i, due, project));
+            sorted.add(due + "Task " + i);
+        }
+        Collections.sort(sorted);
+        for (int k : new int[]{1, 10, 1000, 5000}) {
+            List<String> expected = new ArrayList<>();
+            for (String s : sorted.subList(0, Math.min(k, sorted.size()))) expected.add(s.substring(10));
+            Assertions.assertEquals(expected, names(columnar.next(k)));
+            Assertions.assertEquals(expected, names(manager.next(k)));
+        }
+    }
+
+    @Test
+    public void testStarredSameAsTaskManager() {
+        Project project = new Project("General");
+        ColumnarTaskList columnar = new ColumnarTaskList();
+        TaskManager manager = new TaskManager();
+        for (int i = 0; i < 100; i++) {
+            String due = LocalDate.of(2099, 1, 1).plusDays(i * 7 % 100).toString();
+            columnar.addTask(new Task("Task " + i, due, project));
+            manager.addTask(new Task("Task " + i, due, project));
+        }
+        Assertions.assertEquals(names(manager.starred()), names(columnar.starred())); // made while nothing is starred
+        for (TaskList list : new TaskList[]{columnar, manager}) {
+            for (int i = 0; i < 100; i += 3) {
+                Task task = list.getTask("Task " + i);
+                task.setStarred(true);
+                list.taskStarred(task);
+            }
+            Task task = list.getTask("Task 3");
+            String oldDueDate = task.getDueDate();
+            task.setDueDate("2098-12-31");
+            list.taskRetimed(oldDueDate, task);
+            list.delTask(list.getTask("Task 6"));
+        }
+        List<String> starred = names(manager.starred());
+        Assertions.assertEquals(33, starred.size());
+        Assertions.assertEquals("Task 3", starred.get(0));
+        Assertions.assertEquals(starred, names(columnar.starred()));
+    }
+
+    private static List<String> names(List<Task> tasks) {
+        List<String> names = new ArrayList<>();
+        for (Task task : tasks) names.add(task.getName());
+        return names;
+    }
+
+    @Test
+    public void testTaskLeavesWithItsFields() {
+        Project project = new Project("General");
+        ColumnarTaskList columnar = new ColumnarTaskList();
+        Task task = new Task("Serve", "2099-01-01", project);
+        task.setDescription("Aces");
+        columnar.addTask(task);
+        Assertions.assertTrue(task.isInColumns());
+        task.setDueDate("2099-02-01");
+        columnar.delTask(task);
+        Assertions.assertFalse(task.isInColumns());
+        Assertions.assertEquals("Serve: due on 2099-02-01; in project <General>; description: Aces", task.toString());
+        Assertions.assertNull(columnar.getTask("Serve"));
+    }
+
+    @Test
+    public void testTagsAndDescriptionStayWithTask() {
+        Project project = new Project("General");
+        ColumnarTaskList columnar = new ColumnarTaskList();
+        Task task = new Task("Serve", "2099-01-01", project);
+        task.addTag("urgent");
+        columnar.addTask(task);
+        task.addTag("client");
+        task.setDescription("Aces");
+        task.setName("Serve wide");
+        Assertions.assertEquals(List.of("client", "urgent"), task.getTags());
+        Assertions.assertEquals("Aces", task.getDescription());
+        Assertions.assertSame(task, columnar.getTask("Serve wide"));
+        columnar.delTask(task);
+        Assertions.assertEquals(List.of("client", "urgent"), task.getTags());
+        Assertions.assertEquals("Aces", task.getDescription());
+    }
+}
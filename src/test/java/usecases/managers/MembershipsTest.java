@@ -0,0 +1,29 @@
+package usecases.managers;
+
+import entities.Team;
+import entities.User;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class MembershipsTest {
+    @Test
+    public void testBothSidesKeptInStep() {
+        UserList userList = TestingSystemSetUp.SetUp();
+        User roge = userList.getUser("Roge");
+        User nole = userList.getUser("Nole");
+        Team goats = roge.getTeamList().getTeam("Goats Club");
+        Team big = new Team("Big Three");
+        Memberships.join(nole, big);
+        Memberships.join(roge, big);
+        Memberships.promote(nole, big);
+
+        Assertions.assertArrayEquals(new Team[]{big, goats}, Memberships.teamsOf(roge));
+        Assertions.assertArrayEquals(new User[]{nole, roge}, Memberships.membersOf(big));
+        Assertions.assertTrue(big.isAdmin("Nole"));
+
+        Memberships.leave(roge, big);
+        Assertions.assertArrayEquals(new Team[]{goats}, Memberships.teamsOf(roge));
+        Assertions.assertArrayEquals(new User[]{nole}, Memberships.membersOf(big));
+    }
+}
@@ -0,0 +1,71 @@
+package usecases.managers;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+class TagBitmapTest {
+    @Test
+    public void testSameAsBitSet() {
+        Random random = new Random(50);
+        // Dense chunks become bitsets and sparse ones stay arrays, across several chunks
+        int[] counts = {3000, 20000, 60000};
+        TagBitmap[] bitmaps = new TagBitmap[counts.length];
+        BitSet[] bitSets = new BitSet[counts.length];
+        for (int b = 0; b < counts.length; b++) {
+            bitmaps[b] = new TagBitmap();
+            bitSets[b] = new BitSet();
+            for (int i = 0; i < counts[b]; i++) {
+                int id = 1 + random.nextInt(3 << 16);
+                if (i % 5 == 4) {
+                    bitmaps[b].remove(id);
+                    bitSets[b].clear(id);
+                } else {
+                    bitmaps[b].add(id);
+                    bitSets[b].set(id);
+                }
+            }
+            assertSame(bitSets[b], bitmaps[b]);
+        }
+        for (int a = 0; a < counts.length; a++) {
+            for (int b = 0; b < counts.length; b++) {
+                BitSet and = (BitSet) bitSets[a].clone();
+                and.and(bitSets[b]);
+                assertSame(and, bitmaps[a].and(bitmaps[b]));
+                BitSet or = (BitSet) bitSets[a].clone();
+                or.or(bitSets[b]);
+                assertSame(or, bitmaps[a].or(bitmaps[b]));
+            }
+        }
+        assertSame(bitSets[0], bitmaps[0]); // left as it was
+    }
+
+    @Test
+    public void testShrinksBackToArray() {
+        TagBitmap bitmap = new TagBitmap();
+        BitSet bitSet = new BitSet();
+        for (int id = 1; id <= 5000; id++) {
+            bitmap.add(id);
+            bitSet.set(id);
+        }
+        for (int id = 1; id <= 5000; id += 2) {
+            bitmap.remove(id);
+            bitSet.clear(id);
+        }
+        assertSame(bitSet, bitmap);
+        for (int id = 2; id <= 5000; id += 2) bitmap.remove(id);
+        Assertions.assertTrue(bitmap.isEmpty());
+    }
+
+    private static void assertSame(BitSet expected, TagBitmap actual) {
+        Assertions.assertEquals(expected.cardinality(), actual.cardinality());
+        BitSet ids = new BitSet();
+        actual.forEach(ids::set);
+        Assertions.assertEquals(expected, ids);
+        for (int id = expected.nextSetBit(0); id >= 0; id = expected.nextSetBit(id + 1)) {
+            Assertions.assertTrue(actual.contains(id));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package usecases.managers;
+
+import entities.Team;
+import entities.User;
+import helpers.TestingSystemSetUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TeamRegistryTest {
+    @Test
+    public void testRenameAndDisband() {
+        UserList userList = TestingSystemSetUp.SetUp();
+        TeamRegistry teams = userList.getTeams();
+        User roge = userList.getUser("Roge");
+        User rafa = userList.getUser("Rafa");
+        User nole = userList.getUser("Nole");
+        Team goats = roge.getTeamList().getTeam("Goats Club");
+        Assertions.assertSame(goats, teams.get(goats.getRunId()));
+
+        // Nole is in no team with Roge or Rafa, so another team may have the name Goats Club
+        Team other = new Team("Big Three");
+        Memberships.join(nole, other);
+        teams.register(other);
+        Assertions.assertFalse(teams.isNameTaken(other, "Goats Club"));
+        Assertions.assertTrue(teams.isNameTaken(goats, "Goats Club"));
+        Memberships.join(rafa, other);
+        Assertions.assertTrue(teams.isNameTaken(other, "Goats Club"));
+
+        goats.setName("The Holy Trinity");
+        teams.renamed("Goats Club", goats);
+        Assertions.assertSame(goats, rafa.getTeamList().getTeam("The Holy Trinity"));
+        Assertions.assertFalse(rafa.getTeamList().hasTeam("Goats Club"));
+        Assertions.assertSame(goats, teams.named("The Holy Trinity").iterator().next());
+        Assertions.assertFalse(teams.named("Goats Club").iterator().hasNext());
+
+        teams.disband(goats);
+        Assertions.assertNull(teams.get(goats.getRunId()));
+        Assertions.assertFalse(roge.getTeamList().hasTeam("The Holy Trinity"));
+        Assertions.assertEquals(1, rafa.getTeamList().size());
+        Assertions.assertEquals(1, teams.size());
+    }
+
+    @Test
+    public void testOnlyMembersSeeChanges() {
+        UserList userList = TestingSystemSetUp.SetUp();
+        TeamRegistry teams = userList.getTeams();
+        User rafa = userList.getUser("Rafa");
+        User nole = userList.getUser("Nole");
+        Team goats = rafa.getTeamList().getTeam("Goats Club");
+        Team other = new Team("Goats Club");
+        Memberships.join(nole, other);
+        teams.register(other);
+
+        goats.setName("Clay Court");
+        teams.renamed("Goats Club", goats);
+        Assertions.assertSame(other, nole.getTeamList().getTeam("Goats Club"));
+        Assertions.assertSame(goats, rafa.getTeamList().getTeam("Clay Court"));
+
+        goats.setName("Goats Club");
+        teams.renamed("Clay Court", goats);
+        Assertions.assertSame(goats, rafa.getTeamList().getTeam("Goats Club"));
+        Assertions.assertSame(other, nole.getTeamList().getTeam("Goats Club"));
+        teams.disband(other);
+        Assertions.assertFalse(nole.getTeamList().hasTeam("Goats Club"));
+        Assertions.assertSame(goats, rafa.getTeamList().getTeam("Goats Club"));
+    }
+
+    @Test
+    public void testLargeTeam() {
+        UserList userList = new UserList();
+        Team team = new Team("Everyone");
+        for (int i = 0; i < 10000; i++) {
+            User user = new User("User " + i, "pwd", new TaskManager(), new ProjectManager(), new TeamManager());
+            userList.addUser(user);
+            Memberships.join(user, team);
+        }
+        TeamRegistry teams = userList.getTeams();
+        Assertions.assertEquals(1, teams.size());
+        Assertions.assertFalse(teams.isNameTaken(team, "Nobody"));
+        team.setName("All");
+        teams.renamed("Everyone", team);
+        Assertions.assertSame(team, userList.getUser("User 9999").getTeamList().getTeam("All"));
+        teams.disband(team);
+        Assertions.assertEquals(0, userList.getUser("User 0").getTeamList().size());
+    }
+}